@@ -0,0 +1,59 @@
+package br.com.casa_moreno.casa_moreno_backend.email.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Renders por segundo e bytes alocados por render (gc.alloc.rate.norm), Thymeleaf puro vs template pré-compilado.
+// mvn -Pjmh -DskipTests verify -Djmh.includes=TemplateRenderBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateRenderBenchmark {
+
+    @Param({"registration-confirmation.html", "password-reset-link.html"})
+    private String templateName;
+
+    private TemplateService thymeleaf;
+    private TemplateService precompiled;
+    private Map<String, Object> variables;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(true);
+
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+
+        thymeleaf = new TemplateService(engine, new SimpleMeterRegistry(), false);
+        precompiled = new TemplateService(engine, new SimpleMeterRegistry(), true);
+        variables = templateName.equals("password-reset-link.html")
+                ? Map.of("name", "Maria Moreno", "subject", "Link para Redefinição de Senha - Casa Moreno",
+                        "resetLink", "https://www.casa-moreno.com/auth/reset-password?token=3q2-7wE_aZ9xYk1LmN0pQrStUvWxYz012345678AbC")
+                : Map.of("name", "Maria Moreno", "subject", "Bem-vindo à Casa Moreno!");
+
+        precompiled.processTemplate(templateName, variables);
+    }
+
+    @Benchmark
+    public String thymeleaf() {
+        return thymeleaf.processTemplate(templateName, variables);
+    }
+
+    @Benchmark
+    public String precompiled() {
+        return precompiled.processTemplate(templateName, variables);
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.casa_moreno.casa_moreno_backend.product.domain;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Substituições de galeria por segundo e bytes alocados por chamada de setGalleryImageUrlsFromStrings,
+// partindo de um produto que já tem galeria (o caso do updateProduct).
+// mvn -Pjmh -DskipTests verify -Djmh.includes=ProductGalleryBenchmark
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductGalleryBenchmark {
+
+    @Param({"5", "20"})
+    private int images;
+
+    private Product product;
+    private List<String> imageUrls;
+
+    @Setup
+    public void setUp() {
+        imageUrls = IntStream.range(0, images)
+                .mapToObj(image -> "https://http2.mlstatic.com/D_NQ_NP_" + image + "-MLA" + (70_000_000 + image) + "-O.webp")
+                .toList();
+        product = Product.builder().productTitle("Smartphone").build();
+        product.setGalleryImageUrlsFromStrings(imageUrls);
+    }
+
+    @Benchmark
+    public List<ProductGalleryImageUrl> replaceGallery() {
+        product.setGalleryImageUrlsFromStrings(imageUrls);
+        return product.getGalleryImageUrls();
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.casa_moreno.casa_moreno_backend.product.dto;
+
+import br.com.casa_moreno.casa_moreno_backend.product.domain.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Páginas por segundo e bytes alocados por página: montagem dos ProductDetailsResponse e o JSON do PagedModel
+// (serialização VIA_DTO, como em GET /products/category).
+// mvn -Pjmh -DskipTests verify -Djmh.includes=ProductPageSerializationBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductPageSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private List<Product> products;
+    private List<ProductDetailsResponse> responses;
+    private PageRequest pageRequest;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        products = IntStream.range(0, pageSize).mapToObj(ProductPageSerializationBenchmark::product).toList();
+        responses = products.stream().map(ProductDetailsResponse::new).toList();
+        pageRequest = PageRequest.of(0, pageSize);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    private static Product product(int index) {
+        Product product = Product.builder()
+                .productId(UUID.randomUUID())
+                .mercadoLivreId("MLB" + (4_000_000_000L + index))
+                .mercadoLivreUrl("https://produto.mercadolivre.com.br/MLB-" + (4_000_000_000L + index) + "-smartphone-samsung-galaxy")
+                .productTitle("Smartphone Samsung Galaxy A55 5G 256GB 8GB RAM Tela 6.6\" " + index)
+                .fullDescription("Smartphone com tela Super AMOLED de 6,6 polegadas, câmera tripla de 50MP, bateria de 5000mAh. ".repeat(8))
+                .productBrand("Samsung")
+                .productCondition("Novo")
+                .currentPrice(new BigDecimal("1899.90"))
+                .originalPrice(new BigDecimal("2299.00"))
+                .discountPercentage("17% OFF")
+                .installments(10)
+                .installmentValue(new BigDecimal("189.99"))
+                .stockStatus("Disponível")
+                .affiliateLink("https://mercadolivre.com/sec/1abc" + index)
+                .productCategory("Celulares")
+                .productSubcategory("Smartphones")
+                .isPromotional(index % 3 == 0)
+                .build();
+        product.setGalleryImageUrlsFromStrings(IntStream.range(0, 8)
+                .mapToObj(image -> "https://http2.mlstatic.com/D_NQ_NP_" + index + "_" + image + "-O.webp")
+                .toList());
+        return product;
+    }
+
+    @Benchmark
+    public List<ProductDetailsResponse> buildResponses() {
+        return products.stream().map(ProductDetailsResponse::new).toList();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new PagedModel<>(new PageImpl<>(responses, pageRequest, 1_000)));
+    }
+
+    @Benchmark
+    public byte[] buildAndSerializePage() throws JsonProcessingException {
+        List<ProductDetailsResponse> content = products.stream().map(ProductDetailsResponse::new).toList();
+        return objectMapper.writeValueAsBytes(new PagedModel<>(new PageImpl<>(content, pageRequest, 1_000)));
+    }
+}
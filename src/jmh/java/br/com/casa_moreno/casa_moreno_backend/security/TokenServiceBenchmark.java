@@ -0,0 +1,68 @@
+package br.com.casa_moreno.casa_moreno_backend.security;
+
+import br.com.casa_moreno.casa_moreno_backend.user.constant.Profile;
+import br.com.casa_moreno.casa_moreno_backend.user.domain.User;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Tokens por segundo e bytes alocados na emissão (login) e na validação (toda requisição autenticada) do JWT,
+// com encoder e decoder montados como no JwtConfig e uma chave RSA de 2048 bits gerada no setup.
+// mvn -Pjmh -DskipTests verify -Djmh.includes=TokenServiceBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private TokenService tokenService;
+    private JwtDecoder jwtDecoder;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        RSAPrivateKey privateKey = (RSAPrivateKey) keyPair.getPrivate();
+
+        RSAKey jwk = new RSAKey.Builder(publicKey).privateKey(privateKey).build();
+        tokenService = new TokenService(new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk))));
+        jwtDecoder = NimbusJwtDecoder.withPublicKey(publicKey).build();
+
+        user = User.builder()
+                .userId(UUID.randomUUID())
+                .name("Maria Moreno")
+                .username("maria.moreno")
+                .profile(Profile.USER)
+                .build();
+        token = tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public Jwt decodeToken() {
+        return jwtDecoder.decode(token);
+    }
+}
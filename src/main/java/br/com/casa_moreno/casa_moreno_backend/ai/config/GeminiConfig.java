@@ -3,12 +3,14 @@ package br.com.casa_moreno.casa_moreno_backend.ai.config;
 import com.google.cloud.vertexai.VertexAI;
 import com.google.cloud.vertexai.generativeai.GenerativeModel;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.io.IOException;
 
 @Configuration
+@ConditionalOnProperty(name = "ai.llm.provider", havingValue = "vertex", matchIfMissing = true)
 public class GeminiConfig {
 
     @Value("${gemini.project.id}")
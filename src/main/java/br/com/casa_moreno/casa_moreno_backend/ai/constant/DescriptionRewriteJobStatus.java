@@ -0,0 +1,7 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.constant;
+
+public enum DescriptionRewriteJobStatus {
+    RUNNING,
+    PAUSED,
+    COMPLETED;
+}
@@ -1,42 +1,106 @@
 package br.com.casa_moreno.casa_moreno_backend.ai.controller;
 
+import br.com.casa_moreno.casa_moreno_backend.ai.conversation.ConversationKey;
 import br.com.casa_moreno.casa_moreno_backend.ai.dto.ChatRequest;
+import br.com.casa_moreno.casa_moreno_backend.ai.dto.ConversationMemoryStatsResponse;
 import br.com.casa_moreno.casa_moreno_backend.ai.dto.DescriptionRequest;
+import br.com.casa_moreno.casa_moreno_backend.ai.dto.SemanticCacheStatsResponse;
+import br.com.casa_moreno.casa_moreno_backend.ai.dto.TokenUsageResponse;
+import br.com.casa_moreno.casa_moreno_backend.ai.quota.TokenQuotaService;
+import br.com.casa_moreno.casa_moreno_backend.ai.service.ChatStreamingService;
 import br.com.casa_moreno.casa_moreno_backend.ai.service.GeminiService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.security.Principal;
+import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/ai")
 public class AiController {
 
+    private static final Logger log = LoggerFactory.getLogger(AiController.class);
+
+    public static final String CHAT_SESSION_HEADER = "X-Chat-Session-Id";
+
     private final GeminiService geminiService;
+    private final ChatStreamingService chatStreamingService;
+    private final TokenQuotaService tokenQuotaService;
 
-    public AiController(GeminiService geminiService) {
+    public AiController(GeminiService geminiService, ChatStreamingService chatStreamingService, TokenQuotaService tokenQuotaService) {
         this.geminiService = geminiService;
+        this.chatStreamingService = chatStreamingService;
+        this.tokenQuotaService = tokenQuotaService;
     }
 
     @PostMapping("/chat")
-    public ResponseEntity<String> chat(@RequestBody ChatRequest request) {
+    public ResponseEntity<String> chat(@RequestBody ChatRequest request, Principal principal) {
+        ConversationKey conversation = ConversationKey.of(principal, request.sessionId());
         try {
-            String response = geminiService.generateChatResponse(request.message());
-            return ResponseEntity.ok(response);
+            String response = geminiService.generateChatResponse(request.message(), conversation);
+            return ResponseEntity.ok().header(CHAT_SESSION_HEADER, conversation.sessionId()).body(response);
         } catch (IOException e) {
-            e.printStackTrace();
+            log.error("Failed to generate the AI chat response", e);
             return ResponseEntity.status(500).body("Erro ao comunicar com a IA.");
         }
     }
 
+    @PostMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter chatStream(@RequestBody ChatRequest request, Principal principal, HttpServletResponse response) {
+        ConversationKey conversation = ConversationKey.of(principal, request.sessionId());
+        // O header vai direto na resposta do servlet para já estar lá quando o stream começar, antes do dispatch assíncrono.
+        response.setHeader(CHAT_SESSION_HEADER, conversation.sessionId());
+        return chatStreamingService.stream(request.message(), conversation);
+    }
+
+    @GetMapping("/chat/cache/stats")
+    public ResponseEntity<SemanticCacheStatsResponse> chatCacheStats() {
+        return ResponseEntity.ok(geminiService.chatCacheStats());
+    }
+
+    @GetMapping("/chat/sessions/stats")
+    public ResponseEntity<ConversationMemoryStatsResponse> conversationStats() {
+        return ResponseEntity.ok(geminiService.conversationStats());
+    }
+
+    @GetMapping("/usage")
+    public ResponseEntity<List<TokenUsageResponse>> usageByDay(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(tokenQuotaService.usageByDay(date == null ? LocalDate.now() : date));
+    }
+
+    @GetMapping("/usage/{username}")
+    public ResponseEntity<List<TokenUsageResponse>> usageByUser(
+            @PathVariable String username,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to == null ? LocalDate.now() : to;
+        LocalDate start = from == null ? end.minusDays(29) : from;
+        return ResponseEntity.ok(tokenQuotaService.usageByUser(username, start, end));
+    }
+
     @PostMapping("/organize-description")
     public ResponseEntity<String> organizeDescription(@RequestBody DescriptionRequest request) {
         try {
             String response = geminiService.organizeProductDescription(request.description());
             return ResponseEntity.ok(response);
         } catch (IOException e) {
-            e.printStackTrace();
+            log.error("Failed to organize the product description", e);
             return ResponseEntity.status(500).body("Erro ao comunicar com a IA.");
         }
     }
-}
\ No newline at end of file
+
+    @DeleteMapping("/organize-description/cache")
+    public ResponseEntity<String> invalidateDescriptionCache(@RequestParam(required = false) String promptVersion) {
+        int deleted = geminiService.invalidateDescriptionCache(promptVersion);
+        return ResponseEntity.ok(deleted + " cached descriptions invalidated.");
+    }
+}
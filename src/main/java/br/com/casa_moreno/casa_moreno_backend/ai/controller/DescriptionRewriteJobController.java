@@ -0,0 +1,39 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.controller;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.dto.DescriptionRewriteJobResponse;
+import br.com.casa_moreno.casa_moreno_backend.ai.service.DescriptionRewriteService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/ai/description-rewrite-jobs")
+public class DescriptionRewriteJobController {
+
+    private final DescriptionRewriteService descriptionRewriteService;
+
+    public DescriptionRewriteJobController(DescriptionRewriteService descriptionRewriteService) {
+        this.descriptionRewriteService = descriptionRewriteService;
+    }
+
+    @PostMapping
+    public ResponseEntity<DescriptionRewriteJobResponse> startJob() {
+        return ResponseEntity.accepted().body(new DescriptionRewriteJobResponse(descriptionRewriteService.startJob()));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<DescriptionRewriteJobResponse> findJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(new DescriptionRewriteJobResponse(descriptionRewriteService.findJob(jobId)));
+    }
+
+    @PostMapping("/{jobId}/pause")
+    public ResponseEntity<DescriptionRewriteJobResponse> pauseJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(new DescriptionRewriteJobResponse(descriptionRewriteService.pauseJob(jobId)));
+    }
+
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<DescriptionRewriteJobResponse> resumeJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(new DescriptionRewriteJobResponse(descriptionRewriteService.resumeJob(jobId)));
+    }
+}
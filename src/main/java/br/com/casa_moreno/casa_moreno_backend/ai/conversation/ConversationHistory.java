@@ -0,0 +1,38 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.conversation;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.llm.TokenEstimator;
+
+import java.util.List;
+
+// Cópia imutável do que a sessão lembra: as últimas trocas completas e, antes delas, só as perguntas das trocas resumidas.
+public record ConversationHistory(List<String> earlierQuestions, List<ConversationTurn> turns) {
+
+    public static final ConversationHistory EMPTY = new ConversationHistory(List.of(), List.of());
+
+    public boolean isEmpty() {
+        return earlierQuestions.isEmpty() && turns.isEmpty();
+    }
+
+    public String lastQuestion() {
+        if (!turns.isEmpty()) {
+            return turns.getLast().question();
+        }
+        return earlierQuestions.isEmpty() ? "" : earlierQuestions.getLast();
+    }
+
+    public String toPromptText() {
+        StringBuilder text = new StringBuilder();
+        if (!earlierQuestions.isEmpty()) {
+            text.append("Perguntas anteriores do cliente: ").append(String.join("; ", earlierQuestions)).append('\n');
+        }
+        for (ConversationTurn turn : turns) {
+            text.append("Cliente: ").append(turn.question()).append('\n');
+            text.append("Assistente: ").append(turn.answer()).append('\n');
+        }
+        return text.toString().trim();
+    }
+
+    public int tokens() {
+        return TokenEstimator.estimate(toPromptText());
+    }
+}
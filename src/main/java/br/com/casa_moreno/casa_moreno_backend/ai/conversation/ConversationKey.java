@@ -0,0 +1,18 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.conversation;
+
+import java.security.Principal;
+import java.util.UUID;
+
+// A sessão pertence ao usuário autenticado: o mesmo sessionId enviado por outra conta abre outra conversa.
+public record ConversationKey(String owner, String sessionId) {
+
+    private static final int SESSION_ID_MAX_LENGTH = 64;
+
+    public static ConversationKey of(Principal principal, String sessionId) {
+        String owner = principal == null ? "anonymous" : principal.getName();
+        if (sessionId == null || sessionId.isBlank() || sessionId.length() > SESSION_ID_MAX_LENGTH) {
+            sessionId = UUID.randomUUID().toString();
+        }
+        return new ConversationKey(owner, sessionId);
+    }
+}
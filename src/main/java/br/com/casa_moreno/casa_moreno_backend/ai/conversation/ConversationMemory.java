@@ -0,0 +1,77 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.conversation;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.dto.ConversationMemoryStatsResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+// Sessões de conversa do chat em memória. O peso de cada sessão é o tamanho estimado em bytes, então o total
+// fica limitado por maxSize; sessões paradas há mais de idleTtl também saem.
+@Component
+public class ConversationMemory {
+
+    private final Cache<ConversationKey, ConversationSession> sessions;
+    private final int historyTokens;
+    private final int summaryTokens;
+    private final DistributionSummary promptHistoryTokens;
+
+    public ConversationMemory(
+            MeterRegistry meterRegistry,
+            @Value("${ai.chat.memory.max-size}") DataSize maxSize,
+            @Value("${ai.chat.memory.idle-ttl}") Duration idleTtl,
+            @Value("${ai.chat.memory.history-tokens}") int historyTokens,
+            @Value("${ai.chat.memory.summary-tokens}") int summaryTokens) {
+        this.sessions = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((ConversationKey key, ConversationSession session) -> session.estimatedBytes())
+                .expireAfterAccess(idleTtl)
+                .build();
+        this.historyTokens = historyTokens;
+        this.summaryTokens = summaryTokens;
+        this.promptHistoryTokens = DistributionSummary.builder("ai.chat.history.tokens")
+                .description("Estimated conversation history tokens added to each chat prompt")
+                .baseUnit("tokens")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("ai.chat.sessions.active", sessions, Cache::estimatedSize)
+                .register(meterRegistry);
+        Gauge.builder("ai.chat.sessions.bytes", this, memory -> memory.stats().totalBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public ConversationHistory history(ConversationKey key) {
+        ConversationSession session = sessions.getIfPresent(key);
+        ConversationHistory history = session == null ? ConversationHistory.EMPTY : session.snapshot();
+        promptHistoryTokens.record(history.tokens());
+        return history;
+    }
+
+    public void record(ConversationKey key, String question, String answer) {
+        ConversationSession session = sessions.get(key, k -> new ConversationSession(historyTokens, summaryTokens));
+        session.append(question, answer);
+        // O Caffeine só recalcula o peso no put.
+        sessions.put(key, session);
+    }
+
+    public ConversationMemoryStatsResponse stats() {
+        sessions.cleanUp();
+        long active = 0;
+        long totalBytes = 0;
+        long largest = 0;
+        for (ConversationSession session : sessions.asMap().values()) {
+            long bytes = session.estimatedBytes();
+            active++;
+            totalBytes += bytes;
+            largest = Math.max(largest, bytes);
+        }
+        return new ConversationMemoryStatsResponse(active, totalBytes, active == 0 ? 0 : totalBytes / active, largest, historyTokens);
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.conversation;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.llm.TokenEstimator;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+// Histórico de uma conversa limitado por orçamento de tokens: quando as trocas completas passam de historyTokens,
+// as mais antigas ficam só com a pergunta (resumo) e, quando o resumo passa de summaryTokens, são descartadas.
+final class ConversationSession {
+
+    private static final int SUMMARY_QUESTION_MAX_CHARS = 120;
+    // Cabeçalho do String + array interno e referência no deque, aproximados para a JVM de 64 bits com compressed oops.
+    private static final int STRING_OVERHEAD_BYTES = 40;
+    private static final int ENTRY_OVERHEAD_BYTES = 24;
+
+    private final int historyTokens;
+    private final int summaryTokens;
+    private final Deque<ConversationTurn> turns = new ArrayDeque<>();
+    private final Deque<String> earlierQuestions = new ArrayDeque<>();
+    private int turnTokensUsed;
+    private int summaryTokensUsed;
+    private int estimatedBytes;
+
+    ConversationSession(int historyTokens, int summaryTokens) {
+        this.historyTokens = historyTokens;
+        this.summaryTokens = summaryTokens;
+    }
+
+    synchronized ConversationHistory snapshot() {
+        return new ConversationHistory(List.copyOf(earlierQuestions), List.copyOf(turns));
+    }
+
+    synchronized void append(String question, String answer) {
+        // Cada lado da troca cabe em metade do orçamento, então uma única resposta longa não estoura o prompt.
+        int maxChars = historyTokens * TokenEstimator.CHARS_PER_TOKEN / 2;
+        ConversationTurn turn = new ConversationTurn(truncate(question, maxChars), truncate(answer, maxChars));
+        turns.addLast(turn);
+        turnTokensUsed += turn.tokens();
+        estimatedBytes += bytes(turn);
+
+        while (turnTokensUsed > historyTokens && turns.size() > 1) {
+            ConversationTurn oldest = turns.removeFirst();
+            turnTokensUsed -= oldest.tokens();
+            estimatedBytes -= bytes(oldest);
+
+            String summarized = truncate(oldest.question(), SUMMARY_QUESTION_MAX_CHARS);
+            earlierQuestions.addLast(summarized);
+            summaryTokensUsed += TokenEstimator.estimate(summarized);
+            estimatedBytes += bytes(summarized);
+        }
+        while (summaryTokensUsed > summaryTokens && !earlierQuestions.isEmpty()) {
+            String dropped = earlierQuestions.removeFirst();
+            summaryTokensUsed -= TokenEstimator.estimate(dropped);
+            estimatedBytes -= bytes(dropped);
+        }
+    }
+
+    synchronized int estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    private static int bytes(ConversationTurn turn) {
+        return ENTRY_OVERHEAD_BYTES + stringBytes(turn.question()) + stringBytes(turn.answer());
+    }
+
+    private static int bytes(String summarizedQuestion) {
+        return ENTRY_OVERHEAD_BYTES + stringBytes(summarizedQuestion);
+    }
+
+    // Compact strings: 1 byte por caractere se tudo couber em Latin-1 (o caso do português), senão 2.
+    private static int stringBytes(String value) {
+        boolean latin1 = value.chars().allMatch(c -> c <= 0xFF);
+        return STRING_OVERHEAD_BYTES + value.length() * (latin1 ? 1 : 2);
+    }
+
+    private static String truncate(String value, int maxChars) {
+        if (value == null) {
+            return "";
+        }
+        return value.length() <= maxChars ? value : value.substring(0, maxChars) + "...";
+    }
+}
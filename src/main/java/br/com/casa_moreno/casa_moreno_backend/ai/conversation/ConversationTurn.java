@@ -0,0 +1,10 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.conversation;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.llm.TokenEstimator;
+
+public record ConversationTurn(String question, String answer) {
+
+    int tokens() {
+        return TokenEstimator.estimate(question) + TokenEstimator.estimate(answer);
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ai_response_cache")
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter @Setter
+public class AiResponseCacheEntry {
+
+    // SHA-256 de (operação, versão do prompt, modelo, entrada).
+    @Id
+    private String cacheKey;
+    private String operation;
+    private String promptVersion;
+    private String modelName;
+    @Column(columnDefinition = "TEXT")
+    private String response;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,28 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ai_token_usage")
+@IdClass(AiTokenUsageId.class)
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter @Setter
+public class AiTokenUsage {
+
+    @Id
+    private String username;
+    @Id
+    private LocalDate usageDate;
+    private Long promptTokens;
+    private Long responseTokens;
+    private LocalDateTime updatedAt;
+}
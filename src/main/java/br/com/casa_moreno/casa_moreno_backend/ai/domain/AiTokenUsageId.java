@@ -0,0 +1,19 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@Getter
+public class AiTokenUsageId implements Serializable {
+
+    private String username;
+    private LocalDate usageDate;
+}
@@ -0,0 +1,32 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.domain;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.constant.DescriptionRewriteJobStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "description_rewrite_jobs")
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter @Setter
+public class DescriptionRewriteJob {
+
+    @Id @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+    @Enumerated(EnumType.STRING)
+    private DescriptionRewriteJobStatus status;
+    // Versão do prompt de formatação no momento da criação; produtos já formatados com ela são pulados.
+    private String promptVersion;
+    private UUID cursorProductId;
+    private Long totalProducts;
+    private Long rewrittenCount;
+    private Long failedCount;
+    private LocalDateTime leaseUntil;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+}
@@ -1,3 +1,9 @@
 package br.com.casa_moreno.casa_moreno_backend.ai.dto;
 
-public record ChatRequest(String message) {}
+// sessionId é opcional: sem ele o servidor abre uma conversa nova e devolve o id no header X-Chat-Session-Id.
+public record ChatRequest(String message, String sessionId) {
+
+    public ChatRequest(String message) {
+        this(message, null);
+    }
+}
@@ -0,0 +1,3 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.dto;
+
+public record ChatStreamChunk(String text) {}
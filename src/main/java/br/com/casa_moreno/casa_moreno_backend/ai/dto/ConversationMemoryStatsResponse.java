@@ -0,0 +1,9 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.dto;
+
+public record ConversationMemoryStatsResponse(
+        long activeSessions,
+        long totalBytes,
+        long averageBytesPerSession,
+        long largestSessionBytes,
+        int historyTokenBudget) {
+}
@@ -0,0 +1,49 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.dto;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.constant.DescriptionRewriteJobStatus;
+import br.com.casa_moreno.casa_moreno_backend.ai.domain.DescriptionRewriteJob;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record DescriptionRewriteJobResponse(
+        UUID id,
+        DescriptionRewriteJobStatus status,
+        String promptVersion,
+        Long totalProducts,
+        Long rewrittenCount,
+        Long failedCount,
+        Double productsPerSecond,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime completedAt) {
+
+    public DescriptionRewriteJobResponse(DescriptionRewriteJob job) {
+        this(
+                job.getId(),
+                job.getStatus(),
+                job.getPromptVersion(),
+                job.getTotalProducts(),
+                job.getRewrittenCount(),
+                job.getFailedCount(),
+                productsPerSecond(job),
+                job.getCreatedAt(),
+                job.getUpdatedAt(),
+                job.getCompletedAt()
+        );
+    }
+
+    private static Double productsPerSecond(DescriptionRewriteJob job) {
+        LocalDateTime end = job.getCompletedAt() != null ? job.getCompletedAt() : job.getUpdatedAt();
+        if (job.getCreatedAt() == null || end == null) {
+            return 0.0;
+        }
+        long elapsedMillis = Duration.between(job.getCreatedAt(), end).toMillis();
+        if (elapsedMillis <= 0) {
+            return 0.0;
+        }
+        long processed = job.getRewrittenCount() + job.getFailedCount();
+        return processed * 1000.0 / elapsedMillis;
+    }
+}
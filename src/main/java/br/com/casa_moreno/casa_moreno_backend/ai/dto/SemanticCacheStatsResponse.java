@@ -0,0 +1,9 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.dto;
+
+public record SemanticCacheStatsResponse(
+        long hits,
+        long misses,
+        double hitRate,
+        long geminiCallsSaved,
+        int entries) {
+}
@@ -0,0 +1,18 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.dto;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.domain.AiTokenUsage;
+
+import java.time.LocalDate;
+
+public record TokenUsageResponse(
+        String username,
+        LocalDate usageDate,
+        long promptTokens,
+        long responseTokens,
+        long totalTokens) {
+
+    public TokenUsageResponse(AiTokenUsage usage) {
+        this(usage.getUsername(), usage.getUsageDate(), usage.getPromptTokens(), usage.getResponseTokens(),
+                usage.getPromptTokens() + usage.getResponseTokens());
+    }
+}
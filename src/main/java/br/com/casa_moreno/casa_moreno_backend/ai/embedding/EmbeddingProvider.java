@@ -0,0 +1,9 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.embedding;
+
+// Converte texto em um vetor de tamanho fixo com norma 1, para que o produto escalar seja a similaridade de cosseno.
+public interface EmbeddingProvider {
+
+    float[] embed(String text);
+
+    int dimensions();
+}
@@ -0,0 +1,66 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.embedding;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Embedding local e determinístico (feature hashing de palavras e trigramas de caracteres).
+// Não entende sinônimos como um modelo de embeddings, mas pega paráfrases com as mesmas palavras,
+// erros de digitação e variações de acento, sem custo nem chamada de rede.
+@Component
+@ConditionalOnProperty(name = "ai.embedding.provider", havingValue = "hashing", matchIfMissing = true)
+public class HashingEmbeddingProvider implements EmbeddingProvider {
+
+    private static final float WORD_WEIGHT = 1.0f;
+    private static final float TRIGRAM_WEIGHT = 0.5f;
+
+    private final int dimensions;
+
+    public HashingEmbeddingProvider(@Value("${ai.embedding.dimensions}") int dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[dimensions];
+        List<String> tokens = TextNormalizer.tokens(text);
+        for (String token : tokens) {
+            add(vector, "w:" + token, WORD_WEIGHT);
+            String padded = "#" + token + "#";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                add(vector, "t:" + padded.substring(i, i + 3), TRIGRAM_WEIGHT);
+            }
+        }
+        normalize(vector);
+        return vector;
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    // O segundo hash decide o sinal, para que colisões tendam a se cancelar em vez de se somar.
+    private void add(float[] vector, String feature, float weight) {
+        int hash = feature.hashCode();
+        int index = Math.floorMod(hash, dimensions);
+        float sign = (Integer.rotateLeft(hash * 0x9E3779B9, 16) & 1) == 0 ? 1f : -1f;
+        vector[index] += sign * weight;
+    }
+
+    private static void normalize(float[] vector) {
+        double sumOfSquares = 0;
+        for (float value : vector) {
+            sumOfSquares += value * value;
+        }
+        if (sumOfSquares == 0) {
+            return;
+        }
+        float inverseNorm = (float) (1.0 / Math.sqrt(sumOfSquares));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= inverseNorm;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.embedding;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Busca exata por força bruta: com alguns milhares de vetores de centenas de dimensões a varredura leva
+// menos de um milissegundo e não precisa de estrutura aproximada. Quando cheio, sobrescreve o mais antigo.
+public class InMemoryVectorIndex<T> {
+
+    private final int dimensions;
+    private final float[] vectors;
+    private final Object[] values;
+    private final int capacity;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int size;
+    private int next;
+
+    public InMemoryVectorIndex(int dimensions, int capacity) {
+        this.dimensions = dimensions;
+        this.capacity = capacity;
+        this.vectors = new float[dimensions * capacity];
+        this.values = new Object[capacity];
+    }
+
+    public void add(float[] vector, T value) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Expected a vector with " + dimensions + " dimensions");
+        }
+        lock.writeLock().lock();
+        try {
+            System.arraycopy(vector, 0, vectors, next * dimensions, dimensions);
+            values[next] = value;
+            next = (next + 1) % capacity;
+            size = Math.min(size + 1, capacity);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public Optional<Match<T>> nearest(float[] query) {
+        lock.readLock().lock();
+        try {
+            int best = -1;
+            float bestScore = Float.NEGATIVE_INFINITY;
+            for (int i = 0; i < size; i++) {
+                int offset = i * dimensions;
+                float score = 0f;
+                for (int d = 0; d < dimensions; d++) {
+                    score += vectors[offset + d] * query[d];
+                }
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = i;
+                }
+            }
+            return best < 0 ? Optional.empty() : Optional.of(new Match<>((T) values[best], bestScore));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(values, null);
+            size = 0;
+            next = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public record Match<T>(T value, float score) {
+    }
+}
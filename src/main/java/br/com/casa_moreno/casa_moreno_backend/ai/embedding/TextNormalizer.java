@@ -0,0 +1,56 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.embedding;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public final class TextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    // Palavras que aparecem em quase toda pergunta e não ajudam a distinguir uma da outra.
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "um", "uma", "uns", "umas", "de", "da", "do", "das", "dos", "e", "em", "no", "na",
+            "nos", "nas", "por", "para", "pra", "com", "que", "qual", "quais", "se", "me", "eu", "voce", "voces",
+            "vcs", "vc", "ao", "aos", "ola", "oi", "bom", "boa", "dia", "tarde", "noite", "favor", "gostaria",
+            "saber", "queria", "poderia", "pode", "minha", "meu", "sua", "seu", "la", "ai", "ja", "tem", "sao");
+
+    private TextNormalizer() {
+    }
+
+    // "Olá! Vocês entregam em Saquarema?" -> "entregam saquarema"
+    public static String normalize(String text) {
+        return String.join(" ", tokens(text));
+    }
+
+    public static List<String> tokens(String text) {
+        List<String> words = words(text);
+        List<String> tokens = new ArrayList<>(words.size());
+        for (String word : words) {
+            if (!STOPWORDS.contains(word)) {
+                tokens.add(word);
+            }
+        }
+        return tokens;
+    }
+
+    // Sem acento, em minúsculas e sem pontuação, mas mantendo as stopwords ("Olá, bom dia!" -> [ola, bom, dia]).
+    public static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        String[] parts = NON_ALPHANUMERIC.split(folded.toLowerCase(Locale.ROOT));
+        List<String> words = new ArrayList<>(parts.length);
+        for (String part : parts) {
+            if (!part.isEmpty()) {
+                words.add(part);
+            }
+        }
+        return words;
+    }
+}
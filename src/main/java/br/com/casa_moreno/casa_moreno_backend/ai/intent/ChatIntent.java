@@ -0,0 +1,11 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.intent;
+
+public enum ChatIntent {
+    EMPTY,
+    GREETING,
+    THANKS,
+    CONTACT,
+    OPENING_HOURS,
+    OFF_TOPIC,
+    QUESTION;
+}
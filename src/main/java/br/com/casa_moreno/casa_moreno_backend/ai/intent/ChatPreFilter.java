@@ -0,0 +1,157 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.intent;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.embedding.TextNormalizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Classificação local antes do Gemini: cumprimentos, agradecimentos e mensagens vazias por regra,
+// contato/horário/fora do assunto por um Naive Bayes pequeno. Só perguntas de verdade vão para o modelo.
+// As respostas de contato e horário saem do contexto-loja.txt. Sem horário lá, a resposta local diz que não há
+// a informação e passa o contato; só quando falta o próprio contato essas intenções seguem para o modelo.
+@Component
+public class ChatPreFilter {
+
+    private static final Pattern BULLET = Pattern.compile("^\\*\\s+\\*\\*([^*:]+):\\*\\*\\s*(.+)$");
+    private static final Set<String> GREETING_WORDS = Set.of(
+            "oi", "ola", "opa", "eai", "hey", "hello", "bom", "boa", "dia", "tarde", "noite", "tudo", "bem", "e", "ai",
+            "como", "vai", "voce");
+    private static final Set<String> THANKS_WORDS = Set.of(
+            "obrigado", "obrigada", "obg", "valeu", "vlw", "ok", "okay", "certo", "blz", "beleza", "tchau", "ate",
+            "mais", "logo", "entendi", "muito", "show", "perfeito", "otimo", "tranquilo");
+
+    private final boolean enabled;
+    private final double minConfidence;
+    private final int maxTokens;
+    private final NaiveBayesIntentModel model = new NaiveBayesIntentModel();
+    private final Map<ChatIntent, String> answers = new EnumMap<>(ChatIntent.class);
+    private final Map<ChatIntent, Counter> counters = new EnumMap<>(ChatIntent.class);
+
+    public ChatPreFilter(
+            ResourceLoader resourceLoader,
+            MeterRegistry meterRegistry,
+            @Value("${ai.prefilter.enabled}") boolean enabled,
+            @Value("${ai.prefilter.min-confidence}") double minConfidence,
+            @Value("${ai.prefilter.max-tokens}") int maxTokens) throws IOException {
+        this.enabled = enabled;
+        this.minConfidence = minConfidence;
+        this.maxTokens = maxTokens;
+        trainModel(read(resourceLoader, "classpath:ai/intents.txt"));
+        loadAnswers(read(resourceLoader, "classpath:ai/contexto-loja.txt"));
+        for (ChatIntent intent : ChatIntent.values()) {
+            counters.put(intent, Counter.builder("ai.chat.prefilter")
+                    .description("Chat messages by locally classified intent; everything but question is answered without Gemini")
+                    .tag("intent", intent.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        Gauge.builder("ai.chat.prefilter.deflection_ratio", this, ChatPreFilter::deflectionRate)
+                .register(meterRegistry);
+    }
+
+    private static String read(ResourceLoader resourceLoader, String location) throws IOException {
+        Resource resource = resourceLoader.getResource(location);
+        if (!resource.exists()) {
+            return "";
+        }
+        return new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    public Optional<String> answerLocally(String message) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        ChatIntent intent = classify(message);
+        String answer = answers.get(intent);
+        counters.get(answer == null ? ChatIntent.QUESTION : intent).increment();
+        return Optional.ofNullable(answer);
+    }
+
+    ChatIntent classify(String message) {
+        List<String> words = TextNormalizer.words(message);
+        if (words.isEmpty()) {
+            return ChatIntent.EMPTY;
+        }
+        if (GREETING_WORDS.containsAll(words)) {
+            return ChatIntent.GREETING;
+        }
+        if (THANKS_WORDS.containsAll(words)) {
+            return ChatIntent.THANKS;
+        }
+        // Mensagens longas quase sempre são perguntas de verdade, mesmo citando "contato" ou "horário".
+        if (TextNormalizer.tokens(message).size() > maxTokens) {
+            return ChatIntent.QUESTION;
+        }
+        NaiveBayesIntentModel.Prediction prediction = model.predict(message);
+        return prediction.probability() >= minConfidence ? prediction.intent() : ChatIntent.QUESTION;
+    }
+
+    public double deflectionRate() {
+        double total = 0;
+        for (Counter counter : counters.values()) {
+            total += counter.count();
+        }
+        return total == 0 ? 0.0 : (total - counters.get(ChatIntent.QUESTION).count()) / total;
+    }
+
+    private void trainModel(String examples) {
+        for (String line : examples.split("\\R")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            int separator = trimmed.indexOf('|');
+            if (separator < 0) {
+                continue;
+            }
+            model.train(ChatIntent.valueOf(trimmed.substring(0, separator).trim()), trimmed.substring(separator + 1).trim());
+        }
+    }
+
+    private void loadAnswers(String storeContext) {
+        Map<String, String> facts = new HashMap<>();
+        for (String line : storeContext.split("\\R")) {
+            Matcher matcher = BULLET.matcher(line.trim());
+            if (matcher.matches()) {
+                facts.put(matcher.group(1).trim(), matcher.group(2).replace("**", "").trim());
+            }
+        }
+
+        String greeting = "Olá! Sou o assistente virtual da Casa Moreno. Como posso ajudar você hoje?";
+        answers.put(ChatIntent.EMPTY, greeting);
+        answers.put(ChatIntent.GREETING, greeting);
+        answers.put(ChatIntent.THANKS, "Por nada! Se tiver outra dúvida sobre a Casa Moreno, é só perguntar.");
+        answers.put(ChatIntent.OFF_TOPIC, "Sou o assistente virtual da Casa Moreno e só consigo ajudar com dúvidas sobre a loja, nossas ofertas e sua conta.");
+
+        String contact = facts.get("Contato");
+        String hours = facts.entrySet().stream()
+                .filter(fact -> fact.getKey().startsWith("Horário"))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+        if (contact != null) {
+            answers.put(ChatIntent.CONTACT, contact);
+        }
+        if (hours != null) {
+            answers.put(ChatIntent.OPENING_HOURS, hours);
+        } else if (contact != null) {
+            // É o que o modelo responderia seguindo as instruções do contexto, sem pagar a chamada.
+            answers.put(ChatIntent.OPENING_HOURS, "Não tenho a informação de horário de atendimento. " + contact);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.intent;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.embedding.TextNormalizer;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Naive Bayes multinomial com suavização de Laplace e prioris uniformes, treinado na subida com os exemplos de intents.txt.
+// Além das palavras usa o prefixo de 5 letras, para "funciona" e "funcionamento" contarem como a mesma pista.
+final class NaiveBayesIntentModel {
+
+    private static final int PREFIX_LENGTH = 5;
+
+    private final Map<ChatIntent, Map<String, Integer>> featureCounts = new EnumMap<>(ChatIntent.class);
+    private final Map<ChatIntent, Integer> totalFeatures = new EnumMap<>(ChatIntent.class);
+    private final Set<String> vocabulary = new HashSet<>();
+
+    record Prediction(ChatIntent intent, double probability) {
+    }
+
+    void train(ChatIntent intent, String example) {
+        Map<String, Integer> counts = featureCounts.computeIfAbsent(intent, key -> new HashMap<>());
+        for (String feature : features(example)) {
+            counts.merge(feature, 1, Integer::sum);
+            totalFeatures.merge(intent, 1, Integer::sum);
+            vocabulary.add(feature);
+        }
+    }
+
+    Prediction predict(String text) {
+        List<String> known = new ArrayList<>();
+        for (String feature : features(text)) {
+            if (vocabulary.contains(feature)) {
+                known.add(feature);
+            }
+        }
+        if (known.isEmpty() || featureCounts.isEmpty()) {
+            return new Prediction(ChatIntent.QUESTION, 0.0);
+        }
+
+        Map<ChatIntent, Double> logScores = new EnumMap<>(ChatIntent.class);
+        double max = Double.NEGATIVE_INFINITY;
+        for (Map.Entry<ChatIntent, Map<String, Integer>> entry : featureCounts.entrySet()) {
+            double denominator = totalFeatures.getOrDefault(entry.getKey(), 0) + vocabulary.size();
+            double score = 0.0;
+            for (String feature : known) {
+                score += Math.log((entry.getValue().getOrDefault(feature, 0) + 1) / denominator);
+            }
+            logScores.put(entry.getKey(), score);
+            max = Math.max(max, score);
+        }
+
+        // Softmax estável sobre os log-scores.
+        double sum = 0.0;
+        ChatIntent best = ChatIntent.QUESTION;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (Map.Entry<ChatIntent, Double> entry : logScores.entrySet()) {
+            sum += Math.exp(entry.getValue() - max);
+            if (entry.getValue() > bestScore) {
+                bestScore = entry.getValue();
+                best = entry.getKey();
+            }
+        }
+        return new Prediction(best, Math.exp(bestScore - max) / sum);
+    }
+
+    private static List<String> features(String text) {
+        List<String> tokens = TextNormalizer.tokens(text);
+        List<String> features = new ArrayList<>(tokens.size() * 2);
+        for (String token : tokens) {
+            features.add(token);
+            if (token.length() > PREFIX_LENGTH) {
+                features.add("p:" + token.substring(0, PREFIX_LENGTH));
+            }
+        }
+        return features;
+    }
+}
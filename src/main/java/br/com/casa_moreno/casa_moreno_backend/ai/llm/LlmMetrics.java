@@ -0,0 +1,49 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.llm;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+// Latência e tokens de cada chamada ao modelo, com os mesmos nomes para todos os adaptadores do LlmPort.
+final class LlmMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final String modelName;
+    private final DistributionSummary promptTokens;
+    private final DistributionSummary responseTokens;
+
+    LlmMetrics(MeterRegistry meterRegistry, String modelName) {
+        this.meterRegistry = meterRegistry;
+        this.modelName = modelName;
+        this.promptTokens = tokens("prompt");
+        this.responseTokens = tokens("response");
+    }
+
+    private DistributionSummary tokens(String type) {
+        return DistributionSummary.builder("ai.llm.tokens")
+                .description("Tokens per model call")
+                .baseUnit("tokens")
+                .tag("model", modelName)
+                .tag("type", type)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    void recordCall(String operation, long startNanos, boolean success) {
+        Timer.builder("ai.llm.requests")
+                .description("Latency of model calls; for streaming, until the last chunk")
+                .tag("model", modelName)
+                .tag("operation", operation)
+                .tag("result", success ? "success" : "error")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordTokens(long prompt, long response) {
+        promptTokens.record(prompt);
+        responseTokens.record(response);
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.llm;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+// Ponto único de acesso ao modelo de linguagem, para que os serviços de IA não dependam do SDK do Vertex
+// e possam rodar contra um modelo simulado em testes de carga e benchmarks.
+public interface LlmPort {
+
+    String generate(String prompt) throws IOException;
+
+    // Repassa cada trecho assim que o modelo o produz; trechos vazios não são repassados.
+    void generateStream(String prompt, Consumer<String> onChunk) throws IOException;
+
+    // Entra na chave dos caches de resposta, para não misturar respostas de modelos diferentes.
+    String modelName();
+}
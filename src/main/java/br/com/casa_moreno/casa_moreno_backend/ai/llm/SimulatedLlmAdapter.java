@@ -0,0 +1,145 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.llm;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+// Modelo local para medir concorrência, cache e timeout dos endpoints de IA sem um projeto Vertex.
+// A resposta depende só do prompt; a latência segue uma log-normal definida pela mediana e pelo p99,
+// e uma fração configurável das chamadas falha (no streaming, depois de metade dos trechos).
+@Component
+@ConditionalOnProperty(name = "ai.llm.provider", havingValue = "simulated")
+public class SimulatedLlmAdapter implements LlmPort {
+
+    public static final String MODEL_NAME = "simulated";
+
+    // z do percentil 99 da normal padrão.
+    private static final double Z_99 = 2.3263;
+    private static final String[] VOCABULARY = {
+            "produto", "entrega", "garantia", "loja", "preço", "estoque", "pagamento", "pix", "cartão", "frete",
+            "atendimento", "qualidade", "original", "novo", "prazo", "dias", "úteis", "cliente", "pedido", "troca"
+    };
+
+    private final long medianNanos;
+    private final double sigma;
+    private final long chunkDelayNanos;
+    private final int responseWords;
+    private final double failureRate;
+    private final long seed;
+    private final Random random;
+    private final LlmMetrics metrics;
+
+    public SimulatedLlmAdapter(
+            MeterRegistry meterRegistry,
+            @Value("${ai.llm.simulated.latency-median}") Duration latencyMedian,
+            @Value("${ai.llm.simulated.latency-p99}") Duration latencyP99,
+            @Value("${ai.llm.simulated.chunk-delay}") Duration chunkDelay,
+            @Value("${ai.llm.simulated.response-words}") int responseWords,
+            @Value("${ai.llm.simulated.failure-rate}") double failureRate,
+            @Value("${ai.llm.simulated.seed}") long seed) {
+        this.medianNanos = latencyMedian.toNanos();
+        this.sigma = latencyP99.compareTo(latencyMedian) > 0 && !latencyMedian.isZero()
+                ? Math.log((double) latencyP99.toNanos() / latencyMedian.toNanos()) / Z_99
+                : 0.0;
+        this.chunkDelayNanos = chunkDelay.toNanos();
+        this.responseWords = responseWords;
+        this.failureRate = failureRate;
+        this.seed = seed;
+        this.random = new Random(seed);
+        this.metrics = new LlmMetrics(meterRegistry, MODEL_NAME);
+    }
+
+    @Override
+    public String generate(String prompt) throws IOException {
+        long start = System.nanoTime();
+        boolean fail = shouldFail();
+        boolean success = false;
+        try {
+            sleep(sampleLatencyNanos());
+            if (fail) {
+                throw new IOException("Simulated LLM failure");
+            }
+            String answer = String.join("", chunks(prompt));
+            metrics.recordTokens(TokenEstimator.estimate(prompt), TokenEstimator.estimate(answer));
+            success = true;
+            return answer;
+        } finally {
+            metrics.recordCall("generate", start, success);
+        }
+    }
+
+    @Override
+    public void generateStream(String prompt, Consumer<String> onChunk) throws IOException {
+        long start = System.nanoTime();
+        boolean fail = shouldFail();
+        List<String> chunks = chunks(prompt);
+        int failAt = fail ? chunks.size() / 2 : chunks.size();
+
+        boolean success = false;
+        try {
+            sleep(sampleLatencyNanos());
+            for (int i = 0; i < failAt; i++) {
+                if (i > 0) {
+                    sleep(chunkDelayNanos);
+                }
+                onChunk.accept(chunks.get(i));
+            }
+            metrics.recordTokens(TokenEstimator.estimate(prompt), TokenEstimator.estimate(String.join("", chunks.subList(0, failAt))));
+            if (fail) {
+                throw new IOException("Simulated LLM failure");
+            }
+            success = true;
+        } finally {
+            metrics.recordCall("stream", start, success);
+        }
+    }
+
+    @Override
+    public String modelName() {
+        return MODEL_NAME;
+    }
+
+    // Mesmo prompt, mesmos trechos; concatenados dão exatamente o que generate() devolve.
+    List<String> chunks(String prompt) {
+        Random text = new Random(seed * 31 + prompt.hashCode());
+        List<String> chunks = new ArrayList<>(responseWords + 2);
+        chunks.add("Resposta ");
+        chunks.add("simulada:");
+        for (int i = 0; i < responseWords; i++) {
+            chunks.add(" " + VOCABULARY[text.nextInt(VOCABULARY.length)]);
+        }
+        return chunks;
+    }
+
+    long sampleLatencyNanos() {
+        if (medianNanos == 0) {
+            return 0;
+        }
+        return (long) (medianNanos * Math.exp(sigma * random.nextGaussian()));
+    }
+
+    private boolean shouldFail() {
+        return failureRate > 0 && random.nextDouble() < failureRate;
+    }
+
+    private static void sleep(long nanos) throws InterruptedIOException {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Simulated LLM call interrupted");
+        }
+    }
+}
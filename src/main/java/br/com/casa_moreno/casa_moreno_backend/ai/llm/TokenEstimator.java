@@ -0,0 +1,18 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.llm;
+
+// Estimativa local de tokens (~4 caracteres por token nos modelos Gemini), boa o bastante para orçamentos
+// de prompt sem chamar o countTokens do Vertex a cada mensagem.
+public final class TokenEstimator {
+
+    public static final int CHARS_PER_TOKEN = 4;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        return (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+}
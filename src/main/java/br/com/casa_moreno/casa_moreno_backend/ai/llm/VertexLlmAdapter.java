@@ -0,0 +1,89 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.llm;
+
+import com.google.cloud.vertexai.api.GenerateContentResponse;
+import com.google.cloud.vertexai.api.Part;
+import com.google.cloud.vertexai.generativeai.GenerativeModel;
+import com.google.cloud.vertexai.generativeai.ResponseHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+@Component
+@ConditionalOnProperty(name = "ai.llm.provider", havingValue = "vertex", matchIfMissing = true)
+public class VertexLlmAdapter implements LlmPort {
+
+    private final GenerativeModel generativeModel;
+    private final String modelName;
+    private final LlmMetrics metrics;
+
+    public VertexLlmAdapter(GenerativeModel generativeModel, MeterRegistry meterRegistry, @Value("${gemini.model.name}") String modelName) {
+        this.generativeModel = generativeModel;
+        this.modelName = modelName;
+        this.metrics = new LlmMetrics(meterRegistry, modelName);
+    }
+
+    @Override
+    public String generate(String prompt) throws IOException {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            GenerateContentResponse response = generativeModel.generateContent(prompt);
+            recordUsage(response);
+            String text = ResponseHandler.getText(response);
+            success = true;
+            return text;
+        } finally {
+            metrics.recordCall("generate", start, success);
+        }
+    }
+
+    @Override
+    public void generateStream(String prompt, Consumer<String> onChunk) throws IOException {
+        long start = System.nanoTime();
+        boolean success = false;
+        GenerateContentResponse last = null;
+        try {
+            for (GenerateContentResponse response : generativeModel.generateContentStream(prompt)) {
+                last = response;
+                String chunk = chunkText(response);
+                if (!chunk.isEmpty()) {
+                    onChunk.accept(chunk);
+                }
+            }
+            success = true;
+        } finally {
+            metrics.recordCall("stream", start, success);
+            // A contagem de tokens acumulada chega no último trecho do stream.
+            if (last != null) {
+                recordUsage(last);
+            }
+        }
+    }
+
+    @Override
+    public String modelName() {
+        return modelName;
+    }
+
+    private void recordUsage(GenerateContentResponse response) {
+        if (response.hasUsageMetadata()) {
+            metrics.recordTokens(response.getUsageMetadata().getPromptTokenCount(), response.getUsageMetadata().getCandidatesTokenCount());
+        }
+    }
+
+    // O último trecho do stream pode vir só com o finishReason, sem texto; ResponseHandler.getText lançaria exceção nele.
+    private static String chunkText(GenerateContentResponse response) {
+        if (response.getCandidatesCount() == 0) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        for (Part part : response.getCandidates(0).getContent().getPartsList()) {
+            text.append(part.getText());
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,276 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.quota;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.domain.AiTokenUsageId;
+import br.com.casa_moreno.casa_moreno_backend.ai.dto.TokenUsageResponse;
+import br.com.casa_moreno.casa_moreno_backend.ai.repository.AiTokenUsageRepository;
+import br.com.casa_moreno.casa_moreno_backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Cota diária de tokens (prompt + resposta) por usuário e global, checada antes de cada chamada ao modelo.
+// Os contadores ficam em memória em LongAdder, sem lock no caminho da requisição, e o flush grava só o que mudou.
+// O total já gravado no dia é carregado na primeira vez que o usuário aparece, então um restart não zera a cota;
+// com várias instâncias cada uma só enxerga o uso das outras até aquele momento.
+@Component
+public class TokenQuotaService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenQuotaService.class);
+
+    private static final String QUOTA_EXCEEDED_MESSAGE = "Daily AI usage limit reached. Please try again tomorrow.";
+
+    // Soma ao que já está no banco: cada flush envia só o delta desde o anterior.
+    private static final String FLUSH_SQL = """
+            INSERT INTO ai_token_usage (username, usage_date, prompt_tokens, response_tokens, updated_at)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (username, usage_date) DO UPDATE
+            SET prompt_tokens = ai_token_usage.prompt_tokens + EXCLUDED.prompt_tokens,
+                response_tokens = ai_token_usage.response_tokens + EXCLUDED.response_tokens,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private final AiTokenUsageRepository aiTokenUsageRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final long userDailyTokens;
+    private final long globalDailyTokens;
+    private final Map<UsageKey, DailyUsage> users = new ConcurrentHashMap<>();
+    private final Map<LocalDate, DailyUsage> global = new ConcurrentHashMap<>();
+    private final Counter userRejections;
+    private final Counter globalRejections;
+
+    public TokenQuotaService(
+            AiTokenUsageRepository aiTokenUsageRepository,
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${ai.quota.enabled}") boolean enabled,
+            @Value("${ai.quota.user-daily-tokens}") long userDailyTokens,
+            @Value("${ai.quota.global-daily-tokens}") long globalDailyTokens) {
+        this.aiTokenUsageRepository = aiTokenUsageRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.userDailyTokens = userDailyTokens;
+        this.globalDailyTokens = globalDailyTokens;
+        this.userRejections = rejections(meterRegistry, "user");
+        this.globalRejections = rejections(meterRegistry, "global");
+        Gauge.builder("ai.quota.tokens.today", this, quota -> quota.globalUsage(LocalDate.now()).total())
+                .description("Prompt and response tokens spent today across all users")
+                .register(meterRegistry);
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder("ai.quota.rejected")
+                .description("Model calls refused because the daily token quota was reached")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+    public void checkAvailable(String username, int promptTokens) {
+        checkAvailable(username, promptTokens, LocalDate.now());
+    }
+
+    // Checar e registrar não é atômico: requisições simultâneas podem passar um pouco da cota, o que é aceitável aqui.
+    void checkAvailable(String username, int promptTokens, LocalDate day) {
+        if (!enabled) return;
+
+        if (userUsage(username, day).total() + promptTokens > userDailyTokens) {
+            userRejections.increment();
+            throw new TooManyRequestsException(QUOTA_EXCEEDED_MESSAGE, secondsUntilNextDay(day));
+        }
+        if (globalUsage(day).total() + promptTokens > globalDailyTokens) {
+            globalRejections.increment();
+            throw new TooManyRequestsException(QUOTA_EXCEEDED_MESSAGE, secondsUntilNextDay(day));
+        }
+    }
+
+    public void record(String username, int promptTokens, int responseTokens) {
+        record(username, promptTokens, responseTokens, LocalDate.now());
+    }
+
+    void record(String username, int promptTokens, int responseTokens, LocalDate day) {
+        userUsage(username, day).add(promptTokens, responseTokens);
+        globalUsage(day).add(promptTokens, responseTokens);
+    }
+
+    long usedTokens(String username, LocalDate day) {
+        return userUsage(username, day).total();
+    }
+
+    public List<TokenUsageResponse> usageByDay(LocalDate day) {
+        flush();
+        return aiTokenUsageRepository.findByUsageDateOrderByUsernameAsc(day).stream()
+                .map(TokenUsageResponse::new)
+                .toList();
+    }
+
+    public List<TokenUsageResponse> usageByUser(String username, LocalDate from, LocalDate to) {
+        flush();
+        return aiTokenUsageRepository.findByUsernameAndUsageDateBetweenOrderByUsageDateAsc(username, from, to).stream()
+                .map(TokenUsageResponse::new)
+                .toList();
+    }
+
+    // Um único batch com os deltas de todos os usuários; se falhar, os deltas continuam pendentes para o próximo flush.
+    @Scheduled(fixedDelayString = "${ai.quota.flush-interval}")
+    @PreDestroy
+    public synchronized int flush() {
+        // Dias anteriores saem do mapa antes de somar os deltas, então nenhum record novo pega o contador
+        // depois da soma; um record que já tinha a referência deixa pendência e o contador volta para o mapa.
+        LocalDate today = LocalDate.now();
+        Map<UsageKey, DailyUsage> retired = new HashMap<>();
+        for (UsageKey key : users.keySet()) {
+            if (key.day().isBefore(today)) {
+                DailyUsage usage = users.remove(key);
+                if (usage != null) {
+                    retired.put(key, usage);
+                }
+            }
+        }
+        global.keySet().removeIf(day -> day.isBefore(today));
+
+        List<PendingFlush> pending = new ArrayList<>();
+        users.forEach((key, usage) -> addPending(pending, key, usage));
+        retired.forEach((key, usage) -> addPending(pending, key, usage));
+
+        if (!pending.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate(FLUSH_SQL, toBatchArgs(pending));
+            } catch (RuntimeException e) {
+                log.warn("Failed to flush AI token usage", e);
+                retired.forEach(this::restore);
+                return 0;
+            }
+            for (PendingFlush flush : pending) {
+                flush.usage().flushedPrompt += flush.promptDelta();
+                flush.usage().flushedResponse += flush.responseDelta();
+            }
+        }
+
+        retired.forEach((key, usage) -> {
+            if (usage.hasPending()) {
+                restore(key, usage);
+            }
+        });
+        return pending.size();
+    }
+
+    private static void addPending(List<PendingFlush> pending, UsageKey key, DailyUsage usage) {
+        long promptDelta = usage.prompt.sum() - usage.flushedPrompt;
+        long responseDelta = usage.response.sum() - usage.flushedResponse;
+        if (promptDelta > 0 || responseDelta > 0) {
+            pending.add(new PendingFlush(key, usage, promptDelta, responseDelta));
+        }
+    }
+
+    // Devolve ao mapa o que ainda não foi gravado; se outro contador já ocupou a chave, o delta passa para ele.
+    private void restore(UsageKey key, DailyUsage usage) {
+        DailyUsage current = users.putIfAbsent(key, usage);
+        if (current != null) {
+            long promptDelta = usage.prompt.sum() - usage.flushedPrompt;
+            long responseDelta = usage.response.sum() - usage.flushedResponse;
+            current.add(promptDelta, responseDelta);
+            usage.flushedPrompt += promptDelta;
+            usage.flushedResponse += responseDelta;
+        }
+    }
+
+    private static List<Object[]> toBatchArgs(List<PendingFlush> pending) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(pending.size());
+        for (PendingFlush flush : pending) {
+            args.add(new Object[]{flush.key().username(), Date.valueOf(flush.key().day()), flush.promptDelta(), flush.responseDelta(), now});
+        }
+        return args;
+    }
+
+    private DailyUsage userUsage(String username, LocalDate day) {
+        UsageKey key = new UsageKey(username, day);
+        DailyUsage usage = users.get(key);
+        return usage != null ? usage : users.computeIfAbsent(key, this::loadUserUsage);
+    }
+
+    private DailyUsage globalUsage(LocalDate day) {
+        DailyUsage usage = global.get(day);
+        return usage != null ? usage : global.computeIfAbsent(day, this::loadGlobalUsage);
+    }
+
+    // Se o banco falhar aqui a cota parte do zero: melhor deixar o chat funcionando do que bloquear todo mundo.
+    private DailyUsage loadUserUsage(UsageKey key) {
+        try {
+            return aiTokenUsageRepository.findById(new AiTokenUsageId(key.username(), key.day()))
+                    .map(usage -> new DailyUsage(usage.getPromptTokens(), usage.getResponseTokens()))
+                    .orElseGet(() -> new DailyUsage(0, 0));
+        } catch (RuntimeException e) {
+            log.warn("Failed to load AI token usage for {}", key.username(), e);
+            return new DailyUsage(0, 0);
+        }
+    }
+
+    private DailyUsage loadGlobalUsage(LocalDate day) {
+        try {
+            return new DailyUsage(aiTokenUsageRepository.sumTokensByUsageDate(day), 0);
+        } catch (RuntimeException e) {
+            log.warn("Failed to load global AI token usage", e);
+            return new DailyUsage(0, 0);
+        }
+    }
+
+    private static long secondsUntilNextDay(LocalDate day) {
+        return Math.max(1, Duration.between(LocalDateTime.now(), day.plusDays(1).atStartOfDay()).toSeconds());
+    }
+
+    private record UsageKey(String username, LocalDate day) {
+    }
+
+    private record PendingFlush(UsageKey key, DailyUsage usage, long promptDelta, long responseDelta) {
+    }
+
+    private static final class DailyUsage {
+
+        // O que já estava no banco quando o contador foi criado; não é enviado de novo no flush.
+        private final long persistedPrompt;
+        private final long persistedResponse;
+        private final LongAdder prompt = new LongAdder();
+        private final LongAdder response = new LongAdder();
+        // Só alterados pelo flush, que é synchronized.
+        private long flushedPrompt;
+        private long flushedResponse;
+
+        private DailyUsage(long persistedPrompt, long persistedResponse) {
+            this.persistedPrompt = persistedPrompt;
+            this.persistedResponse = persistedResponse;
+        }
+
+        private void add(long promptTokens, long responseTokens) {
+            prompt.add(promptTokens);
+            response.add(responseTokens);
+        }
+
+        private long total() {
+            return persistedPrompt + persistedResponse + prompt.sum() + response.sum();
+        }
+
+        private boolean hasPending() {
+            return prompt.sum() > flushedPrompt || response.sum() > flushedResponse;
+        }
+    }
+}
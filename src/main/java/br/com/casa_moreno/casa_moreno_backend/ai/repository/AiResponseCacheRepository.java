@@ -0,0 +1,39 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.repository;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.domain.AiResponseCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface AiResponseCacheRepository extends JpaRepository<AiResponseCacheEntry, String> {
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AiResponseCacheEntry e WHERE e.operation = :operation")
+    int deleteByOperation(@Param("operation") String operation);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AiResponseCacheEntry e WHERE e.operation = :operation AND e.promptVersion = :promptVersion")
+    int deleteByOperationAndPromptVersion(@Param("operation") String operation, @Param("promptVersion") String promptVersion);
+
+    // INSERT direto: um save() com a chave já preenchida passaria pelo merge e faria um SELECT antes.
+    // Retorna 0 sem escrever nada quando outra instância gravou a mesma chave antes.
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO ai_response_cache (cache_key, operation, prompt_version, model_name, response, created_at)
+            VALUES (:cacheKey, :operation, :promptVersion, :modelName, :response, :createdAt)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("cacheKey") String cacheKey,
+                       @Param("operation") String operation,
+                       @Param("promptVersion") String promptVersion,
+                       @Param("modelName") String modelName,
+                       @Param("response") String response,
+                       @Param("createdAt") LocalDateTime createdAt);
+}
@@ -0,0 +1,20 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.repository;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.domain.AiTokenUsage;
+import br.com.casa_moreno.casa_moreno_backend.ai.domain.AiTokenUsageId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AiTokenUsageRepository extends JpaRepository<AiTokenUsage, AiTokenUsageId> {
+
+    List<AiTokenUsage> findByUsageDateOrderByUsernameAsc(LocalDate usageDate);
+
+    List<AiTokenUsage> findByUsernameAndUsageDateBetweenOrderByUsageDateAsc(String username, LocalDate from, LocalDate to);
+
+    @Query("SELECT COALESCE(SUM(u.promptTokens + u.responseTokens), 0) FROM AiTokenUsage u WHERE u.usageDate = :usageDate")
+    long sumTokensByUsageDate(@Param("usageDate") LocalDate usageDate);
+}
@@ -0,0 +1,90 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.repository;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.constant.DescriptionRewriteJobStatus;
+import br.com.casa_moreno.casa_moreno_backend.ai.domain.DescriptionRewriteJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface DescriptionRewriteJobRepository extends JpaRepository<DescriptionRewriteJob, UUID> {
+
+    List<DescriptionRewriteJob> findAllByStatus(DescriptionRewriteJobStatus status);
+
+    Optional<DescriptionRewriteJob> findFirstByStatusInOrderByCreatedAtDesc(List<DescriptionRewriteJobStatus> statuses);
+
+    // Só uma instância processa o job por vez: quem conseguir o lease segue, as outras recebem 0.
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE DescriptionRewriteJob j
+            SET j.leaseUntil = :leaseUntil
+            WHERE j.id = :id
+              AND j.status = :status
+              AND (j.leaseUntil IS NULL OR j.leaseUntil < :now)
+            """)
+    int claim(@Param("id") UUID id,
+              @Param("status") DescriptionRewriteJobStatus status,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // Avança o checkpoint sem olhar o status: um lote concluído enquanto o admin pausava não é reprocessado na retomada.
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE DescriptionRewriteJob j
+            SET j.cursorProductId = :cursorProductId,
+                j.rewrittenCount = j.rewrittenCount + :rewritten,
+                j.failedCount = j.failedCount + :failed,
+                j.updatedAt = :updatedAt
+            WHERE j.id = :id
+            """)
+    int recordProgress(@Param("id") UUID id,
+                       @Param("cursorProductId") UUID cursorProductId,
+                       @Param("rewritten") long rewritten,
+                       @Param("failed") long failed,
+                       @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Renova o lease para o próximo lote; retorna 0 se o job foi pausado no meio do lote.
+    @Modifying
+    @Transactional
+    @Query("UPDATE DescriptionRewriteJob j SET j.leaseUntil = :leaseUntil WHERE j.id = :id AND j.status = :status")
+    int renewLease(@Param("id") UUID id,
+                   @Param("status") DescriptionRewriteJobStatus status,
+                   @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE DescriptionRewriteJob j
+            SET j.status = :newStatus, j.leaseUntil = NULL, j.updatedAt = :updatedAt
+            WHERE j.id = :id AND j.status = :currentStatus
+            """)
+    int updateStatus(@Param("id") UUID id,
+                     @Param("currentStatus") DescriptionRewriteJobStatus currentStatus,
+                     @Param("newStatus") DescriptionRewriteJobStatus newStatus,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE DescriptionRewriteJob j
+            SET j.status = :completedStatus, j.leaseUntil = NULL, j.updatedAt = :completedAt, j.completedAt = :completedAt
+            WHERE j.id = :id AND j.status = :runningStatus
+            """)
+    int complete(@Param("id") UUID id,
+                 @Param("runningStatus") DescriptionRewriteJobStatus runningStatus,
+                 @Param("completedStatus") DescriptionRewriteJobStatus completedStatus,
+                 @Param("completedAt") LocalDateTime completedAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE DescriptionRewriteJob j SET j.leaseUntil = NULL WHERE j.id = :id")
+    int releaseLease(@Param("id") UUID id);
+}
@@ -0,0 +1,122 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.retrieval;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.embedding.TextNormalizer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice invertido com ranking BM25. Documentos podem ser incluídos, trocados e removidos um a um,
+// então o catálogo é atualizado sem reconstruir o índice inteiro.
+public class Bm25Index {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+    private final Map<String, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    // indexedText é o texto pesquisado; chunk é o que vai para o prompt quando o documento é escolhido.
+    public void put(String id, String indexedText, ContextChunk chunk) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        List<String> tokens = TextNormalizer.tokens(indexedText);
+        for (String token : tokens) {
+            termFrequencies.merge(token, 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(id, entry.getValue());
+            }
+            documents.put(id, new Document(chunk, tokens.size(), termFrequencies.keySet()));
+            totalLength += tokens.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(String id) {
+        Document previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        totalLength -= previous.length();
+        for (String term : previous.terms()) {
+            Map<String, Integer> documentsWithTerm = postings.get(term);
+            documentsWithTerm.remove(id);
+            if (documentsWithTerm.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    public List<ContextChunk> search(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / documents.size();
+            Map<String, Double> scores = new HashMap<>();
+            for (String term : new LinkedHashSet<>(TextNormalizer.tokens(query))) {
+                Map<String, Integer> documentsWithTerm = postings.get(term);
+                if (documentsWithTerm == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documents.size() - documentsWithTerm.size() + 0.5) / (documentsWithTerm.size() + 0.5));
+                for (Map.Entry<String, Integer> entry : documentsWithTerm.entrySet()) {
+                    int length = documents.get(entry.getKey()).length();
+                    double tf = entry.getValue();
+                    double score = idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / averageLength));
+                    scores.merge(entry.getKey(), score, Double::sum);
+                }
+            }
+
+            PriorityQueue<Map.Entry<String, Double>> best = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<String, Double> entry : scores.entrySet()) {
+                best.offer(entry);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            List<ContextChunk> results = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                results.addFirst(documents.get(best.poll().getKey()).chunk());
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record Document(ContextChunk chunk, int length, Set<String> terms) {
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.retrieval;
+
+public record ContextChunk(String id, String text) {
+
+    public boolean isProduct() {
+        return id.startsWith(ContextRetriever.PRODUCT_PREFIX);
+    }
+}
@@ -0,0 +1,143 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.retrieval;
+
+import br.com.casa_moreno.casa_moreno_backend.product.domain.Product;
+import br.com.casa_moreno.casa_moreno_backend.product.event.ProductChangedEvent;
+import br.com.casa_moreno.casa_moreno_backend.product.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Em vez de mandar o contexto-loja.txt inteiro em todo prompt, indexa os trechos dele e o catálogo com BM25
+// e manda só os mais relevantes para a pergunta.
+@Component
+public class ContextRetriever {
+
+    private static final Pattern SECTION_HEADING = Pattern.compile("^\\*\\*\\d+\\.\\s*(.+?)\\*\\*\\s*$");
+    // A seção de instruções do contexto vale para qualquer pergunta, então vai sempre no prompt.
+    private static final String INSTRUCTIONS_SECTION = "Instruções";
+    private static final String STORE_PREFIX = "store:";
+    static final String PRODUCT_PREFIX = "product:";
+
+    private final ProductRepository productRepository;
+    private final int topK;
+    private final int chunkMaxChars;
+    private final Bm25Index index = new Bm25Index();
+    private final List<ContextChunk> instructions = new ArrayList<>();
+    private final List<ContextChunk> storeChunks = new ArrayList<>();
+
+    public ContextRetriever(
+            ProductRepository productRepository,
+            ResourceLoader resourceLoader,
+            @Value("${ai.retrieval.top-k}") int topK,
+            @Value("${ai.retrieval.chunk-max-chars}") int chunkMaxChars) throws IOException {
+        this.productRepository = productRepository;
+        this.topK = topK;
+        this.chunkMaxChars = chunkMaxChars;
+        indexStoreContext(loadStoreContext(resourceLoader));
+    }
+
+    private static String loadStoreContext(ResourceLoader resourceLoader) throws IOException {
+        Resource resource = resourceLoader.getResource("classpath:ai/contexto-loja.txt");
+        return new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    // Instruções fixas + os topK trechos mais relevantes; sem nenhum termo em comum, usa o início do contexto da loja.
+    public List<ContextChunk> retrieve(String question) {
+        List<ContextChunk> relevant = index.search(question, topK);
+        if (relevant.isEmpty() && !storeChunks.isEmpty()) {
+            relevant = List.of(storeChunks.getFirst());
+        }
+        List<ContextChunk> context = new ArrayList<>(instructions.size() + relevant.size());
+        context.addAll(relevant);
+        context.addAll(instructions);
+        return context;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void indexCatalog() {
+        for (Product product : productRepository.findAll()) {
+            indexProduct(product);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        String id = PRODUCT_PREFIX + event.productId();
+        if (event.deleted()) {
+            index.remove(id);
+            return;
+        }
+        productRepository.findById(event.productId()).ifPresentOrElse(this::indexProduct, () -> index.remove(id));
+    }
+
+    int indexedDocuments() {
+        return index.size();
+    }
+
+    private void indexProduct(Product product) {
+        String searchable = String.join(" ",
+                nullToEmpty(product.getProductTitle()),
+                nullToEmpty(product.getProductBrand()),
+                nullToEmpty(product.getProductCategory()),
+                nullToEmpty(product.getProductSubcategory()),
+                nullToEmpty(product.getProductCondition()),
+                nullToEmpty(product.getFullDescription()));
+
+        String id = PRODUCT_PREFIX + product.getProductId();
+        index.put(id, searchable, new ContextChunk(id, ProductContextFormatter.format(product, chunkMaxChars)));
+    }
+
+    // Divide por seção (**N. Título**) e, dentro dela, por blocos separados por linha em branco.
+    // Cada trecho leva o título da seção para não perder o contexto quando aparece sozinho no prompt.
+    private void indexStoreContext(String storeContext) {
+        String heading = "";
+        StringBuilder block = new StringBuilder();
+        for (String line : storeContext.split("\\R")) {
+            Matcher matcher = SECTION_HEADING.matcher(line.trim());
+            if (matcher.matches()) {
+                addStoreChunk(heading, block);
+                heading = matcher.group(1).trim();
+            } else if (line.isBlank()) {
+                addStoreChunk(heading, block);
+            } else {
+                if (!block.isEmpty() && block.length() + line.length() > chunkMaxChars) {
+                    addStoreChunk(heading, block);
+                }
+                block.append(line).append('\n');
+            }
+        }
+        addStoreChunk(heading, block);
+    }
+
+    private void addStoreChunk(String heading, StringBuilder block) {
+        if (block.isEmpty()) {
+            return;
+        }
+        String text = (heading.isEmpty() ? "" : heading + "\n") + block.toString().trim();
+        block.setLength(0);
+
+        ContextChunk chunk = new ContextChunk(STORE_PREFIX + (storeChunks.size() + instructions.size()), text);
+        if (heading.contains(INSTRUCTIONS_SECTION)) {
+            instructions.add(chunk);
+            return;
+        }
+        storeChunks.add(chunk);
+        index.put(chunk.id(), text, chunk);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.retrieval;
+
+import br.com.casa_moreno.casa_moreno_backend.product.domain.Product;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Texto de um produto como ele entra nos prompts: "Produto: ... | Marca: ... | Preço atual: R$ 3999,90 | ...".
+public final class ProductContextFormatter {
+
+    private ProductContextFormatter() {
+    }
+
+    public static String format(Product product, int descriptionMaxChars) {
+        StringBuilder text = new StringBuilder("Produto: ").append(nullToEmpty(product.getProductTitle()));
+        appendField(text, "Marca", product.getProductBrand());
+        appendField(text, "Categoria", product.getProductCategory());
+        appendField(text, "Subcategoria", product.getProductSubcategory());
+        appendField(text, "Condição", product.getProductCondition());
+        appendField(text, "Preço atual", formatPrice(product.getCurrentPrice()));
+        appendField(text, "Preço original", formatPrice(product.getOriginalPrice()));
+        appendField(text, "Desconto", product.getDiscountPercentage());
+        appendField(text, "Estoque", product.getStockStatus());
+        appendField(text, "Descrição", truncate(product.getFullDescription(), descriptionMaxChars));
+        return text.toString();
+    }
+
+    private static void appendField(StringBuilder text, String label, String value) {
+        if (value != null && !value.isBlank()) {
+            text.append(" | ").append(label).append(": ").append(value);
+        }
+    }
+
+    private static String formatPrice(BigDecimal price) {
+        return price == null ? null : "R$ " + price.setScale(2, RoundingMode.HALF_UP).toPlainString().replace('.', ',');
+    }
+
+    private static String truncate(String value, int maxChars) {
+        if (value == null || value.length() <= maxChars) {
+            return value;
+        }
+        return value.substring(0, maxChars) + "...";
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,168 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.service;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.domain.AiResponseCacheEntry;
+import br.com.casa_moreno.casa_moreno_backend.ai.repository.AiResponseCacheRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Cache em dois níveis para respostas determinísticas da IA: Caffeine na frente e a tabela
+// ai_response_cache atrás, para sobreviver a restarts e ser compartilhada entre instâncias.
+@Component
+public class AiResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AiResponseCache.class);
+
+    private final AiResponseCacheRepository aiResponseCacheRepository;
+    private final Cache<String, String> memory;
+    // Chamadas ao modelo em andamento por chave; ficam fora do Caffeine para não segurar o lock do compute durante a chamada remota.
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    // Incrementado a cada invalidação: uma resposta calculada antes dela não volta para a memória.
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+
+    public AiResponseCache(
+            AiResponseCacheRepository aiResponseCacheRepository,
+            MeterRegistry meterRegistry,
+            @Value("${ai.cache.memory.max-entries}") long maxEntries,
+            @Value("${ai.cache.memory.expire-after-access}") Duration expireAfterAccess) {
+        this.aiResponseCacheRepository = aiResponseCacheRepository;
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+        this.memoryHits = lookupCounter(meterRegistry, "memory");
+        this.databaseHits = lookupCounter(meterRegistry, "database");
+        this.misses = lookupCounter(meterRegistry, "miss");
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("ai.cache.lookups")
+                .description("AI response cache lookups by the tier that answered")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    public interface AiCall {
+        String call() throws IOException;
+    }
+
+    // Pedidos idênticos simultâneos esperam pelo mesmo cálculo, então o modelo é chamado uma vez só.
+    public String getOrCompute(String operation, String promptVersion, String modelName, String input, AiCall aiCall) throws IOException {
+        String cacheKey = cacheKey(operation, promptVersion, modelName, input);
+
+        String cached = memory.getIfPresent(cacheKey);
+        if (cached != null) {
+            memoryHits.increment();
+            return cached;
+        }
+
+        CompletableFuture<String> computation = new CompletableFuture<>();
+        CompletableFuture<String> running = inFlight.putIfAbsent(cacheKey, computation);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            long startedAt = generation.get();
+            String response = load(cacheKey, operation, promptVersion, modelName, aiCall);
+            if (generation.get() == startedAt) {
+                memory.put(cacheKey, response);
+            }
+            computation.complete(response);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            computation.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, computation);
+        }
+    }
+
+    private static String await(CompletableFuture<String> running) throws IOException {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private String load(String cacheKey, String operation, String promptVersion, String modelName, AiCall aiCall) throws IOException {
+        String stored = aiResponseCacheRepository.findById(cacheKey).map(AiResponseCacheEntry::getResponse).orElse(null);
+        if (stored != null) {
+            databaseHits.increment();
+            return stored;
+        }
+
+        misses.increment();
+        String response = aiCall.call();
+
+        try {
+            int inserted = aiResponseCacheRepository.insertIfAbsent(cacheKey, operation, promptVersion, String.valueOf(modelName),
+                    response, LocalDateTime.now());
+            if (inserted == 0) {
+                // Outra instância gravou a mesma chave ao mesmo tempo: usa a resposta dela para todas darem a mesma.
+                return aiResponseCacheRepository.findById(cacheKey).map(AiResponseCacheEntry::getResponse).orElse(response);
+            }
+        } catch (DataAccessException e) {
+            // O cache é só otimização: a resposta já foi obtida e volta a ser gravada na próxima falta.
+            log.warn("Could not store the AI response in the cache table", e);
+        }
+        return response;
+    }
+
+    // Sem promptVersion remove todas as entradas da operação.
+    public int invalidate(String operation, String promptVersion) {
+        int deleted = promptVersion == null
+                ? aiResponseCacheRepository.deleteByOperation(operation)
+                : aiResponseCacheRepository.deleteByOperationAndPromptVersion(operation, promptVersion);
+        // As chaves em memória são hashes, então não dá para filtrar por versão; limpar tudo é barato.
+        generation.incrementAndGet();
+        memory.invalidateAll();
+        return deleted;
+    }
+
+    static String cacheKey(String operation, String promptVersion, String modelName, String input) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : new String[]{operation, promptVersion, modelName, input}) {
+                byte[] bytes = String.valueOf(part).getBytes(StandardCharsets.UTF_8);
+                // Prefixa o tamanho para que ("ab", "c") e ("a", "bc") não gerem a mesma chave.
+                digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.US_ASCII));
+                digest.update((byte) ':');
+                digest.update(bytes);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
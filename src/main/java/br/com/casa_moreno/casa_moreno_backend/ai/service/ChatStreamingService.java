@@ -0,0 +1,144 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.service;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.conversation.ConversationKey;
+import br.com.casa_moreno.casa_moreno_backend.ai.dto.ChatStreamChunk;
+import br.com.casa_moreno.casa_moreno_backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Cada stream roda em uma virtual thread: a thread do servlet é liberada assim que o SseEmitter é devolvido
+// e a espera pelos tokens do modelo não prende uma thread de plataforma. O semáforo limita quantas gerações
+// ficam abertas ao mesmo tempo, já que virtual threads não têm o teto natural de um pool.
+@Service
+public class ChatStreamingService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatStreamingService.class);
+    private static final String TOO_MANY_STREAMS_MESSAGE = "Too many chat conversations in progress. Please try again shortly.";
+
+    private final GeminiService geminiService;
+    private final MeterRegistry meterRegistry;
+    private final Timer firstTokenTimer;
+    private final Duration timeout;
+    private final Semaphore streams;
+
+    public ChatStreamingService(
+            GeminiService geminiService,
+            MeterRegistry meterRegistry,
+            @Value("${ai.chat.stream.timeout}") Duration timeout,
+            @Value("${ai.chat.stream.max-concurrent}") int maxConcurrentStreams) {
+        this.geminiService = geminiService;
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+        this.streams = new Semaphore(maxConcurrentStreams);
+        this.firstTokenTimer = Timer.builder("ai.chat.stream.first_token")
+                .description("Time from the chat request until the first streamed token")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // Recusa antes de abrir o SseEmitter, então o cliente recebe um 429 comum em vez de um stream com erro.
+    public SseEmitter stream(String userMessage, ConversationKey conversation) {
+        if (!streams.tryAcquire()) {
+            throw new TooManyRequestsException(TOO_MANY_STREAMS_MESSAGE, 1);
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Thread worker = Thread.ofVirtual().name("ai-chat-stream").unstarted(() -> {
+            try {
+                streamTo(emitter, userMessage, conversation, cancelled);
+            } finally {
+                streams.release();
+            }
+        });
+
+        // Timeout, erro ou conexão fechada pelo cliente: para a geração em vez de esperar o modelo terminar.
+        Runnable cancel = () -> {
+            cancelled.set(true);
+            worker.interrupt();
+        };
+        emitter.onTimeout(cancel);
+        emitter.onError(error -> cancel.run());
+        emitter.onCompletion(cancel);
+        worker.start();
+        return emitter;
+    }
+
+    void streamTo(SseEmitter emitter, String userMessage, ConversationKey conversation, AtomicBoolean cancelled) {
+        long start = System.nanoTime();
+        boolean[] firstTokenSent = {false};
+        String result = "success";
+        try {
+            geminiService.streamChatResponse(userMessage, conversation, chunk -> {
+                if (cancelled.get()) {
+                    // Lançar daqui para de iterar o stream, o que encerra a geração no modelo.
+                    throw new CancellationException("Chat stream cancelled");
+                }
+                if (!firstTokenSent[0]) {
+                    firstTokenSent[0] = true;
+                    firstTokenTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+                send(emitter, SseEmitter.event().name("token").data(new ChatStreamChunk(chunk), MediaType.APPLICATION_JSON));
+            });
+            send(emitter, SseEmitter.event().name("done").data(""));
+            emitter.complete();
+        } catch (UncheckedIOException e) {
+            // O cliente fechou a conexão; parar de iterar também interrompe a geração no modelo.
+            result = "disconnected";
+            emitter.completeWithError(e.getCause());
+        } catch (CancellationException e) {
+            // O emitter já terminou (timeout ou erro do container); não há para quem enviar.
+            result = "cancelled";
+        } catch (TooManyRequestsException e) {
+            // O status HTTP já foi enviado, então a recusa por cota vai como evento de erro com a mensagem própria.
+            result = "rejected";
+            sendError(emitter, e.getMessage(), e);
+        } catch (IOException | RuntimeException e) {
+            if (cancelled.get()) {
+                // Falha causada pelo interrupt do cancelamento, não pelo modelo.
+                result = "cancelled";
+                return;
+            }
+            result = "error";
+            log.error("Failed to stream the AI chat response", e);
+            sendError(emitter, "Erro ao comunicar com a IA.", e);
+        } finally {
+            Timer.builder("ai.chat.stream.duration")
+                    .description("Total time spent streaming a chat response")
+                    .tag("result", result)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static void sendError(SseEmitter emitter, String message, Exception cause) {
+        try {
+            emitter.send(SseEmitter.event().name("error").data(message));
+            emitter.complete();
+        } catch (IOException | IllegalStateException sendException) {
+            emitter.completeWithError(cause);
+        }
+    }
+
+    private static void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
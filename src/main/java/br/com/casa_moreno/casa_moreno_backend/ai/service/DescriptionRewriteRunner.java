@@ -0,0 +1,235 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.service;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.constant.DescriptionRewriteJobStatus;
+import br.com.casa_moreno.casa_moreno_backend.ai.domain.DescriptionRewriteJob;
+import br.com.casa_moreno.casa_moreno_backend.ai.repository.DescriptionRewriteJobRepository;
+import br.com.casa_moreno.casa_moreno_backend.product.dto.ProductDescriptionSummary;
+import br.com.casa_moreno.casa_moreno_backend.product.event.ProductChangedEvent;
+import br.com.casa_moreno.casa_moreno_backend.product.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+// Percorre os produtos em lotes pelo cursor (product_id) e grava o checkpoint a cada lote, como as campanhas de e-mail.
+// Dentro do lote as chamadas ao Gemini rodam em até `parallelism` threads e são espaçadas pelo limite por segundo;
+// as descrições formatadas voltam ao banco em um único batch por lote.
+@Component
+public class DescriptionRewriteRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DescriptionRewriteRunner.class);
+
+    // Só grava se a descrição não mudou desde a leitura, para não sobrescrever uma edição feita durante o job.
+    private static final String WRITE_BACK_SQL = """
+            UPDATE products
+            SET full_description = ?, description_prompt_version = ?
+            WHERE product_id = ? AND full_description = ?
+            """;
+
+    private final DescriptionRewriteJobRepository descriptionRewriteJobRepository;
+    private final ProductRepository productRepository;
+    private final GeminiService geminiService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int parallelism;
+    private final long callIntervalNanos;
+    private final Duration lease;
+    private final Counter rewrittenCounter;
+    private final Counter failedCounter;
+    private final Timer rewriteTimer;
+    private final Set<UUID> activeJobs = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopping;
+
+    public DescriptionRewriteRunner(
+            DescriptionRewriteJobRepository descriptionRewriteJobRepository,
+            ProductRepository productRepository,
+            GeminiService geminiService,
+            JdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${ai.description-rewrite.chunk-size}") int chunkSize,
+            @Value("${ai.description-rewrite.parallelism}") int parallelism,
+            @Value("${ai.description-rewrite.rate-per-second}") double ratePerSecond,
+            @Value("${ai.description-rewrite.lease}") Duration lease) {
+        this.descriptionRewriteJobRepository = descriptionRewriteJobRepository;
+        this.productRepository = productRepository;
+        this.geminiService = geminiService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.callIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        this.lease = lease;
+        this.rewrittenCounter = productCounter(meterRegistry, "rewritten");
+        this.failedCounter = productCounter(meterRegistry, "failed");
+        this.rewriteTimer = Timer.builder("ai.description_rewrite.duration")
+                .description("Time to format one product description in the batch job")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Counter productCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("ai.description_rewrite.products")
+                .description("Product descriptions processed by the batch rewrite job")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // Retoma jobs em andamento após um restart ou quando o lease de outra instância expira.
+    @Scheduled(fixedDelayString = "${ai.description-rewrite.resume-interval}")
+    public void resumeRunningJobs() {
+        for (DescriptionRewriteJob job : descriptionRewriteJobRepository.findAllByStatus(DescriptionRewriteJobStatus.RUNNING)) {
+            start(job.getId());
+        }
+    }
+
+    public boolean start(UUID jobId) {
+        if (stopping || !activeJobs.add(jobId)) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (descriptionRewriteJobRepository.claim(jobId, DescriptionRewriteJobStatus.RUNNING, now, now.plus(lease)) == 0) {
+            activeJobs.remove(jobId);
+            return false;
+        }
+        Thread.ofVirtual().name("description-rewrite-" + jobId).start(() -> {
+            try {
+                run(jobId);
+            } catch (RuntimeException e) {
+                log.error("Description rewrite job {} stopped", jobId, e);
+            } finally {
+                activeJobs.remove(jobId);
+            }
+        });
+        return true;
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+    }
+
+    // O andamento fica no próprio job (contadores e cursor, expostos pelo endpoint de status) e nas métricas
+    // ai.description_rewrite.*; o log só registra falhas e o fim do job.
+    void run(UUID jobId) {
+        DescriptionRewriteJob job = descriptionRewriteJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        UUID cursorProductId = job.getCursorProductId();
+        long nextCallAt = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism, Thread.ofVirtual().name("description-rewrite-call-", 0).factory())) {
+            while (!stopping) {
+                List<ProductDescriptionSummary> products = cursorProductId == null
+                        ? productRepository.findFirstDescriptionsToRewrite(job.getPromptVersion(), Limit.of(chunkSize))
+                        : productRepository.findDescriptionsToRewriteAfter(job.getPromptVersion(), cursorProductId, Limit.of(chunkSize));
+                if (products.isEmpty()) {
+                    descriptionRewriteJobRepository.complete(jobId, DescriptionRewriteJobStatus.RUNNING, DescriptionRewriteJobStatus.COMPLETED, LocalDateTime.now());
+                    log.info("Description rewrite job {} completed", jobId);
+                    return;
+                }
+
+                List<CompletableFuture<String>> rewrites = new ArrayList<>(products.size());
+                for (ProductDescriptionSummary product : products) {
+                    nextCallAt = pace(nextCallAt);
+                    rewrites.add(CompletableFuture.supplyAsync(() -> rewrite(product), executor));
+                }
+
+                List<Object[]> writeBack = new ArrayList<>(products.size());
+                List<UUID> writeBackIds = new ArrayList<>(products.size());
+                long failed = 0;
+                for (int i = 0; i < products.size(); i++) {
+                    ProductDescriptionSummary product = products.get(i);
+                    String formatted = await(rewrites.get(i));
+                    if (formatted == null || formatted.isBlank()) {
+                        failed++;
+                        continue;
+                    }
+                    writeBack.add(new Object[]{formatted, job.getPromptVersion(), product.productId(), product.fullDescription()});
+                    writeBackIds.add(product.productId());
+                }
+                List<UUID> rewrittenIds = new ArrayList<>(writeBackIds.size());
+                if (!writeBack.isEmpty()) {
+                    int[] updatedRows = jdbcTemplate.batchUpdate(WRITE_BACK_SQL, writeBack);
+                    // Linhas com 0 foram editadas durante o job e mantêm o texto do admin; não contam como reescritas.
+                    for (int i = 0; i < updatedRows.length; i++) {
+                        if (updatedRows[i] > 0) {
+                            rewrittenIds.add(writeBackIds.get(i));
+                        }
+                    }
+                    // Mantém o contexto de produto das respostas da IA e do índice de busca em dia com o texto novo.
+                    rewrittenIds.forEach(productId -> eventPublisher.publishEvent(new ProductChangedEvent(productId, false)));
+                }
+
+                cursorProductId = products.getLast().productId();
+                LocalDateTime now = LocalDateTime.now();
+                descriptionRewriteJobRepository.recordProgress(jobId, cursorProductId, rewrittenIds.size(), failed, now);
+                rewrittenCounter.increment(rewrittenIds.size());
+                failedCounter.increment(failed);
+                if (descriptionRewriteJobRepository.renewLease(jobId, DescriptionRewriteJobStatus.RUNNING, now.plus(lease)) == 0) {
+                    // Pausado pelo admin enquanto o lote era processado.
+                    return;
+                }
+            }
+        }
+        // Encerrando a aplicação: libera o lease para a próxima instância retomar sem esperar ele expirar.
+        descriptionRewriteJobRepository.releaseLease(jobId);
+    }
+
+    // Espaça as chamadas para respeitar a cota de requisições por segundo do Vertex AI.
+    private long pace(long nextCallAt) {
+        long now = System.nanoTime();
+        if (nextCallAt > now) {
+            LockSupport.parkNanos(nextCallAt - now);
+        }
+        return Math.max(nextCallAt, now) + callIntervalNanos;
+    }
+
+    private String rewrite(ProductDescriptionSummary product) {
+        long start = System.nanoTime();
+        try {
+            return geminiService.organizeProductDescription(product.fullDescription());
+        } catch (Exception e) {
+            log.warn("Failed to rewrite the description of product {}", product.productId(), e);
+            return null;
+        } finally {
+            rewriteTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private String await(CompletableFuture<String> rewrite) {
+        try {
+            return rewrite.get(lease.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
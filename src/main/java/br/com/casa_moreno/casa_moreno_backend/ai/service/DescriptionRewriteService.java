@@ -0,0 +1,71 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.service;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.constant.DescriptionRewriteJobStatus;
+import br.com.casa_moreno.casa_moreno_backend.ai.domain.DescriptionRewriteJob;
+import br.com.casa_moreno.casa_moreno_backend.ai.repository.DescriptionRewriteJobRepository;
+import br.com.casa_moreno.casa_moreno_backend.exception.DescriptionRewriteJobNotFoundException;
+import br.com.casa_moreno.casa_moreno_backend.product.repository.ProductRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class DescriptionRewriteService {
+
+    private final DescriptionRewriteJobRepository descriptionRewriteJobRepository;
+    private final ProductRepository productRepository;
+    private final DescriptionRewriteRunner descriptionRewriteRunner;
+
+    public DescriptionRewriteService(DescriptionRewriteJobRepository descriptionRewriteJobRepository, ProductRepository productRepository, DescriptionRewriteRunner descriptionRewriteRunner) {
+        this.descriptionRewriteJobRepository = descriptionRewriteJobRepository;
+        this.productRepository = productRepository;
+        this.descriptionRewriteRunner = descriptionRewriteRunner;
+    }
+
+    // Um job por vez: enquanto houver um em andamento ou pausado, ele é devolvido em vez de criar outro.
+    public DescriptionRewriteJob startJob() {
+        Optional<DescriptionRewriteJob> unfinished = descriptionRewriteJobRepository.findFirstByStatusInOrderByCreatedAtDesc(
+                List.of(DescriptionRewriteJobStatus.RUNNING, DescriptionRewriteJobStatus.PAUSED));
+        if (unfinished.isPresent()) {
+            return unfinished.get();
+        }
+
+        String promptVersion = GeminiService.DESCRIPTION_PROMPT_VERSION;
+        LocalDateTime now = LocalDateTime.now();
+        DescriptionRewriteJob job = DescriptionRewriteJob.builder()
+                .status(DescriptionRewriteJobStatus.RUNNING)
+                .promptVersion(promptVersion)
+                .totalProducts(productRepository.countDescriptionsToRewrite(promptVersion))
+                .rewrittenCount(0L)
+                .failedCount(0L)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+
+        DescriptionRewriteJob savedJob = descriptionRewriteJobRepository.save(job);
+        descriptionRewriteRunner.start(savedJob.getId());
+        return savedJob;
+    }
+
+    public DescriptionRewriteJob findJob(UUID jobId) {
+        return descriptionRewriteJobRepository.findById(jobId)
+                .orElseThrow(() -> new DescriptionRewriteJobNotFoundException("Description rewrite job not found."));
+    }
+
+    public DescriptionRewriteJob pauseJob(UUID jobId) {
+        findJob(jobId);
+        descriptionRewriteJobRepository.updateStatus(jobId, DescriptionRewriteJobStatus.RUNNING, DescriptionRewriteJobStatus.PAUSED, LocalDateTime.now());
+        return findJob(jobId);
+    }
+
+    public DescriptionRewriteJob resumeJob(UUID jobId) {
+        findJob(jobId);
+        if (descriptionRewriteJobRepository.updateStatus(jobId, DescriptionRewriteJobStatus.PAUSED, DescriptionRewriteJobStatus.RUNNING, LocalDateTime.now()) > 0) {
+            descriptionRewriteRunner.start(jobId);
+        }
+        return findJob(jobId);
+    }
+}
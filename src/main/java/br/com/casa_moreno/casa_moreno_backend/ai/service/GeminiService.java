@@ -1,42 +1,163 @@
 package br.com.casa_moreno.casa_moreno_backend.ai.service;
 
-import com.google.cloud.vertexai.api.GenerateContentResponse;
-import com.google.cloud.vertexai.generativeai.GenerativeModel;
-import com.google.cloud.vertexai.generativeai.ResponseHandler;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.ResourceLoader;
+import br.com.casa_moreno.casa_moreno_backend.ai.conversation.ConversationHistory;
+import br.com.casa_moreno.casa_moreno_backend.ai.conversation.ConversationKey;
+import br.com.casa_moreno.casa_moreno_backend.ai.conversation.ConversationMemory;
+import br.com.casa_moreno.casa_moreno_backend.ai.dto.ConversationMemoryStatsResponse;
+import br.com.casa_moreno.casa_moreno_backend.ai.dto.SemanticCacheStatsResponse;
+import br.com.casa_moreno.casa_moreno_backend.ai.intent.ChatPreFilter;
+import br.com.casa_moreno.casa_moreno_backend.ai.llm.LlmPort;
+import br.com.casa_moreno.casa_moreno_backend.ai.llm.TokenEstimator;
+import br.com.casa_moreno.casa_moreno_backend.ai.quota.TokenQuotaService;
+import br.com.casa_moreno.casa_moreno_backend.ai.retrieval.ContextChunk;
+import br.com.casa_moreno.casa_moreno_backend.ai.retrieval.ContextRetriever;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "ai.gemini")
 public class GeminiService {
 
-    @Value("${GEMINI_MODEL_NAME}")
-    private String geminiModelName;
+    public static final String ORGANIZE_DESCRIPTION_OPERATION = "organize-description";
+    // Incrementar sempre que o prompt de formatação mudar, para não reaproveitar respostas do prompt antigo.
+    public static final String DESCRIPTION_PROMPT_VERSION = "v1";
 
-    private final GenerativeModel generativeModel;
-    private final ResourceLoader resourceLoader;
-    private final String storeContext;
+    private final LlmPort llmPort;
+    private final AiResponseCache aiResponseCache;
+    private final SemanticAnswerCache semanticAnswerCache;
+    private final ContextRetriever contextRetriever;
+    private final ConversationMemory conversationMemory;
+    private final ChatPreFilter chatPreFilter;
+    private final TokenQuotaService tokenQuotaService;
 
-    public GeminiService(GenerativeModel generativeModel, ResourceLoader resourceLoader) throws IOException {
-        this.generativeModel = generativeModel;
-        this.resourceLoader = resourceLoader;
-        this.storeContext = loadStoreContext();
+    public GeminiService(LlmPort llmPort, AiResponseCache aiResponseCache, SemanticAnswerCache semanticAnswerCache, ContextRetriever contextRetriever,
+                         ConversationMemory conversationMemory, ChatPreFilter chatPreFilter, TokenQuotaService tokenQuotaService) {
+        this.llmPort = llmPort;
+        this.aiResponseCache = aiResponseCache;
+        this.semanticAnswerCache = semanticAnswerCache;
+        this.contextRetriever = contextRetriever;
+        this.conversationMemory = conversationMemory;
+        this.chatPreFilter = chatPreFilter;
+        this.tokenQuotaService = tokenQuotaService;
     }
 
-    public String generateChatResponse(String userMessage) throws IOException {
-        String prompt = String.format(
+    // Perguntas de acompanhamento ("e quanto custa?") dependem do histórico, então só a primeira da conversa passa pelo cache semântico.
+    // Respostas do pré-filtro (cumprimentos, contato...) não entram no histórico. Só chamadas ao modelo contam na cota de tokens.
+    public String generateChatResponse(String userMessage, ConversationKey conversation) throws IOException {
+        Optional<String> local = chatPreFilter.answerLocally(userMessage);
+        if (local.isPresent()) {
+            return local.get();
+        }
+        ConversationHistory history = conversationMemory.history(conversation);
+        List<ContextChunk> context = retrieveContext(userMessage, history);
+        String prompt = chatPrompt(userMessage, history, context);
+        String answer = isSemanticallyCacheable(history, context)
+                ? semanticAnswerCache.getOrCompute(userMessage, () -> generateWithinQuota(conversation.owner(), prompt))
+                : generateWithinQuota(conversation.owner(), prompt);
+        conversationMemory.record(conversation, userMessage, answer);
+        return answer;
+    }
+
+    // Repassa cada trecho da resposta assim que o modelo o produz e devolve o texto completo ao final.
+    public String streamChatResponse(String userMessage, ConversationKey conversation, Consumer<String> onChunk) throws IOException {
+        Optional<String> local = chatPreFilter.answerLocally(userMessage);
+        if (local.isPresent()) {
+            onChunk.accept(local.get());
+            return local.get();
+        }
+        ConversationHistory history = conversationMemory.history(conversation);
+        List<ContextChunk> context = retrieveContext(userMessage, history);
+        boolean cacheable = isSemanticallyCacheable(history, context);
+        if (cacheable) {
+            Optional<String> cached = semanticAnswerCache.lookup(userMessage);
+            if (cached.isPresent()) {
+                onChunk.accept(cached.get());
+                conversationMemory.record(conversation, userMessage, cached.get());
+                return cached.get();
+            }
+        }
+
+        String prompt = chatPrompt(userMessage, history, context);
+        int promptTokens = TokenEstimator.estimate(prompt);
+        tokenQuotaService.checkAvailable(conversation.owner(), promptTokens);
+
+        StringBuilder answer = new StringBuilder();
+        try {
+            llmPort.generateStream(prompt, chunk -> {
+                answer.append(chunk);
+                onChunk.accept(chunk);
+            });
+        } finally {
+            // Um stream interrompido também consumiu os tokens já gerados.
+            tokenQuotaService.record(conversation.owner(), promptTokens, TokenEstimator.estimate(answer.toString()));
+        }
+        if (cacheable) {
+            semanticAnswerCache.store(userMessage, answer.toString());
+        }
+        conversationMemory.record(conversation, userMessage, answer.toString());
+        return answer.toString();
+    }
+
+    private String generateWithinQuota(String owner, String prompt) throws IOException {
+        int promptTokens = TokenEstimator.estimate(prompt);
+        tokenQuotaService.checkAvailable(owner, promptTokens);
+        String answer = llmPort.generate(prompt);
+        tokenQuotaService.record(owner, promptTokens, TokenEstimator.estimate(answer));
+        return answer;
+    }
+
+    // Respostas sobre produtos citam preço, estoque e especificações do item encontrado; perguntas parecidas sobre
+    // outro modelo trariam o produto errado, então elas não passam pelo cache semântico.
+    private static boolean isSemanticallyCacheable(ConversationHistory history, List<ContextChunk> context) {
+        return history.isEmpty() && context.stream().noneMatch(ContextChunk::isProduct);
+    }
+
+    // Em perguntas de acompanhamento a busca inclui a pergunta anterior.
+    private List<ContextChunk> retrieveContext(String userMessage, ConversationHistory history) {
+        String query = history.isEmpty() ? userMessage : history.lastQuestion() + " " + userMessage;
+        return contextRetriever.retrieve(query);
+    }
+
+    // Só os trechos do contexto da loja e do catálogo relevantes para a pergunta entram no prompt, e o histórico
+    // entra já limitado pelo orçamento de tokens.
+    private String chatPrompt(String userMessage, ConversationHistory history, List<ContextChunk> relevant) {
+        String context = relevant.stream()
+                .map(ContextChunk::text)
+                .collect(Collectors.joining("\n\n"));
+        String conversation = history.isEmpty() ? "" : "HISTÓRICO DA CONVERSA:\n---\n" + history.toPromptText() + "\n---\n";
+        return String.format(
                 "Você é um assistente virtual da loja Casa Moreno. Use estritamente o CONTEXTO abaixo para responder à pergunta do cliente de forma precisa. " +
                         "Se a resposta não estiver no contexto, diga que você não tem essa informação e peça para o cliente entrar em contato. " +
-                        "CONTEXTO:\n---\n%s\n---\nPERGUNTA DO CLIENTE: %s",
-                this.storeContext,
+                        "CONTEXTO:\n---\n%s\n---\n%sPERGUNTA DO CLIENTE: %s",
+                context,
+                conversation,
                 userMessage
         );
+    }
 
-        return generateText(geminiModelName, prompt);
+    public String answerProductQuestion(String owner, String productContext, String question) throws IOException {
+        String prompt = String.format(
+                "Você é um assistente virtual da loja Casa Moreno. O cliente está vendo o PRODUTO abaixo. Use estritamente os dados do produto para responder à pergunta de forma precisa. " +
+                        "Se a resposta não estiver nos dados, diga que você não tem essa informação e peça para o cliente entrar em contato. " +
+                        "PRODUTO:\n---\n%s\n---\nPERGUNTA DO CLIENTE: %s",
+                productContext,
+                question
+        );
+        return generateWithinQuota(owner, prompt);
+    }
+
+    public SemanticCacheStatsResponse chatCacheStats() {
+        return semanticAnswerCache.stats();
+    }
+
+    public ConversationMemoryStatsResponse conversationStats() {
+        return conversationMemory.stats();
     }
 
     public String organizeProductDescription(String rawDescription) throws IOException {
@@ -44,16 +165,11 @@ public class GeminiService {
                 "Não invente nenhuma informação. Não tente deixar em negrito pois não é possível. Não utiize emojis apenas utilize as informações do texto e formate-o" + "Não mande comentários, apenas a descrição do produto" +
                 "A descrição é: " + rawDescription;
 
-        return generateText(geminiModelName, prompt);
-    }
-
-    private String generateText(String modelName, String prompt) throws IOException {
-        GenerateContentResponse response = this.generativeModel.generateContent(prompt);
-        return ResponseHandler.getText(response);
+        return aiResponseCache.getOrCompute(ORGANIZE_DESCRIPTION_OPERATION, DESCRIPTION_PROMPT_VERSION, llmPort.modelName(), rawDescription,
+                () -> llmPort.generate(prompt));
     }
 
-    private String loadStoreContext() throws IOException {
-        Resource resource = resourceLoader.getResource("classpath:ai/contexto-loja.txt");
-        return new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    public int invalidateDescriptionCache(String promptVersion) {
+        return aiResponseCache.invalidate(ORGANIZE_DESCRIPTION_OPERATION, promptVersion);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,144 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.service;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.embedding.TextNormalizer;
+import br.com.casa_moreno.casa_moreno_backend.ai.retrieval.ProductContextFormatter;
+import br.com.casa_moreno.casa_moreno_backend.exception.ProductNotFoundException;
+import br.com.casa_moreno.casa_moreno_backend.product.event.ProductChangedEvent;
+import br.com.casa_moreno.casa_moreno_backend.product.repository.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Perguntas sobre um anúncio específico: o contexto do produto é montado uma vez e as respostas
+// ficam memorizadas por produto, então anúncios populares não pagam a latência do Gemini a cada visitante.
+@Service
+public class ProductQuestionService {
+
+    private final ProductRepository productRepository;
+    private final GeminiService geminiService;
+    private final int descriptionMaxChars;
+    private final Cache<UUID, String> contexts;
+    private final Cache<AnswerKey, String> answers;
+    // Chamadas ao modelo em andamento por pergunta; ficam fora do Caffeine para a invalidação não esperar a chamada remota.
+    private final Map<AnswerKey, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    // Incrementado a cada ProductChangedEvent: uma resposta gerada com o contexto anterior não é memorizada.
+    private final AtomicLong contextVersion = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public ProductQuestionService(
+            ProductRepository productRepository,
+            GeminiService geminiService,
+            MeterRegistry meterRegistry,
+            @Value("${ai.product-question.description-max-chars}") int descriptionMaxChars,
+            @Value("${ai.product-question.max-products}") long maxProducts,
+            @Value("${ai.product-question.max-answers}") long maxAnswers,
+            @Value("${ai.product-question.answer-ttl}") Duration answerTtl) {
+        this.productRepository = productRepository;
+        this.geminiService = geminiService;
+        this.descriptionMaxChars = descriptionMaxChars;
+        this.contexts = Caffeine.newBuilder()
+                .maximumSize(maxProducts)
+                .build();
+        this.answers = Caffeine.newBuilder()
+                .maximumSize(maxAnswers)
+                .expireAfterWrite(answerTtl)
+                .build();
+        this.hits = answerCounter(meterRegistry, "hit");
+        this.misses = answerCounter(meterRegistry, "miss");
+    }
+
+    private static Counter answerCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("ai.product_question.answers")
+                .description("Product questions answered from memory (hit) or sent to Gemini (miss)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public String ask(String owner, UUID productId, String question) throws IOException {
+        long version = contextVersion.get();
+        String context = contexts.get(productId, this::buildContext);
+        AnswerKey key = new AnswerKey(productId, questionKey(question));
+
+        String cached = answers.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        // Visitantes simultâneos com a mesma pergunta esperam pela mesma chamada ao modelo.
+        CompletableFuture<String> computation = new CompletableFuture<>();
+        CompletableFuture<String> running = inFlight.putIfAbsent(key, computation);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            misses.increment();
+            String answer = geminiService.answerProductQuestion(owner, context, question);
+            if (contextVersion.get() == version) {
+                answers.put(key, answer);
+            }
+            computation.complete(answer);
+            return answer;
+        } catch (IOException | RuntimeException e) {
+            computation.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, computation);
+        }
+    }
+
+    private static String await(CompletableFuture<String> running) throws IOException {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        contextVersion.incrementAndGet();
+        contexts.invalidate(event.productId());
+        // Quem perguntar depois da mudança não se junta a uma chamada feita com o contexto antigo.
+        inFlight.keySet().removeIf(key -> key.productId().equals(event.productId()));
+        answers.asMap().keySet().removeIf(key -> key.productId().equals(event.productId()));
+    }
+
+    private String buildContext(UUID productId) {
+        return productRepository.findById(productId)
+                .map(product -> ProductContextFormatter.format(product, descriptionMaxChars))
+                .orElseThrow(() -> new ProductNotFoundException("Product with ID '" + productId + "' does not exist."));
+    }
+
+    // "Tem garantia?" e "tem garantia" caem na mesma resposta; perguntas só com stopwords usam o texto cru.
+    private static String questionKey(String question) {
+        String normalized = TextNormalizer.normalize(question);
+        return normalized.isEmpty() ? question.trim().toLowerCase(Locale.ROOT) : normalized;
+    }
+
+    private record AnswerKey(UUID productId, String question) {
+    }
+}
@@ -0,0 +1,145 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.service;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.dto.SemanticCacheStatsResponse;
+import br.com.casa_moreno.casa_moreno_backend.ai.embedding.EmbeddingProvider;
+import br.com.casa_moreno.casa_moreno_backend.ai.embedding.InMemoryVectorIndex;
+import br.com.casa_moreno.casa_moreno_backend.ai.embedding.TextNormalizer;
+import br.com.casa_moreno.casa_moreno_backend.product.event.ProductChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Perguntas do chat costumam ser paráfrases umas das outras ("vocês entregam?", "fazem entrega?").
+// Se a pergunta normalizada estiver perto o bastante de uma já respondida, devolve a mesma resposta sem chamar o Gemini.
+@Component
+public class SemanticAnswerCache {
+
+    private static final Set<String> NEGATIONS = Set.of("nao", "sem", "nunca", "nem");
+    private static final Pattern WORD_OR_SENTENCE_END = Pattern.compile("[\\p{L}\\p{N}]+|[.!?]");
+
+    private final EmbeddingProvider embeddingProvider;
+    private final InMemoryVectorIndex<CachedAnswer> index;
+    private final double similarityThreshold;
+    private final long ttlNanos;
+    private final Counter hits;
+    private final Counter misses;
+
+    public SemanticAnswerCache(
+            EmbeddingProvider embeddingProvider,
+            MeterRegistry meterRegistry,
+            @Value("${ai.semantic-cache.similarity-threshold}") double similarityThreshold,
+            @Value("${ai.semantic-cache.max-entries}") int maxEntries,
+            @Value("${ai.semantic-cache.ttl}") Duration ttl) {
+        this.embeddingProvider = embeddingProvider;
+        this.index = new InMemoryVectorIndex<>(embeddingProvider.dimensions(), maxEntries);
+        this.similarityThreshold = similarityThreshold;
+        this.ttlNanos = ttl.toNanos();
+        this.hits = Counter.builder("ai.chat.semantic_cache")
+                .description("Chat questions answered from the semantic cache, i.e. Gemini calls saved")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("ai.chat.semantic_cache")
+                .description("Chat questions that had to be sent to Gemini")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("ai.chat.semantic_cache.hit_ratio", this, cache -> cache.stats().hitRate())
+                .register(meterRegistry);
+        Gauge.builder("ai.chat.semantic_cache.entries", index, InMemoryVectorIndex::size)
+                .register(meterRegistry);
+    }
+
+    public String getOrCompute(String question, AiResponseCache.AiCall aiCall) throws IOException {
+        Optional<String> cached = lookup(question);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        String answer = aiCall.call();
+        store(question, answer);
+        return answer;
+    }
+
+    public Optional<String> lookup(String question) {
+        String normalized = TextNormalizer.normalize(question);
+        if (!normalized.isEmpty()) {
+            Optional<InMemoryVectorIndex.Match<CachedAnswer>> match = index.nearest(embeddingProvider.embed(normalized));
+            if (match.isPresent() && match.get().score() >= similarityThreshold && !match.get().value().isExpired(System.nanoTime(), ttlNanos)
+                    && match.get().value().keyTerms().equals(keyTerms(question))) {
+                hits.increment();
+                return Optional.of(match.get().value().answer());
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void store(String question, String answer) {
+        String normalized = TextNormalizer.normalize(question);
+        if (normalized.isEmpty() || answer == null || answer.isBlank()) {
+            return;
+        }
+        index.add(embeddingProvider.embed(normalized), new CachedAnswer(normalized, keyTerms(question), answer, System.nanoTime()));
+    }
+
+    // Números, marcas/modelos e negações mudam a resposta mesmo com o resto da pergunta igual ("geladeira Brastemp
+    // 375 litros" x "450 litros", "aceita pix?" x "não aceita pix?"), então precisam bater exatamente. Marca ou modelo
+    // é a palavra com inicial maiúscula fora do começo da frase.
+    static Set<String> keyTerms(String question) {
+        Set<String> terms = new HashSet<>();
+        if (question == null) {
+            return terms;
+        }
+        boolean sentenceStart = true;
+        Matcher matcher = WORD_OR_SENTENCE_END.matcher(question);
+        while (matcher.find()) {
+            String word = matcher.group();
+            if (".!?".contains(word)) {
+                sentenceStart = true;
+                continue;
+            }
+            boolean capitalized = !sentenceStart && Character.isUpperCase(word.charAt(0));
+            for (String token : TextNormalizer.tokens(word)) {
+                if (capitalized || NEGATIONS.contains(token) || token.chars().anyMatch(Character::isDigit)) {
+                    terms.add(token);
+                }
+            }
+            sentenceStart = false;
+        }
+        return terms;
+    }
+
+    public void clear() {
+        index.clear();
+    }
+
+    // Respostas podem citar preço ou estoque; qualquer alteração no catálogo invalida o que já foi respondido.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        clear();
+    }
+
+    public SemanticCacheStatsResponse stats() {
+        long hitCount = (long) hits.count();
+        long missCount = (long) misses.count();
+        long total = hitCount + missCount;
+        return new SemanticCacheStatsResponse(hitCount, missCount, total == 0 ? 0.0 : (double) hitCount / total, hitCount, index.size());
+    }
+
+    private record CachedAnswer(String question, Set<String> keyTerms, String answer, long createdAt) {
+
+        boolean isExpired(long now, long ttlNanos) {
+            return now - createdAt >= ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.casa_moreno.casa_moreno_backend.email.constant;
+
+public enum EmailCampaignStatus {
+    RUNNING,
+    PAUSED,
+    COMPLETED;
+}
@@ -0,0 +1,41 @@
+package br.com.casa_moreno.casa_moreno_backend.email.controller;
+
+import br.com.casa_moreno.casa_moreno_backend.email.dto.CreateEmailCampaignRequest;
+import br.com.casa_moreno.casa_moreno_backend.email.dto.EmailCampaignResponse;
+import br.com.casa_moreno.casa_moreno_backend.email.service.EmailCampaignService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/email/campaigns")
+public class EmailCampaignController {
+
+    private final EmailCampaignService emailCampaignService;
+
+    public EmailCampaignController(EmailCampaignService emailCampaignService) {
+        this.emailCampaignService = emailCampaignService;
+    }
+
+    @PostMapping
+    public ResponseEntity<EmailCampaignResponse> createCampaign(@RequestBody @Valid CreateEmailCampaignRequest request) {
+        return ResponseEntity.accepted().body(new EmailCampaignResponse(emailCampaignService.createCampaign(request.subject())));
+    }
+
+    @GetMapping("/{campaignId}")
+    public ResponseEntity<EmailCampaignResponse> findCampaign(@PathVariable UUID campaignId) {
+        return ResponseEntity.ok(new EmailCampaignResponse(emailCampaignService.findCampaign(campaignId)));
+    }
+
+    @PostMapping("/{campaignId}/pause")
+    public ResponseEntity<EmailCampaignResponse> pauseCampaign(@PathVariable UUID campaignId) {
+        return ResponseEntity.ok(new EmailCampaignResponse(emailCampaignService.pauseCampaign(campaignId)));
+    }
+
+    @PostMapping("/{campaignId}/resume")
+    public ResponseEntity<EmailCampaignResponse> resumeCampaign(@PathVariable UUID campaignId) {
+        return ResponseEntity.ok(new EmailCampaignResponse(emailCampaignService.resumeCampaign(campaignId)));
+    }
+}
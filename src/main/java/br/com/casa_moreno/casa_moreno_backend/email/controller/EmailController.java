@@ -2,21 +2,28 @@ package br.com.casa_moreno.casa_moreno_backend.email.controller;
 
 import br.com.casa_moreno.casa_moreno_backend.email.service.EmailService;
 import br.com.casa_moreno.casa_moreno_backend.email.dto.RegistrationEmailRequest;
+import br.com.casa_moreno.casa_moreno_backend.email.service.EmailUnsubscribeService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/email")
 public class EmailController {
 
     private final EmailService emailService;
+    private final EmailUnsubscribeService emailUnsubscribeService;
 
-    public EmailController(EmailService emailService) {
+    public EmailController(EmailService emailService, EmailUnsubscribeService emailUnsubscribeService) {
         this.emailService = emailService;
+        this.emailUnsubscribeService = emailUnsubscribeService;
     }
 
     @PostMapping("/send/registration-confirmation")
@@ -25,4 +32,12 @@ public class EmailController {
 
         return ResponseEntity.accepted().body("Confirmation email sent successfully.");
     }
+
+    // GET para o link no corpo do e-mail; POST para o descadastro em um clique do List-Unsubscribe-Post.
+    @RequestMapping(value = "/unsubscribe", method = {RequestMethod.GET, RequestMethod.POST})
+    public ResponseEntity<String> unsubscribe(@RequestParam UUID user, @RequestParam String token) {
+        emailUnsubscribeService.unsubscribe(user, token);
+
+        return ResponseEntity.ok("Você não receberá mais e-mails promocionais da Casa Moreno.");
+    }
 }
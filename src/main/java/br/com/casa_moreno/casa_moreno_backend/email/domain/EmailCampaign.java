@@ -0,0 +1,40 @@
+package br.com.casa_moreno.casa_moreno_backend.email.domain;
+
+import br.com.casa_moreno.casa_moreno_backend.email.constant.EmailCampaignStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "email_campaigns")
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter @Setter
+public class EmailCampaign {
+
+    @Id @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+    private String subject;
+    @Enumerated(EnumType.STRING)
+    private EmailCampaignStatus status;
+    // HTML renderizado uma única vez com as promoções; nameMarker marca onde entra o nome de cada destinatário.
+    @Column(columnDefinition = "TEXT")
+    private String bodyHtml;
+    private String nameMarker;
+    // Marca onde entra o link de descadastro de cada destinatário.
+    private String unsubscribeMarker;
+    // Só recebem a campanha usuários cadastrados até este instante, para o total não mudar durante o envio.
+    private LocalDateTime recipientsCreatedBefore;
+    private LocalDateTime cursorCreatedAt;
+    private UUID cursorUserId;
+    private Long totalRecipients;
+    private Long sentCount;
+    private Long failedCount;
+    private LocalDateTime leaseUntil;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+}
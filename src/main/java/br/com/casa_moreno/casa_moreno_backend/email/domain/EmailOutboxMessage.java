@@ -0,0 +1,34 @@
+package br.com.casa_moreno.casa_moreno_backend.email.domain;
+
+import br.com.casa_moreno.casa_moreno_backend.email.constant.EmailOutboxStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "email_outbox")
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter @Setter
+public class EmailOutboxMessage {
+
+    @Id @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+    private String recipient;
+    private String subject;
+    private String templateName;
+    // Variáveis do template em JSON; apagadas quando a mensagem chega a um estado final.
+    @Column(columnDefinition = "TEXT")
+    private String variables;
+    @Enumerated(EnumType.STRING)
+    private EmailOutboxStatus status;
+    private Integer attempts;
+    private LocalDateTime nextAttemptAt;
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+}
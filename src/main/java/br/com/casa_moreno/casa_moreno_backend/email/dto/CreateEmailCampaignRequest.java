@@ -0,0 +1,8 @@
+package br.com.casa_moreno.casa_moreno_backend.email.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record CreateEmailCampaignRequest(
+        @NotBlank(message = "Campaign subject is required.")
+        String subject
+) {}
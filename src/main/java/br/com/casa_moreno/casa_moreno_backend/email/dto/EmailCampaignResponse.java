@@ -0,0 +1,49 @@
+package br.com.casa_moreno.casa_moreno_backend.email.dto;
+
+import br.com.casa_moreno.casa_moreno_backend.email.constant.EmailCampaignStatus;
+import br.com.casa_moreno.casa_moreno_backend.email.domain.EmailCampaign;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record EmailCampaignResponse(
+        UUID id,
+        String subject,
+        EmailCampaignStatus status,
+        Long totalRecipients,
+        Long sentCount,
+        Long failedCount,
+        Double messagesPerSecond,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime completedAt) {
+
+    public EmailCampaignResponse(EmailCampaign campaign) {
+        this(
+                campaign.getId(),
+                campaign.getSubject(),
+                campaign.getStatus(),
+                campaign.getTotalRecipients(),
+                campaign.getSentCount(),
+                campaign.getFailedCount(),
+                messagesPerSecond(campaign),
+                campaign.getCreatedAt(),
+                campaign.getUpdatedAt(),
+                campaign.getCompletedAt()
+        );
+    }
+
+    private static Double messagesPerSecond(EmailCampaign campaign) {
+        LocalDateTime end = campaign.getCompletedAt() != null ? campaign.getCompletedAt() : campaign.getUpdatedAt();
+        if (campaign.getCreatedAt() == null || end == null) {
+            return 0.0;
+        }
+        long elapsedMillis = Duration.between(campaign.getCreatedAt(), end).toMillis();
+        if (elapsedMillis <= 0) {
+            return 0.0;
+        }
+        long processed = campaign.getSentCount() + campaign.getFailedCount();
+        return processed * 1000.0 / elapsedMillis;
+    }
+}
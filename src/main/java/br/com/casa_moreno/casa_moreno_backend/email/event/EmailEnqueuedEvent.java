@@ -0,0 +1,6 @@
+package br.com.casa_moreno.casa_moreno_backend.email.event;
+
+import java.util.UUID;
+
+public record EmailEnqueuedEvent(UUID messageId) {
+}
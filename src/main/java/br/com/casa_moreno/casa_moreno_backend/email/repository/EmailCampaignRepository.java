@@ -0,0 +1,95 @@
+package br.com.casa_moreno.casa_moreno_backend.email.repository;
+
+import br.com.casa_moreno.casa_moreno_backend.email.constant.EmailCampaignStatus;
+import br.com.casa_moreno.casa_moreno_backend.email.domain.EmailCampaign;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface EmailCampaignRepository extends JpaRepository<EmailCampaign, UUID> {
+
+    List<EmailCampaign> findAllByStatus(EmailCampaignStatus status);
+
+    // Só uma instância processa a campanha por vez: quem conseguir o lease segue, as outras recebem 0.
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE EmailCampaign c
+            SET c.leaseUntil = :leaseUntil
+            WHERE c.id = :id
+              AND c.status = :status
+              AND (c.leaseUntil IS NULL OR c.leaseUntil < :now)
+            """)
+    int claim(@Param("id") UUID id,
+              @Param("status") EmailCampaignStatus status,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // Gravado antes de cada envio: depois de um crash a campanha retoma no próximo destinatário em vez de repetir o lote.
+    // Também renova o lease; retorna 0 se a campanha foi pausada.
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE EmailCampaign c
+            SET c.cursorCreatedAt = :cursorCreatedAt,
+                c.cursorUserId = :cursorUserId,
+                c.leaseUntil = :leaseUntil,
+                c.updatedAt = :updatedAt
+            WHERE c.id = :id AND c.status = :status
+            """)
+    int advanceCursor(@Param("id") UUID id,
+                      @Param("status") EmailCampaignStatus status,
+                      @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                      @Param("cursorUserId") UUID cursorUserId,
+                      @Param("leaseUntil") LocalDateTime leaseUntil,
+                      @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE EmailCampaign c
+            SET c.sentCount = c.sentCount + :sent,
+                c.failedCount = c.failedCount + :failed,
+                c.updatedAt = :updatedAt
+            WHERE c.id = :id
+            """)
+    int recordResults(@Param("id") UUID id,
+                      @Param("sent") long sent,
+                      @Param("failed") long failed,
+                      @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE EmailCampaign c
+            SET c.status = :newStatus, c.leaseUntil = NULL, c.updatedAt = :updatedAt
+            WHERE c.id = :id AND c.status = :currentStatus
+            """)
+    int updateStatus(@Param("id") UUID id,
+                     @Param("currentStatus") EmailCampaignStatus currentStatus,
+                     @Param("newStatus") EmailCampaignStatus newStatus,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE EmailCampaign c
+            SET c.status = :completedStatus, c.leaseUntil = NULL, c.updatedAt = :completedAt, c.completedAt = :completedAt
+            WHERE c.id = :id AND c.status = :runningStatus
+            """)
+    int complete(@Param("id") UUID id,
+                 @Param("runningStatus") EmailCampaignStatus runningStatus,
+                 @Param("completedStatus") EmailCampaignStatus completedStatus,
+                 @Param("completedAt") LocalDateTime completedAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailCampaign c SET c.leaseUntil = NULL WHERE c.id = :id")
+    int releaseLease(@Param("id") UUID id);
+}
@@ -0,0 +1,86 @@
+package br.com.casa_moreno.casa_moreno_backend.email.repository;
+
+import br.com.casa_moreno.casa_moreno_backend.email.constant.EmailOutboxStatus;
+import br.com.casa_moreno.casa_moreno_backend.email.domain.EmailOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, UUID> {
+
+    long countByStatus(EmailOutboxStatus status);
+
+    // Reserva um lote empurrando next_attempt_at para o fim do lease; SKIP LOCKED deixa outras instâncias pegarem as linhas restantes.
+    // Se a instância cair durante o envio, a mensagem volta a ficar disponível quando o lease expirar.
+    @Transactional
+    @Query(value = """
+            UPDATE email_outbox
+            SET next_attempt_at = :leaseUntil, attempts = attempts + 1
+            WHERE id IN (
+                SELECT id FROM email_outbox
+                WHERE status = 'PENDING' AND next_attempt_at <= :now
+                ORDER BY next_attempt_at
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED)
+            RETURNING *
+            """, nativeQuery = true)
+    List<EmailOutboxMessage> claimBatch(@Param("now") LocalDateTime now,
+                                        @Param("leaseUntil") LocalDateTime leaseUntil,
+                                        @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE EmailOutboxMessage m
+            SET m.status = :status, m.sentAt = :sentAt, m.variables = NULL, m.lastError = NULL
+            WHERE m.id = :id
+            """)
+    int markSent(@Param("id") UUID id,
+                 @Param("status") EmailOutboxStatus status,
+                 @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE EmailOutboxMessage m
+            SET m.nextAttemptAt = :nextAttemptAt, m.lastError = :lastError
+            WHERE m.id = :id
+            """)
+    int reschedule(@Param("id") UUID id,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("lastError") String lastError);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutboxMessage m SET m.nextAttemptAt = :leaseUntil WHERE m.id = :id")
+    int extendLease(@Param("id") UUID id, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE EmailOutboxMessage m
+            SET m.status = :status, m.variables = NULL, m.lastError = :lastError
+            WHERE m.id = :id
+            """)
+    int markFailed(@Param("id") UUID id,
+                   @Param("status") EmailOutboxStatus status,
+                   @Param("lastError") String lastError);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM email_outbox
+            WHERE id IN (
+                SELECT id FROM email_outbox
+                WHERE status = 'SENT' AND sent_at < :sentBefore
+                ORDER BY sent_at
+                LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteSentBatch(@Param("sentBefore") LocalDateTime sentBefore, @Param("batchSize") int batchSize);
+}
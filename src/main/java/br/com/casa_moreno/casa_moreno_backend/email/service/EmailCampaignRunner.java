@@ -0,0 +1,205 @@
+package br.com.casa_moreno.casa_moreno_backend.email.service;
+
+import br.com.casa_moreno.casa_moreno_backend.email.constant.EmailCampaignStatus;
+import br.com.casa_moreno.casa_moreno_backend.email.domain.EmailCampaign;
+import br.com.casa_moreno.casa_moreno_backend.email.repository.EmailCampaignRepository;
+import br.com.casa_moreno.casa_moreno_backend.user.dto.UserSummaryResponse;
+import br.com.casa_moreno.casa_moreno_backend.user.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.unbescape.html.HtmlEscape;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+// Percorre os usuários em lotes pelo cursor (created_at, user_id) e grava o cursor antes de cada envio,
+// então a memória não cresce com a base e, após um restart, a campanha continua no próximo destinatário.
+@Component
+public class EmailCampaignRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailCampaignRunner.class);
+
+    private final EmailCampaignRepository emailCampaignRepository;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+    private final EmailUnsubscribeService emailUnsubscribeService;
+    private final int chunkSize;
+    private final long sendIntervalNanos;
+    private final Duration lease;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Set<UUID> activeCampaigns = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopping;
+
+    public EmailCampaignRunner(
+            EmailCampaignRepository emailCampaignRepository,
+            UserRepository userRepository,
+            EmailService emailService,
+            EmailUnsubscribeService emailUnsubscribeService,
+            MeterRegistry meterRegistry,
+            @Value("${email.campaign.chunk-size}") int chunkSize,
+            @Value("${email.campaign.rate-per-second}") double ratePerSecond,
+            @Value("${email.campaign.lease}") Duration lease) {
+        this.emailCampaignRepository = emailCampaignRepository;
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+        this.emailUnsubscribeService = emailUnsubscribeService;
+        this.chunkSize = chunkSize;
+        this.sendIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        this.lease = lease;
+        this.sentCounter = messageCounter(meterRegistry, "sent");
+        this.failedCounter = messageCounter(meterRegistry, "failed");
+    }
+
+    private static Counter messageCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("email.campaign.messages")
+                .description("Promotional campaign messages processed")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // Retoma campanhas em andamento após um restart ou quando o lease de outra instância expira.
+    @Scheduled(fixedDelayString = "${email.campaign.resume-interval}")
+    public void resumeRunningCampaigns() {
+        for (EmailCampaign campaign : emailCampaignRepository.findAllByStatus(EmailCampaignStatus.RUNNING)) {
+            start(campaign.getId());
+        }
+    }
+
+    public boolean start(UUID campaignId) {
+        if (stopping || !activeCampaigns.add(campaignId)) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (emailCampaignRepository.claim(campaignId, EmailCampaignStatus.RUNNING, now, now.plus(lease)) == 0) {
+            activeCampaigns.remove(campaignId);
+            return false;
+        }
+        Thread.ofVirtual().name("email-campaign-" + campaignId).start(() -> {
+            try {
+                run(campaignId);
+            } catch (RuntimeException e) {
+                log.error("Email campaign {} stopped; it resumes when its lease expires", campaignId, e);
+            } finally {
+                activeCampaigns.remove(campaignId);
+            }
+        });
+        return true;
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+    }
+
+    void run(UUID campaignId) {
+        EmailCampaign campaign = emailCampaignRepository.findById(campaignId).orElse(null);
+        if (campaign == null) {
+            return;
+        }
+        String[] bodyParts = campaign.getBodyHtml().split(Pattern.quote(campaign.getNameMarker()), -1);
+        LocalDateTime cursorCreatedAt = campaign.getCursorCreatedAt();
+        UUID cursorUserId = campaign.getCursorUserId();
+        long nextSendAt = System.nanoTime();
+
+        while (!stopping) {
+            List<UserSummaryResponse> recipients = userRepository.findMarketingRecipients(
+                    campaign.getRecipientsCreatedBefore(), cursorCreatedAt, cursorUserId, Limit.of(chunkSize));
+            if (recipients.isEmpty()) {
+                emailCampaignRepository.complete(campaignId, EmailCampaignStatus.RUNNING, EmailCampaignStatus.COMPLETED, LocalDateTime.now());
+                log.info("Email campaign {} completed", campaignId);
+                return;
+            }
+
+            boolean paused = false;
+            List<CompletableFuture<Void>> deliveries = new ArrayList<>(recipients.size());
+            for (UserSummaryResponse recipient : recipients) {
+                if (stopping) {
+                    break;
+                }
+                nextSendAt = pace(nextSendAt);
+                LocalDateTime now = LocalDateTime.now();
+                if (emailCampaignRepository.advanceCursor(campaignId, EmailCampaignStatus.RUNNING,
+                        recipient.createdAt(), recipient.userId(), now.plus(lease), now) == 0) {
+                    // Pausada pelo admin durante o lote.
+                    paused = true;
+                    break;
+                }
+                cursorCreatedAt = recipient.createdAt();
+                cursorUserId = recipient.userId();
+                deliveries.add(send(campaign, recipient, bodyParts));
+            }
+
+            long sent = 0;
+            long failed = 0;
+            for (CompletableFuture<Void> delivery : deliveries) {
+                if (awaitDelivery(delivery)) {
+                    sent++;
+                } else {
+                    failed++;
+                }
+            }
+            emailCampaignRepository.recordResults(campaignId, sent, failed, LocalDateTime.now());
+            sentCounter.increment(sent);
+            failedCounter.increment(failed);
+            if (paused) {
+                return;
+            }
+        }
+        // Encerrando a aplicação: libera o lease para a próxima instância retomar sem esperar ele expirar.
+        emailCampaignRepository.releaseLease(campaignId);
+    }
+
+    // Espaça os envios para respeitar o limite de mensagens por segundo do provedor SMTP.
+    private long pace(long nextSendAt) {
+        long now = System.nanoTime();
+        if (nextSendAt > now) {
+            LockSupport.parkNanos(nextSendAt - now);
+        }
+        return Math.max(nextSendAt, now) + sendIntervalNanos;
+    }
+
+    private CompletableFuture<Void> send(EmailCampaign campaign, UserSummaryResponse recipient, String[] bodyParts) {
+        String name = recipient.name() != null ? recipient.name() : "";
+        String unsubscribeUrl = emailUnsubscribeService.unsubscribeUrlFor(recipient.userId());
+        String html = String.join(HtmlEscape.escapeHtml4Xml(name), bodyParts);
+        if (campaign.getUnsubscribeMarker() != null) {
+            html = html.replace(campaign.getUnsubscribeMarker(), HtmlEscape.escapeHtml4Xml(unsubscribeUrl));
+        }
+        try {
+            return emailService.sendPromotionalEmail(recipient.email(), campaign.getSubject(), html, unsubscribeUrl);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private boolean awaitDelivery(CompletableFuture<Void> delivery) {
+        try {
+            delivery.get(lease.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.casa_moreno.casa_moreno_backend.email.service;
+
+import br.com.casa_moreno.casa_moreno_backend.email.constant.EmailCampaignStatus;
+import br.com.casa_moreno.casa_moreno_backend.email.domain.EmailCampaign;
+import br.com.casa_moreno.casa_moreno_backend.email.repository.EmailCampaignRepository;
+import br.com.casa_moreno.casa_moreno_backend.exception.EmailCampaignNotFoundException;
+import br.com.casa_moreno.casa_moreno_backend.exception.NoPromotionalProductsException;
+import br.com.casa_moreno.casa_moreno_backend.product.dto.ProductDetailsResponse;
+import br.com.casa_moreno.casa_moreno_backend.product.service.ProductService;
+import br.com.casa_moreno.casa_moreno_backend.user.repository.UserRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+public class EmailCampaignService {
+
+    private static final String CAMPAIGN_TEMPLATE = "promotional-campaign.html";
+
+    private final EmailCampaignRepository emailCampaignRepository;
+    private final ProductService productService;
+    private final TemplateService templateService;
+    private final UserRepository userRepository;
+    private final EmailCampaignRunner emailCampaignRunner;
+
+    public EmailCampaignService(EmailCampaignRepository emailCampaignRepository, ProductService productService, TemplateService templateService, UserRepository userRepository, EmailCampaignRunner emailCampaignRunner) {
+        this.emailCampaignRepository = emailCampaignRepository;
+        this.productService = productService;
+        this.templateService = templateService;
+        this.userRepository = userRepository;
+        this.emailCampaignRunner = emailCampaignRunner;
+    }
+
+    public EmailCampaign createCampaign(String subject) {
+        List<ProductDetailsResponse> products = productService.findAllPromotionalProducts();
+        if (products.isEmpty()) {
+            throw new NoPromotionalProductsException("There are no promotional products to send.");
+        }
+
+        // O HTML é renderizado uma vez só; cada envio apenas troca os marcadores pelo nome e pelo link de descadastro do destinatário.
+        String nameMarker = "campaignrecipient" + UUID.randomUUID().toString().replace("-", "");
+        String unsubscribeMarker = "campaignunsubscribe" + UUID.randomUUID().toString().replace("-", "");
+        String bodyHtml = templateService.processTemplate(CAMPAIGN_TEMPLATE, Map.of(
+                "subject", subject,
+                "name", nameMarker,
+                "unsubscribeUrl", unsubscribeMarker,
+                "products", products));
+
+        LocalDateTime now = LocalDateTime.now();
+        EmailCampaign campaign = EmailCampaign.builder()
+                .subject(subject)
+                .status(EmailCampaignStatus.RUNNING)
+                .bodyHtml(bodyHtml)
+                .nameMarker(nameMarker)
+                .unsubscribeMarker(unsubscribeMarker)
+                .recipientsCreatedBefore(now)
+                .totalRecipients(userRepository.countByActiveTrueAndMarketingOptOutFalseAndCreatedAtLessThanEqual(now))
+                .sentCount(0L)
+                .failedCount(0L)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+
+        EmailCampaign savedCampaign = emailCampaignRepository.save(campaign);
+        emailCampaignRunner.start(savedCampaign.getId());
+        return savedCampaign;
+    }
+
+    public EmailCampaign findCampaign(UUID campaignId) {
+        return emailCampaignRepository.findById(campaignId)
+                .orElseThrow(() -> new EmailCampaignNotFoundException("Email campaign not found."));
+    }
+
+    public EmailCampaign pauseCampaign(UUID campaignId) {
+        findCampaign(campaignId);
+        emailCampaignRepository.updateStatus(campaignId, EmailCampaignStatus.RUNNING, EmailCampaignStatus.PAUSED, LocalDateTime.now());
+        return findCampaign(campaignId);
+    }
+
+    public EmailCampaign resumeCampaign(UUID campaignId) {
+        findCampaign(campaignId);
+        if (emailCampaignRepository.updateStatus(campaignId, EmailCampaignStatus.PAUSED, EmailCampaignStatus.RUNNING, LocalDateTime.now()) > 0) {
+            emailCampaignRunner.start(campaignId);
+        }
+        return findCampaign(campaignId);
+    }
+}
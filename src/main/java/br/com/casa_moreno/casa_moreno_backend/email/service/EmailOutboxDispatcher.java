@@ -0,0 +1,235 @@
+package br.com.casa_moreno.casa_moreno_backend.email.service;
+
+import br.com.casa_moreno.casa_moreno_backend.email.constant.EmailOutboxStatus;
+import br.com.casa_moreno.casa_moreno_backend.email.domain.EmailOutboxMessage;
+import br.com.casa_moreno.casa_moreno_backend.email.event.EmailEnqueuedEvent;
+import br.com.casa_moreno.casa_moreno_backend.email.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final int MAX_LEASE_EXTENSIONS = 3;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final TemplateService templateService;
+    private final EmailVariablesCodec emailVariablesCodec;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+    private final Duration drainBudget;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final AtomicLong pendingMessages = new AtomicLong();
+
+    public EmailOutboxDispatcher(
+            EmailOutboxRepository emailOutboxRepository,
+            EmailService emailService,
+            TemplateService templateService,
+            EmailVariablesCodec emailVariablesCodec,
+            MeterRegistry meterRegistry,
+            @Value("${email.outbox.enabled}") boolean enabled,
+            @Value("${email.outbox.batch-size}") int batchSize,
+            @Value("${email.outbox.max-attempts}") int maxAttempts,
+            @Value("${email.outbox.lease}") Duration lease,
+            @Value("${email.outbox.initial-backoff}") Duration initialBackoff,
+            @Value("${email.outbox.max-backoff}") Duration maxBackoff,
+            @Value("${email.outbox.retention}") Duration retention,
+            @Value("${email.outbox.drain-budget}") Duration drainBudget) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+        this.templateService = templateService;
+        this.emailVariablesCodec = emailVariablesCodec;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.retention = retention;
+        this.drainBudget = drainBudget;
+        this.sentCounter = outcomeCounter(meterRegistry, "sent");
+        this.retriedCounter = outcomeCounter(meterRegistry, "retried");
+        this.failedCounter = outcomeCounter(meterRegistry, "failed");
+        // O scrape só lê o último valor; o COUNT roda no ciclo do dispatcher, não a cada coleta.
+        Gauge.builder("email.outbox.pending", pendingMessages, AtomicLong::get)
+                .description("Messages waiting in the outbox, including the ones scheduled for a retry")
+                .register(meterRegistry);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("email.outbox.deliveries")
+                .description("Outbox delivery attempts by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // Dispara logo após o commit de quem enfileirou, sem esperar o próximo ciclo do agendador.
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmailEnqueued(EmailEnqueuedEvent event) {
+        dispatchPending();
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval}")
+    public int dispatchPending() {
+        if (!enabled) {
+            return 0;
+        }
+
+        // O ciclo divide o agendador com os outros jobs: passado o orçamento, o resto fica para o próximo ciclo.
+        long deadline = System.nanoTime() + drainBudget.toNanos();
+        int sent = 0;
+        List<EmailOutboxMessage> claimed;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            claimed = emailOutboxRepository.claimBatch(now, now.plus(lease), batchSize);
+
+            // Entrega o lote inteiro ao transporte antes de esperar, para usar todas as conexões do pool em paralelo.
+            Map<EmailOutboxMessage, CompletableFuture<Void>> inFlight = new LinkedHashMap<>();
+            for (EmailOutboxMessage message : claimed) {
+                CompletableFuture<Void> delivery = submit(message);
+                if (delivery != null) {
+                    inFlight.put(message, delivery);
+                }
+            }
+
+            for (Map.Entry<EmailOutboxMessage, CompletableFuture<Void>> entry : inFlight.entrySet()) {
+                if (awaitDelivery(entry.getKey(), entry.getValue())) {
+                    sent++;
+                }
+            }
+        } while (claimed.size() == batchSize && System.nanoTime() < deadline);
+        return sent;
+    }
+
+    private CompletableFuture<Void> submit(EmailOutboxMessage message) {
+        try {
+            Map<String, Object> variables = emailVariablesCodec.decode(message.getVariables());
+            String emailBody = templateService.processTemplate(message.getTemplateName(), variables);
+            return emailService.sendHtmlEmail(message.getRecipient(), message.getSubject(), emailBody);
+        } catch (Exception e) {
+            handleFailure(message, e);
+            return null;
+        }
+    }
+
+    private boolean awaitDelivery(EmailOutboxMessage message, CompletableFuture<Void> delivery) {
+        for (int extensions = 0; ; extensions++) {
+            try {
+                delivery.get(lease.toMillis(), TimeUnit.MILLISECONDS);
+                recordSent(message);
+                return true;
+            } catch (ExecutionException e) {
+                handleFailure(message, e.getCause() instanceof Exception cause ? cause : e);
+                return false;
+            } catch (TimeoutException e) {
+                if (delivery.cancel(false)) {
+                    // Ainda estava na fila do transporte e não sai mais; a nova tentativa não duplica o envio.
+                    handleFailure(message, e);
+                    return false;
+                }
+                // Um worker já está entregando: segura a linha por mais um lease em vez de reagendar.
+                emailOutboxRepository.extendLease(message.getId(), LocalDateTime.now().plus(lease));
+                if (extensions + 1 >= MAX_LEASE_EXTENSIONS) {
+                    // Não prende mais o ciclo; o resultado é gravado quando o worker terminar, dentro do lease estendido.
+                    log.warn("Email {} still being delivered after {} leases, recording the outcome asynchronously", message.getId(), MAX_LEASE_EXTENSIONS);
+                    delivery.whenComplete((ignored, failure) -> {
+                        if (failure == null) {
+                            recordSent(message);
+                        } else {
+                            handleFailure(message, failure instanceof Exception exception ? exception : new ExecutionException(failure));
+                        }
+                    });
+                    return false;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                handleFailure(message, e);
+                return false;
+            }
+        }
+    }
+
+    private void recordSent(EmailOutboxMessage message) {
+        emailOutboxRepository.markSent(message.getId(), EmailOutboxStatus.SENT, LocalDateTime.now());
+        sentCounter.increment();
+    }
+
+    // attempts já foi incrementado no claim, então reflete a tentativa que acabou de falhar.
+    private void handleFailure(EmailOutboxMessage message, Exception e) {
+        String error = truncate(e.getClass().getSimpleName() + ": " + e.getMessage());
+        log.warn("Failed to send email {} (attempt {}): {}", message.getId(), message.getAttempts(), error);
+
+        if (message.getAttempts() >= maxAttempts) {
+            emailOutboxRepository.markFailed(message.getId(), EmailOutboxStatus.FAILED, error);
+            failedCounter.increment();
+            return;
+        }
+
+        emailOutboxRepository.reschedule(message.getId(), LocalDateTime.now().plus(backoffFor(message.getAttempts())), error);
+        retriedCounter.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval}")
+    public void refreshPendingGauge() {
+        if (enabled) {
+            pendingMessages.set(emailOutboxRepository.countByStatus(EmailOutboxStatus.PENDING));
+        }
+    }
+
+    Duration backoffFor(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        Duration backoff = initialBackoff.multipliedBy(1L << exponent);
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.purge-interval}")
+    public int purgeSentMessages() {
+        if (!enabled) {
+            return 0;
+        }
+
+        LocalDateTime sentBefore = LocalDateTime.now().minus(retention);
+        int totalDeleted = 0;
+        int deleted;
+        do {
+            deleted = emailOutboxRepository.deleteSentBatch(sentBefore, batchSize);
+            totalDeleted += deleted;
+        } while (deleted == batchSize);
+        return totalDeleted;
+    }
+
+    private static String truncate(String value) {
+        return value.length() <= MAX_ERROR_LENGTH ? value : value.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -1,26 +1,43 @@
 package br.com.casa_moreno.casa_moreno_backend.email.service;
 
+import br.com.casa_moreno.casa_moreno_backend.email.constant.EmailOutboxStatus;
+import br.com.casa_moreno.casa_moreno_backend.email.domain.EmailOutboxMessage;
+import br.com.casa_moreno.casa_moreno_backend.email.event.EmailEnqueuedEvent;
+import br.com.casa_moreno.casa_moreno_backend.email.repository.EmailOutboxRepository;
+import br.com.casa_moreno.casa_moreno_backend.email.transport.PooledSmtpTransport;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.io.UnsupportedEncodingException;
+import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
+@Observed(name = "email.service")
 public class EmailService {
 
     private final JavaMailSender mailSender;
-    private final TemplateService templateService;
+    private final PooledSmtpTransport smtpTransport;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailVariablesCodec emailVariablesCodec;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${spring.mail.username}")
     private String fromEmail;
 
-    public EmailService(JavaMailSender mailSender, TemplateService templateService) {
+    public EmailService(JavaMailSender mailSender, PooledSmtpTransport smtpTransport, EmailOutboxRepository emailOutboxRepository, EmailVariablesCodec emailVariablesCodec, ApplicationEventPublisher eventPublisher) {
         this.mailSender = mailSender;
-        this.templateService = templateService;
+        this.smtpTransport = smtpTransport;
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailVariablesCodec = emailVariablesCodec;
+        this.eventPublisher = eventPublisher;
     }
 
     public void sendRegistrationConfirmationEmail(String to, String name) {
@@ -31,9 +48,7 @@ public class EmailService {
                 "subject", subject
         );
 
-        String emailBody = templateService.processTemplate("registration-confirmation.html", templateVariables);
-
-        sendHtmlEmail(to, subject, emailBody);
+        enqueue(to, subject, "registration-confirmation.html", templateVariables);
     }
 
     public void sendOAuthRegistrationWelcomeEmail(String to, String name, String temporaryPassword) {
@@ -45,9 +60,7 @@ public class EmailService {
                 "temporaryPassword", temporaryPassword
         );
 
-        String emailBody = templateService.processTemplate("oauth-registration-welcome.html", templateVariables);
-
-        sendHtmlEmail(to, subject, emailBody);
+        enqueue(to, subject, "oauth-registration-welcome.html", templateVariables);
     }
 
     public void sendPasswordResetLinkEmail(String to, String name, String token) {
@@ -63,9 +76,7 @@ public class EmailService {
                 "resetLink", frontendResetUrl
         );
 
-        String emailBody = templateService.processTemplate("password-reset-link.html", templateVariables);
-
-        sendHtmlEmail(to, subject, emailBody);
+        enqueue(to, subject, "password-reset-link.html", templateVariables);
     }
 
     public void sendPasswordChangeConfirmationEmail(String to, String name) {
@@ -76,28 +87,50 @@ public class EmailService {
                 "subject", subject
         );
 
-        String emailBody = templateService.processTemplate("password-change-confirmation.html", templateVariables);
+        enqueue(to, subject, "password-change-confirmation.html", templateVariables);
+    }
 
-        sendHtmlEmail(to, subject, emailBody);
+    // Grava a mensagem no outbox dentro da transação de quem chamou; o envio fica com o EmailOutboxDispatcher.
+    private void enqueue(String to, String subject, String templateName, Map<String, Object> templateVariables) {
+        LocalDateTime now = LocalDateTime.now();
+
+        EmailOutboxMessage message = EmailOutboxMessage.builder()
+                .recipient(to)
+                .subject(subject)
+                .templateName(templateName)
+                .variables(emailVariablesCodec.encode(templateVariables))
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+
+        EmailOutboxMessage savedMessage = emailOutboxRepository.save(message);
+        eventPublisher.publishEvent(new EmailEnqueuedEvent(savedMessage.getId()));
     }
 
-    @Async
-    public void sendHtmlEmail(String to, String subject, String htmlBody) {
-        try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+    // O future conclui quando o servidor SMTP aceita a mensagem em uma das conexões do pool.
+    public CompletableFuture<Void> sendHtmlEmail(String to, String subject, String htmlBody) throws MessagingException, UnsupportedEncodingException {
+        return smtpTransport.send(createHtmlMessage(to, subject, htmlBody));
+    }
 
-            helper.setFrom(fromEmail, "Casa Moreno");
+    // E-mails promocionais: o cabeçalho List-Unsubscribe deixa o cliente de e-mail oferecer o descadastro em um clique.
+    public CompletableFuture<Void> sendPromotionalEmail(String to, String subject, String htmlBody, String unsubscribeUrl) throws MessagingException, UnsupportedEncodingException {
+        MimeMessage mimeMessage = createHtmlMessage(to, subject, htmlBody);
+        mimeMessage.setHeader("List-Unsubscribe", "<" + unsubscribeUrl + ">");
+        mimeMessage.setHeader("List-Unsubscribe-Post", "List-Unsubscribe=One-Click");
+        return smtpTransport.send(mimeMessage);
+    }
 
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlBody, true);
+    private MimeMessage createHtmlMessage(String to, String subject, String htmlBody) throws MessagingException, UnsupportedEncodingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
 
-            mailSender.send(mimeMessage);
+        helper.setFrom(fromEmail, "Casa Moreno");
 
-        } catch (Exception e) {
-            System.err.println("Falha ao enviar e-mail para " + to + ": " + e.getMessage());
-            e.printStackTrace();
-        }
+        helper.setTo(to);
+        helper.setSubject(subject);
+        helper.setText(htmlBody, true);
+        return mimeMessage;
     }
 }
@@ -0,0 +1,58 @@
+package br.com.casa_moreno.casa_moreno_backend.email.service;
+
+import br.com.casa_moreno.casa_moreno_backend.exception.InvalidUnsubscribeLinkException;
+import br.com.casa_moreno.casa_moreno_backend.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.UUID;
+
+// O link de descadastro leva o id do usuário e um HMAC dele: não expira, não precisa de login
+// e não pode ser montado para outro usuário sem o segredo.
+@Service
+public class EmailUnsubscribeService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final UserRepository userRepository;
+    private final String unsubscribeUrl;
+    private final SecretKeySpec key;
+
+    public EmailUnsubscribeService(
+            UserRepository userRepository,
+            @Value("${email.campaign.unsubscribe-url}") String unsubscribeUrl,
+            @Value("${email.campaign.unsubscribe-secret}") String unsubscribeSecret) {
+        this.userRepository = userRepository;
+        this.unsubscribeUrl = unsubscribeUrl;
+        this.key = new SecretKeySpec(unsubscribeSecret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    public String unsubscribeUrlFor(UUID userId) {
+        return unsubscribeUrl + "?user=" + userId + "&token=" + sign(userId);
+    }
+
+    public void unsubscribe(UUID userId, String token) {
+        byte[] expected = sign(userId).getBytes(StandardCharsets.US_ASCII);
+        if (token == null || !MessageDigest.isEqual(expected, token.getBytes(StandardCharsets.US_ASCII))) {
+            throw new InvalidUnsubscribeLinkException("Invalid unsubscribe link.");
+        }
+        userRepository.optOutOfMarketing(userId);
+    }
+
+    private String sign(UUID userId) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] signature = mac.doFinal(userId.toString().getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not sign the unsubscribe link.", e);
+        }
+    }
+}
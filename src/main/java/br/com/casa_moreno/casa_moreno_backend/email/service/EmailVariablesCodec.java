@@ -0,0 +1,70 @@
+package br.com.casa_moreno.casa_moreno_backend.email.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+
+// As variáveis do outbox carregam links de redefinição e senhas temporárias até o envio;
+// ficam gravadas como JSON cifrado com AES-GCM, e o IV aleatório vai na frente do texto cifrado.
+@Component
+public class EmailVariablesCodec {
+
+    private static final TypeReference<Map<String, Object>> VARIABLES_TYPE = new TypeReference<>() {};
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec key;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public EmailVariablesCodec(ObjectMapper objectMapper, @Value("${email.outbox.encryption-key}") String encryptionKey) {
+        this.objectMapper = objectMapper;
+        byte[] keyBytes = Base64.getDecoder().decode(encryptionKey);
+        if (keyBytes.length != 16 && keyBytes.length != 24 && keyBytes.length != 32) {
+            throw new IllegalArgumentException("email.outbox.encryption-key must be a Base64 AES key of 128, 192 or 256 bits.");
+        }
+        this.key = new SecretKeySpec(keyBytes, "AES");
+    }
+
+    public String encode(Map<String, Object> variables) {
+        try {
+            byte[] iv = new byte[IV_LENGTH];
+            secureRandom.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+            byte[] encrypted = cipher.doFinal(objectMapper.writeValueAsBytes(variables));
+            return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + encrypted.length).put(iv).put(encrypted).array());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize email template variables.", e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not encrypt email template variables.", e);
+        }
+    }
+
+    public Map<String, Object> decode(String encoded) {
+        try {
+            byte[] payload = Base64.getDecoder().decode(encoded);
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, payload, 0, IV_LENGTH));
+            byte[] json = cipher.doFinal(payload, IV_LENGTH, payload.length - IV_LENGTH);
+            return objectMapper.readValue(new String(json, StandardCharsets.UTF_8), VARIABLES_TYPE);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Could not decrypt email template variables.", e);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read email template variables.", e);
+        }
+    }
+}
@@ -1,23 +1,148 @@
 package br.com.casa_moreno.casa_moreno_backend.email.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
+import org.unbescape.html.HtmlEscape;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class TemplateService {
 
+    private static final Logger log = LoggerFactory.getLogger(TemplateService.class);
+
+    // Valor de teste com caracteres que o Thymeleaf escapa, usado para validar o template compilado.
+    private static final String PROBE_VALUE = "Zé & <b>\"O'Neil\"</b> ";
+
     private final TemplateEngine templateEngine;
+    private final MeterRegistry meterRegistry;
+    private final boolean precompile;
+    private final Map<String, Optional<CompiledTemplate>> compiledTemplates = new ConcurrentHashMap<>();
+    private final Map<String, Timer> renderTimers = new ConcurrentHashMap<>();
 
-    public TemplateService(TemplateEngine templateEngine) {
+    public TemplateService(TemplateEngine templateEngine, MeterRegistry meterRegistry, @Value("${email.templates.precompile}") boolean precompile) {
         this.templateEngine = templateEngine;
+        this.meterRegistry = meterRegistry;
+        this.precompile = precompile;
     }
 
     public String processTemplate(String templateName, Map<String, Object> variables) {
+        long start = System.nanoTime();
+        // Listas e objetos (th:each, campos aninhados) não viram texto simples; esses templates ficam sempre com o Thymeleaf.
+        if (precompile && onlyText(variables)) {
+            Optional<CompiledTemplate> compiled = compiledTemplates.computeIfAbsent(templateName, name -> compile(name, variables.keySet()));
+            if (compiled.isPresent() && compiled.get().accepts(variables.keySet())) {
+                String html = compiled.get().render(variables);
+                renderTimer(templateName, "compiled").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return html;
+            }
+        }
+        String html = renderWithEngine(templateName, variables);
+        renderTimer(templateName, "thymeleaf").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return html;
+    }
+
+    private static boolean onlyText(Map<String, Object> variables) {
+        for (Object value : variables.values()) {
+            if (value != null && !(value instanceof CharSequence)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // O nome do template vem sempre do código, então a cardinalidade da tag é fixa.
+    private Timer renderTimer(String templateName, String renderer) {
+        return renderTimers.computeIfAbsent(templateName + "|" + renderer, key -> Timer.builder("email.template.render")
+                .description("Time spent rendering an email template")
+                .tag("template", templateName)
+                .tag("renderer", renderer)
+                .register(meterRegistry));
+    }
+
+    private String renderWithEngine(String templateName, Map<String, Object> variables) {
         Context context = new Context();
         context.setVariables(variables);
         return templateEngine.process("email/" + templateName, context);
     }
-}
\ No newline at end of file
+
+    // Renderiza o template uma única vez com marcadores no lugar das variáveis e separa o HTML estático
+    // dos pontos de substituição. Se o resultado não bater com o Thymeleaf para um valor de teste
+    // (ex.: template com th:if ou formatação), o template continua sendo renderizado pelo Thymeleaf.
+    private Optional<CompiledTemplate> compile(String templateName, Set<String> variableNames) {
+        try {
+            String markerPrefix = "tplslot" + UUID.randomUUID().toString().replace("-", "");
+            List<String> names = new ArrayList<>(variableNames);
+            Map<String, Object> markers = new HashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                markers.put(names.get(i), markerPrefix + i + "x");
+            }
+
+            String rendered = renderWithEngine(templateName, markers);
+
+            List<String> staticParts = new ArrayList<>();
+            List<String> slots = new ArrayList<>();
+            int position = 0;
+            int markerStart;
+            while ((markerStart = rendered.indexOf(markerPrefix, position)) >= 0) {
+                int indexStart = markerStart + markerPrefix.length();
+                int markerEnd = rendered.indexOf('x', indexStart);
+                int slot = Integer.parseInt(rendered.substring(indexStart, markerEnd));
+                staticParts.add(rendered.substring(position, markerStart));
+                slots.add(names.get(slot));
+                position = markerEnd + 1;
+            }
+            staticParts.add(rendered.substring(position));
+
+            int staticLength = staticParts.stream().mapToInt(String::length).sum();
+            CompiledTemplate compiled = new CompiledTemplate(Set.copyOf(variableNames),
+                    staticParts.toArray(String[]::new), slots.toArray(String[]::new), staticLength);
+
+            Map<String, Object> probe = new HashMap<>();
+            for (String name : names) {
+                probe.put(name, PROBE_VALUE + name);
+            }
+            if (!compiled.render(probe).equals(renderWithEngine(templateName, probe))) {
+                return Optional.empty();
+            }
+            return Optional.of(compiled);
+        } catch (RuntimeException e) {
+            log.warn("Could not precompile email template {}; rendering it with Thymeleaf", templateName, e);
+            return Optional.empty();
+        }
+    }
+
+    private record CompiledTemplate(Set<String> variableNames, String[] staticParts, String[] slots, int staticLength) {
+
+        boolean accepts(Set<String> names) {
+            return variableNames.equals(names);
+        }
+
+        String render(Map<String, Object> variables) {
+            StringBuilder html = new StringBuilder(staticLength + slots.length * 64);
+            for (int i = 0; i < slots.length; i++) {
+                html.append(staticParts[i]);
+                Object value = variables.get(slots[i]);
+                if (value != null) {
+                    html.append(HtmlEscape.escapeHtml4Xml(value.toString()));
+                }
+            }
+            html.append(staticParts[slots.length]);
+            return html.toString();
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package br.com.casa_moreno.casa_moreno_backend.email.transport;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Mantém poucas conexões SMTP autenticadas abertas e envia várias mensagens por conexão,
+// evitando o handshake (STARTTLS + AUTH) que o JavaMailSender faz a cada send().
+@Component
+public class PooledSmtpTransport {
+
+    private final JavaMailSenderImpl mailSender;
+    private final MeterRegistry meterRegistry;
+    private final BlockingQueue<SendTask> queue;
+    private final int poolSize;
+    private final int maxMessagesPerConnection;
+    private final Duration offerTimeout;
+    private final Duration idleTimeout;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final Timer queueWaitTimer;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public PooledSmtpTransport(
+            JavaMailSenderImpl mailSender,
+            MeterRegistry meterRegistry,
+            @Value("${email.transport.pool-size}") int poolSize,
+            @Value("${email.transport.queue-capacity}") int queueCapacity,
+            @Value("${email.transport.max-messages-per-connection}") int maxMessagesPerConnection,
+            @Value("${email.transport.offer-timeout}") Duration offerTimeout,
+            @Value("${email.transport.idle-timeout}") Duration idleTimeout) {
+        this.mailSender = mailSender;
+        this.meterRegistry = meterRegistry;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.poolSize = poolSize;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.offerTimeout = offerTimeout;
+        this.idleTimeout = idleTimeout;
+        this.successTimer = sendTimer(meterRegistry, "success");
+        this.failureTimer = sendTimer(meterRegistry, "failure");
+        this.queueWaitTimer = Timer.builder("email.transport.queue.wait")
+                .description("Time a message waited for a free SMTP connection")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        meterRegistry.gauge("email.transport.queue.size", queue, BlockingQueue::size);
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("email.transport.send")
+                .description("Time spent delivering a single message over a pooled SMTP connection")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < poolSize; i++) {
+            workers.add(Thread.ofPlatform()
+                    .name("smtp-transport-" + i)
+                    .daemon(true)
+                    .start(this::runWorker));
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        // Dá aos workers até offerTimeout para esvaziar a fila antes de interrompê-los.
+        long deadline = System.nanoTime() + offerTimeout.toNanos();
+        while (!queue.isEmpty() && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        workers.clear();
+        failPending(new RejectedExecutionException("SMTP transport is shutting down"));
+    }
+
+    // Fila limitada: quando está cheia o chamador espera até offerTimeout, depois a mensagem é recusada.
+    // cancel() no future tira a mensagem da fila enquanto nenhum worker a pegou; depois disso devolve false e o envio segue.
+    public CompletableFuture<Void> send(MimeMessage message) {
+        SendTask task = new SendTask(message, System.nanoTime());
+        if (!running) {
+            fail(task, new RejectedExecutionException("SMTP transport is not running"));
+            return task;
+        }
+        try {
+            if (!queue.offer(task, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                fail(task, new RejectedExecutionException("SMTP send queue is full"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(task, e);
+        }
+        return task;
+    }
+
+    public int queuedMessages() {
+        return queue.size();
+    }
+
+    private void runWorker() {
+        Transport transport = null;
+        int sentOnConnection = 0;
+        try {
+            while (running || !queue.isEmpty()) {
+                SendTask task = queue.poll(idleTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                if (task == null) {
+                    // Fecha conexões ociosas para não depender do timeout do servidor.
+                    transport = close(transport);
+                    continue;
+                }
+                if (!task.claim()) {
+                    // Cancelada por quem enviou enquanto esperava na fila.
+                    continue;
+                }
+                queueWaitTimer.record(System.nanoTime() - task.enqueuedAt(), TimeUnit.NANOSECONDS);
+
+                if (transport != null && sentOnConnection >= maxMessagesPerConnection) {
+                    transport = close(transport);
+                }
+
+                try {
+                    if (transport == null) {
+                        transport = connect();
+                        sentOnConnection = 0;
+                    }
+                    deliver(transport, task);
+                    sentOnConnection++;
+                } catch (SendFailedException e) {
+                    // Destinatário recusado: a conexão continua válida e não adianta tentar de novo.
+                    fail(task, e);
+                } catch (MessagingException | RuntimeException e) {
+                    // Descarta a conexão e não reenvia aqui: o servidor pode ter aceitado a mensagem antes de
+                    // a conexão cair, então a nova tentativa fica com o backoff do outbox.
+                    transport = close(transport);
+                    fail(task, e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close(transport);
+        }
+    }
+
+    // Mesmo fallback do JavaMailSenderImpl: o protocolo só vem preenchido quando spring.mail.protocol é configurado.
+    private Transport connect() throws MessagingException {
+        Session session = mailSender.getSession();
+        String protocol = mailSender.getProtocol();
+        if (protocol == null) {
+            protocol = session.getProperty("mail.transport.protocol");
+        }
+        Transport transport = session.getTransport(protocol != null ? protocol : JavaMailSenderImpl.DEFAULT_PROTOCOL);
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        return transport;
+    }
+
+    private void deliver(Transport transport, SendTask task) throws MessagingException {
+        long start = System.nanoTime();
+        MimeMessage message = task.message();
+        try {
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            transport.sendMessage(message, message.getAllRecipients());
+        } catch (MessagingException | RuntimeException e) {
+            failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        task.complete(null);
+    }
+
+    // Conta falhas pelo tipo da exceção (ex.: SendFailedException, AuthenticationFailedException, RejectedExecutionException).
+    private void fail(SendTask task, Exception e) {
+        meterRegistry.counter("email.transport.errors", "type", e.getClass().getSimpleName()).increment();
+        task.completeExceptionally(e);
+    }
+
+    private void failPending(Exception e) {
+        SendTask task;
+        while ((task = queue.poll()) != null) {
+            fail(task, e);
+        }
+    }
+
+    private static Transport close(Transport transport) {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (MessagingException ignored) {
+                // A conexão já está sendo descartada.
+            }
+        }
+        return null;
+    }
+
+    private static final class SendTask extends CompletableFuture<Void> {
+
+        private final MimeMessage message;
+        private final long enqueuedAt;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private SendTask(MimeMessage message, long enqueuedAt) {
+            this.message = message;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        MimeMessage message() {
+            return message;
+        }
+
+        long enqueuedAt() {
+            return enqueuedAt;
+        }
+
+        // O worker que pega a tarefa e um cancel() concorrente disputam a mesma flag: só um dos dois vence.
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return claim() && super.cancel(mayInterruptIfRunning);
+        }
+    }
+}
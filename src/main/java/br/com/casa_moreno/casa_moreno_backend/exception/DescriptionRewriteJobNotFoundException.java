@@ -0,0 +1,7 @@
+package br.com.casa_moreno.casa_moreno_backend.exception;
+
+public class DescriptionRewriteJobNotFoundException extends RuntimeException {
+    public DescriptionRewriteJobNotFoundException(String message) {
+        super(message);
+    }
+}
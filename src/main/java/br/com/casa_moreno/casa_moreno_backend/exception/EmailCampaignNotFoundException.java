@@ -0,0 +1,7 @@
+package br.com.casa_moreno.casa_moreno_backend.exception;
+
+public class EmailCampaignNotFoundException extends RuntimeException {
+    public EmailCampaignNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.casa_moreno.casa_moreno_backend.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.casa_moreno.casa_moreno_backend.exception;
+
+public class InvalidUnsubscribeLinkException extends RuntimeException {
+    public InvalidUnsubscribeLinkException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.casa_moreno.casa_moreno_backend.exception;
+
+public class NoPromotionalProductsException extends RuntimeException {
+    public NoPromotionalProductsException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.casa_moreno.casa_moreno_backend.infra;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,12 +22,13 @@ public class AwsConfig {
     private String secretKey;
 
     @Bean
-    public S3Client s3Client() {
+    public S3Client s3Client(MeterRegistry meterRegistry) {
         return S3Client.builder()
                 .region(Region.of(awsRegion))
                 .credentialsProvider(StaticCredentialsProvider.create(
                         AwsBasicCredentials.create(accessKeyId, secretKey)
                 ))
+                .overrideConfiguration(configuration -> configuration.addExecutionInterceptor(new S3MetricsInterceptor(meterRegistry)))
                 .build();
     }
 }
\ No newline at end of file
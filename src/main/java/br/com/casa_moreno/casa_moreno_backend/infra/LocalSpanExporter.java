@@ -0,0 +1,120 @@
+package br.com.casa_moreno.casa_moreno_backend.infra;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Exporter de spans para rodar sem coletor: guarda os últimos spans em memória (para os testes consultarem)
+// e, se tracing.local-exporter.file estiver preenchido, grava um JSON por linha nesse arquivo.
+// O Spring Boot registra todo SpanExporter do contexto junto com o OTLP, então os dois podem ficar ligados.
+@Component
+@ConditionalOnProperty(name = "tracing.local-exporter.enabled", havingValue = "true")
+public class LocalSpanExporter implements SpanExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalSpanExporter.class);
+
+    private final int capacity;
+    private final Path file;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Deque<LocalSpan> spans = new ArrayDeque<>();
+
+    public LocalSpanExporter(
+            @Value("${tracing.local-exporter.capacity}") int capacity,
+            @Value("${tracing.local-exporter.file}") String file) {
+        this.capacity = capacity;
+        this.file = file == null || file.isBlank() ? null : Path.of(file);
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> batch) {
+        List<LocalSpan> exported = batch.stream().map(LocalSpan::new).toList();
+        synchronized (spans) {
+            for (LocalSpan span : exported) {
+                if (spans.size() == capacity) {
+                    spans.removeFirst();
+                }
+                spans.addLast(span);
+            }
+        }
+        return file == null ? CompletableResultCode.ofSuccess() : append(exported);
+    }
+
+    private synchronized CompletableResultCode append(List<LocalSpan> exported) {
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (LocalSpan span : exported) {
+                lines.append(objectMapper.writeValueAsString(span)).append('\n');
+            }
+            Files.writeString(file, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            return CompletableResultCode.ofSuccess();
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize spans", e);
+            return CompletableResultCode.ofFailure();
+        } catch (IOException e) {
+            log.warn("Failed to write spans to {}", file, e);
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    public List<LocalSpan> spans() {
+        synchronized (spans) {
+            return List.copyOf(spans);
+        }
+    }
+
+    public List<LocalSpan> trace(String traceId) {
+        return spans().stream().filter(span -> span.traceId().equals(traceId)).toList();
+    }
+
+    public void clear() {
+        synchronized (spans) {
+            spans.clear();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    public record LocalSpan(String traceId, String spanId, String parentSpanId, String name, long durationMicros,
+                            boolean error, Map<String, String> attributes) {
+
+        LocalSpan(SpanData span) {
+            this(span.getTraceId(), span.getSpanId(), span.getParentSpanId(), span.getName(),
+                    TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos()),
+                    span.getStatus().getStatusCode() == StatusCode.ERROR, attributes(span));
+        }
+
+        private static Map<String, String> attributes(SpanData span) {
+            Map<String, String> attributes = new LinkedHashMap<>();
+            span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+            return attributes;
+        }
+    }
+}
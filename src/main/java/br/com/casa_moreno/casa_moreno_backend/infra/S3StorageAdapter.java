@@ -1,5 +1,8 @@
 package br.com.casa_moreno.casa_moreno_backend.infra;
 
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import software.amazon.awssdk.core.sync.RequestBody;
@@ -11,8 +14,11 @@ import java.net.URI;
 import java.net.URISyntaxException;
 
 @Component
+@Observed(name = "storage.s3")
 public class S3StorageAdapter implements StoragePort {
 
+    private static final Logger log = LoggerFactory.getLogger(S3StorageAdapter.class);
+
     private final String region;
     private final String bucketName;
     private final S3Client s3Client;
@@ -46,12 +52,12 @@ public class S3StorageAdapter implements StoragePort {
             URI uri = new URI(fileUrl);
 
             if (uri.getPath() == null) {
-                System.err.println("URL do arquivo S3 inválida (path nulo): " + fileUrl);
+                log.warn("Invalid S3 file URL, the path is null: {}", fileUrl);
                 return;
             }
 
             if (uri.getHost() == null || uri.getPath().isEmpty() || uri.getPath().equals("/")) {
-                System.err.println("URL do arquivo S3 inválida ou malformada, não foi possível extrair a chave: " + fileUrl);
+                log.warn("Invalid or malformed S3 file URL, could not extract the key: {}", fileUrl);
                 return;
             }
 
@@ -65,8 +71,7 @@ public class S3StorageAdapter implements StoragePort {
             s3Client.deleteObject(deleteObjectRequest);
 
         } catch (URISyntaxException e) {
-            System.err.println("URL do arquivo S3 inválida: " + fileUrl);
-            e.printStackTrace();
+            log.warn("Invalid S3 file URL: {}", fileUrl, e);
         }
     }
 }
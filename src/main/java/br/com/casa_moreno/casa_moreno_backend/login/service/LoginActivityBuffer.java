@@ -0,0 +1,107 @@
+package br.com.casa_moreno.casa_moreno_backend.login.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class LoginActivityBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginActivityBuffer.class);
+
+    // GREATEST mantém o maior horário caso um flush atrasado chegue depois de um mais recente.
+    private static final String FLUSH_SQL = """
+            UPDATE users
+            SET last_login_at = GREATEST(COALESCE(last_login_at, ?), ?),
+                login_count = COALESCE(login_count, 0) + ?
+            WHERE user_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final Map<UUID, PendingLogin> pending = new ConcurrentHashMap<>();
+
+    public LoginActivityBuffer(
+            JdbcTemplate jdbcTemplate,
+            @Value("${login-activity.batch-size}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    public void recordLogin(UUID userId) {
+        recordLogin(userId, LocalDateTime.now());
+    }
+
+    void recordLogin(UUID userId, LocalDateTime loggedInAt) {
+        pending.merge(userId, new PendingLogin(loggedInAt, 1), PendingLogin::combine);
+    }
+
+    int pendingUsers() {
+        return pending.size();
+    }
+
+    // Vários logins do mesmo usuário entre dois flushes viram um único UPDATE.
+    @Scheduled(fixedDelayString = "${login-activity.flush-interval}")
+    @PreDestroy
+    public int flush() {
+        List<UUID> userIds = new ArrayList<>(pending.keySet());
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+
+        int flushed = 0;
+        for (int from = 0; from < userIds.size(); from += batchSize) {
+            List<UUID> chunk = userIds.subList(from, Math.min(from + batchSize, userIds.size()));
+            Map<UUID, PendingLogin> drained = new LinkedHashMap<>();
+            for (UUID userId : chunk) {
+                PendingLogin login = pending.remove(userId);
+                if (login != null) {
+                    drained.put(userId, login);
+                }
+            }
+            if (drained.isEmpty()) {
+                continue;
+            }
+
+            try {
+                jdbcTemplate.batchUpdate(FLUSH_SQL, toBatchArgs(drained));
+                flushed += drained.size();
+            } catch (RuntimeException e) {
+                // Devolve ao buffer para a próxima tentativa, sem perder a contagem.
+                drained.forEach((userId, login) -> pending.merge(userId, login, PendingLogin::combine));
+                log.warn("Failed to flush login activity for {} users; keeping them for the next flush", drained.size(), e);
+                break;
+            }
+        }
+        return flushed;
+    }
+
+    private static List<Object[]> toBatchArgs(Map<UUID, PendingLogin> drained) {
+        List<Object[]> args = new ArrayList<>(drained.size());
+        drained.forEach((userId, login) -> {
+            Timestamp lastLoginAt = Timestamp.valueOf(login.lastLoginAt());
+            args.add(new Object[]{lastLoginAt, lastLoginAt, login.count(), userId});
+        });
+        return args;
+    }
+
+    private record PendingLogin(LocalDateTime lastLoginAt, long count) {
+        PendingLogin combine(PendingLogin other) {
+            LocalDateTime latest = lastLoginAt.isAfter(other.lastLoginAt) ? lastLoginAt : other.lastLoginAt;
+            return new PendingLogin(latest, count + other.count);
+        }
+    }
+}
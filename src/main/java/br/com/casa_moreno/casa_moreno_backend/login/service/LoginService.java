@@ -2,6 +2,7 @@ package br.com.casa_moreno.casa_moreno_backend.login.service;
 
 import br.com.casa_moreno.casa_moreno_backend.login.dto.LoginRequest;
 import br.com.casa_moreno.casa_moreno_backend.login.dto.LoginResponse;
+import br.com.casa_moreno.casa_moreno_backend.ratelimit.service.RateLimitService;
 import br.com.casa_moreno.casa_moreno_backend.security.TokenService; // IMPORT
 import br.com.casa_moreno.casa_moreno_backend.user.domain.User;
 import br.com.casa_moreno.casa_moreno_backend.user.repository.UserRepository;
@@ -20,16 +21,22 @@ public class LoginService {
     private final UserRepository userRepository;
     private final BCryptPasswordEncoder bCryptPasswordEncoder;
     private final TokenService tokenService;
+    private final RateLimitService rateLimitService;
+    private final LoginActivityBuffer loginActivityBuffer;
 
-    public LoginService(UserRepository userRepository, BCryptPasswordEncoder bCryptPasswordEncoder, TokenService tokenService) {
+    public LoginService(UserRepository userRepository, BCryptPasswordEncoder bCryptPasswordEncoder, TokenService tokenService, RateLimitService rateLimitService, LoginActivityBuffer loginActivityBuffer) {
         this.userRepository = userRepository;
         this.bCryptPasswordEncoder = bCryptPasswordEncoder;
         this.tokenService = tokenService;
+        this.rateLimitService = rateLimitService;
+        this.loginActivityBuffer = loginActivityBuffer;
     }
 
     public LoginResponse loginAndGenerateToken(LoginRequest loginRequest) {
         String loginEmailOrUsername = loginRequest.username();
 
+        rateLimitService.checkIdentity(loginEmailOrUsername);
+
         User user = userRepository.findByUsernameOrEmail(loginEmailOrUsername)
                 .orElseThrow(() -> new BadCredentialsException("Username or email is incorrect"));
 
@@ -42,7 +49,7 @@ public class LoginService {
         Instant expiresAt = Instant.now().plusSeconds(60 * 60 * 24);
         LocalDateTime expiresTokenAt = LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault());
 
-        userRepository.save(user);
+        loginActivityBuffer.recordLogin(user.getUserId());
 
         return new LoginResponse(tokenJwt, expiresTokenAt);
     }
@@ -1,11 +1,15 @@
 package br.com.casa_moreno.casa_moreno_backend.product.controller;
 
+import br.com.casa_moreno.casa_moreno_backend.ai.service.ProductQuestionService;
 import br.com.casa_moreno.casa_moreno_backend.product.domain.Product;
 import br.com.casa_moreno.casa_moreno_backend.product.dto.CreateProductRequest;
 import br.com.casa_moreno.casa_moreno_backend.product.dto.ProductDetailsResponse;
+import br.com.casa_moreno.casa_moreno_backend.product.dto.ProductQuestionRequest;
 import br.com.casa_moreno.casa_moreno_backend.product.dto.UpdateProductRequest;
 import br.com.casa_moreno.casa_moreno_backend.product.service.ProductService;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
@@ -15,6 +19,7 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
 import java.net.URI;
+import java.security.Principal;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -23,10 +28,14 @@ import java.util.UUID;
 @RequestMapping("/products")
 public class ProductController {
 
+    private static final Logger log = LoggerFactory.getLogger(ProductController.class);
+
     private final ProductService productService;
+    private final ProductQuestionService productQuestionService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductQuestionService productQuestionService) {
         this.productService = productService;
+        this.productQuestionService = productQuestionService;
     }
 
     @PostMapping("/create")
@@ -56,6 +65,17 @@ public class ProductController {
         return ResponseEntity.ok(new ProductDetailsResponse(product));
     }
 
+    @PostMapping("/{id}/ask")
+    public ResponseEntity<String> ask(@PathVariable UUID id, @RequestBody @Valid ProductQuestionRequest request, Principal principal) {
+        try {
+            String response = productQuestionService.ask(principal.getName(), id, request.question());
+            return ResponseEntity.ok(response);
+        } catch (IOException e) {
+            log.error("Failed to answer the question about product {}", id, e);
+            return ResponseEntity.status(500).body("Erro ao comunicar com a IA.");
+        }
+    }
+
     @PutMapping("/update")
     public ResponseEntity<ProductDetailsResponse> update(@RequestBody @Valid UpdateProductRequest request) {
         Product product = productService.updateProduct(request);
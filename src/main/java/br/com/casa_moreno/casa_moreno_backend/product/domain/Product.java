@@ -2,6 +2,7 @@ package br.com.casa_moreno.casa_moreno_backend.product.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -22,6 +23,8 @@ public class Product {
     private String mercadoLivreUrl;
     private String productTitle;
     private String fullDescription;
+    // Versão do prompt que formatou a descrição atual; nula enquanto a descrição não passou pela IA.
+    private String descriptionPromptVersion;
     private String productBrand;
     private String productCondition;
     private BigDecimal currentPrice;
@@ -30,8 +33,10 @@ public class Product {
     private Integer installments;
     private BigDecimal installmentValue;
 
+    // Nas listagens as galerias de até 50 produtos vêm em um único SELECT, em vez de um por produto.
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @OrderColumn(name = "image_order")
+    @BatchSize(size = 50)
     @Builder.Default
     private List<ProductGalleryImageUrl> galleryImageUrls = new ArrayList<>();
 
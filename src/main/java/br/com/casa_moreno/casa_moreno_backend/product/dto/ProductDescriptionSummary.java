@@ -0,0 +1,6 @@
+package br.com.casa_moreno.casa_moreno_backend.product.dto;
+
+import java.util.UUID;
+
+public record ProductDescriptionSummary(UUID productId, String fullDescription) {
+}
@@ -0,0 +1,7 @@
+package br.com.casa_moreno.casa_moreno_backend.product.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record ProductQuestionRequest(
+        @NotBlank(message = "Question is required")
+        String question) {}
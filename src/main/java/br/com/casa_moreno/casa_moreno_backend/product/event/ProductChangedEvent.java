@@ -0,0 +1,6 @@
+package br.com.casa_moreno.casa_moreno_backend.product.event;
+
+import java.util.UUID;
+
+public record ProductChangedEvent(UUID productId, boolean deleted) {
+}
@@ -1,10 +1,13 @@
 package br.com.casa_moreno.casa_moreno_backend.product.repository;
 
 import br.com.casa_moreno.casa_moreno_backend.product.domain.Product;
+import br.com.casa_moreno.casa_moreno_backend.product.dto.ProductDescriptionSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.UUID;
@@ -21,4 +24,34 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
 
     @Query("SELECT DISTINCT p.productCategory FROM Product p ORDER BY p.productCategory ASC")
     List<String> findDistinctProductCategories();
+
+    // Keyset por productId: descrições ainda não formatadas com a versão atual do prompt. A primeira página e as
+    // seguintes são consultas separadas para o planner usar o índice da PK no range, sem um OR com o parâmetro nulo.
+    @Query("""
+            SELECT new br.com.casa_moreno.casa_moreno_backend.product.dto.ProductDescriptionSummary(p.productId, p.fullDescription)
+            FROM Product p
+            WHERE p.fullDescription IS NOT NULL AND p.fullDescription <> ''
+              AND (p.descriptionPromptVersion IS NULL OR p.descriptionPromptVersion <> :promptVersion)
+            ORDER BY p.productId ASC
+            """)
+    List<ProductDescriptionSummary> findFirstDescriptionsToRewrite(@Param("promptVersion") String promptVersion, Limit limit);
+
+    @Query("""
+            SELECT new br.com.casa_moreno.casa_moreno_backend.product.dto.ProductDescriptionSummary(p.productId, p.fullDescription)
+            FROM Product p
+            WHERE p.fullDescription IS NOT NULL AND p.fullDescription <> ''
+              AND (p.descriptionPromptVersion IS NULL OR p.descriptionPromptVersion <> :promptVersion)
+              AND p.productId > :cursorProductId
+            ORDER BY p.productId ASC
+            """)
+    List<ProductDescriptionSummary> findDescriptionsToRewriteAfter(@Param("promptVersion") String promptVersion,
+                                                                   @Param("cursorProductId") UUID cursorProductId,
+                                                                   Limit limit);
+
+    @Query("""
+            SELECT COUNT(p) FROM Product p
+            WHERE p.fullDescription IS NOT NULL AND p.fullDescription <> ''
+              AND (p.descriptionPromptVersion IS NULL OR p.descriptionPromptVersion <> :promptVersion)
+            """)
+    long countDescriptionsToRewrite(@Param("promptVersion") String promptVersion);
 }
@@ -9,8 +9,11 @@ import br.com.casa_moreno.casa_moreno_backend.product.domain.ProductGalleryImage
 import br.com.casa_moreno.casa_moreno_backend.product.dto.CreateProductRequest;
 import br.com.casa_moreno.casa_moreno_backend.product.dto.ProductDetailsResponse;
 import br.com.casa_moreno.casa_moreno_backend.product.dto.UpdateProductRequest;
+import br.com.casa_moreno.casa_moreno_backend.product.event.ProductChangedEvent;
 import br.com.casa_moreno.casa_moreno_backend.product.repository.ProductRepository;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -21,14 +24,17 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "product.service")
 public class ProductService {
 
     private final ProductRepository productRepository;
     private final MercadoLivreScraperClient mercadoLivreScraperClient;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ProductService(ProductRepository productRepository, MercadoLivreScraperClient mercadoLivreScraperClient) {
+    public ProductService(ProductRepository productRepository, MercadoLivreScraperClient mercadoLivreScraperClient, ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
         this.mercadoLivreScraperClient = mercadoLivreScraperClient;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -64,7 +70,9 @@ public class ProductService {
             throw new ProductAlreadyExistsException("Product is already exists");
         }
 
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getProductId(), false));
+        return savedProduct;
     }
 
     public Page<ProductDetailsResponse> findProductsByCategory(Pageable pageable, String category) {
@@ -90,7 +98,11 @@ public class ProductService {
         if(request.mercadoLivreId() != null) product.setMercadoLivreId(request.mercadoLivreId());
         if(request.mercadoLivreUrl() != null) product.setMercadoLivreUrl(request.mercadoLivreUrl());
         if(request.productTitle() != null) product.setProductTitle(request.productTitle());
-        if(request.fullDescription() != null) product.setFullDescription(request.fullDescription());
+        if(request.fullDescription() != null && !request.fullDescription().equals(product.getFullDescription())) {
+            // Texto novo ainda não passou pela formatação em lote.
+            product.setFullDescription(request.fullDescription());
+            product.setDescriptionPromptVersion(null);
+        }
         if(request.productBrand() != null) product.setProductBrand(request.productBrand());
         if(request.productCondition() != null) product.setProductCondition(request.productCondition());
         if(request.currentPrice() != null) product.setCurrentPrice(request.currentPrice());
@@ -104,7 +116,9 @@ public class ProductService {
         if(request.productCategory() != null) product.setProductCategory(request.productCategory());
         if(request.productSubcategory() != null) product.setProductSubcategory(request.productSubcategory());
 
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getProductId(), false));
+        return savedProduct;
     }
 
     @Transactional
@@ -113,6 +127,7 @@ public class ProductService {
                 .orElseThrow(() -> new ProductNotFoundException("Product with ID '" + productId + "' does not exist."));
 
         productRepository.delete(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId, true));
     }
 
     public List<String> getDistinctCategories() {
@@ -126,6 +141,7 @@ public class ProductService {
 
         product.setIsPromotional(isPromotional);
         productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId, false));
     }
 
     public List<ProductDetailsResponse> findAllPromotionalProducts() {
@@ -0,0 +1,19 @@
+package br.com.casa_moreno.casa_moreno_backend.ratelimit.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+
+@Entity
+@Table(name = "rate_limit_buckets")
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter @Setter
+public class RateLimitBucket {
+
+    @Id
+    private String bucketKey;
+    private Long theoreticalArrivalAt;
+}
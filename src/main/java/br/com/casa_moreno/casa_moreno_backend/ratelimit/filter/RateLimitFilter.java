@@ -0,0 +1,95 @@
+package br.com.casa_moreno.casa_moreno_backend.ratelimit.filter;
+
+import br.com.casa_moreno.casa_moreno_backend.exception.TooManyRequestsException;
+import br.com.casa_moreno.casa_moreno_backend.ratelimit.service.RateLimitService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> RATE_LIMITED_PATHS = Set.of("/login", "/users/forgot-password", "/users/reset-password");
+
+    private final RateLimitService rateLimitService;
+    private final List<IpAddressMatcher> trustedProxies;
+
+    public RateLimitFilter(
+            RateLimitService rateLimitService,
+            @Value("${rate-limit.client-address.trusted-proxies}") List<String> trustedProxies
+    ) {
+        this.rateLimitService = rateLimitService;
+        this.trustedProxies = trustedProxies.stream()
+                .map(String::trim)
+                .filter(cidr -> !cidr.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equalsIgnoreCase(request.getMethod()) || !RATE_LIMITED_PATHS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        try {
+            rateLimitService.checkClientAddress(resolveClientAddress(request));
+        } catch (TooManyRequestsException ex) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write(ex.getMessage());
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String resolveClientAddress(HttpServletRequest request) {
+        // O X-Forwarded-For só vale quando a conexão vem de um proxy confiável (o ALB); de qualquer
+        // outro endereço o cabeçalho é do próprio cliente e pode ser forjado para trocar de cota.
+        String remoteAddress = request.getRemoteAddr();
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor == null || forwardedFor.isBlank() || !isTrustedProxy(remoteAddress)) {
+            return remoteAddress;
+        }
+
+        // Da direita para a esquerda, o primeiro endereço que não é de um proxy confiável é o cliente.
+        String[] addresses = forwardedFor.split(",");
+        for (int i = addresses.length - 1; i >= 0; i--) {
+            String address = addresses[i].trim();
+            if (!address.isEmpty() && !isTrustedProxy(address)) {
+                return address;
+            }
+        }
+        return remoteAddress;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        for (IpAddressMatcher proxy : trustedProxies) {
+            try {
+                if (proxy.matches(address)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException ex) {
+                return false;
+            }
+        }
+        return false;
+    }
+}
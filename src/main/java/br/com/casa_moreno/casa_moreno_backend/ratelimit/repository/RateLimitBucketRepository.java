@@ -0,0 +1,31 @@
+package br.com.casa_moreno.casa_moreno_backend.ratelimit.repository;
+
+import br.com.casa_moreno.casa_moreno_backend.ratelimit.domain.RateLimitBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface RateLimitBucketRepository extends JpaRepository<RateLimitBucket, String> {
+
+    // GCRA em uma única instrução: retorna 0 quando a requisição excede o limite.
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO rate_limit_buckets (bucket_key, theoretical_arrival_at)
+            VALUES (:bucketKey, :now + :emissionInterval)
+            ON CONFLICT (bucket_key) DO UPDATE
+            SET theoretical_arrival_at = GREATEST(rate_limit_buckets.theoretical_arrival_at, :now) + :emissionInterval
+            WHERE GREATEST(rate_limit_buckets.theoretical_arrival_at, :now) - :now <= :burstTolerance
+            """, nativeQuery = true)
+    int tryAcquire(@Param("bucketKey") String bucketKey,
+                   @Param("now") long now,
+                   @Param("emissionInterval") long emissionInterval,
+                   @Param("burstTolerance") long burstTolerance);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RateLimitBucket b WHERE b.theoreticalArrivalAt < :now")
+    int deleteExpired(@Param("now") long now);
+}
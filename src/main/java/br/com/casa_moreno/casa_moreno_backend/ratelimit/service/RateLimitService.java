@@ -0,0 +1,88 @@
+package br.com.casa_moreno.casa_moreno_backend.ratelimit.service;
+
+import br.com.casa_moreno.casa_moreno_backend.exception.TooManyRequestsException;
+import br.com.casa_moreno.casa_moreno_backend.ratelimit.repository.RateLimitBucketRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class RateLimitService {
+
+    private static final String TOO_MANY_REQUESTS_MESSAGE = "Too many requests. Please try again later.";
+
+    private final RateLimitBucketRepository rateLimitBucketRepository;
+    private final boolean enabled;
+    private final boolean sharedStoreEnabled;
+    private final LimitRule clientAddressRule;
+    private final LimitRule identityRule;
+
+    public RateLimitService(
+            RateLimitBucketRepository rateLimitBucketRepository,
+            @Value("${rate-limit.enabled}") boolean enabled,
+            @Value("${rate-limit.shared-store.enabled}") boolean sharedStoreEnabled,
+            @Value("${rate-limit.slots}") int slots,
+            @Value("${rate-limit.client-address.capacity}") int clientAddressCapacity,
+            @Value("${rate-limit.client-address.window}") Duration clientAddressWindow,
+            @Value("${rate-limit.identity.capacity}") int identityCapacity,
+            @Value("${rate-limit.identity.window}") Duration identityWindow) {
+        this.rateLimitBucketRepository = rateLimitBucketRepository;
+        this.enabled = enabled;
+        this.sharedStoreEnabled = sharedStoreEnabled;
+        this.clientAddressRule = new LimitRule("client-address:", clientAddressCapacity, clientAddressWindow, slots);
+        this.identityRule = new LimitRule("identity:", identityCapacity, identityWindow, slots);
+    }
+
+    public void checkClientAddress(String clientAddress) {
+        if (clientAddress == null || clientAddress.isBlank()) return;
+        check(clientAddressRule, clientAddress);
+    }
+
+    public void checkIdentity(String identity) {
+        if (identity == null || identity.isBlank()) return;
+        check(identityRule, identity.trim().toLowerCase(Locale.ROOT));
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.shared-store.sweep-interval}")
+    public void sweepExpiredBuckets() {
+        if (!enabled || !sharedStoreEnabled) return;
+        rateLimitBucketRepository.deleteExpired(System.currentTimeMillis());
+    }
+
+    private void check(LimitRule rule, String value) {
+        if (!enabled) return;
+
+        String key = rule.prefix() + value;
+
+        // Checagem local primeiro: rejeita sem tocar no banco quando o nó já sabe que o limite estourou.
+        long waitNanos = rule.limiter().tryAcquire(key);
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException(TOO_MANY_REQUESTS_MESSAGE, toRetryAfterSeconds(TimeUnit.NANOSECONDS.toMillis(waitNanos)));
+        }
+
+        if (sharedStoreEnabled) {
+            int acquired = rateLimitBucketRepository.tryAcquire(key, System.currentTimeMillis(), rule.emissionIntervalMillis(), rule.burstToleranceMillis());
+            if (acquired == 0) {
+                throw new TooManyRequestsException(TOO_MANY_REQUESTS_MESSAGE, toRetryAfterSeconds(rule.emissionIntervalMillis()));
+            }
+        }
+    }
+
+    private long toRetryAfterSeconds(long millis) {
+        return Math.max(1, (millis + 999) / 1000);
+    }
+
+    private record LimitRule(String prefix, StripedRateLimiter limiter, long emissionIntervalMillis, long burstToleranceMillis) {
+
+        LimitRule(String prefix, int capacity, Duration window, int slots) {
+            this(prefix,
+                    new StripedRateLimiter(capacity, window, slots),
+                    window.toMillis() / capacity,
+                    window.toMillis() - window.toMillis() / capacity);
+        }
+    }
+}
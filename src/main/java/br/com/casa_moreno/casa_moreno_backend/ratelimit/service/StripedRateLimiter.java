@@ -0,0 +1,57 @@
+package br.com.casa_moreno.casa_moreno_backend.ratelimit.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token bucket em memória implementado com GCRA: cada slot guarda apenas o "theoretical arrival time"
+ * em um {@link AtomicLongArray}, então uma checagem custa um CAS e nenhuma alocação.
+ * Chaves são distribuídas em um número fixo de slots, o que limita a memória independentemente
+ * da quantidade de IPs ou usuários distintos.
+ */
+public class StripedRateLimiter {
+
+    private final AtomicLongArray theoreticalArrivalTimes;
+    private final int mask;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final long origin = System.nanoTime();
+
+    public StripedRateLimiter(int capacity, Duration window, int slots) {
+        if (capacity <= 0 || window.isNegative() || window.isZero() || slots <= 0) {
+            throw new IllegalArgumentException("Rate limiter capacity, window and slots must be positive.");
+        }
+        int size = slots == 1 ? 1 : Integer.highestOneBit(slots - 1) << 1;
+        this.theoreticalArrivalTimes = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.emissionIntervalNanos = window.toNanos() / capacity;
+        this.burstToleranceNanos = window.toNanos() - emissionIntervalNanos;
+    }
+
+    /**
+     * @return 0 quando a requisição é permitida, senão o tempo em nanos até a próxima permissão.
+     */
+    public long tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime() - origin);
+    }
+
+    long tryAcquire(String key, long now) {
+        int slot = slotFor(key);
+        while (true) {
+            long theoreticalArrival = theoreticalArrivalTimes.get(slot);
+            long start = Math.max(theoreticalArrival, now);
+            long waitNanos = start - now - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalTimes.compareAndSet(slot, theoreticalArrival, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    private int slotFor(String key) {
+        int hash = key.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
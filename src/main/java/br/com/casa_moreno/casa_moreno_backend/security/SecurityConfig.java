@@ -1,5 +1,6 @@
 package br.com.casa_moreno.casa_moreno_backend.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -28,6 +29,9 @@ public class SecurityConfig {
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http
                 .authorizeHttpRequests(authorize -> authorize
+                        // Dispatch assíncrono do SseEmitter: a requisição original já foi autorizada.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // PRODUCTS
                         .requestMatchers("/products/create").hasRole("ADMIN")
                         .requestMatchers("/products/update").hasRole("ADMIN")
@@ -36,6 +40,7 @@ public class SecurityConfig {
                         .requestMatchers("/products/{id}/promotional").hasRole("ADMIN")
                         .requestMatchers("/products/{id}/images/set-main").hasRole("ADMIN")
                         .requestMatchers("/products/{id}/images/delete").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/products/{id}/ask").hasAnyRole("ADMIN", "USER")
                         .requestMatchers("/products/find-by-category", "/products/categories", "/products/{id}", "/promotional").permitAll()
 
                         // USERS
@@ -47,8 +52,15 @@ public class SecurityConfig {
                         .requestMatchers("/users/create", "/users/forgot-password", "/users/reset-password").permitAll()
 
                         // AI
-                        .requestMatchers(HttpMethod.POST, "/ai/chat").hasAnyRole("ADMIN", "USER")
+                        .requestMatchers(HttpMethod.POST, "/ai/chat", "/ai/chat/stream").hasAnyRole("ADMIN", "USER")
+                        .requestMatchers(HttpMethod.GET, "/ai/chat/cache/stats", "/ai/chat/sessions/stats", "/ai/usage", "/ai/usage/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/ai/organize-description").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.DELETE, "/ai/organize-description/cache").hasRole("ADMIN")
+                        .requestMatchers("/ai/description-rewrite-jobs/**").hasRole("ADMIN")
+
+                        // EMAIL
+                        .requestMatchers("/email/campaigns/**").hasRole("ADMIN")
+                        .requestMatchers("/email/unsubscribe").permitAll()
 
                         // GLOBAL
                         .requestMatchers(HttpMethod.POST, "/login").permitAll()
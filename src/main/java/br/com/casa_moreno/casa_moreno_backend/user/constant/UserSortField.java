@@ -0,0 +1,6 @@
+package br.com.casa_moreno.casa_moreno_backend.user.constant;
+
+public enum UserSortField {
+    CREATED_AT,
+    USERNAME
+}
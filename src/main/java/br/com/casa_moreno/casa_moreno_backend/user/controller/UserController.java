@@ -1,12 +1,20 @@
 package br.com.casa_moreno.casa_moreno_backend.user.controller;
 
+import br.com.casa_moreno.casa_moreno_backend.ratelimit.service.RateLimitService;
+import br.com.casa_moreno.casa_moreno_backend.user.constant.Profile;
+import br.com.casa_moreno.casa_moreno_backend.user.constant.UserSortField;
 import br.com.casa_moreno.casa_moreno_backend.user.domain.User;
 import br.com.casa_moreno.casa_moreno_backend.user.dto.CreateUserRequest;
 import br.com.casa_moreno.casa_moreno_backend.user.dto.PasswordResetRequest;
 import br.com.casa_moreno.casa_moreno_backend.user.dto.UpdateUserRequest;
 import br.com.casa_moreno.casa_moreno_backend.user.dto.UserDetailsResponse;
+import br.com.casa_moreno.casa_moreno_backend.user.dto.UserPageResponse;
+import br.com.casa_moreno.casa_moreno_backend.user.dto.UserSearchFilter;
 import br.com.casa_moreno.casa_moreno_backend.user.service.UserService;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -15,17 +23,21 @@ import org.springframework.web.util.UriComponentsBuilder;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.AccessDeniedException;
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/users")
 public class UserController {
 
+    private static final Logger log = LoggerFactory.getLogger(UserController.class);
+
     private final UserService userService;
+    private final RateLimitService rateLimitService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, RateLimitService rateLimitService) {
         this.userService = userService;
+        this.rateLimitService = rateLimitService;
     }
 
     @PostMapping("/create")
@@ -46,8 +58,17 @@ public class UserController {
     }
 
     @GetMapping("/find-all-users")
-    public ResponseEntity<List<UserDetailsResponse>> findAllUsers() {
-        List<UserDetailsResponse> users = userService.findAllUsers();
+    public ResponseEntity<UserPageResponse> findAllUsers(
+            @RequestParam(required = false) Profile profile,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(defaultValue = "CREATED_AT") UserSortField sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        UserSearchFilter filter = new UserSearchFilter(profile, active, createdFrom, createdTo);
+        UserPageResponse users = userService.findAllUsers(filter, sort, cursor, size);
         return ResponseEntity.ok(users);
     }
 
@@ -65,6 +86,8 @@ public class UserController {
 
     @PostMapping("/forgot-password")
     public ResponseEntity<String> forgotPassword(@RequestParam String email) {
+        // Checado antes do @Transactional do service, para uma requisição rejeitada não ocupar uma conexão do pool.
+        rateLimitService.checkIdentity(email);
         userService.generatePasswordResetToken(email);
         return ResponseEntity.ok("Se um usuário com este e-mail existir, um link para redefinição de senha foi enviado.");
     }
@@ -81,7 +104,7 @@ public class UserController {
             String fileUrl = userService.uploadProfilePicture(userId, file);
             return ResponseEntity.ok(fileUrl);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to upload the profile picture of user {}", userId, e);
             return ResponseEntity.status(500).body("Erro ao fazer upload da imagem: " + e.getMessage());
         }
     }
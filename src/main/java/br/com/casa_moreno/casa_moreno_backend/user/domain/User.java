@@ -4,6 +4,7 @@ import br.com.casa_moreno.casa_moreno_backend.login.dto.LoginRequest;
 import br.com.casa_moreno.casa_moreno_backend.user.constant.Profile;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -34,9 +35,16 @@ public class User implements UserDetails {
     private String profilePictureUrl;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
-    private String passwordResetToken;
-    private LocalDateTime passwordResetTokenExpiresAt;
     private Boolean active;
+    // Mantidos pelo LoginActivityBuffer via UPDATE em lote; a entidade nunca os grava.
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime lastLoginAt;
+    @Column(insertable = false, updatable = false)
+    private Long loginCount;
+    // Só muda pelo link de descadastro dos e-mails promocionais.
+    @ColumnDefault("false")
+    @Column(insertable = false, updatable = false)
+    private Boolean marketingOptOut;
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -0,0 +1,8 @@
+package br.com.casa_moreno.casa_moreno_backend.user.dto;
+
+import java.util.List;
+
+public record UserPageResponse(
+        List<UserSummaryResponse> content,
+        String nextCursor) {
+}
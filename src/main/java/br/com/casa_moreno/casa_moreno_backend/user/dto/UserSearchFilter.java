@@ -0,0 +1,12 @@
+package br.com.casa_moreno.casa_moreno_backend.user.dto;
+
+import br.com.casa_moreno.casa_moreno_backend.user.constant.Profile;
+
+import java.time.LocalDateTime;
+
+public record UserSearchFilter(
+        Profile profile,
+        Boolean active,
+        LocalDateTime createdFrom,
+        LocalDateTime createdTo) {
+}
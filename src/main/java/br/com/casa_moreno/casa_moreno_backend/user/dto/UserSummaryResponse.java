@@ -0,0 +1,21 @@
+package br.com.casa_moreno.casa_moreno_backend.user.dto;
+
+import br.com.casa_moreno.casa_moreno_backend.user.constant.Profile;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record UserSummaryResponse(
+        UUID userId,
+        String name,
+        String username,
+        String email,
+        String phone,
+        Profile profile,
+        String profilePictureUrl,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Boolean active,
+        LocalDateTime lastLoginAt,
+        Long loginCount) {
+}
@@ -0,0 +1,9 @@
+package br.com.casa_moreno.casa_moreno_backend.user.event;
+
+import java.util.UUID;
+
+public record OAuthUserRegisteredEvent(
+        UUID userId,
+        String email,
+        String name) {
+}
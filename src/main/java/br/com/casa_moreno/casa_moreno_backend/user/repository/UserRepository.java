@@ -1,14 +1,19 @@
 package br.com.casa_moreno.casa_moreno_backend.user.repository;
 
 import br.com.casa_moreno.casa_moreno_backend.user.domain.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserSummaryRepository {
 
     @Query("SELECT u FROM User u WHERE u.username = :login OR u.email = :login")
     Optional<User> findByUsernameOrEmail(@Param("login") String login);
@@ -17,5 +22,33 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     Optional<User> findByEmail(String email);
 
-    Optional<User> findByPasswordResetToken(String token);
+    long countByActiveTrueAndMarketingOptOutFalseAndCreatedAtLessThanEqual(LocalDateTime createdAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.marketingOptOut = true WHERE u.userId = :userId")
+    int optOutOfMarketing(@Param("userId") UUID userId);
+
+    // Só roda no primeiro login OAuth; retorna 0 sem escrever nada quando outro login criou o mesmo e-mail antes.
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO users (user_id, name, username, password, email, profile, active, created_at)
+            VALUES (:userId, :name, :email, :pendingPassword, :email, 'USER', TRUE, :createdAt)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertOAuthUserIfAbsent(@Param("userId") UUID userId,
+                                @Param("name") String name,
+                                @Param("email") String email,
+                                @Param("pendingPassword") String pendingPassword,
+                                @Param("createdAt") LocalDateTime createdAt);
+
+    List<User> findByPasswordAndCreatedAtBefore(String password, LocalDateTime createdAt, Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :encodedPassword WHERE u.userId = :userId AND u.password = :pendingPassword")
+    int replacePendingPassword(@Param("userId") UUID userId,
+                               @Param("pendingPassword") String pendingPassword,
+                               @Param("encodedPassword") String encodedPassword);
 }
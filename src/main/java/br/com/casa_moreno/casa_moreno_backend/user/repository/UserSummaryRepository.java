@@ -0,0 +1,35 @@
+package br.com.casa_moreno.casa_moreno_backend.user.repository;
+
+import br.com.casa_moreno.casa_moreno_backend.user.constant.Profile;
+import br.com.casa_moreno.casa_moreno_backend.user.dto.UserSummaryResponse;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Listagem paginada por keyset: a página seguinte parte do último registro retornado.
+// Filtros e cursor nulos ficam fora do WHERE, então cada combinação gera o próprio SQL e o próprio plano.
+public interface UserSummaryRepository {
+
+    List<UserSummaryResponse> findSummariesOrderByCreatedAt(Profile profile,
+                                                            Boolean active,
+                                                            LocalDateTime createdFrom,
+                                                            LocalDateTime createdTo,
+                                                            LocalDateTime cursorCreatedAt,
+                                                            UUID cursorUserId,
+                                                            Limit limit);
+
+    List<UserSummaryResponse> findSummariesOrderByUsername(Profile profile,
+                                                           Boolean active,
+                                                           LocalDateTime createdFrom,
+                                                           LocalDateTime createdTo,
+                                                           String cursorUsername,
+                                                           Limit limit);
+
+    // Destinatários de campanha promocional: ativos, sem descadastro, na mesma ordem do cursor por data de criação.
+    List<UserSummaryResponse> findMarketingRecipients(LocalDateTime createdTo,
+                                                      LocalDateTime cursorCreatedAt,
+                                                      UUID cursorUserId,
+                                                      Limit limit);
+}
@@ -0,0 +1,113 @@
+package br.com.casa_moreno.casa_moreno_backend.user.repository;
+
+import br.com.casa_moreno.casa_moreno_backend.user.constant.Profile;
+import br.com.casa_moreno.casa_moreno_backend.user.domain.User;
+import br.com.casa_moreno.casa_moreno_backend.user.dto.UserSummaryResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class UserSummaryRepositoryImpl implements UserSummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserSummaryResponse> findSummariesOrderByCreatedAt(Profile profile, Boolean active,
+                                                                   LocalDateTime createdFrom, LocalDateTime createdTo,
+                                                                   LocalDateTime cursorCreatedAt, UUID cursorUserId,
+                                                                   Limit limit) {
+        return findOrderByCreatedAt(profile, active, createdFrom, createdTo, false, cursorCreatedAt, cursorUserId, limit);
+    }
+
+    @Override
+    public List<UserSummaryResponse> findMarketingRecipients(LocalDateTime createdTo,
+                                                             LocalDateTime cursorCreatedAt, UUID cursorUserId,
+                                                             Limit limit) {
+        return findOrderByCreatedAt(null, true, null, createdTo, true, cursorCreatedAt, cursorUserId, limit);
+    }
+
+    @Override
+    public List<UserSummaryResponse> findSummariesOrderByUsername(Profile profile, Boolean active,
+                                                                  LocalDateTime createdFrom, LocalDateTime createdTo,
+                                                                  String cursorUsername, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserSummaryResponse> query = cb.createQuery(UserSummaryResponse.class);
+        Root<User> user = query.from(User.class);
+
+        List<Predicate> predicates = filters(cb, user, profile, active, createdFrom, createdTo);
+        if (cursorUsername != null) {
+            predicates.add(cb.greaterThan(user.get("username"), cursorUsername));
+        }
+
+        query.select(summary(cb, user))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(user.get("username")));
+        return limited(entityManager.createQuery(query), limit).getResultList();
+    }
+
+    private List<UserSummaryResponse> findOrderByCreatedAt(Profile profile, Boolean active,
+                                                           LocalDateTime createdFrom, LocalDateTime createdTo,
+                                                           boolean excludeMarketingOptOut,
+                                                           LocalDateTime cursorCreatedAt, UUID cursorUserId,
+                                                           Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserSummaryResponse> query = cb.createQuery(UserSummaryResponse.class);
+        Root<User> user = query.from(User.class);
+
+        List<Predicate> predicates = filters(cb, user, profile, active, createdFrom, createdTo);
+        if (excludeMarketingOptOut) {
+            predicates.add(cb.isFalse(user.get("marketingOptOut")));
+        }
+        if (cursorCreatedAt != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(user.get("createdAt"), cursorCreatedAt),
+                    cb.and(cb.equal(user.get("createdAt"), cursorCreatedAt), cb.lessThan(user.get("userId"), cursorUserId))));
+        }
+
+        query.select(summary(cb, user))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(user.get("createdAt")), cb.desc(user.get("userId")));
+        return limited(entityManager.createQuery(query), limit).getResultList();
+    }
+
+    private static List<Predicate> filters(CriteriaBuilder cb, Root<User> user, Profile profile, Boolean active,
+                                           LocalDateTime createdFrom, LocalDateTime createdTo) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (profile != null) {
+            predicates.add(cb.equal(user.get("profile"), profile));
+        }
+        if (active != null) {
+            predicates.add(cb.equal(user.get("active"), active));
+        }
+        if (createdFrom != null) {
+            predicates.add(cb.greaterThanOrEqualTo(user.get("createdAt"), createdFrom));
+        }
+        if (createdTo != null) {
+            predicates.add(cb.lessThanOrEqualTo(user.get("createdAt"), createdTo));
+        }
+        return predicates;
+    }
+
+    private static CompoundSelection<UserSummaryResponse> summary(CriteriaBuilder cb, Root<User> user) {
+        return cb.construct(UserSummaryResponse.class,
+                user.get("userId"), user.get("name"), user.get("username"), user.get("email"), user.get("phone"),
+                user.get("profile"), user.get("profilePictureUrl"), user.get("createdAt"), user.get("updatedAt"),
+                user.get("active"), user.get("lastLoginAt"), user.get("loginCount"));
+    }
+
+    private static <T> TypedQuery<T> limited(TypedQuery<T> query, Limit limit) {
+        return limit.isLimited() ? query.setMaxResults(limit.max()) : query;
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.casa_moreno.casa_moreno_backend.user.service;
+
+import br.com.casa_moreno.casa_moreno_backend.user.domain.User;
+import br.com.casa_moreno.casa_moreno_backend.user.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Conta OAuth que ainda tem a senha pendente depois de retryDelay perdeu o evento do primeiro login
+// (falha no worker ou instância reiniciada antes do @Async rodar); gera a senha e envia o e-mail de novo.
+@Component
+public class OAuthPendingPasswordSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(OAuthPendingPasswordSweeper.class);
+
+    private final UserRepository userRepository;
+    private final OAuthUserProvisioningWorker provisioningWorker;
+    private final Duration retryDelay;
+    private final int batchSize;
+
+    public OAuthPendingPasswordSweeper(
+            UserRepository userRepository,
+            OAuthUserProvisioningWorker provisioningWorker,
+            @Value("${oauth.provisioning.retry-delay}") Duration retryDelay,
+            @Value("${oauth.provisioning.batch-size}") int batchSize) {
+        this.userRepository = userRepository;
+        this.provisioningWorker = provisioningWorker;
+        this.retryDelay = retryDelay;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${oauth.provisioning.retry-interval}")
+    public int retryPendingPasswords() {
+        List<User> pendingUsers = userRepository.findByPasswordAndCreatedAtBefore(
+                UserService.OAUTH_PENDING_PASSWORD, LocalDateTime.now().minus(retryDelay), Limit.of(batchSize));
+
+        int provisioned = 0;
+        for (User user : pendingUsers) {
+            try {
+                if (provisioningWorker.provisionTemporaryPassword(user.getUserId(), user.getEmail(), user.getName())) {
+                    provisioned++;
+                }
+            } catch (RuntimeException e) {
+                // Cada conta tem sua própria transação; uma falha não impede as demais e volta no próximo ciclo.
+                log.warn("Could not provision the temporary password for OAuth user {}", user.getUserId(), e);
+            }
+        }
+        return provisioned;
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.casa_moreno.casa_moreno_backend.user.service;
+
+import br.com.casa_moreno.casa_moreno_backend.email.service.EmailService;
+import br.com.casa_moreno.casa_moreno_backend.user.event.OAuthUserRegisteredEvent;
+import br.com.casa_moreno.casa_moreno_backend.user.repository.UserRepository;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+@Component
+public class OAuthUserProvisioningWorker {
+
+    private final UserRepository userRepository;
+    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final EmailService emailService;
+
+    public OAuthUserProvisioningWorker(UserRepository userRepository, BCryptPasswordEncoder bCryptPasswordEncoder, EmailService emailService) {
+        this.userRepository = userRepository;
+        this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+        this.emailService = emailService;
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onOAuthUserRegistered(OAuthUserRegisteredEvent event) {
+        provisionTemporaryPassword(event.userId(), event.email(), event.name());
+    }
+
+    // Também chamado pelo OAuthPendingPasswordSweeper para contas cujo evento se perdeu.
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean provisionTemporaryPassword(UUID userId, String email, String name) {
+        String temporaryPassword = UUID.randomUUID().toString().substring(0, 8);
+        String hashedPassword = bCryptPasswordEncoder.encode(temporaryPassword);
+
+        // Só substitui o placeholder: se outra execução já definiu a senha, não envia um segundo e-mail.
+        int updated = userRepository.replacePendingPassword(userId, UserService.OAUTH_PENDING_PASSWORD, hashedPassword);
+        if (updated == 0) {
+            return false;
+        }
+
+        emailService.sendOAuthRegistrationWelcomeEmail(email, name, temporaryPassword);
+        return true;
+    }
+}
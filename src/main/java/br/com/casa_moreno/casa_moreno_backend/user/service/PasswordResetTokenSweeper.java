@@ -0,0 +1,35 @@
+package br.com.casa_moreno.casa_moreno_backend.user.service;
+
+import br.com.casa_moreno.casa_moreno_backend.user.repository.PasswordResetTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+public class PasswordResetTokenSweeper {
+
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final int batchSize;
+
+    public PasswordResetTokenSweeper(
+            PasswordResetTokenRepository passwordResetTokenRepository,
+            @Value("${password-reset.sweeper.batch-size}") int batchSize) {
+        this.passwordResetTokenRepository = passwordResetTokenRepository;
+        this.batchSize = batchSize;
+    }
+
+    // Cada lote roda em sua própria transação curta, sem segurar locks sobre a tabela inteira.
+    @Scheduled(fixedDelayString = "${password-reset.sweeper.interval}")
+    public int sweepExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        int totalDeleted = 0;
+        int deleted;
+        do {
+            deleted = passwordResetTokenRepository.deleteExpiredBatch(now, batchSize);
+            totalDeleted += deleted;
+        } while (deleted == batchSize);
+        return totalDeleted;
+    }
+}
@@ -1,17 +1,28 @@
 package br.com.casa_moreno.casa_moreno_backend.user.service;
 
 import br.com.casa_moreno.casa_moreno_backend.email.service.EmailService;
+import br.com.casa_moreno.casa_moreno_backend.exception.InvalidCursorException;
 import br.com.casa_moreno.casa_moreno_backend.exception.PasswordResetTokenExpiredException;
 import br.com.casa_moreno.casa_moreno_backend.exception.UserAlreadyExistsException;
 import br.com.casa_moreno.casa_moreno_backend.exception.UserNotFoundException;
 import br.com.casa_moreno.casa_moreno_backend.infra.StoragePort;
 import br.com.casa_moreno.casa_moreno_backend.user.constant.Profile;
+import br.com.casa_moreno.casa_moreno_backend.user.constant.UserSortField;
+import br.com.casa_moreno.casa_moreno_backend.user.domain.PasswordResetToken;
 import br.com.casa_moreno.casa_moreno_backend.user.domain.User;
 import br.com.casa_moreno.casa_moreno_backend.user.dto.CreateUserRequest;
 import br.com.casa_moreno.casa_moreno_backend.user.dto.UpdateUserRequest;
 import br.com.casa_moreno.casa_moreno_backend.user.dto.UserDetailsResponse;
+import br.com.casa_moreno.casa_moreno_backend.user.dto.UserPageResponse;
+import br.com.casa_moreno.casa_moreno_backend.user.dto.UserSearchFilter;
+import br.com.casa_moreno.casa_moreno_backend.user.dto.UserSummaryResponse;
+import br.com.casa_moreno.casa_moreno_backend.user.event.OAuthUserRegisteredEvent;
+import br.com.casa_moreno.casa_moreno_backend.user.repository.PasswordResetTokenRepository;
 import br.com.casa_moreno.casa_moreno_backend.user.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -22,24 +33,41 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import org.springframework.security.access.AccessDeniedException;
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
+@Observed(name = "user.service")
 public class UserService implements UserDetailsService {
 
+    // Valor que nunca corresponde a um hash BCrypt: a conta OAuth fica sem login por senha até o worker gerar a senha temporária.
+    public static final String OAUTH_PENDING_PASSWORD = "{oauth-pending}";
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final UserRepository userRepository;
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
     private final BCryptPasswordEncoder bCryptPasswordEncoder;
     private final EmailService emailService;
     private final StoragePort storagePort;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserService(UserRepository userRepository, BCryptPasswordEncoder bCryptPasswordEncoder, EmailService emailService, StoragePort storagePort) {
+    public UserService(UserRepository userRepository, PasswordResetTokenRepository passwordResetTokenRepository, BCryptPasswordEncoder bCryptPasswordEncoder, EmailService emailService, StoragePort storagePort, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.passwordResetTokenRepository = passwordResetTokenRepository;
         this.bCryptPasswordEncoder = bCryptPasswordEncoder;
         this.emailService = emailService;
         this.storagePort = storagePort;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -75,26 +103,36 @@ public class UserService implements UserDetailsService {
 
     @Transactional
     public User findOrCreateUserForOAuth(String email, String name) {
-        return userRepository.findByEmail(email).orElseGet(() -> {
-            String temporaryPassword = UUID.randomUUID().toString().substring(0, 8);
-            String hashedPassword = bCryptPasswordEncoder.encode(temporaryPassword);
+        if (email == null) {
+            throw new IllegalArgumentException("Email from OAuth2 provider cannot be null");
+        }
 
-            User newUser = User.builder()
-                    .name(name)
-                    .email(email)
-                    .username(email)
-                    .password(hashedPassword)
-                    .profile(Profile.USER)
-                    .active(true)
-                    .createdAt(LocalDateTime.now())
-                    .build();
+        // Usuário que volta é o caso comum: um SELECT e nenhuma escrita.
+        Optional<User> existingUser = userRepository.findByEmail(email);
+        if (existingUser.isPresent()) {
+            return existingUser.get();
+        }
 
-            User savedUser = userRepository.save(newUser);
+        UUID userId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        if (userRepository.insertOAuthUserIfAbsent(userId, name, email, OAUTH_PENDING_PASSWORD, now) == 0) {
+            // Um login simultâneo criou o usuário entre o SELECT e o INSERT.
+            return userRepository.findByEmail(email)
+                    .orElseThrow(() -> new UserAlreadyExistsException("Usuário ou e-mail já cadastrado."));
+        }
 
-            emailService.sendOAuthRegistrationWelcomeEmail(savedUser.getEmail(), savedUser.getName(), temporaryPassword);
+        // Hash da senha temporária e e-mail de boas-vindas ficam para o OAuthUserProvisioningWorker, após o commit.
+        eventPublisher.publishEvent(new OAuthUserRegisteredEvent(userId, email, name));
 
-            return savedUser;
-        });
+        return User.builder()
+                .userId(userId)
+                .name(name)
+                .username(email)
+                .email(email)
+                .profile(Profile.USER)
+                .active(true)
+                .createdAt(now)
+                .build();
     }
 
     public User getUserByUsername(String username) {
@@ -102,11 +140,80 @@ public class UserService implements UserDetailsService {
                 .orElseThrow(() -> new UserNotFoundException("User not found with username: " + username));
     }
 
-    public List<UserDetailsResponse> findAllUsers() {
-        List<User> users = userRepository.findAll();
-        return users.stream()
-                .map(UserDetailsResponse::new)
-                .toList();
+    public UserPageResponse findAllUsers(UserSearchFilter filter, UserSortField sort, String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        // Busca um registro a mais só para saber se existe próxima página.
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<UserSummaryResponse> rows = switch (sort) {
+            case CREATED_AT -> {
+                String[] position = decodeCursor(cursor, sort, 2);
+                yield userRepository.findSummariesOrderByCreatedAt(
+                        filter.profile(), filter.active(), filter.createdFrom(), filter.createdTo(),
+                        position == null ? null : parseCursorDate(position[0]),
+                        position == null ? null : parseCursorUuid(position[1]),
+                        limit);
+            }
+            case USERNAME -> {
+                String[] position = decodeCursor(cursor, sort, 1);
+                yield userRepository.findSummariesOrderByUsername(
+                        filter.profile(), filter.active(), filter.createdFrom(), filter.createdTo(),
+                        position == null ? null : position[0],
+                        limit);
+            }
+        };
+
+        if (rows.size() <= pageSize) {
+            return new UserPageResponse(rows, null);
+        }
+
+        List<UserSummaryResponse> content = rows.subList(0, pageSize);
+        UserSummaryResponse last = content.getLast();
+        String nextCursor = switch (sort) {
+            case CREATED_AT -> encodeCursor(sort, last.createdAt().toString(), last.userId().toString());
+            case USERNAME -> encodeCursor(sort, last.username());
+        };
+        return new UserPageResponse(List.copyOf(content), nextCursor);
+    }
+
+    private static String encodeCursor(UserSortField sort, String... values) {
+        String raw = sort.name() + "|" + String.join("|", values);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor, UserSortField sort, int expectedValues) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid pagination cursor");
+        }
+
+        String[] parts = raw.split("\\|", expectedValues + 1);
+        if (parts.length != expectedValues + 1 || !parts[0].equals(sort.name())) {
+            throw new InvalidCursorException("Invalid pagination cursor");
+        }
+        return Arrays.copyOfRange(parts, 1, parts.length);
+    }
+
+    private static LocalDateTime parseCursorDate(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid pagination cursor");
+        }
+    }
+
+    private static UUID parseCursorUuid(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid pagination cursor");
+        }
     }
 
     @Transactional
@@ -141,33 +248,39 @@ public class UserService implements UserDetailsService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
 
-        String token = UUID.randomUUID().toString();
+        String token = generateResetToken();
+        LocalDateTime now = LocalDateTime.now();
 
-        user.setPasswordResetToken(token);
-        user.setPasswordResetTokenExpiresAt(LocalDateTime.now().plusHours(1));
+        PasswordResetToken passwordResetToken = PasswordResetToken.builder()
+                .user(user)
+                .tokenHash(PasswordResetToken.hashToken(token))
+                .expiresAt(now.plusHours(1))
+                .createdAt(now)
+                .build();
 
-        userRepository.save(user);
+        passwordResetTokenRepository.save(passwordResetToken);
 
         emailService.sendPasswordResetLinkEmail(user.getEmail(), user.getName(), token);
     }
 
     @Transactional
     public void resetPassword(String token, String newPassword) {
-        User user = userRepository.findByPasswordResetToken(token)
+        PasswordResetToken passwordResetToken = passwordResetTokenRepository.findByTokenHash(PasswordResetToken.hashToken(token))
                 .orElseThrow(() -> new UserNotFoundException("Invalid password reset token."));
 
-        if (user.getPasswordResetTokenExpiresAt().isBefore(LocalDateTime.now())) {
+        if (passwordResetToken.isExpired()) {
             throw new PasswordResetTokenExpiredException("Password reset token has expired.");
         }
 
+        User user = passwordResetToken.getUser();
         user.setPassword(bCryptPasswordEncoder.encode(newPassword));
-
-        user.setPasswordResetToken(null);
-        user.setPasswordResetTokenExpiresAt(null);
         user.setUpdatedAt(LocalDateTime.now());
 
         userRepository.save(user);
 
+        // Invalida este e qualquer outro link de redefinição ainda pendente para o usuário.
+        passwordResetTokenRepository.deleteAllByUserId(user.getUserId());
+
         emailService.sendPasswordChangeConfirmationEmail(user.getEmail(), user.getName());
     }
 
@@ -197,6 +310,12 @@ public class UserService implements UserDetailsService {
         return fileUrl;
     }
 
+    private String generateResetToken() {
+        byte[] randomBytes = new byte[32];
+        SECURE_RANDOM.nextBytes(randomBytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+    }
+
     private String getFileExtension(String fileName) {
         if (fileName == null || fileName.isEmpty()) {
             return "";
@@ -0,0 +1,6 @@
+CREATE TABLE rate_limit_buckets (
+    bucket_key VARCHAR(255) NOT NULL PRIMARY KEY,
+    theoretical_arrival_at BIGINT NOT NULL
+);
+
+CREATE INDEX idx_rate_limit_buckets_theoretical_arrival_at ON rate_limit_buckets (theoretical_arrival_at);
@@ -0,0 +1,25 @@
+CREATE TABLE password_reset_tokens (
+    id UUID NOT NULL PRIMARY KEY,
+    user_id UUID NOT NULL,
+    token_hash VARCHAR(64) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT fk_password_reset_tokens_user_id
+    FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE
+);
+
+CREATE UNIQUE INDEX uk_password_reset_tokens_token_hash ON password_reset_tokens (token_hash);
+CREATE INDEX idx_password_reset_tokens_expires_at ON password_reset_tokens (expires_at);
+CREATE INDEX idx_password_reset_tokens_user_id ON password_reset_tokens (user_id);
+
+-- Preserva os links ainda válidos, guardando apenas o hash do token.
+INSERT INTO password_reset_tokens (id, user_id, token_hash, expires_at, created_at)
+SELECT gen_random_uuid(), user_id, encode(sha256(convert_to(password_reset_token, 'UTF8')), 'hex'), password_reset_token_expires_at, NOW()
+FROM users
+WHERE password_reset_token IS NOT NULL
+  AND password_reset_token_expires_at > NOW();
+
+ALTER TABLE users
+    DROP COLUMN password_reset_token,
+    DROP COLUMN password_reset_token_expires_at;
@@ -0,0 +1,2 @@
+ALTER TABLE users ADD COLUMN last_login_at TIMESTAMP;
+ALTER TABLE users ADD COLUMN login_count BIGINT NOT NULL DEFAULT 0;
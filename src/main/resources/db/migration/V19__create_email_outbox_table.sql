@@ -0,0 +1,16 @@
+CREATE TABLE email_outbox (
+    id UUID NOT NULL PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    template_name VARCHAR(100) NOT NULL,
+    variables TEXT,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL,
+    sent_at TIMESTAMP
+);
+
+CREATE INDEX idx_email_outbox_pending ON email_outbox (next_attempt_at) WHERE status = 'PENDING';
+CREATE INDEX idx_email_outbox_sent_at ON email_outbox (sent_at) WHERE status = 'SENT';
@@ -0,0 +1,19 @@
+CREATE TABLE email_campaigns (
+    id UUID NOT NULL PRIMARY KEY,
+    subject VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    body_html TEXT NOT NULL,
+    name_marker VARCHAR(100) NOT NULL,
+    recipients_created_before TIMESTAMP NOT NULL,
+    cursor_created_at TIMESTAMP,
+    cursor_user_id UUID,
+    total_recipients BIGINT NOT NULL DEFAULT 0,
+    sent_count BIGINT NOT NULL DEFAULT 0,
+    failed_count BIGINT NOT NULL DEFAULT 0,
+    lease_until TIMESTAMP,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+CREATE INDEX idx_email_campaigns_status ON email_campaigns (status);
@@ -0,0 +1,10 @@
+CREATE TABLE ai_response_cache (
+    cache_key VARCHAR(64) NOT NULL PRIMARY KEY,
+    operation VARCHAR(50) NOT NULL,
+    prompt_version VARCHAR(20) NOT NULL,
+    model_name VARCHAR(100) NOT NULL,
+    response TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_ai_response_cache_prompt_version ON ai_response_cache (operation, prompt_version);
@@ -0,0 +1,10 @@
+CREATE TABLE ai_token_usage (
+    username VARCHAR(255) NOT NULL,
+    usage_date DATE NOT NULL,
+    prompt_tokens BIGINT NOT NULL DEFAULT 0,
+    response_tokens BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (username, usage_date)
+);
+
+CREATE INDEX idx_ai_token_usage_usage_date ON ai_token_usage (usage_date);
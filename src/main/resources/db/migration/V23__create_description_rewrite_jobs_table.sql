@@ -0,0 +1,17 @@
+ALTER TABLE products ADD COLUMN description_prompt_version VARCHAR(20);
+
+CREATE TABLE description_rewrite_jobs (
+    id UUID NOT NULL PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    prompt_version VARCHAR(20) NOT NULL,
+    cursor_product_id UUID,
+    total_products BIGINT NOT NULL DEFAULT 0,
+    rewritten_count BIGINT NOT NULL DEFAULT 0,
+    failed_count BIGINT NOT NULL DEFAULT 0,
+    lease_until TIMESTAMP,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+CREATE INDEX idx_description_rewrite_jobs_status ON description_rewrite_jobs (status);
@@ -0,0 +1 @@
+CREATE INDEX idx_users_oauth_pending_created_at ON users (created_at) WHERE password = '{oauth-pending}';
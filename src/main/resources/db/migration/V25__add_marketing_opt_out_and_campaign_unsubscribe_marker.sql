@@ -0,0 +1,3 @@
+ALTER TABLE users ADD COLUMN marketing_opt_out BOOLEAN NOT NULL DEFAULT FALSE;
+
+ALTER TABLE email_campaigns ADD COLUMN unsubscribe_marker VARCHAR(100);
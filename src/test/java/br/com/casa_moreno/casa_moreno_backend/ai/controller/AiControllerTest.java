@@ -1,7 +1,13 @@
 package br.com.casa_moreno.casa_moreno_backend.ai.controller;
 
+import br.com.casa_moreno.casa_moreno_backend.ai.conversation.ConversationKey;
 import br.com.casa_moreno.casa_moreno_backend.ai.dto.ChatRequest;
+import br.com.casa_moreno.casa_moreno_backend.ai.dto.ConversationMemoryStatsResponse;
 import br.com.casa_moreno.casa_moreno_backend.ai.dto.DescriptionRequest;
+import br.com.casa_moreno.casa_moreno_backend.ai.dto.SemanticCacheStatsResponse;
+import br.com.casa_moreno.casa_moreno_backend.ai.dto.TokenUsageResponse;
+import br.com.casa_moreno.casa_moreno_backend.ai.quota.TokenQuotaService;
+import br.com.casa_moreno.casa_moreno_backend.ai.service.ChatStreamingService;
 import br.com.casa_moreno.casa_moreno_backend.ai.service.GeminiService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,13 +19,26 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.security.Principal;
+import java.time.LocalDate;
+import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @DisplayName("AI Controller Tests")
@@ -28,12 +47,17 @@ class AiControllerTest {
 
     @Mock
     private GeminiService geminiService;
+    @Mock
+    private ChatStreamingService chatStreamingService;
+    @Mock
+    private TokenQuotaService tokenQuotaService;
 
     @InjectMocks
     private AiController aiController;
 
     private MockMvc mockMvc;
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Principal principal = () -> "maria";
 
     @BeforeEach
     void setUp() {
@@ -46,16 +70,18 @@ class AiControllerTest {
         ChatRequest request = new ChatRequest("Qual o seu horário de funcionamento?");
         String expectedResponse = "Nosso horário é das 9h às 18h.";
 
-        when(geminiService.generateChatResponse(request.message())).thenReturn(expectedResponse);
+        when(geminiService.generateChatResponse(eq(request.message()), any(ConversationKey.class))).thenReturn(expectedResponse);
 
         mockMvc.perform(
                         post("/ai/chat")
+                                .principal(principal)
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
+                .andExpect(header().exists(AiController.CHAT_SESSION_HEADER))
                 .andExpect(content().string(expectedResponse));
 
-        verify(geminiService, times(1)).generateChatResponse(request.message());
+        verify(geminiService, times(1)).generateChatResponse(eq(request.message()), any(ConversationKey.class));
     }
 
     @Test
@@ -64,7 +90,7 @@ class AiControllerTest {
         ChatRequest request = new ChatRequest("Uma pergunta qualquer");
         String errorMessage = "Erro ao comunicar com a IA.";
 
-        when(geminiService.generateChatResponse(request.message()))
+        when(geminiService.generateChatResponse(eq(request.message()), any(ConversationKey.class)))
                 .thenThrow(new IOException("Falha na API da IA"));
 
         mockMvc.perform(
@@ -74,7 +100,37 @@ class AiControllerTest {
                 .andExpect(status().isInternalServerError())
                 .andExpect(content().string(errorMessage));
 
-        verify(geminiService, times(1)).generateChatResponse(request.message());
+        verify(geminiService, times(1)).generateChatResponse(eq(request.message()), any(ConversationKey.class));
+    }
+
+    @Test
+    @DisplayName("Should continue the conversation of the authenticated user when a session id is sent")
+    void shouldContinueConversationWithSessionId() throws Exception {
+        ChatRequest request = new ChatRequest("E aos sábados?", "session-1");
+        ConversationKey conversation = new ConversationKey("maria", "session-1");
+        when(geminiService.generateChatResponse(request.message(), conversation)).thenReturn("Aos sábados das 9h às 13h.");
+
+        mockMvc.perform(
+                        post("/ai/chat")
+                                .principal(principal)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(AiController.CHAT_SESSION_HEADER, "session-1"))
+                .andExpect(content().string("Aos sábados das 9h às 13h."));
+
+        verify(geminiService, times(1)).generateChatResponse(request.message(), conversation);
+    }
+
+    @Test
+    @DisplayName("Should report conversation memory footprint")
+    void shouldReportConversationStats() throws Exception {
+        when(geminiService.conversationStats()).thenReturn(new ConversationMemoryStatsResponse(2, 3000, 1500, 2000, 600));
+
+        mockMvc.perform(get("/ai/chat/sessions/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.activeSessions").value(2))
+                .andExpect(jsonPath("$.averageBytesPerSession").value(1500));
     }
 
     @Test
@@ -113,4 +169,78 @@ class AiControllerTest {
 
         verify(geminiService, times(1)).organizeProductDescription(request.description());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should invalidate cached descriptions for a prompt version")
+    void shouldInvalidateCachedDescriptions() throws Exception {
+        when(geminiService.invalidateDescriptionCache("v1")).thenReturn(3);
+
+        mockMvc.perform(delete("/ai/organize-description/cache").param("promptVersion", "v1"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("3 cached descriptions invalidated."));
+
+        verify(geminiService, times(1)).invalidateDescriptionCache("v1");
+    }
+
+    @Test
+    @DisplayName("Should report semantic cache hit rate and saved Gemini calls")
+    void shouldReportSemanticCacheStats() throws Exception {
+        when(geminiService.chatCacheStats()).thenReturn(new SemanticCacheStatsResponse(3, 1, 0.75, 3, 1));
+
+        mockMvc.perform(get("/ai/chat/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hitRate").value(0.75))
+                .andExpect(jsonPath("$.geminiCallsSaved").value(3));
+    }
+
+    @Test
+    @DisplayName("Should report token usage per user for the requested day")
+    void shouldReportTokenUsageForDay() throws Exception {
+        LocalDate day = LocalDate.of(2025, 3, 10);
+        when(tokenQuotaService.usageByDay(day)).thenReturn(List.of(new TokenUsageResponse("maria", day, 1200, 800, 2000)));
+
+        mockMvc.perform(get("/ai/usage").param("date", "2025-03-10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username").value("maria"))
+                .andExpect(jsonPath("$[0].totalTokens").value(2000));
+
+        verify(tokenQuotaService, times(1)).usageByDay(day);
+    }
+
+    @Test
+    @DisplayName("Should report the last 30 days of token usage for a user by default")
+    void shouldReportTokenUsageForUser() throws Exception {
+        LocalDate today = LocalDate.now();
+        when(tokenQuotaService.usageByUser("maria", today.minusDays(29), today)).thenReturn(List.of());
+
+        mockMvc.perform(get("/ai/usage/{username}", "maria"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+
+        verify(tokenQuotaService, times(1)).usageByUser("maria", today.minusDays(29), today);
+    }
+
+    @Test
+    @DisplayName("Should start an asynchronous SSE response for streaming chat")
+    void shouldStartSseResponseForStreamingChat() throws Exception {
+        ChatRequest chatRequest = new ChatRequest("Qual o seu horário de funcionamento?");
+        SseEmitter emitter = new SseEmitter();
+        when(chatStreamingService.stream(eq(chatRequest.message()), any(ConversationKey.class))).thenReturn(emitter);
+
+        MvcResult result = mockMvc.perform(
+                        post("/ai/chat/stream")
+                                .principal(principal)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(chatRequest)))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().exists(AiController.CHAT_SESSION_HEADER))
+                .andReturn();
+
+        emitter.complete();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(AiController.CHAT_SESSION_HEADER));
+
+        verify(chatStreamingService, times(1)).stream(eq(chatRequest.message()), any(ConversationKey.class));
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.controller;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.constant.DescriptionRewriteJobStatus;
+import br.com.casa_moreno.casa_moreno_backend.ai.domain.DescriptionRewriteJob;
+import br.com.casa_moreno.casa_moreno_backend.ai.service.DescriptionRewriteService;
+import br.com.casa_moreno.casa_moreno_backend.exception.DescriptionRewriteJobNotFoundException;
+import br.com.casa_moreno.casa_moreno_backend.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("DescriptionRewriteJobController Tests")
+@ExtendWith(MockitoExtension.class)
+class DescriptionRewriteJobControllerTest {
+
+    @Mock
+    private DescriptionRewriteService descriptionRewriteService;
+
+    @InjectMocks
+    private DescriptionRewriteJobController descriptionRewriteJobController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(descriptionRewriteJobController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    private DescriptionRewriteJob job(UUID jobId, DescriptionRewriteJobStatus status) {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+        return DescriptionRewriteJob.builder()
+                .id(jobId)
+                .status(status)
+                .promptVersion("v1")
+                .totalProducts(100L)
+                .rewrittenCount(18L)
+                .failedCount(2L)
+                .createdAt(createdAt)
+                .updatedAt(createdAt.plusSeconds(10))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should accept a new rewrite job")
+    void shouldAcceptNewJob() throws Exception {
+        UUID jobId = UUID.randomUUID();
+        when(descriptionRewriteService.startJob()).thenReturn(job(jobId, DescriptionRewriteJobStatus.RUNNING));
+
+        mockMvc.perform(post("/ai/description-rewrite-jobs"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(jobId.toString()))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+    }
+
+    @Test
+    @DisplayName("Should report progress and throughput of a job")
+    void shouldReportJobProgress() throws Exception {
+        UUID jobId = UUID.randomUUID();
+        when(descriptionRewriteService.findJob(jobId)).thenReturn(job(jobId, DescriptionRewriteJobStatus.RUNNING));
+
+        mockMvc.perform(get("/ai/description-rewrite-jobs/{jobId}", jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rewrittenCount").value(18))
+                .andExpect(jsonPath("$.failedCount").value(2))
+                .andExpect(jsonPath("$.productsPerSecond").value(2.0));
+    }
+
+    @Test
+    @DisplayName("Should return 404 when the job does not exist")
+    void shouldReturnNotFoundForUnknownJob() throws Exception {
+        UUID jobId = UUID.randomUUID();
+        when(descriptionRewriteService.pauseJob(jobId)).thenThrow(new DescriptionRewriteJobNotFoundException("Description rewrite job not found."));
+
+        mockMvc.perform(post("/ai/description-rewrite-jobs/{jobId}/pause", jobId))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.conversation;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.dto.ConversationMemoryStatsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConversationMemory Tests")
+class ConversationMemoryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConversationMemory conversationMemory;
+
+    private final ConversationKey conversation = new ConversationKey("maria", "s1");
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        conversationMemory = new ConversationMemory(meterRegistry, DataSize.ofMegabytes(1), Duration.ofMinutes(30), 100, 30);
+    }
+
+    @Test
+    @DisplayName("Should keep the turns of each session apart")
+    void shouldKeepSessionsApart() {
+        conversationMemory.record(conversation, "Qual o horário?", "Das 9h às 18h.");
+
+        ConversationHistory history = conversationMemory.history(conversation);
+
+        assertEquals(1, history.turns().size());
+        assertEquals("Qual o horário?", history.lastQuestion());
+        assertTrue(conversationMemory.history(new ConversationKey("joao", "s1")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep the history within the token budget however long the conversation runs")
+    void shouldKeepHistoryWithinTokenBudget() {
+        for (int i = 0; i < 200; i++) {
+            conversationMemory.record(conversation, "Pergunta número " + i + " sobre entrega?", "Resposta número " + i + " com detalhes do frete.");
+        }
+
+        ConversationHistory history = conversationMemory.history(conversation);
+
+        int turnTokens = history.turns().stream().mapToInt(ConversationTurn::tokens).sum();
+        assertTrue(turnTokens <= 100);
+        assertEquals("Pergunta número 199 sobre entrega?", history.lastQuestion());
+        // As trocas antigas sobrevivem só como perguntas, até o orçamento do resumo.
+        assertFalse(history.earlierQuestions().isEmpty());
+        assertTrue(history.earlierQuestions().stream().mapToInt(q -> (q.length() + 3) / 4).sum() <= 30);
+        assertFalse(history.earlierQuestions().contains("Pergunta número 0 sobre entrega?"));
+        assertTrue(history.tokens() < 200);
+    }
+
+    @Test
+    @DisplayName("Should truncate a single turn larger than the budget")
+    void shouldTruncateOversizedTurn() {
+        conversationMemory.record(conversation, "Me fale tudo", "x".repeat(10_000));
+
+        ConversationTurn turn = conversationMemory.history(conversation).turns().getFirst();
+
+        assertTrue(turn.answer().length() <= 203);
+        assertTrue(turn.tokens() <= 102);
+    }
+
+    @Test
+    @DisplayName("Should report the memory footprint of active sessions")
+    void shouldReportMemoryFootprint() {
+        conversationMemory.record(conversation, "Qual o horário?", "Das 9h às 18h.");
+        conversationMemory.record(new ConversationKey("joao", "s2"), "Vocês entregam em Saquarema?", "Sim, entregamos.");
+
+        ConversationMemoryStatsResponse stats = conversationMemory.stats();
+
+        assertEquals(2, stats.activeSessions());
+        assertTrue(stats.totalBytes() > 0);
+        assertEquals(stats.totalBytes() / 2, stats.averageBytesPerSession());
+        assertTrue(stats.largestSessionBytes() >= stats.averageBytesPerSession());
+        assertEquals(2.0, meterRegistry.get("ai.chat.sessions.active").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should evict sessions once the total size limit is reached")
+    void shouldEvictSessionsBySize() {
+        ConversationMemory small = new ConversationMemory(new SimpleMeterRegistry(), DataSize.ofBytes(2048), Duration.ofMinutes(30), 100, 30);
+
+        for (int i = 0; i < 50; i++) {
+            small.record(new ConversationKey("user" + i, "s"), "Qual o horário de funcionamento?", "Atendemos das 9h às 18h.");
+        }
+
+        ConversationMemoryStatsResponse stats = small.stats();
+        assertTrue(stats.totalBytes() <= 2048);
+        assertTrue(stats.activeSessions() < 50);
+    }
+}
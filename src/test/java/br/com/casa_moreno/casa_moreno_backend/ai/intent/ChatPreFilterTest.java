@@ -0,0 +1,102 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.intent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ChatPreFilter Tests")
+class ChatPreFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChatPreFilter chatPreFilter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        chatPreFilter = new ChatPreFilter(new DefaultResourceLoader(), meterRegistry, true, 0.8, 8);
+    }
+
+    @Test
+    @DisplayName("Should answer empty messages, greetings and thanks by rule")
+    void shouldAnswerTrivialMessagesByRule() {
+        assertEquals(ChatIntent.EMPTY, chatPreFilter.classify("  ?! "));
+        assertEquals(ChatIntent.GREETING, chatPreFilter.classify("Olá, bom dia!"));
+        assertEquals(ChatIntent.THANKS, chatPreFilter.classify("Muito obrigado!"));
+        assertTrue(chatPreFilter.answerLocally("Oi").orElseThrow().contains("Casa Moreno"));
+    }
+
+    @Test
+    @DisplayName("Should answer contact questions with the contact from the store context")
+    void shouldAnswerContactFromStoreContext() {
+        Optional<String> answer = chatPreFilter.answerLocally("Qual o WhatsApp de vocês?");
+
+        assertTrue(answer.isPresent());
+        assertTrue(answer.get().contains("casamorenobrasil@gmail.com"));
+        assertTrue(answer.get().contains("(22) 99822-3307"));
+    }
+
+    @Test
+    @DisplayName("Should answer opening hours locally pointing to the contact when the context has no hours")
+    void shouldAnswerOpeningHoursLocally() {
+        assertEquals(ChatIntent.OPENING_HOURS, chatPreFilter.classify("Qual o horário de funcionamento?"));
+
+        String answer = chatPreFilter.answerLocally("Vocês abrem domingo?").orElseThrow();
+
+        assertTrue(answer.startsWith("Não tenho a informação de horário de atendimento."));
+        assertTrue(answer.contains("(22) 99822-3307"));
+    }
+
+    @Test
+    @DisplayName("Should deflect obviously off-topic requests")
+    void shouldDeflectOffTopicRequests() {
+        assertEquals(ChatIntent.OFF_TOPIC, chatPreFilter.classify("Escreva um poema de amor"));
+    }
+
+    @Test
+    @DisplayName("Should send real questions to the model")
+    void shouldSendRealQuestionsToModel() {
+        assertEquals(ChatIntent.QUESTION, chatPreFilter.classify("Vocês vendem iPhone 15?"));
+        assertEquals(ChatIntent.QUESTION, chatPreFilter.classify("Olá, qual o prazo para devolução?"));
+        assertEquals(ChatIntent.QUESTION, chatPreFilter.classify("Quanto custa o Galaxy S24?"));
+        assertEquals(ChatIntent.QUESTION, chatPreFilter.classify(
+                "Comprei um notebook pelo site e o telefone da loja parceira não atende, o que faço para trocar o produto?"));
+        assertTrue(chatPreFilter.answerLocally("Tem celular Motorola?").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should send delivery time and lead time questions to the model instead of answering opening hours")
+    void shouldSendDeliveryTimeQuestionsToModel() {
+        assertEquals(ChatIntent.QUESTION, chatPreFilter.classify("Qual o horário de entrega?"));
+        assertEquals(ChatIntent.QUESTION, chatPreFilter.classify("Que horas chega meu pedido?"));
+        assertEquals(ChatIntent.QUESTION, chatPreFilter.classify("Em quantos dias chega?"));
+        assertEquals(ChatIntent.OPENING_HOURS, chatPreFilter.classify("Qual o horário de funcionamento?"));
+    }
+
+    @Test
+    @DisplayName("Should measure the deflection rate")
+    void shouldMeasureDeflectionRate() {
+        chatPreFilter.answerLocally("Oi");
+        chatPreFilter.answerLocally("Qual o contato de vocês?");
+        chatPreFilter.answerLocally("Obrigado");
+        chatPreFilter.answerLocally("Vocês vendem iPhone 15?");
+
+        assertEquals(0.75, chatPreFilter.deflectionRate(), 1e-9);
+        assertEquals(0.75, meterRegistry.get("ai.chat.prefilter.deflection_ratio").gauge().value(), 1e-9);
+        assertEquals(1.0, meterRegistry.get("ai.chat.prefilter").tag("intent", "question").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not answer anything locally when disabled")
+    void shouldNotAnswerWhenDisabled() throws IOException {
+        ChatPreFilter disabled = new ChatPreFilter(new DefaultResourceLoader(), new SimpleMeterRegistry(), false, 0.8, 8);
+
+        assertTrue(disabled.answerLocally("Oi").isEmpty());
+    }
+}
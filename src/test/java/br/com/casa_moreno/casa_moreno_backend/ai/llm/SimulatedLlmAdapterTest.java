@@ -0,0 +1,84 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.llm;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SimulatedLlmAdapter Tests")
+class SimulatedLlmAdapterTest {
+
+    private static SimulatedLlmAdapter adapter(Duration median, Duration p99, double failureRate) {
+        return new SimulatedLlmAdapter(new SimpleMeterRegistry(), median, p99, Duration.ZERO, 20, failureRate, 42);
+    }
+
+    @Test
+    @DisplayName("Should return the same response for the same prompt")
+    void shouldBeDeterministicPerPrompt() throws IOException {
+        SimulatedLlmAdapter adapter = adapter(Duration.ZERO, Duration.ZERO, 0.0);
+
+        String first = adapter.generate("Qual o horário de funcionamento?");
+        String second = adapter.generate("Qual o horário de funcionamento?");
+        String other = adapter.generate("Vocês entregam em Saquarema?");
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+        assertTrue(first.startsWith("Resposta simulada:"));
+        assertEquals(SimulatedLlmAdapter.MODEL_NAME, adapter.modelName());
+    }
+
+    @Test
+    @DisplayName("Should stream chunks that add up to the non-streamed response")
+    void shouldStreamSameTextAsGenerate() throws IOException {
+        SimulatedLlmAdapter adapter = adapter(Duration.ZERO, Duration.ZERO, 0.0);
+        List<String> chunks = new ArrayList<>();
+
+        adapter.generateStream("Qual o horário de funcionamento?", chunks::add);
+
+        assertEquals(22, chunks.size());
+        assertEquals(adapter.generate("Qual o horário de funcionamento?"), String.join("", chunks));
+    }
+
+    @Test
+    @DisplayName("Should fail injected calls, midway through the stream when streaming")
+    void shouldInjectFailures() {
+        SimulatedLlmAdapter adapter = adapter(Duration.ZERO, Duration.ZERO, 1.0);
+        List<String> chunks = new ArrayList<>();
+
+        assertThrows(IOException.class, () -> adapter.generate("prompt"));
+        assertThrows(IOException.class, () -> adapter.generateStream("prompt", chunks::add));
+        assertEquals(11, chunks.size());
+    }
+
+    @Test
+    @DisplayName("Should sample latencies around the configured median and p99")
+    void shouldSampleConfiguredLatencyDistribution() {
+        SimulatedLlmAdapter adapter = adapter(Duration.ofMillis(100), Duration.ofMillis(1000), 0.0);
+        long[] samples = new long[20_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = adapter.sampleLatencyNanos();
+        }
+        Arrays.sort(samples);
+
+        double medianMillis = samples[samples.length / 2] / 1_000_000.0;
+        double p99Millis = samples[(int) (samples.length * 0.99)] / 1_000_000.0;
+        assertEquals(100, medianMillis, 10);
+        assertEquals(1000, p99Millis, 200);
+    }
+
+    @Test
+    @DisplayName("Should use a fixed latency when p99 is not above the median")
+    void shouldUseFixedLatencyWithoutSpread() {
+        SimulatedLlmAdapter adapter = adapter(Duration.ofMillis(50), Duration.ofMillis(50), 0.0);
+
+        assertEquals(Duration.ofMillis(50).toNanos(), adapter.sampleLatencyNanos());
+        assertEquals(Duration.ofMillis(50).toNanos(), adapter.sampleLatencyNanos());
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.llm;
+
+import com.google.cloud.vertexai.api.Candidate;
+import com.google.cloud.vertexai.api.Content;
+import com.google.cloud.vertexai.api.GenerateContentResponse;
+import com.google.cloud.vertexai.api.Part;
+import com.google.cloud.vertexai.generativeai.GenerativeModel;
+import com.google.cloud.vertexai.generativeai.ResponseStream;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+@DisplayName("VertexLlmAdapter Tests")
+@ExtendWith(MockitoExtension.class)
+class VertexLlmAdapterTest {
+
+    @Mock
+    private GenerativeModel generativeModel;
+
+    private SimpleMeterRegistry meterRegistry;
+    private VertexLlmAdapter vertexLlmAdapter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        vertexLlmAdapter = new VertexLlmAdapter(generativeModel, meterRegistry, "gemini-test");
+    }
+
+    @Test
+    @DisplayName("Should return the text of the model response")
+    void shouldReturnResponseText() throws IOException {
+        when(generativeModel.generateContent("prompt")).thenReturn(textResponse("Atendemos das 9h às 18h."));
+
+        assertEquals("Atendemos das 9h às 18h.", vertexLlmAdapter.generate("prompt"));
+        assertEquals("gemini-test", vertexLlmAdapter.modelName());
+    }
+
+    @Test
+    @DisplayName("Should forward streamed chunks and skip the final chunk without text")
+    @SuppressWarnings("unchecked")
+    void shouldForwardStreamedChunksAndSkipEmptyOnes() throws IOException {
+        ResponseStream<GenerateContentResponse> responseStream = mock(ResponseStream.class);
+        when(responseStream.iterator()).thenReturn(List.of(
+                textResponse("Atendemos "),
+                textResponse("das 9h às 18h."),
+                GenerateContentResponse.newBuilder().addCandidates(Candidate.newBuilder().setContent(Content.newBuilder())).build(),
+                GenerateContentResponse.newBuilder().build()
+        ).iterator());
+        when(generativeModel.generateContentStream("prompt")).thenReturn(responseStream);
+
+        List<String> chunks = new ArrayList<>();
+        vertexLlmAdapter.generateStream("prompt", chunks::add);
+
+        assertEquals(List.of("Atendemos ", "das 9h às 18h."), chunks);
+    }
+
+    @Test
+    @DisplayName("Should record call latency and the token usage reported by Vertex AI")
+    void shouldRecordLatencyAndTokenUsage() throws IOException {
+        GenerateContentResponse response = textResponse("Atendemos das 9h às 18h.").toBuilder()
+                .setUsageMetadata(GenerateContentResponse.UsageMetadata.newBuilder().setPromptTokenCount(120).setCandidatesTokenCount(8))
+                .build();
+        when(generativeModel.generateContent("prompt")).thenReturn(response);
+        doThrow(new IOException("Vertex AI unavailable")).when(generativeModel).generateContent("falha");
+
+        vertexLlmAdapter.generate("prompt");
+        assertThrows(IOException.class, () -> vertexLlmAdapter.generate("falha"));
+
+        assertEquals(1, meterRegistry.get("ai.llm.requests").tag("model", "gemini-test").tag("result", "success").timer().count());
+        assertEquals(1, meterRegistry.get("ai.llm.requests").tag("result", "error").timer().count());
+        assertEquals(120, meterRegistry.get("ai.llm.tokens").tag("type", "prompt").summary().totalAmount());
+        assertEquals(8, meterRegistry.get("ai.llm.tokens").tag("type", "response").summary().totalAmount());
+    }
+
+    private static GenerateContentResponse textResponse(String text) {
+        return GenerateContentResponse.newBuilder()
+                .addCandidates(Candidate.newBuilder().setContent(Content.newBuilder().addParts(Part.newBuilder().setText(text))))
+                .build();
+    }
+}
@@ -0,0 +1,158 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.quota;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.domain.AiTokenUsage;
+import br.com.casa_moreno.casa_moreno_backend.ai.domain.AiTokenUsageId;
+import br.com.casa_moreno.casa_moreno_backend.ai.repository.AiTokenUsageRepository;
+import br.com.casa_moreno.casa_moreno_backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TokenQuotaService Tests")
+@ExtendWith(MockitoExtension.class)
+class TokenQuotaServiceTest {
+
+    @Mock
+    private AiTokenUsageRepository aiTokenUsageRepository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenQuotaService tokenQuotaService;
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenQuotaService = new TokenQuotaService(aiTokenUsageRepository, jdbcTemplate, meterRegistry, true, 1000, 1500);
+    }
+
+    @Test
+    @DisplayName("Should refuse the model call once the user's daily tokens would be exceeded")
+    void shouldRefuseWhenUserQuotaWouldBeExceeded() {
+        tokenQuotaService.record("maria", 600, 300, today);
+
+        tokenQuotaService.checkAvailable("maria", 100, today);
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> tokenQuotaService.checkAvailable("maria", 101, today));
+
+        assertTrue(exception.getRetryAfterSeconds() >= 1);
+        assertDoesNotThrow(() -> tokenQuotaService.checkAvailable("joao", 101, today));
+        assertEquals(1, meterRegistry.get("ai.quota.rejected").tag("scope", "user").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should refuse every user once the global daily tokens are spent")
+    void shouldRefuseWhenGlobalQuotaIsSpent() {
+        tokenQuotaService.record("maria", 500, 400, today);
+        tokenQuotaService.record("joao", 300, 200, today);
+
+        assertThrows(TooManyRequestsException.class, () -> tokenQuotaService.checkAvailable("ana", 200, today));
+        assertEquals(1, meterRegistry.get("ai.quota.rejected").tag("scope", "global").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should count tokens already persisted today after a restart")
+    void shouldStartFromPersistedUsage() {
+        AiTokenUsage persisted = AiTokenUsage.builder()
+                .username("maria").usageDate(today).promptTokens(700L).responseTokens(250L).updatedAt(LocalDateTime.now())
+                .build();
+        when(aiTokenUsageRepository.findById(new AiTokenUsageId("maria", today))).thenReturn(Optional.of(persisted));
+
+        assertEquals(950, tokenQuotaService.usedTokens("maria", today));
+        assertThrows(TooManyRequestsException.class, () -> tokenQuotaService.checkAvailable("maria", 100, today));
+    }
+
+    @Test
+    @DisplayName("Should flush only the tokens counted since the previous flush")
+    @SuppressWarnings("unchecked")
+    void shouldFlushOnlyDeltas() {
+        tokenQuotaService.record("maria", 100, 50, today);
+        tokenQuotaService.record("maria", 20, 10, today);
+
+        assertEquals(1, tokenQuotaService.flush());
+        assertEquals(0, tokenQuotaService.flush());
+        tokenQuotaService.record("maria", 5, 1, today);
+        assertEquals(1, tokenQuotaService.flush());
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batch.capture());
+        Object[] first = batch.getAllValues().get(0).get(0);
+        Object[] second = batch.getAllValues().get(1).get(0);
+        assertEquals("maria", first[0]);
+        assertEquals(120L, first[2]);
+        assertEquals(60L, first[3]);
+        assertEquals(5L, second[2]);
+        assertEquals(1L, second[3]);
+        assertEquals(186, tokenQuotaService.usedTokens("maria", today));
+    }
+
+    @Test
+    @DisplayName("Should keep the pending tokens when the flush fails")
+    @SuppressWarnings("unchecked")
+    void shouldKeepPendingTokensWhenFlushFails() {
+        tokenQuotaService.record("maria", 100, 50, today);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenReturn(new int[]{1});
+
+        assertEquals(0, tokenQuotaService.flush());
+        assertEquals(1, tokenQuotaService.flush());
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batch.capture());
+        assertEquals(100L, batch.getAllValues().get(1).get(0)[2]);
+    }
+
+    @Test
+    @DisplayName("Should flush tokens recorded for a past day while that day is being flushed")
+    @SuppressWarnings("unchecked")
+    void shouldFlushPastDayTokensRecordedDuringFlush() {
+        LocalDate yesterday = today.minusDays(1);
+        tokenQuotaService.record("maria", 100, 50, yesterday);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenAnswer(invocation -> {
+                    tokenQuotaService.record("maria", 7, 3, yesterday);
+                    return new int[]{1};
+                })
+                .thenReturn(new int[]{1});
+
+        assertEquals(1, tokenQuotaService.flush());
+        assertEquals(1, tokenQuotaService.flush());
+        assertEquals(0, tokenQuotaService.flush());
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batch.capture());
+        assertEquals(100L, batch.getAllValues().get(0).get(0)[2]);
+        assertEquals(7L, batch.getAllValues().get(1).get(0)[2]);
+        assertEquals(3L, batch.getAllValues().get(1).get(0)[3]);
+    }
+
+    @Test
+    @DisplayName("Should only count tokens when the quota is disabled")
+    void shouldNotRefuseWhenDisabled() {
+        TokenQuotaService disabled = new TokenQuotaService(aiTokenUsageRepository, jdbcTemplate, meterRegistry, false, 10, 10);
+
+        disabled.record("maria", 500, 500, today);
+
+        assertDoesNotThrow(() -> disabled.checkAvailable("maria", 500, today));
+        assertEquals(1000, disabled.usedTokens("maria", today));
+    }
+}
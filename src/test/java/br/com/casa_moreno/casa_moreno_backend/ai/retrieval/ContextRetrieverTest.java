@@ -0,0 +1,108 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.retrieval;
+
+import br.com.casa_moreno.casa_moreno_backend.product.domain.Product;
+import br.com.casa_moreno.casa_moreno_backend.product.event.ProductChangedEvent;
+import br.com.casa_moreno.casa_moreno_backend.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ContextRetriever Tests")
+@ExtendWith(MockitoExtension.class)
+class ContextRetrieverTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ContextRetriever contextRetriever;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        contextRetriever = new ContextRetriever(productRepository, new DefaultResourceLoader(), 2, 800);
+    }
+
+    private Product product(UUID productId, String title, BigDecimal price) {
+        return Product.builder()
+                .productId(productId)
+                .productTitle(title)
+                .productBrand("Samsung")
+                .productCategory("Smartphones")
+                .fullDescription("Tela de 6,1 polegadas, 256 GB de armazenamento e câmera tripla.")
+                .currentPrice(price)
+                .stockStatus("Em estoque")
+                .build();
+    }
+
+    private static String joined(List<ContextChunk> chunks) {
+        return String.join("\n", chunks.stream().map(ContextChunk::text).toList());
+    }
+
+    @Test
+    @DisplayName("Should send only the relevant store sections plus the assistant instructions")
+    void shouldRetrieveRelevantStoreSections() {
+        List<ContextChunk> context = contextRetriever.retrieve("Qual o prazo para troca por defeito de fabricação?");
+        String prompt = joined(context);
+
+        assertTrue(context.getFirst().text().contains("Defeito de Fabricação"));
+        assertTrue(prompt.contains("Responda apenas com base nas informações contidas neste contexto."));
+        assertFalse(prompt.contains("Coleta de Dados"));
+        assertTrue(context.size() <= 2 + 1);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the store overview when nothing matches")
+    void shouldFallBackToStoreOverview() {
+        String prompt = joined(contextRetriever.retrieve("xyzzy"));
+
+        assertTrue(prompt.contains("Casa Moreno"));
+        assertTrue(prompt.contains("Sobre a Casa Moreno"));
+    }
+
+    @Test
+    @DisplayName("Should answer product questions from the indexed catalog")
+    void shouldRetrieveProductsFromCatalog() {
+        UUID productId = UUID.randomUUID();
+        when(productRepository.findAll()).thenReturn(List.of(product(productId, "Smartphone Galaxy S23", new BigDecimal("3999.90"))));
+
+        contextRetriever.indexCatalog();
+        String prompt = joined(contextRetriever.retrieve("Quanto custa o Galaxy S23?"));
+
+        assertTrue(prompt.contains("Produto: Smartphone Galaxy S23"));
+        assertTrue(prompt.contains("Preço atual: R$ 3999,90"));
+    }
+
+    @Test
+    @DisplayName("Should reindex a product incrementally when it changes")
+    void shouldReindexProductWhenItChanges() {
+        UUID productId = UUID.randomUUID();
+        when(productRepository.findAll()).thenReturn(List.of(product(productId, "Smartphone Galaxy S23", new BigDecimal("3999.90"))));
+        contextRetriever.indexCatalog();
+        int documents = contextRetriever.indexedDocuments();
+
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product(productId, "Smartphone Galaxy S23", new BigDecimal("3499.90"))));
+        contextRetriever.onProductChanged(new ProductChangedEvent(productId, false));
+
+        String prompt = joined(contextRetriever.retrieve("Quanto custa o Galaxy S23?"));
+        assertTrue(prompt.contains("R$ 3499,90"));
+        assertFalse(prompt.contains("R$ 3999,90"));
+        assertEquals(documents, contextRetriever.indexedDocuments());
+
+        contextRetriever.onProductChanged(new ProductChangedEvent(productId, true));
+
+        assertFalse(joined(contextRetriever.retrieve("Quanto custa o Galaxy S23?")).contains("Galaxy S23"));
+        assertEquals(documents - 1, contextRetriever.indexedDocuments());
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.service;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.repository.AiResponseCacheRepository;
+import br.com.casa_moreno.casa_moreno_backend.support.SqlStatementCountConfiguration;
+import br.com.casa_moreno.casa_moreno_backend.support.SqlStatementCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Limites de comandos SQL do cache de respostas da IA: uma falta lê a chave e grava com um único INSERT.
+// O INSERT ... ON CONFLICT DO NOTHING só é aceito pelo H2 em MODE=PostgreSQL.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:aicachesqlcountdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE")
+@Import({AiResponseCache.class, SqlStatementCountConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("AiResponseCache SQL Statement Count Tests")
+class AiResponseCacheSqlCountTest {
+
+    @Autowired
+    private AiResponseCache aiResponseCache;
+    @Autowired
+    private AiResponseCacheRepository aiResponseCacheRepository;
+
+    @TestConfiguration
+    static class MeterRegistryConfiguration {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        aiResponseCacheRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should store a miss with one select and one insert")
+    void storeMiss() throws IOException {
+        SqlStatementCounter.reset();
+        String response = aiResponseCache.getOrCompute("organize-description", "v1", "gemini", "texto", () -> "resposta");
+
+        assertEquals("resposta", response);
+        SqlStatementCounter.assertAtMost(1, 1, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should keep the row stored by another instance when the insert conflicts")
+    void conflictingInsert() {
+        String cacheKey = AiResponseCache.cacheKey("organize-description", "v1", "gemini", "texto");
+        aiResponseCacheRepository.insertIfAbsent(cacheKey, "organize-description", "v1", "gemini", "da outra instância", LocalDateTime.now());
+
+        assertEquals(0, aiResponseCacheRepository.insertIfAbsent(cacheKey, "organize-description", "v1", "gemini", "desta instância", LocalDateTime.now()));
+        assertEquals("da outra instância", aiResponseCacheRepository.findById(cacheKey).orElseThrow().getResponse());
+    }
+}
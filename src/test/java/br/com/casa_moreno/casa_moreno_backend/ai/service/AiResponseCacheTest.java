@@ -0,0 +1,177 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.service;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.domain.AiResponseCacheEntry;
+import br.com.casa_moreno.casa_moreno_backend.ai.repository.AiResponseCacheRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AiResponseCache Tests")
+@ExtendWith(MockitoExtension.class)
+class AiResponseCacheTest {
+
+    @Mock
+    private AiResponseCacheRepository aiResponseCacheRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AiResponseCache aiResponseCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aiResponseCache = new AiResponseCache(aiResponseCacheRepository, meterRegistry, 100, Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("Should call the model once and persist the response")
+    void shouldCallModelOnceAndPersistResponse() throws IOException {
+        when(aiResponseCacheRepository.insertIfAbsent(any(), any(), any(), any(), any(), any())).thenReturn(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        String first = aiResponseCache.getOrCompute("organize-description", "v1", "gemini", "texto", () -> "resposta " + calls.incrementAndGet());
+        String second = aiResponseCache.getOrCompute("organize-description", "v1", "gemini", "texto", () -> "resposta " + calls.incrementAndGet());
+
+        assertEquals("resposta 1", first);
+        assertEquals("resposta 1", second);
+        assertEquals(1, calls.get());
+
+        verify(aiResponseCacheRepository).insertIfAbsent(eq(AiResponseCache.cacheKey("organize-description", "v1", "gemini", "texto")),
+                eq("organize-description"), eq("v1"), eq("gemini"), eq("resposta 1"), any(LocalDateTime.class));
+        assertEquals(1.0, meterRegistry.get("ai.cache.lookups").tag("result", "memory").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should answer from the database without calling the model")
+    void shouldAnswerFromDatabase() throws IOException {
+        String cacheKey = AiResponseCache.cacheKey("organize-description", "v1", "gemini", "texto");
+        when(aiResponseCacheRepository.findById(cacheKey)).thenReturn(Optional.of(
+                AiResponseCacheEntry.builder().cacheKey(cacheKey).response("persistida").build()));
+
+        String response = aiResponseCache.getOrCompute("organize-description", "v1", "gemini", "texto", () -> fail("Model should not be called"));
+
+        assertEquals("persistida", response);
+        verify(aiResponseCacheRepository, never()).insertIfAbsent(any(), any(), any(), any(), any(), any());
+        assertEquals(1.0, meterRegistry.get("ai.cache.lookups").tag("result", "database").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should use a different key when the prompt version or model changes")
+    void shouldUseDifferentKeyForPromptVersionAndModel() {
+        String key = AiResponseCache.cacheKey("organize-description", "v1", "gemini", "texto");
+
+        assertNotEquals(key, AiResponseCache.cacheKey("organize-description", "v2", "gemini", "texto"));
+        assertNotEquals(key, AiResponseCache.cacheKey("organize-description", "v1", "gemini-pro", "texto"));
+        assertNotEquals(AiResponseCache.cacheKey("a", "b", "c", "de"), AiResponseCache.cacheKey("a", "b", "cd", "e"));
+        assertEquals(64, key.length());
+    }
+
+    @Test
+    @DisplayName("Should propagate model failures without caching them")
+    void shouldPropagateModelFailures() throws IOException {
+        assertThrows(IOException.class, () -> aiResponseCache.getOrCompute("organize-description", "v1", "gemini", "texto", () -> {
+            throw new IOException("Vertex AI unavailable");
+        }));
+
+        String response = aiResponseCache.getOrCompute("organize-description", "v1", "gemini", "texto", () -> "resposta");
+
+        assertEquals("resposta", response);
+        verify(aiResponseCacheRepository, times(1)).insertIfAbsent(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should drop memory entries when invalidating a prompt version")
+    void shouldDropMemoryEntriesWhenInvalidating() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        aiResponseCache.getOrCompute("organize-description", "v1", "gemini", "texto", () -> "resposta " + calls.incrementAndGet());
+        when(aiResponseCacheRepository.deleteByOperationAndPromptVersion("organize-description", "v1")).thenReturn(1);
+
+        assertEquals(1, aiResponseCache.invalidate("organize-description", "v1"));
+        String response = aiResponseCache.getOrCompute("organize-description", "v1", "gemini", "texto", () -> "resposta " + calls.incrementAndGet());
+
+        assertEquals("resposta 2", response);
+    }
+
+    @Test
+    @DisplayName("Should call the model once for concurrent identical requests")
+    void shouldCallModelOnceForConcurrentIdenticalRequests() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch modelStarted = new CountDownLatch(1);
+        CountDownLatch releaseModel = new CountDownLatch(1);
+        AiResponseCache.AiCall slowCall = () -> {
+            calls.incrementAndGet();
+            modelStarted.countDown();
+            try {
+                releaseModel.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "resposta";
+        };
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> compute("texto", slowCall));
+        assertTrue(modelStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> compute("texto", slowCall));
+        String other = aiResponseCache.getOrCompute("organize-description", "v1", "gemini", "outro texto", () -> "outra resposta");
+        releaseModel.countDown();
+
+        assertEquals("outra resposta", other);
+        assertEquals("resposta", first.get(5, TimeUnit.SECONDS));
+        assertEquals("resposta", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should return the row stored by another instance when inserting the same key conflicts")
+    void shouldReturnStoredRowWhenInsertConflicts() throws IOException {
+        String cacheKey = AiResponseCache.cacheKey("organize-description", "v1", "gemini", "texto");
+        when(aiResponseCacheRepository.findById(cacheKey))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(AiResponseCacheEntry.builder().cacheKey(cacheKey).response("da outra instância").build()));
+        when(aiResponseCacheRepository.insertIfAbsent(eq(cacheKey), any(), any(), any(), any(), any())).thenReturn(0);
+
+        String response = aiResponseCache.getOrCompute("organize-description", "v1", "gemini", "texto", () -> "desta instância");
+
+        assertEquals("da outra instância", response);
+        verify(aiResponseCacheRepository, times(2)).findById(cacheKey);
+    }
+
+    @Test
+    @DisplayName("Should not keep in memory a response computed before an invalidation")
+    void shouldNotKeepResponseComputedBeforeInvalidation() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+
+        aiResponseCache.getOrCompute("organize-description", "v1", "gemini", "texto", () -> {
+            aiResponseCache.invalidate("organize-description", "v1");
+            return "resposta " + calls.incrementAndGet();
+        });
+        String response = aiResponseCache.getOrCompute("organize-description", "v1", "gemini", "texto", () -> "resposta " + calls.incrementAndGet());
+
+        assertEquals("resposta 2", response);
+    }
+
+    private String compute(String input, AiResponseCache.AiCall aiCall) {
+        try {
+            return aiResponseCache.getOrCompute("organize-description", "v1", "gemini", input, aiCall);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
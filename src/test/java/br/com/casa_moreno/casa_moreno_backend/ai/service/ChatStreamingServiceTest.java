@@ -0,0 +1,141 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.service;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.conversation.ConversationKey;
+import br.com.casa_moreno.casa_moreno_backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ChatStreamingService Tests")
+@ExtendWith(MockitoExtension.class)
+class ChatStreamingServiceTest {
+
+    @Mock
+    private GeminiService geminiService;
+    @Mock
+    private SseEmitter emitter;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChatStreamingService chatStreamingService;
+    private final ConversationKey conversation = new ConversationKey("user", "session-1");
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        chatStreamingService = new ChatStreamingService(geminiService, meterRegistry, Duration.ofMinutes(2), 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamChunks(String... chunks) throws IOException {
+        when(geminiService.streamChatResponse(eq("Olá"), eq(conversation), any())).thenAnswer(invocation -> {
+            Consumer<String> onChunk = invocation.getArgument(2);
+            for (String chunk : chunks) {
+                onChunk.accept(chunk);
+            }
+            return String.join("", chunks);
+        });
+    }
+
+    @Test
+    @DisplayName("Should send each chunk as an SSE event and record time to first token")
+    void shouldSendChunksAndRecordTimeToFirstToken() throws IOException {
+        streamChunks("Olá, ", "como posso ajudar?");
+
+        chatStreamingService.streamTo(emitter, "Olá", conversation, new AtomicBoolean());
+
+        // Dois tokens e o evento final "done".
+        verify(emitter, times(3)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter).complete();
+        assertEquals(1, meterRegistry.get("ai.chat.stream.first_token").timer().count());
+        assertEquals(1, meterRegistry.get("ai.chat.stream.duration").tag("result", "success").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should send an error event when the model fails")
+    void shouldSendErrorEventWhenModelFails() throws IOException {
+        when(geminiService.streamChatResponse(eq("Olá"), eq(conversation), any())).thenThrow(new IOException("Vertex AI unavailable"));
+
+        chatStreamingService.streamTo(emitter, "Olá", conversation, new AtomicBoolean());
+
+        verify(emitter).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter).complete();
+        assertEquals(0, meterRegistry.get("ai.chat.stream.first_token").timer().count());
+        assertEquals(1, meterRegistry.get("ai.chat.stream.duration").tag("result", "error").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should send an error event when the token quota is exhausted")
+    void shouldSendErrorEventWhenQuotaIsExhausted() throws IOException {
+        when(geminiService.streamChatResponse(eq("Olá"), eq(conversation), any()))
+                .thenThrow(new TooManyRequestsException("Daily AI usage limit reached. Please try again tomorrow.", 60));
+
+        chatStreamingService.streamTo(emitter, "Olá", conversation, new AtomicBoolean());
+
+        verify(emitter).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter).complete();
+        assertEquals(1, meterRegistry.get("ai.chat.stream.duration").tag("result", "rejected").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should stop streaming when the client disconnects")
+    void shouldStopStreamingWhenClientDisconnects() throws IOException {
+        streamChunks("Olá, ", "como posso ajudar?");
+        doThrow(new IOException("Broken pipe")).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+
+        chatStreamingService.streamTo(emitter, "Olá", conversation, new AtomicBoolean());
+
+        verify(emitter, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter).completeWithError(any(IOException.class));
+        assertEquals(1, meterRegistry.get("ai.chat.stream.duration").tag("result", "disconnected").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should stop streaming without sending anything once the emitter is cancelled")
+    void shouldStopStreamingWhenCancelled() throws IOException {
+        streamChunks("Olá, ", "como posso ajudar?");
+
+        chatStreamingService.streamTo(emitter, "Olá", conversation, new AtomicBoolean(true));
+
+        verify(emitter, never()).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter, never()).complete();
+        assertEquals(1, meterRegistry.get("ai.chat.stream.duration").tag("result", "cancelled").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reject a new stream while the concurrency limit is in use")
+    void shouldRejectStreamWhenLimitIsReached() throws Exception {
+        CountDownLatch modelCalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(geminiService.streamChatResponse(eq("Olá"), eq(conversation), any())).thenAnswer(invocation -> {
+            modelCalled.countDown();
+            release.await();
+            return "";
+        });
+
+        chatStreamingService.stream("Olá", conversation);
+        modelCalled.await();
+
+        try {
+            assertThrows(TooManyRequestsException.class, () -> chatStreamingService.stream("Olá", conversation));
+        } finally {
+            release.countDown();
+        }
+    }
+}
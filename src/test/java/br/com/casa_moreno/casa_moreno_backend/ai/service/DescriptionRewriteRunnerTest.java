@@ -0,0 +1,180 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.service;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.constant.DescriptionRewriteJobStatus;
+import br.com.casa_moreno.casa_moreno_backend.ai.domain.DescriptionRewriteJob;
+import br.com.casa_moreno.casa_moreno_backend.ai.repository.DescriptionRewriteJobRepository;
+import br.com.casa_moreno.casa_moreno_backend.product.dto.ProductDescriptionSummary;
+import br.com.casa_moreno.casa_moreno_backend.product.event.ProductChangedEvent;
+import br.com.casa_moreno.casa_moreno_backend.product.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("DescriptionRewriteRunner Tests")
+@ExtendWith(MockitoExtension.class)
+class DescriptionRewriteRunnerTest {
+
+    @Mock
+    private DescriptionRewriteJobRepository descriptionRewriteJobRepository;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private GeminiService geminiService;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private DescriptionRewriteRunner runner() {
+        return new DescriptionRewriteRunner(descriptionRewriteJobRepository, productRepository, geminiService, jdbcTemplate,
+                eventPublisher, meterRegistry, 2, 2, 1000, Duration.ofMinutes(5));
+    }
+
+    private DescriptionRewriteJob job(UUID id) {
+        return DescriptionRewriteJob.builder()
+                .id(id)
+                .status(DescriptionRewriteJobStatus.RUNNING)
+                .promptVersion("v1")
+                .totalProducts(2L)
+                .rewrittenCount(0L)
+                .failedCount(0L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should rewrite descriptions chunk by chunk, write them back in one batch and complete the job")
+    @SuppressWarnings("unchecked")
+    void shouldRewriteDescriptionsAndCompleteJob() throws IOException {
+        UUID jobId = UUID.randomUUID();
+        ProductDescriptionSummary first = new ProductDescriptionSummary(UUID.randomUUID(), "celular novo 128gb");
+        ProductDescriptionSummary second = new ProductDescriptionSummary(UUID.randomUUID(), "fone bluetooth preto");
+
+        when(descriptionRewriteJobRepository.findById(jobId)).thenReturn(Optional.of(job(jobId)));
+        when(productRepository.findFirstDescriptionsToRewrite("v1", Limit.of(2))).thenReturn(List.of(first, second));
+        when(productRepository.findDescriptionsToRewriteAfter("v1", second.productId(), Limit.of(2))).thenReturn(List.of());
+        when(geminiService.organizeProductDescription("celular novo 128gb")).thenReturn("Celular novo\n128 GB");
+        when(geminiService.organizeProductDescription("fone bluetooth preto")).thenReturn("Fone Bluetooth\nCor: preto");
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 1});
+        when(descriptionRewriteJobRepository.renewLease(eq(jobId), eq(DescriptionRewriteJobStatus.RUNNING), any(LocalDateTime.class))).thenReturn(1);
+
+        runner().run(jobId);
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batch.capture());
+        assertEquals(2, batch.getValue().size());
+        assertArrayEquals(new Object[]{"Celular novo\n128 GB", "v1", first.productId(), "celular novo 128gb"}, batch.getValue().get(0));
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(first.productId(), false));
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(second.productId(), false));
+        verify(descriptionRewriteJobRepository).recordProgress(eq(jobId), eq(second.productId()), eq(2L), eq(0L), any(LocalDateTime.class));
+        verify(descriptionRewriteJobRepository).complete(eq(jobId), eq(DescriptionRewriteJobStatus.RUNNING), eq(DescriptionRewriteJobStatus.COMPLETED), any(LocalDateTime.class));
+        assertEquals(2.0, meterRegistry.get("ai.description_rewrite.products").tag("result", "rewritten").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should count failed rewrites without writing them back or stopping the job")
+    @SuppressWarnings("unchecked")
+    void shouldCountFailedRewrites() throws IOException {
+        UUID jobId = UUID.randomUUID();
+        ProductDescriptionSummary first = new ProductDescriptionSummary(UUID.randomUUID(), "celular novo 128gb");
+        ProductDescriptionSummary second = new ProductDescriptionSummary(UUID.randomUUID(), "fone bluetooth preto");
+
+        when(descriptionRewriteJobRepository.findById(jobId)).thenReturn(Optional.of(job(jobId)));
+        when(productRepository.findFirstDescriptionsToRewrite(any(), any())).thenReturn(List.of(first, second));
+        when(productRepository.findDescriptionsToRewriteAfter(any(), any(), any())).thenReturn(List.of());
+        when(geminiService.organizeProductDescription("celular novo 128gb")).thenReturn("Celular novo\n128 GB");
+        when(geminiService.organizeProductDescription("fone bluetooth preto")).thenThrow(new IOException("Vertex AI unavailable"));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+        when(descriptionRewriteJobRepository.renewLease(any(), any(), any())).thenReturn(1);
+
+        runner().run(jobId);
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertEquals(1, batch.getValue().size());
+        verify(descriptionRewriteJobRepository).recordProgress(eq(jobId), eq(second.productId()), eq(1L), eq(1L), any(LocalDateTime.class));
+        verify(descriptionRewriteJobRepository).complete(eq(jobId), any(), any(), any());
+        assertEquals(1.0, meterRegistry.get("ai.description_rewrite.products").tag("result", "failed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not count or announce products edited while their rewrite was running")
+    void shouldSkipProductsEditedDuringRewrite() throws IOException {
+        UUID jobId = UUID.randomUUID();
+        ProductDescriptionSummary first = new ProductDescriptionSummary(UUID.randomUUID(), "celular novo 128gb");
+        ProductDescriptionSummary second = new ProductDescriptionSummary(UUID.randomUUID(), "fone bluetooth preto");
+
+        when(descriptionRewriteJobRepository.findById(jobId)).thenReturn(Optional.of(job(jobId)));
+        when(productRepository.findFirstDescriptionsToRewrite(any(), any())).thenReturn(List.of(first, second));
+        when(productRepository.findDescriptionsToRewriteAfter(any(), any(), any())).thenReturn(List.of());
+        when(geminiService.organizeProductDescription(anyString())).thenReturn("Descrição formatada");
+        // A descrição do segundo produto mudou depois da leitura, então o UPDATE com guarda não altera a linha.
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 0});
+        when(descriptionRewriteJobRepository.renewLease(any(), any(), any())).thenReturn(1);
+
+        runner().run(jobId);
+
+        verify(descriptionRewriteJobRepository).recordProgress(eq(jobId), eq(second.productId()), eq(1L), eq(0L), any(LocalDateTime.class));
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(first.productId(), false));
+        verify(eventPublisher, never()).publishEvent(new ProductChangedEvent(second.productId(), false));
+        assertEquals(1.0, meterRegistry.get("ai.description_rewrite.products").tag("result", "rewritten").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should resume from the checkpoint, keep the progress of the current chunk and stop when the job was paused")
+    void shouldResumeFromCheckpointAndStopWhenPaused() throws IOException {
+        UUID jobId = UUID.randomUUID();
+        UUID checkpoint = UUID.randomUUID();
+        DescriptionRewriteJob job = job(jobId);
+        job.setCursorProductId(checkpoint);
+
+        when(descriptionRewriteJobRepository.findById(jobId)).thenReturn(Optional.of(job));
+        ProductDescriptionSummary product = new ProductDescriptionSummary(UUID.randomUUID(), "celular novo 128gb");
+        when(productRepository.findDescriptionsToRewriteAfter(eq("v1"), eq(checkpoint), any())).thenReturn(List.of(product));
+        when(geminiService.organizeProductDescription(anyString())).thenReturn("Celular novo\n128 GB");
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+        when(descriptionRewriteJobRepository.renewLease(any(), any(), any())).thenReturn(0);
+
+        runner().run(jobId);
+
+        verify(productRepository, times(1)).findDescriptionsToRewriteAfter(any(), any(), any());
+        verify(productRepository, never()).findFirstDescriptionsToRewrite(any(), any());
+        verify(descriptionRewriteJobRepository, never()).complete(any(), any(), any(), any());
+        // O lote terminado durante a pausa fica no checkpoint, mesmo com o job fora de RUNNING.
+        verify(descriptionRewriteJobRepository).recordProgress(eq(jobId), eq(product.productId()), eq(1L), eq(0L), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should not start a job whose lease is held by another instance")
+    void shouldNotStartJobWithoutLease() {
+        UUID jobId = UUID.randomUUID();
+        when(descriptionRewriteJobRepository.claim(eq(jobId), eq(DescriptionRewriteJobStatus.RUNNING), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        assertFalse(runner().start(jobId));
+
+        verify(descriptionRewriteJobRepository, never()).findById(any());
+    }
+}
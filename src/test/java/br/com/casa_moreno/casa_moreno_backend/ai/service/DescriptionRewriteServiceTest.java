@@ -0,0 +1,97 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.service;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.constant.DescriptionRewriteJobStatus;
+import br.com.casa_moreno.casa_moreno_backend.ai.domain.DescriptionRewriteJob;
+import br.com.casa_moreno.casa_moreno_backend.ai.repository.DescriptionRewriteJobRepository;
+import br.com.casa_moreno.casa_moreno_backend.exception.DescriptionRewriteJobNotFoundException;
+import br.com.casa_moreno.casa_moreno_backend.product.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("DescriptionRewriteService Tests")
+@ExtendWith(MockitoExtension.class)
+class DescriptionRewriteServiceTest {
+
+    @Mock
+    private DescriptionRewriteJobRepository descriptionRewriteJobRepository;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private DescriptionRewriteRunner descriptionRewriteRunner;
+
+    @InjectMocks
+    private DescriptionRewriteService descriptionRewriteService;
+
+    @Test
+    @DisplayName("Should create a job for the current prompt version and start the runner")
+    void shouldCreateJobAndStartRunner() {
+        UUID jobId = UUID.randomUUID();
+        when(descriptionRewriteJobRepository.findFirstByStatusInOrderByCreatedAtDesc(anyList())).thenReturn(Optional.empty());
+        when(productRepository.countDescriptionsToRewrite(GeminiService.DESCRIPTION_PROMPT_VERSION)).thenReturn(120L);
+        when(descriptionRewriteJobRepository.save(any(DescriptionRewriteJob.class))).thenAnswer(invocation -> {
+            DescriptionRewriteJob job = invocation.getArgument(0);
+            job.setId(jobId);
+            return job;
+        });
+
+        DescriptionRewriteJob job = descriptionRewriteService.startJob();
+
+        ArgumentCaptor<DescriptionRewriteJob> captor = ArgumentCaptor.forClass(DescriptionRewriteJob.class);
+        verify(descriptionRewriteJobRepository).save(captor.capture());
+        assertEquals(DescriptionRewriteJobStatus.RUNNING, captor.getValue().getStatus());
+        assertEquals(GeminiService.DESCRIPTION_PROMPT_VERSION, captor.getValue().getPromptVersion());
+        assertEquals(120L, captor.getValue().getTotalProducts());
+        assertEquals(jobId, job.getId());
+        verify(descriptionRewriteRunner).start(jobId);
+    }
+
+    @Test
+    @DisplayName("Should return the unfinished job instead of creating another one")
+    void shouldReturnUnfinishedJob() {
+        DescriptionRewriteJob paused = DescriptionRewriteJob.builder().id(UUID.randomUUID()).status(DescriptionRewriteJobStatus.PAUSED).build();
+        when(descriptionRewriteJobRepository.findFirstByStatusInOrderByCreatedAtDesc(anyList())).thenReturn(Optional.of(paused));
+
+        assertSame(paused, descriptionRewriteService.startJob());
+
+        verify(descriptionRewriteJobRepository, never()).save(any());
+        verifyNoInteractions(descriptionRewriteRunner);
+    }
+
+    @Test
+    @DisplayName("Should throw when the job does not exist")
+    void shouldThrowWhenJobDoesNotExist() {
+        UUID jobId = UUID.randomUUID();
+        when(descriptionRewriteJobRepository.findById(jobId)).thenReturn(Optional.empty());
+
+        assertThrows(DescriptionRewriteJobNotFoundException.class, () -> descriptionRewriteService.findJob(jobId));
+    }
+
+    @Test
+    @DisplayName("Should resume a paused job and restart the runner")
+    void shouldResumePausedJob() {
+        UUID jobId = UUID.randomUUID();
+        DescriptionRewriteJob job = DescriptionRewriteJob.builder().id(jobId).status(DescriptionRewriteJobStatus.RUNNING).build();
+        when(descriptionRewriteJobRepository.findById(jobId)).thenReturn(Optional.of(job));
+        when(descriptionRewriteJobRepository.updateStatus(eq(jobId), eq(DescriptionRewriteJobStatus.PAUSED), eq(DescriptionRewriteJobStatus.RUNNING), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        descriptionRewriteService.resumeJob(jobId);
+
+        verify(descriptionRewriteRunner).start(jobId);
+    }
+}
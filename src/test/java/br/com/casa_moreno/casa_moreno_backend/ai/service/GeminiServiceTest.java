@@ -1,10 +1,17 @@
 package br.com.casa_moreno.casa_moreno_backend.ai.service;
 
-import com.google.cloud.vertexai.api.Candidate;
-import com.google.cloud.vertexai.api.Content;
-import com.google.cloud.vertexai.api.GenerateContentResponse;
-import com.google.cloud.vertexai.api.Part;
-import com.google.cloud.vertexai.generativeai.GenerativeModel;
+import br.com.casa_moreno.casa_moreno_backend.ai.conversation.ConversationKey;
+import br.com.casa_moreno.casa_moreno_backend.ai.conversation.ConversationMemory;
+import br.com.casa_moreno.casa_moreno_backend.ai.embedding.HashingEmbeddingProvider;
+import br.com.casa_moreno.casa_moreno_backend.ai.intent.ChatPreFilter;
+import br.com.casa_moreno.casa_moreno_backend.ai.llm.LlmPort;
+import br.com.casa_moreno.casa_moreno_backend.ai.quota.TokenQuotaService;
+import br.com.casa_moreno.casa_moreno_backend.ai.repository.AiResponseCacheRepository;
+import br.com.casa_moreno.casa_moreno_backend.ai.retrieval.ContextRetriever;
+import br.com.casa_moreno.casa_moreno_backend.exception.TooManyRequestsException;
+import br.com.casa_moreno.casa_moreno_backend.product.domain.Product;
+import br.com.casa_moreno.casa_moreno_backend.product.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,12 +22,27 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.unit.DataSize;
 
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -29,10 +51,19 @@ import static org.mockito.Mockito.when;
 class GeminiServiceTest {
 
     @Mock
-    private GenerativeModel generativeModel;
+    private LlmPort llmPort;
     @Mock
     private ResourceLoader resourceLoader;
+    @Mock
+    private AiResponseCacheRepository aiResponseCacheRepository;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private ChatPreFilter chatPreFilter;
+    @Mock
+    private TokenQuotaService tokenQuotaService;
 
+    private ContextRetriever contextRetriever;
     private GeminiService geminiService;
 
     private final String fakeStoreContext = "Horário de funcionamento: 9h às 18h.";
@@ -41,7 +72,14 @@ class GeminiServiceTest {
     void setUp() throws IOException {
         Resource mockResource = new ByteArrayResource(fakeStoreContext.getBytes());
         when(resourceLoader.getResource("classpath:ai/contexto-loja.txt")).thenReturn(mockResource);
-        geminiService = new GeminiService(generativeModel, resourceLoader);
+        lenient().when(llmPort.modelName()).thenReturn("fake-model");
+        lenient().when(chatPreFilter.answerLocally(anyString())).thenReturn(Optional.empty());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AiResponseCache aiResponseCache = new AiResponseCache(aiResponseCacheRepository, meterRegistry, 100, Duration.ofHours(1));
+        SemanticAnswerCache semanticAnswerCache = new SemanticAnswerCache(new HashingEmbeddingProvider(256), meterRegistry, 0.8, 100, Duration.ofHours(1));
+        contextRetriever = new ContextRetriever(productRepository, resourceLoader, 4, 800);
+        ConversationMemory conversationMemory = new ConversationMemory(meterRegistry, DataSize.ofMegabytes(1), Duration.ofMinutes(30), 600, 150);
+        geminiService = new GeminiService(llmPort, aiResponseCache, semanticAnswerCache, contextRetriever, conversationMemory, chatPreFilter, tokenQuotaService);
     }
 
     @Test
@@ -51,22 +89,15 @@ class GeminiServiceTest {
         String userMessage = "Qual o horário de vocês?";
         String expectedAiResponse = "Nosso horário de funcionamento é das 9h às 18h.";
 
-        Part part = Part.newBuilder().setText(expectedAiResponse).build();
-        Content content = Content.newBuilder().addParts(part).build();
-        Candidate candidate = Candidate.newBuilder().setContent(content).build();
-        GenerateContentResponse mockApiResponse = GenerateContentResponse.newBuilder()
-                .addAllCandidates(List.of(candidate))
-                .build();
+        when(llmPort.generate(anyString())).thenReturn(expectedAiResponse);
 
-        when(generativeModel.generateContent(anyString())).thenReturn(mockApiResponse);
-
-        String actualResponse = geminiService.generateChatResponse(userMessage);
+        String actualResponse = geminiService.generateChatResponse(userMessage, new ConversationKey("maria", "s1"));
 
         assertEquals(expectedAiResponse, actualResponse);
 
         ArgumentCaptor<String> promptCaptor = ArgumentCaptor.forClass(String.class);
 
-        verify(generativeModel).generateContent(promptCaptor.capture());
+        verify(llmPort).generate(promptCaptor.capture());
 
         String capturedPrompt = promptCaptor.getValue();
 
@@ -75,42 +106,193 @@ class GeminiServiceTest {
         assertTrue(capturedPrompt.contains(fakeStoreContext));
     }
 
+    @Test
+    @DisplayName("Should ground the product question prompt in the product context")
+    void shouldAnswerProductQuestionWithProductContext() throws IOException {
+        String productContext = "Produto: Smartphone Galaxy S24 | Marca: Samsung | Estoque: Em estoque";
+        when(llmPort.generate(anyString())).thenReturn("Sim, está em estoque.");
+
+        String answer = geminiService.answerProductQuestion("maria", productContext, "Tem em estoque?");
+
+        assertEquals("Sim, está em estoque.", answer);
+        verify(tokenQuotaService).checkAvailable(eq("maria"), anyInt());
+        verify(tokenQuotaService).record(eq("maria"), anyInt(), anyInt());
+        ArgumentCaptor<String> promptCaptor = ArgumentCaptor.forClass(String.class);
+        verify(llmPort).generate(promptCaptor.capture());
+        assertTrue(promptCaptor.getValue().contains(productContext));
+        assertTrue(promptCaptor.getValue().contains("PERGUNTA DO CLIENTE: Tem em estoque?"));
+        assertFalse(promptCaptor.getValue().contains(fakeStoreContext));
+    }
+
     @Test
     @DisplayName("Should build correct prompt and organize product description")
     void shouldOrganizeProductDescriptionSuccessfully() throws IOException {
         String rawDescription = "Produto novo, cor azul, 128gb";
         String expectedOrganizedDescription = "<p><strong>Produto novo</strong></p>";
 
-        Part part = Part.newBuilder().setText(expectedOrganizedDescription).build();
-        Content content = Content.newBuilder().addParts(part).build();
-        Candidate candidate = Candidate.newBuilder().setContent(content).build();
-        GenerateContentResponse mockApiResponse = GenerateContentResponse.newBuilder()
-                .addAllCandidates(List.of(candidate))
-                .build();
-
-        when(generativeModel.generateContent(anyString())).thenReturn(mockApiResponse);
+        when(llmPort.generate(anyString())).thenReturn(expectedOrganizedDescription);
 
         String actualDescription = geminiService.organizeProductDescription(rawDescription);
 
         assertEquals(expectedOrganizedDescription, actualDescription);
 
         ArgumentCaptor<String> promptCaptor = ArgumentCaptor.forClass(String.class);
-        verify(generativeModel).generateContent(promptCaptor.capture());
+        verify(llmPort).generate(promptCaptor.capture());
 
         String capturedPrompt = promptCaptor.getValue();
         assertTrue(capturedPrompt.contains("A descrição é:"));
         assertTrue(capturedPrompt.contains(rawDescription));
     }
 
+    @Test
+    @DisplayName("Should reuse the cached description when the same text is organized again")
+    void shouldReuseCachedDescriptionForSameText() throws IOException {
+        String rawDescription = "Produto novo, cor azul, 128gb";
+        when(llmPort.generate(anyString())).thenReturn("Descrição organizada");
+
+        String first = geminiService.organizeProductDescription(rawDescription);
+        String second = geminiService.organizeProductDescription(rawDescription);
+
+        assertEquals(first, second);
+        verify(llmPort, times(1)).generate(anyString());
+    }
+
+    @Test
+    @DisplayName("Should answer a paraphrased question from the semantic cache")
+    void shouldAnswerParaphrasedQuestionFromSemanticCache() throws IOException {
+        when(llmPort.generate(anyString())).thenReturn("Atendemos das 9h às 18h.");
+
+        String first = geminiService.generateChatResponse("Qual o horário de funcionamento?", new ConversationKey("maria", "s1"));
+        String second = geminiService.generateChatResponse("Olá! Qual é o horário de funcionamento de vocês?", new ConversationKey("joao", "s2"));
+
+        assertEquals(first, second);
+        verify(llmPort, times(1)).generate(anyString());
+        assertEquals(1, geminiService.chatCacheStats().geminiCallsSaved());
+    }
+
+    @Test
+    @DisplayName("Should forward streamed chunks and cache the full answer")
+    @SuppressWarnings("unchecked")
+    void shouldForwardStreamedChunksAndCacheFullAnswer() throws IOException {
+        doAnswer(invocation -> {
+            Consumer<String> onChunk = invocation.getArgument(1);
+            onChunk.accept("Atendemos ");
+            onChunk.accept("das 9h às 18h.");
+            return null;
+        }).when(llmPort).generateStream(anyString(), any(Consumer.class));
+
+        List<String> chunks = new ArrayList<>();
+        String answer = geminiService.streamChatResponse("Qual o horário de funcionamento?", new ConversationKey("maria", "s1"), chunks::add);
+
+        assertEquals(List.of("Atendemos ", "das 9h às 18h."), chunks);
+        assertEquals("Atendemos das 9h às 18h.", answer);
+
+        List<String> cachedChunks = new ArrayList<>();
+        geminiService.streamChatResponse("Qual é o horário de funcionamento?", new ConversationKey("joao", "s2"), cachedChunks::add);
+
+        assertEquals(List.of("Atendemos das 9h às 18h."), cachedChunks);
+        verify(llmPort, times(1)).generateStream(anyString(), any(Consumer.class));
+        verify(llmPort, never()).generate(anyString());
+    }
+
+    @Test
+    @DisplayName("Should skip the semantic cache when the retrieved context includes products")
+    void shouldSkipSemanticCacheForProductQuestions() throws IOException {
+        when(productRepository.findAll()).thenReturn(List.of(Product.builder()
+                .productId(UUID.randomUUID())
+                .productTitle("Geladeira Brastemp Frost Free 375 litros")
+                .productBrand("Brastemp")
+                .productCategory("Geladeiras")
+                .currentPrice(new BigDecimal("3999.90"))
+                .stockStatus("Em estoque")
+                .build()));
+        contextRetriever.indexCatalog();
+        when(llmPort.generate(anyString())).thenReturn("Sim, temos a de 375 litros.", "Não temos a de 450 litros.");
+
+        String first = geminiService.generateChatResponse("Tem geladeira Brastemp frost free?", new ConversationKey("maria", "s1"));
+        String second = geminiService.generateChatResponse("Vocês têm geladeira Brastemp frost free?", new ConversationKey("joao", "s2"));
+
+        assertNotEquals(first, second);
+        verify(llmPort, times(2)).generate(anyString());
+        assertEquals(0, geminiService.chatCacheStats().entries());
+    }
+
+    @Test
+    @DisplayName("Should send the conversation history with follow-up questions and skip the semantic cache")
+    void shouldSendHistoryWithFollowUpQuestions() throws IOException {
+        ConversationKey conversation = new ConversationKey("maria", "s1");
+        when(llmPort.generate(anyString())).thenReturn("Atendemos das 9h às 18h.", "Aos sábados das 9h às 13h.", "Atendemos das 9h às 18h.");
+
+        geminiService.generateChatResponse("Qual o horário de funcionamento?", conversation);
+        String followUp = geminiService.generateChatResponse("E aos sábados?", conversation);
+        geminiService.generateChatResponse("Qual o horário de funcionamento?", new ConversationKey("joao", "s2"));
+
+        assertEquals("Aos sábados das 9h às 13h.", followUp);
+        ArgumentCaptor<String> promptCaptor = ArgumentCaptor.forClass(String.class);
+        verify(llmPort, times(2)).generate(promptCaptor.capture());
+        String followUpPrompt = promptCaptor.getAllValues().get(1);
+        assertTrue(followUpPrompt.contains("HISTÓRICO DA CONVERSA:"));
+        assertTrue(followUpPrompt.contains("Cliente: Qual o horário de funcionamento?"));
+        assertTrue(followUpPrompt.contains("Assistente: Atendemos das 9h às 18h."));
+        assertFalse(promptCaptor.getAllValues().get(0).contains("HISTÓRICO DA CONVERSA:"));
+        assertEquals(2, geminiService.conversationStats().activeSessions());
+    }
+
+    @Test
+    @DisplayName("Should answer pre-filtered messages locally without calling the model or recording history")
+    void shouldAnswerPreFilteredMessagesLocally() throws IOException {
+        ConversationKey conversation = new ConversationKey("maria", "s1");
+        when(chatPreFilter.answerLocally("Oi!")).thenReturn(Optional.of("Olá! Como posso ajudar?"));
+
+        String answer = geminiService.generateChatResponse("Oi!", conversation);
+        List<String> chunks = new ArrayList<>();
+        geminiService.streamChatResponse("Oi!", conversation, chunks::add);
+
+        assertEquals("Olá! Como posso ajudar?", answer);
+        assertEquals(List.of("Olá! Como posso ajudar?"), chunks);
+        verify(llmPort, never()).generate(anyString());
+        assertEquals(0, geminiService.conversationStats().activeSessions());
+    }
+
+    @Test
+    @DisplayName("Should charge prompt and answer tokens to the conversation owner")
+    void shouldRecordTokensForConversationOwner() throws IOException {
+        when(llmPort.generate(anyString())).thenReturn("Atendemos das 9h às 18h.");
+
+        geminiService.generateChatResponse("Qual o horário de funcionamento?", new ConversationKey("maria", "s1"));
+        geminiService.generateChatResponse("Qual é o horário de funcionamento?", new ConversationKey("joao", "s2"));
+
+        verify(tokenQuotaService).checkAvailable(eq("maria"), anyInt());
+        verify(tokenQuotaService).record(eq("maria"), anyInt(), eq(6));
+        verify(tokenQuotaService, never()).record(eq("joao"), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should not call the model when the token quota is exhausted")
+    @SuppressWarnings("unchecked")
+    void shouldNotCallModelWhenQuotaIsExhausted() throws IOException {
+        doThrow(new TooManyRequestsException("Daily AI usage limit reached. Please try again tomorrow.", 60))
+                .when(tokenQuotaService).checkAvailable(eq("maria"), anyInt());
+        ConversationKey conversation = new ConversationKey("maria", "s1");
+
+        assertThrows(TooManyRequestsException.class, () -> geminiService.generateChatResponse("Vocês vendem iphone?", conversation));
+        assertThrows(TooManyRequestsException.class, () -> geminiService.streamChatResponse("Vocês vendem iphone?", conversation, chunk -> { }));
+        assertThrows(TooManyRequestsException.class, () -> geminiService.answerProductQuestion("maria", "Produto: Galaxy S24", "Tem em estoque?"));
+
+        verify(llmPort, never()).generate(anyString());
+        verify(llmPort, never()).generateStream(anyString(), any(Consumer.class));
+        assertEquals(0, geminiService.conversationStats().activeSessions());
+    }
+
     @Test
     @DisplayName("Should propagate IOException when AI model fails")
     void shouldPropagateIOExceptionWhenModelFails() throws IOException {
         String userMessage = "Qualquer mensagem";
 
-        when(generativeModel.generateContent(anyString())).thenThrow(new IOException("API communication failed"));
+        when(llmPort.generate(anyString())).thenThrow(new IOException("API communication failed"));
 
         assertThrows(IOException.class, () -> {
-            geminiService.generateChatResponse(userMessage);
+            geminiService.generateChatResponse(userMessage, new ConversationKey("maria", "s1"));
         });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,164 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.service;
+
+import br.com.casa_moreno.casa_moreno_backend.exception.ProductNotFoundException;
+import br.com.casa_moreno.casa_moreno_backend.product.domain.Product;
+import br.com.casa_moreno.casa_moreno_backend.product.event.ProductChangedEvent;
+import br.com.casa_moreno.casa_moreno_backend.product.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ProductQuestionService Tests")
+@ExtendWith(MockitoExtension.class)
+class ProductQuestionServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private GeminiService geminiService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductQuestionService productQuestionService;
+
+    private final UUID productId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        productQuestionService = new ProductQuestionService(productRepository, geminiService, meterRegistry, 4000, 100, 100, Duration.ofHours(1));
+    }
+
+    private Product product(String stockStatus) {
+        return Product.builder()
+                .productId(productId)
+                .productTitle("Smartphone Galaxy S24")
+                .productBrand("Samsung")
+                .currentPrice(new BigDecimal("3999.9"))
+                .stockStatus(stockStatus)
+                .fullDescription("Tela de 6.2 polegadas, 256GB de armazenamento e garantia de 12 meses.")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should ground the prompt in the product description, brand, price and stock")
+    void shouldGroundPromptInProductData() throws IOException {
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product("Em estoque")));
+        when(geminiService.answerProductQuestion(anyString(), anyString(), anyString())).thenReturn("Sim, 12 meses de garantia.");
+
+        String answer = productQuestionService.ask("user", productId, "Tem garantia?");
+
+        ArgumentCaptor<String> context = ArgumentCaptor.forClass(String.class);
+        verify(geminiService).answerProductQuestion(eq("user"), context.capture(), eq("Tem garantia?"));
+        assertEquals("Sim, 12 meses de garantia.", answer);
+        assertTrue(context.getValue().contains("Marca: Samsung"));
+        assertTrue(context.getValue().contains("Preço atual: R$ 3999,90"));
+        assertTrue(context.getValue().contains("Estoque: Em estoque"));
+        assertTrue(context.getValue().contains("garantia de 12 meses"));
+    }
+
+    @Test
+    @DisplayName("Should build the product context once and memoize repeated questions")
+    void shouldMemoizeRepeatedQuestions() throws IOException {
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product("Em estoque")));
+        when(geminiService.answerProductQuestion(anyString(), anyString(), anyString())).thenReturn("Sim, 12 meses de garantia.");
+
+        productQuestionService.ask("user", productId, "Tem garantia?");
+        String second = productQuestionService.ask("user", productId, "tem GARANTIA");
+        productQuestionService.ask("user", productId, "Qual a cor?");
+
+        assertEquals("Sim, 12 meses de garantia.", second);
+        verify(productRepository, times(1)).findById(productId);
+        verify(geminiService, times(2)).answerProductQuestion(anyString(), anyString(), anyString());
+        assertEquals(1.0, meterRegistry.counter("ai.product_question.answers", "result", "hit").count());
+        assertEquals(2.0, meterRegistry.counter("ai.product_question.answers", "result", "miss").count());
+    }
+
+    @Test
+    @DisplayName("Should rebuild the context and drop memoized answers when the product changes")
+    void shouldInvalidateWhenProductChanges() throws IOException {
+        when(productRepository.findById(productId))
+                .thenReturn(Optional.of(product("Em estoque")))
+                .thenReturn(Optional.of(product("Esgotado")));
+        when(geminiService.answerProductQuestion(anyString(), anyString(), anyString())).thenReturn("Sim, temos.", "Está esgotado.");
+
+        productQuestionService.ask("user", productId, "Tem em estoque?");
+        productQuestionService.onProductChanged(new ProductChangedEvent(productId, false));
+        String answer = productQuestionService.ask("user", productId, "Tem em estoque?");
+
+        ArgumentCaptor<String> context = ArgumentCaptor.forClass(String.class);
+        verify(geminiService, times(2)).answerProductQuestion(eq("user"), context.capture(), anyString());
+        assertEquals("Está esgotado.", answer);
+        assertTrue(context.getValue().contains("Estoque: Esgotado"));
+    }
+
+    @Test
+    @DisplayName("Should not memoize an answer generated while the product changed")
+    void shouldNotMemoizeAnswerGeneratedBeforeInvalidation() throws IOException {
+        when(productRepository.findById(productId))
+                .thenReturn(Optional.of(product("Em estoque")))
+                .thenReturn(Optional.of(product("Esgotado")));
+        when(geminiService.answerProductQuestion(anyString(), anyString(), anyString()))
+                .thenAnswer(invocation -> {
+                    // O produto muda enquanto o modelo ainda está respondendo com o contexto antigo.
+                    productQuestionService.onProductChanged(new ProductChangedEvent(productId, false));
+                    return "Sim, temos.";
+                })
+                .thenReturn("Está esgotado.");
+
+        assertEquals("Sim, temos.", productQuestionService.ask("user", productId, "Tem em estoque?"));
+        String answer = productQuestionService.ask("user", productId, "Tem em estoque?");
+
+        assertEquals("Está esgotado.", answer);
+        verify(geminiService, times(2)).answerProductQuestion(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should keep answers of other products when one product changes")
+    void shouldKeepAnswersOfOtherProducts() throws IOException {
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product("Em estoque")));
+        when(geminiService.answerProductQuestion(anyString(), anyString(), anyString())).thenReturn("Sim, 12 meses de garantia.");
+
+        productQuestionService.ask("user", productId, "Tem garantia?");
+        productQuestionService.onProductChanged(new ProductChangedEvent(UUID.randomUUID(), false));
+        productQuestionService.ask("user", productId, "Tem garantia?");
+
+        verify(geminiService, times(1)).answerProductQuestion(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should throw ProductNotFoundException when the product does not exist")
+    void shouldThrowWhenProductDoesNotExist() throws IOException {
+        when(productRepository.findById(productId)).thenReturn(Optional.empty());
+
+        assertThrows(ProductNotFoundException.class, () -> productQuestionService.ask("user", productId, "Tem garantia?"));
+        verify(geminiService, never()).answerProductQuestion(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should propagate IOException and not memoize failed answers")
+    void shouldNotMemoizeFailures() throws IOException {
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product("Em estoque")));
+        when(geminiService.answerProductQuestion(anyString(), anyString(), anyString()))
+                .thenThrow(new IOException("Vertex AI unavailable"))
+                .thenReturn("Sim, 12 meses de garantia.");
+
+        assertThrows(IOException.class, () -> productQuestionService.ask("user", productId, "Tem garantia?"));
+        assertEquals("Sim, 12 meses de garantia.", productQuestionService.ask("user", productId, "Tem garantia?"));
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.casa_moreno.casa_moreno_backend.ai.service;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.embedding.HashingEmbeddingProvider;
+import br.com.casa_moreno.casa_moreno_backend.ai.embedding.TextNormalizer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SemanticAnswerCache Tests")
+class SemanticAnswerCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SemanticAnswerCache semanticAnswerCache;
+    private final AtomicInteger geminiCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        semanticAnswerCache = new SemanticAnswerCache(new HashingEmbeddingProvider(512), meterRegistry, 0.8, 100, Duration.ofHours(1));
+    }
+
+    private String ask(String question) throws IOException {
+        return semanticAnswerCache.getOrCompute(question, () -> "resposta " + geminiCalls.incrementAndGet());
+    }
+
+    @Test
+    @DisplayName("Should normalize accents, punctuation, case and filler words")
+    void shouldNormalizeQuestions() {
+        assertEquals("entregam saquarema", TextNormalizer.normalize("Olá! Vocês entregam em SAQUAREMA?"));
+        assertEquals(TextNormalizer.normalize("Quais as formas de pagamento?"), TextNormalizer.normalize("quais formas de pagamento"));
+    }
+
+    @Test
+    @DisplayName("Should reuse the answer for a paraphrased question")
+    void shouldReuseAnswerForParaphrasedQuestion() throws IOException {
+        String first = ask("Quais são as formas de pagamento?");
+        String second = ask("Formas de pagamento aceitas?");
+
+        assertEquals(first, second);
+        assertEquals(1, geminiCalls.get());
+        assertEquals(1.0, meterRegistry.get("ai.chat.semantic_cache").tag("result", "hit").counter().count());
+        assertEquals(0.5, semanticAnswerCache.stats().hitRate());
+    }
+
+    @Test
+    @DisplayName("Should call the model for an unrelated question")
+    void shouldCallModelForUnrelatedQuestion() throws IOException {
+        String payment = ask("Quais são as formas de pagamento?");
+        String hours = ask("Qual o horário de atendimento no sábado?");
+
+        assertNotEquals(payment, hours);
+        assertEquals(2, geminiCalls.get());
+        assertEquals(2, semanticAnswerCache.stats().entries());
+    }
+
+    @Test
+    @DisplayName("Should not reuse the answer when the question asks about a different number")
+    void shouldNotReuseAnswerForDifferentNumber() throws IOException {
+        String small = ask("geladeira Brastemp 375 litros");
+        String large = ask("geladeira Brastemp 450 litros");
+
+        assertNotEquals(small, large);
+        assertEquals(2, geminiCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should not reuse the answer when one question is the negation of the other")
+    void shouldNotReuseAnswerForNegatedQuestion() throws IOException {
+        String accepts = ask("Aceita pix?");
+        String doesNotAccept = ask("Não aceita pix?");
+
+        assertNotEquals(accepts, doesNotAccept);
+        assertEquals(2, geminiCalls.get());
+        assertEquals(accepts, ask("aceita pix"));
+    }
+
+    @Test
+    @DisplayName("Should not reuse the answer when the question names a different brand")
+    void shouldNotReuseAnswerForDifferentBrand() throws IOException {
+        ask("Tem geladeira Brastemp frost free?");
+        ask("Tem geladeira Electrolux frost free?");
+
+        assertEquals(2, geminiCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should extract numbers, negations and capitalized names as key terms")
+    void shouldExtractKeyTerms() {
+        assertEquals(Set.of("brastemp", "375"), SemanticAnswerCache.keyTerms("Olá! Tem a geladeira Brastemp 375 litros?"));
+        assertEquals(Set.of("nao"), SemanticAnswerCache.keyTerms("Não aceita pix?"));
+        assertEquals(Set.of(), SemanticAnswerCache.keyTerms("Quais são as formas de pagamento?"));
+    }
+
+    @Test
+    @DisplayName("Should not serve expired answers")
+    void shouldNotServeExpiredAnswers() throws IOException {
+        semanticAnswerCache = new SemanticAnswerCache(new HashingEmbeddingProvider(512), meterRegistry, 0.8, 100, Duration.ZERO);
+
+        ask("Quais são as formas de pagamento?");
+        ask("Quais são as formas de pagamento?");
+
+        assertEquals(2, geminiCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should produce the same embedding for the same text")
+    void shouldProduceDeterministicEmbeddings() {
+        HashingEmbeddingProvider provider = new HashingEmbeddingProvider(512);
+
+        assertArrayEquals(provider.embed("formas de pagamento"), provider.embed("formas de pagamento"));
+    }
+}
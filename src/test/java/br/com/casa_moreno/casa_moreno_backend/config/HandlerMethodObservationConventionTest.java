@@ -0,0 +1,46 @@
+package br.com.casa_moreno.casa_moreno_backend.config;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.controller.AiController;
+import br.com.casa_moreno.casa_moreno_backend.ai.dto.ChatRequest;
+import io.micrometer.common.KeyValue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.security.Principal;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("HandlerMethodObservationConvention Tests")
+class HandlerMethodObservationConventionTest {
+
+    private final HandlerMethodObservationConvention convention = new HandlerMethodObservationConvention();
+
+    @Test
+    @DisplayName("Should tag requests with the controller method that handled them")
+    void shouldTagRequestsWithHandlerMethod() throws NoSuchMethodException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/ai/chat");
+        HandlerMethod handlerMethod = new HandlerMethod(new AiController(null, null, null),
+                AiController.class.getMethod("chat", ChatRequest.class, Principal.class));
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handlerMethod);
+
+        ServerRequestObservationContext context = new ServerRequestObservationContext(request, new MockHttpServletResponse());
+
+        assertTrue(convention.getLowCardinalityKeyValues(context).stream()
+                .anyMatch(KeyValue.of("handler", "AiController.chat")::equals));
+    }
+
+    @Test
+    @DisplayName("Should tag requests without a controller method as none")
+    void shouldTagRequestsWithoutHandlerAsNone() {
+        ServerRequestObservationContext context = new ServerRequestObservationContext(
+                new MockHttpServletRequest("GET", "/missing"), new MockHttpServletResponse());
+
+        assertTrue(convention.getLowCardinalityKeyValues(context).stream()
+                .anyMatch(KeyValue.of("handler", "none")::equals));
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.casa_moreno.casa_moreno_backend.email.controller;
+
+import br.com.casa_moreno.casa_moreno_backend.email.constant.EmailCampaignStatus;
+import br.com.casa_moreno.casa_moreno_backend.email.domain.EmailCampaign;
+import br.com.casa_moreno.casa_moreno_backend.email.dto.CreateEmailCampaignRequest;
+import br.com.casa_moreno.casa_moreno_backend.email.service.EmailCampaignService;
+import br.com.casa_moreno.casa_moreno_backend.exception.EmailCampaignNotFoundException;
+import br.com.casa_moreno.casa_moreno_backend.exception.GlobalExceptionHandler;
+import br.com.casa_moreno.casa_moreno_backend.exception.NoPromotionalProductsException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("EmailCampaignController Tests")
+@ExtendWith(MockitoExtension.class)
+class EmailCampaignControllerTest {
+
+    @Mock
+    private EmailCampaignService emailCampaignService;
+
+    @InjectMocks
+    private EmailCampaignController emailCampaignController;
+
+    private MockMvc mockMvc;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(emailCampaignController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setValidator(new LocalValidatorFactoryBean())
+                .build();
+    }
+
+    private EmailCampaign campaign(UUID campaignId, EmailCampaignStatus status) {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+        return EmailCampaign.builder()
+                .id(campaignId)
+                .subject("Ofertas da semana")
+                .status(status)
+                .totalRecipients(100L)
+                .sentCount(40L)
+                .failedCount(0L)
+                .createdAt(createdAt)
+                .updatedAt(createdAt.plusSeconds(10))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should accept a new campaign")
+    void shouldAcceptNewCampaign() throws Exception {
+        UUID campaignId = UUID.randomUUID();
+        when(emailCampaignService.createCampaign("Ofertas da semana")).thenReturn(campaign(campaignId, EmailCampaignStatus.RUNNING));
+
+        mockMvc.perform(post("/email/campaigns")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateEmailCampaignRequest("Ofertas da semana"))))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(campaignId.toString()))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+    }
+
+    @Test
+    @DisplayName("Should return Bad Request when the subject is blank")
+    void shouldReturnBadRequestWhenSubjectIsBlank() throws Exception {
+        mockMvc.perform(post("/email/campaigns")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateEmailCampaignRequest(" "))))
+                .andExpect(status().isBadRequest());
+
+        verify(emailCampaignService, never()).createCampaign(any());
+    }
+
+    @Test
+    @DisplayName("Should return Unprocessable Entity when there are no promotional products")
+    void shouldReturnUnprocessableEntityWithoutPromotionalProducts() throws Exception {
+        when(emailCampaignService.createCampaign("Ofertas")).thenThrow(new NoPromotionalProductsException("There are no promotional products to send."));
+
+        mockMvc.perform(post("/email/campaigns")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateEmailCampaignRequest("Ofertas"))))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @DisplayName("Should report campaign progress and throughput")
+    void shouldReportCampaignProgress() throws Exception {
+        UUID campaignId = UUID.randomUUID();
+        when(emailCampaignService.findCampaign(campaignId)).thenReturn(campaign(campaignId, EmailCampaignStatus.RUNNING));
+
+        mockMvc.perform(get("/email/campaigns/{campaignId}", campaignId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sentCount").value(40))
+                .andExpect(jsonPath("$.totalRecipients").value(100))
+                .andExpect(jsonPath("$.messagesPerSecond").value(4.0));
+    }
+
+    @Test
+    @DisplayName("Should return Not Found for an unknown campaign")
+    void shouldReturnNotFoundForUnknownCampaign() throws Exception {
+        UUID campaignId = UUID.randomUUID();
+        when(emailCampaignService.findCampaign(campaignId)).thenThrow(new EmailCampaignNotFoundException("Email campaign not found."));
+
+        mockMvc.perform(get("/email/campaigns/{campaignId}", campaignId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should pause and resume a campaign")
+    void shouldPauseAndResumeCampaign() throws Exception {
+        UUID campaignId = UUID.randomUUID();
+        when(emailCampaignService.pauseCampaign(campaignId)).thenReturn(campaign(campaignId, EmailCampaignStatus.PAUSED));
+        when(emailCampaignService.resumeCampaign(campaignId)).thenReturn(campaign(campaignId, EmailCampaignStatus.RUNNING));
+
+        mockMvc.perform(post("/email/campaigns/{campaignId}/pause", campaignId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PAUSED"));
+        mockMvc.perform(post("/email/campaigns/{campaignId}/resume", campaignId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+    }
+}
@@ -2,7 +2,9 @@ package br.com.casa_moreno.casa_moreno_backend.email.controller;
 
 import br.com.casa_moreno.casa_moreno_backend.email.dto.RegistrationEmailRequest;
 import br.com.casa_moreno.casa_moreno_backend.email.service.EmailService;
+import br.com.casa_moreno.casa_moreno_backend.email.service.EmailUnsubscribeService;
 import br.com.casa_moreno.casa_moreno_backend.exception.GlobalExceptionHandler;
+import br.com.casa_moreno.casa_moreno_backend.exception.InvalidUnsubscribeLinkException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,7 +18,10 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
+import java.util.UUID;
+
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -27,6 +32,9 @@ class EmailControllerTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private EmailUnsubscribeService emailUnsubscribeService;
+
     @InjectMocks
     private EmailController emailController;
 
@@ -70,4 +78,27 @@ class EmailControllerTest {
 
         verify(emailService, never()).sendRegistrationConfirmationEmail(any(), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should unsubscribe the user from promotional emails")
+    void shouldUnsubscribeUserFromPromotionalEmails() throws Exception {
+        UUID userId = UUID.randomUUID();
+
+        mockMvc.perform(get("/email/unsubscribe").param("user", userId.toString()).param("token", "signature"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/email/unsubscribe").param("user", userId.toString()).param("token", "signature"))
+                .andExpect(status().isOk());
+
+        verify(emailUnsubscribeService, times(2)).unsubscribe(userId, "signature");
+    }
+
+    @Test
+    @DisplayName("Should return Bad Request for an invalid unsubscribe link")
+    void shouldReturnBadRequestForInvalidUnsubscribeLink() throws Exception {
+        UUID userId = UUID.randomUUID();
+        doThrow(new InvalidUnsubscribeLinkException("Invalid unsubscribe link.")).when(emailUnsubscribeService).unsubscribe(userId, "forged");
+
+        mockMvc.perform(get("/email/unsubscribe").param("user", userId.toString()).param("token", "forged"))
+                .andExpect(status().isBadRequest());
+    }
+}
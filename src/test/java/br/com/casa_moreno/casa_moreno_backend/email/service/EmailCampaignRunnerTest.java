@@ -0,0 +1,193 @@
+package br.com.casa_moreno.casa_moreno_backend.email.service;
+
+import br.com.casa_moreno.casa_moreno_backend.email.constant.EmailCampaignStatus;
+import br.com.casa_moreno.casa_moreno_backend.email.domain.EmailCampaign;
+import br.com.casa_moreno.casa_moreno_backend.email.repository.EmailCampaignRepository;
+import br.com.casa_moreno.casa_moreno_backend.user.constant.Profile;
+import br.com.casa_moreno.casa_moreno_backend.user.dto.UserSummaryResponse;
+import br.com.casa_moreno.casa_moreno_backend.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@DisplayName("EmailCampaignRunner Tests")
+@ExtendWith(MockitoExtension.class)
+class EmailCampaignRunnerTest {
+
+    private static final String MARKER = "campaignrecipientmarker";
+    private static final String UNSUBSCRIBE_MARKER = "campaignunsubscribemarker";
+
+    @Mock
+    private EmailCampaignRepository emailCampaignRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private EmailService emailService;
+    @Mock
+    private EmailUnsubscribeService emailUnsubscribeService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EmailCampaignRunner runner() {
+        return new EmailCampaignRunner(emailCampaignRepository, userRepository, emailService, emailUnsubscribeService, meterRegistry,
+                2, 1000, Duration.ofMinutes(5));
+    }
+
+    private EmailCampaign campaign(UUID id) {
+        return EmailCampaign.builder()
+                .id(id)
+                .subject("Ofertas da semana")
+                .status(EmailCampaignStatus.RUNNING)
+                .bodyHtml("<p>Olá, " + MARKER + "!</p><a href=\"" + UNSUBSCRIBE_MARKER + "\">Sair</a>")
+                .nameMarker(MARKER)
+                .unsubscribeMarker(UNSUBSCRIBE_MARKER)
+                .recipientsCreatedBefore(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .totalRecipients(2L)
+                .sentCount(0L)
+                .failedCount(0L)
+                .build();
+    }
+
+    private UserSummaryResponse recipient(String name, String email, LocalDateTime createdAt) {
+        return new UserSummaryResponse(UUID.randomUUID(), name, email, email, null, Profile.USER, null,
+                createdAt, createdAt, true, null, 0L);
+    }
+
+    private void stubUnsubscribeLinks() {
+        when(emailUnsubscribeService.unsubscribeUrlFor(any(UUID.class)))
+                .thenAnswer(invocation -> "https://casa-moreno.com/email/unsubscribe?user=" + invocation.getArgument(0) + "&token=t");
+    }
+
+    @Test
+    @DisplayName("Should send personalized emails with an unsubscribe link and complete the campaign")
+    void shouldSendPersonalizedEmailsAndCompleteCampaign() throws Exception {
+        UUID campaignId = UUID.randomUUID();
+        EmailCampaign campaign = campaign(campaignId);
+        UserSummaryResponse first = recipient("Ana", "ana@example.com", LocalDateTime.of(2024, 1, 2, 10, 0));
+        UserSummaryResponse second = recipient("Tom & Jerry", "tom@example.com", LocalDateTime.of(2024, 1, 1, 10, 0));
+        String firstLink = "https://casa-moreno.com/email/unsubscribe?user=" + first.userId() + "&token=t";
+
+        stubUnsubscribeLinks();
+        when(emailCampaignRepository.findById(campaignId)).thenReturn(Optional.of(campaign));
+        when(userRepository.findMarketingRecipients(eq(campaign.getRecipientsCreatedBefore()), isNull(), isNull(), eq(Limit.of(2))))
+                .thenReturn(List.of(first, second));
+        when(userRepository.findMarketingRecipients(eq(campaign.getRecipientsCreatedBefore()), eq(second.createdAt()), eq(second.userId()), eq(Limit.of(2))))
+                .thenReturn(List.of());
+        when(emailCampaignRepository.advanceCursor(eq(campaignId), eq(EmailCampaignStatus.RUNNING), any(), any(), any(), any())).thenReturn(1);
+        when(emailService.sendPromotionalEmail(any(), any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        runner().run(campaignId);
+
+        verify(emailService).sendPromotionalEmail("ana@example.com", "Ofertas da semana",
+                "<p>Olá, Ana!</p><a href=\"" + firstLink.replace("&", "&amp;") + "\">Sair</a>", firstLink);
+        verify(emailService).sendPromotionalEmail(eq("tom@example.com"), eq("Ofertas da semana"),
+                startsWith("<p>Olá, Tom &amp; Jerry!</p>"), any());
+        verify(emailCampaignRepository).recordResults(eq(campaignId), eq(2L), eq(0L), any(LocalDateTime.class));
+        verify(emailCampaignRepository).complete(eq(campaignId), eq(EmailCampaignStatus.RUNNING), eq(EmailCampaignStatus.COMPLETED), any(LocalDateTime.class));
+        assertEquals(2.0, meterRegistry.get("email.campaign.messages").tag("result", "sent").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should move the cursor to each recipient before sending to them")
+    void shouldAdvanceCursorBeforeEachSend() throws Exception {
+        UUID campaignId = UUID.randomUUID();
+        UserSummaryResponse first = recipient("Ana", "ana@example.com", LocalDateTime.of(2024, 1, 2, 10, 0));
+        UserSummaryResponse second = recipient("Bia", "bia@example.com", LocalDateTime.of(2024, 1, 1, 10, 0));
+
+        stubUnsubscribeLinks();
+        when(emailCampaignRepository.findById(campaignId)).thenReturn(Optional.of(campaign(campaignId)));
+        when(userRepository.findMarketingRecipients(any(), any(), any(), any()))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of());
+        when(emailCampaignRepository.advanceCursor(any(), any(), any(), any(), any(), any())).thenReturn(1);
+        when(emailService.sendPromotionalEmail(any(), any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        runner().run(campaignId);
+
+        InOrder inOrder = inOrder(emailCampaignRepository, emailService);
+        inOrder.verify(emailCampaignRepository).advanceCursor(eq(campaignId), eq(EmailCampaignStatus.RUNNING),
+                eq(first.createdAt()), eq(first.userId()), any(LocalDateTime.class), any(LocalDateTime.class));
+        inOrder.verify(emailService).sendPromotionalEmail(eq("ana@example.com"), any(), any(), any());
+        inOrder.verify(emailCampaignRepository).advanceCursor(eq(campaignId), eq(EmailCampaignStatus.RUNNING),
+                eq(second.createdAt()), eq(second.userId()), any(LocalDateTime.class), any(LocalDateTime.class));
+        inOrder.verify(emailService).sendPromotionalEmail(eq("bia@example.com"), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should count failed deliveries without stopping the campaign")
+    void shouldCountFailedDeliveries() throws Exception {
+        UUID campaignId = UUID.randomUUID();
+        EmailCampaign campaign = campaign(campaignId);
+        UserSummaryResponse first = recipient("Ana", "ana@example.com", LocalDateTime.of(2024, 1, 2, 10, 0));
+        UserSummaryResponse second = recipient("Bia", "bia@example.com", LocalDateTime.of(2024, 1, 1, 10, 0));
+
+        stubUnsubscribeLinks();
+        when(emailCampaignRepository.findById(campaignId)).thenReturn(Optional.of(campaign));
+        when(userRepository.findMarketingRecipients(any(), any(), any(), any()))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of());
+        when(emailCampaignRepository.advanceCursor(any(), any(), any(), any(), any(), any())).thenReturn(1);
+        when(emailService.sendPromotionalEmail(eq("ana@example.com"), any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(emailService.sendPromotionalEmail(eq("bia@example.com"), any(), any(), any())).thenReturn(CompletableFuture.failedFuture(new MessagingException("Rejected")));
+
+        runner().run(campaignId);
+
+        verify(emailCampaignRepository).recordResults(eq(campaignId), eq(1L), eq(1L), any(LocalDateTime.class));
+        verify(emailCampaignRepository).complete(eq(campaignId), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should stop before the next recipient when the campaign was paused")
+    void shouldStopWhenCampaignWasPaused() throws Exception {
+        UUID campaignId = UUID.randomUUID();
+        EmailCampaign campaign = campaign(campaignId);
+
+        stubUnsubscribeLinks();
+        when(emailCampaignRepository.findById(campaignId)).thenReturn(Optional.of(campaign));
+        when(userRepository.findMarketingRecipients(any(), any(), any(), any()))
+                .thenReturn(List.of(recipient("Ana", "ana@example.com", LocalDateTime.of(2024, 1, 2, 10, 0)),
+                        recipient("Bia", "bia@example.com", LocalDateTime.of(2024, 1, 1, 10, 0))));
+        when(emailCampaignRepository.advanceCursor(any(), any(), any(), any(), any(), any())).thenReturn(1, 0);
+        when(emailService.sendPromotionalEmail(any(), any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        runner().run(campaignId);
+
+        verify(emailService, times(1)).sendPromotionalEmail(eq("ana@example.com"), any(), any(), any());
+        verify(emailService, never()).sendPromotionalEmail(eq("bia@example.com"), any(), any(), any());
+        verify(emailCampaignRepository).recordResults(eq(campaignId), eq(1L), eq(0L), any(LocalDateTime.class));
+        verify(userRepository, times(1)).findMarketingRecipients(any(), any(), any(), any());
+        verify(emailCampaignRepository, never()).complete(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not start a campaign whose lease is held by another instance")
+    void shouldNotStartCampaignWithoutLease() {
+        UUID campaignId = UUID.randomUUID();
+        when(emailCampaignRepository.claim(eq(campaignId), eq(EmailCampaignStatus.RUNNING), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        assertFalse(runner().start(campaignId));
+
+        verify(emailCampaignRepository, never()).findById(any());
+    }
+}
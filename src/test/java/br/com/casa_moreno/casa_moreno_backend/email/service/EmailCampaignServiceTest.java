@@ -0,0 +1,144 @@
+package br.com.casa_moreno.casa_moreno_backend.email.service;
+
+import br.com.casa_moreno.casa_moreno_backend.email.constant.EmailCampaignStatus;
+import br.com.casa_moreno.casa_moreno_backend.email.domain.EmailCampaign;
+import br.com.casa_moreno.casa_moreno_backend.email.repository.EmailCampaignRepository;
+import br.com.casa_moreno.casa_moreno_backend.exception.EmailCampaignNotFoundException;
+import br.com.casa_moreno.casa_moreno_backend.exception.NoPromotionalProductsException;
+import br.com.casa_moreno.casa_moreno_backend.product.dto.ProductDetailsResponse;
+import br.com.casa_moreno.casa_moreno_backend.product.service.ProductService;
+import br.com.casa_moreno.casa_moreno_backend.user.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("EmailCampaignService Tests")
+@ExtendWith(MockitoExtension.class)
+class EmailCampaignServiceTest {
+
+    @Mock
+    private EmailCampaignRepository emailCampaignRepository;
+    @Mock
+    private ProductService productService;
+    @Mock
+    private TemplateService templateService;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private EmailCampaignRunner emailCampaignRunner;
+
+    @InjectMocks
+    private EmailCampaignService emailCampaignService;
+
+    private ProductDetailsResponse promotionalProduct() {
+        return new ProductDetailsResponse(UUID.randomUUID(), "MLB123", "https://mercadolivre.com/p/MLB123", "Panela",
+                "Panela de inox", "Tramontina", "new", new BigDecimal("99.90"), new BigDecimal("149.90"), "33% OFF",
+                10, new BigDecimal("9.99"), List.of("https://img/1.jpg"), "in stock", null, "Cozinha", "Panelas", true);
+    }
+
+    @Test
+    @DisplayName("Should render the campaign once and start sending it")
+    @SuppressWarnings("unchecked")
+    void shouldRenderCampaignOnceAndStartIt() {
+        List<ProductDetailsResponse> products = List.of(promotionalProduct());
+        UUID campaignId = UUID.randomUUID();
+        when(productService.findAllPromotionalProducts()).thenReturn(products);
+        when(templateService.processTemplate(eq("promotional-campaign.html"), any())).thenReturn("<html>body</html>");
+        when(userRepository.countByActiveTrueAndMarketingOptOutFalseAndCreatedAtLessThanEqual(any(LocalDateTime.class))).thenReturn(42L);
+        when(emailCampaignRepository.save(any(EmailCampaign.class))).thenAnswer(invocation -> {
+            EmailCampaign campaign = invocation.getArgument(0);
+            campaign.setId(campaignId);
+            return campaign;
+        });
+
+        EmailCampaign campaign = emailCampaignService.createCampaign("Ofertas da semana");
+
+        ArgumentCaptor<Map<String, Object>> variables = ArgumentCaptor.forClass(Map.class);
+        verify(templateService, times(1)).processTemplate(eq("promotional-campaign.html"), variables.capture());
+        assertEquals(products, variables.getValue().get("products"));
+        assertEquals(campaign.getNameMarker(), variables.getValue().get("name"));
+        assertEquals(campaign.getUnsubscribeMarker(), variables.getValue().get("unsubscribeUrl"));
+        assertEquals(EmailCampaignStatus.RUNNING, campaign.getStatus());
+        assertEquals("<html>body</html>", campaign.getBodyHtml());
+        assertEquals(42L, campaign.getTotalRecipients());
+        assertEquals(0L, campaign.getSentCount());
+        verify(emailCampaignRunner).start(campaignId);
+    }
+
+    @Test
+    @DisplayName("Should reject a campaign when there are no promotional products")
+    void shouldRejectCampaignWithoutPromotionalProducts() {
+        when(productService.findAllPromotionalProducts()).thenReturn(List.of());
+
+        assertThrows(NoPromotionalProductsException.class, () -> emailCampaignService.createCampaign("Ofertas"));
+
+        verify(emailCampaignRepository, never()).save(any());
+        verifyNoInteractions(emailCampaignRunner);
+    }
+
+    @Test
+    @DisplayName("Should throw when the campaign does not exist")
+    void shouldThrowWhenCampaignDoesNotExist() {
+        UUID campaignId = UUID.randomUUID();
+        when(emailCampaignRepository.findById(campaignId)).thenReturn(Optional.empty());
+
+        assertThrows(EmailCampaignNotFoundException.class, () -> emailCampaignService.findCampaign(campaignId));
+    }
+
+    @Test
+    @DisplayName("Should pause a running campaign")
+    void shouldPauseRunningCampaign() {
+        UUID campaignId = UUID.randomUUID();
+        EmailCampaign campaign = EmailCampaign.builder().id(campaignId).status(EmailCampaignStatus.PAUSED).build();
+        when(emailCampaignRepository.findById(campaignId)).thenReturn(Optional.of(campaign));
+
+        EmailCampaign result = emailCampaignService.pauseCampaign(campaignId);
+
+        assertEquals(EmailCampaignStatus.PAUSED, result.getStatus());
+        verify(emailCampaignRepository).updateStatus(eq(campaignId), eq(EmailCampaignStatus.RUNNING), eq(EmailCampaignStatus.PAUSED), any(LocalDateTime.class));
+        verifyNoInteractions(emailCampaignRunner);
+    }
+
+    @Test
+    @DisplayName("Should resume a paused campaign and restart the runner")
+    void shouldResumePausedCampaign() {
+        UUID campaignId = UUID.randomUUID();
+        EmailCampaign campaign = EmailCampaign.builder().id(campaignId).status(EmailCampaignStatus.RUNNING).build();
+        when(emailCampaignRepository.findById(campaignId)).thenReturn(Optional.of(campaign));
+        when(emailCampaignRepository.updateStatus(eq(campaignId), eq(EmailCampaignStatus.PAUSED), eq(EmailCampaignStatus.RUNNING), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        emailCampaignService.resumeCampaign(campaignId);
+
+        verify(emailCampaignRunner).start(campaignId);
+    }
+
+    @Test
+    @DisplayName("Should not restart the runner when the campaign was not paused")
+    void shouldNotRestartRunnerWhenCampaignWasNotPaused() {
+        UUID campaignId = UUID.randomUUID();
+        EmailCampaign campaign = EmailCampaign.builder().id(campaignId).status(EmailCampaignStatus.COMPLETED).build();
+        when(emailCampaignRepository.findById(campaignId)).thenReturn(Optional.of(campaign));
+        when(emailCampaignRepository.updateStatus(any(), any(), any(), any())).thenReturn(0);
+
+        emailCampaignService.resumeCampaign(campaignId);
+
+        verifyNoInteractions(emailCampaignRunner);
+    }
+}
@@ -0,0 +1,242 @@
+package br.com.casa_moreno.casa_moreno_backend.email.service;
+
+import br.com.casa_moreno.casa_moreno_backend.email.constant.EmailOutboxStatus;
+import br.com.casa_moreno.casa_moreno_backend.email.domain.EmailOutboxMessage;
+import br.com.casa_moreno.casa_moreno_backend.email.repository.EmailOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("EmailOutboxDispatcher Tests")
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+    @Mock
+    private EmailService emailService;
+    @Mock
+    private TemplateService templateService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EmailVariablesCodec emailVariablesCodec = new EmailVariablesCodec(new ObjectMapper(), "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=");
+
+    private EmailOutboxDispatcher dispatcher(boolean enabled) {
+        return dispatcher(enabled, Duration.ofMinutes(2));
+    }
+
+    private EmailOutboxDispatcher dispatcher(boolean enabled, Duration lease) {
+        return dispatcher(enabled, lease, Duration.ofSeconds(30));
+    }
+
+    private EmailOutboxDispatcher dispatcher(boolean enabled, Duration lease, Duration drainBudget) {
+        return new EmailOutboxDispatcher(emailOutboxRepository, emailService, templateService, emailVariablesCodec, meterRegistry,
+                enabled, 10, 3, lease, Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofDays(7), drainBudget);
+    }
+
+    private EmailOutboxMessage claimedMessage(int attempts) {
+        return EmailOutboxMessage.builder()
+                .id(UUID.randomUUID())
+                .recipient("user@example.com")
+                .subject("Subject")
+                .templateName("registration-confirmation.html")
+                .variables(emailVariablesCodec.encode(Map.of("name", "Matteus", "subject", "Subject")))
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(attempts)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should render, send and mark claimed messages as sent")
+    void shouldRenderSendAndMarkClaimedMessagesAsSent() throws Exception {
+        EmailOutboxMessage message = claimedMessage(1);
+        when(emailOutboxRepository.claimBatch(any(LocalDateTime.class), any(LocalDateTime.class), eq(10))).thenReturn(List.of(message));
+        when(templateService.processTemplate(eq("registration-confirmation.html"), eq(Map.of("name", "Matteus", "subject", "Subject"))))
+                .thenReturn("<html>Matteus</html>");
+
+        when(emailService.sendHtmlEmail("user@example.com", "Subject", "<html>Matteus</html>")).thenReturn(CompletableFuture.completedFuture(null));
+
+        int sent = dispatcher(true).dispatchPending();
+
+        assertEquals(1, sent);
+        verify(emailService).sendHtmlEmail("user@example.com", "Subject", "<html>Matteus</html>");
+        verify(emailOutboxRepository).markSent(eq(message.getId()), eq(EmailOutboxStatus.SENT), any(LocalDateTime.class));
+        verify(emailOutboxRepository, never()).reschedule(any(), any(), any());
+        assertEquals(1.0, deliveries("sent"));
+    }
+
+    @Test
+    @DisplayName("Should reschedule with backoff when sending fails")
+    void shouldRescheduleWithBackoffWhenSendingFails() throws Exception {
+        EmailOutboxMessage message = claimedMessage(2);
+        when(emailOutboxRepository.claimBatch(any(LocalDateTime.class), any(LocalDateTime.class), eq(10))).thenReturn(List.of(message));
+        when(templateService.processTemplate(any(), any())).thenReturn("<html></html>");
+        when(emailService.sendHtmlEmail(any(), any(), any())).thenReturn(CompletableFuture.failedFuture(new MessagingException("SMTP down")));
+
+        LocalDateTime before = LocalDateTime.now();
+        int sent = dispatcher(true).dispatchPending();
+
+        ArgumentCaptor<LocalDateTime> nextAttemptCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(emailOutboxRepository).reschedule(eq(message.getId()), nextAttemptCaptor.capture(), contains("SMTP down"));
+        verify(emailOutboxRepository, never()).markSent(any(), any(), any());
+        assertEquals(0, sent);
+        assertFalse(nextAttemptCaptor.getValue().isBefore(before.plusSeconds(60)), "Second attempt should wait twice the initial backoff");
+        assertEquals(1.0, deliveries("retried"));
+    }
+
+    @Test
+    @DisplayName("Should mark message as failed after the last attempt")
+    void shouldMarkMessageAsFailedAfterLastAttempt() throws Exception {
+        EmailOutboxMessage message = claimedMessage(3);
+        when(emailOutboxRepository.claimBatch(any(LocalDateTime.class), any(LocalDateTime.class), eq(10))).thenReturn(List.of(message));
+        when(templateService.processTemplate(any(), any())).thenReturn("<html></html>");
+        doThrow(new MessagingException("SMTP down")).when(emailService).sendHtmlEmail(any(), any(), any());
+
+        dispatcher(true).dispatchPending();
+
+        verify(emailOutboxRepository).markFailed(eq(message.getId()), eq(EmailOutboxStatus.FAILED), contains("SMTP down"));
+        verify(emailOutboxRepository, never()).reschedule(any(), any(), any());
+        assertEquals(1.0, deliveries("failed"));
+        assertEquals(0.0, deliveries("retried"));
+    }
+
+    @Test
+    @DisplayName("Should cancel a queued delivery that timed out before rescheduling it")
+    void shouldCancelQueuedDeliveryThatTimedOut() throws Exception {
+        EmailOutboxMessage message = claimedMessage(1);
+        CompletableFuture<Void> queued = new CompletableFuture<>();
+        when(emailOutboxRepository.claimBatch(any(LocalDateTime.class), any(LocalDateTime.class), eq(10))).thenReturn(List.of(message));
+        when(templateService.processTemplate(any(), any())).thenReturn("<html></html>");
+        when(emailService.sendHtmlEmail(any(), any(), any())).thenReturn(queued);
+
+        int sent = dispatcher(true, Duration.ofMillis(50)).dispatchPending();
+
+        assertEquals(0, sent);
+        assertTrue(queued.isCancelled());
+        verify(emailOutboxRepository).reschedule(eq(message.getId()), any(LocalDateTime.class), contains("TimeoutException"));
+        verify(emailOutboxRepository, never()).extendLease(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should keep waiting without rescheduling when the timed out delivery is already being sent")
+    void shouldKeepWaitingWhenTimedOutDeliveryIsInProgress() throws Exception {
+        EmailOutboxMessage message = claimedMessage(1);
+        // Simula o future do transporte depois que um worker pegou a mensagem: não aceita mais cancelamento.
+        CompletableFuture<Void> inProgress = new CompletableFuture<>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                return false;
+            }
+        };
+        when(emailOutboxRepository.claimBatch(any(LocalDateTime.class), any(LocalDateTime.class), eq(10))).thenReturn(List.of(message));
+        when(templateService.processTemplate(any(), any())).thenReturn("<html></html>");
+        when(emailService.sendHtmlEmail(any(), any(), any())).thenAnswer(invocation -> {
+            CompletableFuture.delayedExecutor(300, TimeUnit.MILLISECONDS).execute(() -> inProgress.complete(null));
+            return inProgress;
+        });
+
+        int sent = dispatcher(true, Duration.ofMillis(200)).dispatchPending();
+
+        assertEquals(1, sent);
+        verify(emailOutboxRepository, atLeastOnce()).extendLease(eq(message.getId()), any(LocalDateTime.class));
+        verify(emailOutboxRepository).markSent(eq(message.getId()), eq(EmailOutboxStatus.SENT), any(LocalDateTime.class));
+        verify(emailOutboxRepository, never()).reschedule(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should stop waiting after a bounded number of leases and record the outcome when the delivery ends")
+    void shouldStopWaitingAfterBoundedLeaseExtensions() throws Exception {
+        EmailOutboxMessage message = claimedMessage(1);
+        CompletableFuture<Void> inProgress = new CompletableFuture<>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                return false;
+            }
+        };
+        when(emailOutboxRepository.claimBatch(any(LocalDateTime.class), any(LocalDateTime.class), eq(10))).thenReturn(List.of(message));
+        when(templateService.processTemplate(any(), any())).thenReturn("<html></html>");
+        when(emailService.sendHtmlEmail(any(), any(), any())).thenReturn(inProgress);
+
+        int sent = dispatcher(true, Duration.ofMillis(20)).dispatchPending();
+
+        assertEquals(0, sent);
+        verify(emailOutboxRepository, times(3)).extendLease(eq(message.getId()), any(LocalDateTime.class));
+        verify(emailOutboxRepository, never()).markSent(any(), any(), any());
+
+        inProgress.complete(null);
+
+        verify(emailOutboxRepository).markSent(eq(message.getId()), eq(EmailOutboxStatus.SENT), any(LocalDateTime.class));
+        verify(emailOutboxRepository, never()).reschedule(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should leave the rest of the outbox to the next cycle once the drain budget is spent")
+    void shouldStopDrainingWhenBudgetIsSpent() throws Exception {
+        List<EmailOutboxMessage> fullBatch = IntStream.range(0, 10).mapToObj(i -> claimedMessage(1)).toList();
+        when(emailOutboxRepository.claimBatch(any(LocalDateTime.class), any(LocalDateTime.class), eq(10))).thenReturn(fullBatch);
+        when(templateService.processTemplate(any(), any())).thenReturn("<html></html>");
+        when(emailService.sendHtmlEmail(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        int sent = dispatcher(true, Duration.ofMinutes(2), Duration.ZERO).dispatchPending();
+
+        assertEquals(10, sent);
+        verify(emailOutboxRepository, times(1)).claimBatch(any(LocalDateTime.class), any(LocalDateTime.class), eq(10));
+    }
+
+    @Test
+    @DisplayName("Should cap backoff at the configured maximum")
+    void shouldCapBackoffAtConfiguredMaximum() {
+        EmailOutboxDispatcher dispatcher = dispatcher(true);
+
+        assertEquals(Duration.ofSeconds(30), dispatcher.backoffFor(1));
+        assertEquals(Duration.ofMinutes(2), dispatcher.backoffFor(3));
+        assertEquals(Duration.ofMinutes(5), dispatcher.backoffFor(20));
+    }
+
+    @Test
+    @DisplayName("Should not claim messages when dispatcher is disabled")
+    void shouldNotClaimMessagesWhenDisabled() {
+        assertEquals(0, dispatcher(false).dispatchPending());
+
+        verify(emailOutboxRepository, never()).claimBatch(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should expose the pending count refreshed by the dispatcher without querying on scrape")
+    void shouldExposePendingMessagesGauge() {
+        when(emailOutboxRepository.countByStatus(EmailOutboxStatus.PENDING)).thenReturn(7L);
+        EmailOutboxDispatcher dispatcher = dispatcher(true);
+
+        assertEquals(0.0, meterRegistry.get("email.outbox.pending").gauge().value());
+        dispatcher.refreshPendingGauge();
+
+        assertEquals(7.0, meterRegistry.get("email.outbox.pending").gauge().value());
+        assertEquals(7.0, meterRegistry.get("email.outbox.pending").gauge().value());
+        verify(emailOutboxRepository, times(1)).countByStatus(EmailOutboxStatus.PENDING);
+    }
+
+    private double deliveries(String outcome) {
+        return meterRegistry.get("email.outbox.deliveries").tag("outcome", outcome).counter().count();
+    }
+}
@@ -1,22 +1,30 @@
 package br.com.casa_moreno.casa_moreno_backend.email.service;
 
+import br.com.casa_moreno.casa_moreno_backend.email.constant.EmailOutboxStatus;
+import br.com.casa_moreno.casa_moreno_backend.email.domain.EmailOutboxMessage;
+import br.com.casa_moreno.casa_moreno_backend.email.event.EmailEnqueuedEvent;
+import br.com.casa_moreno.casa_moreno_backend.email.repository.EmailOutboxRepository;
+import br.com.casa_moreno.casa_moreno_backend.email.transport.PooledSmtpTransport;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.mail.internet.MimeMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @DisplayName("EmailService Tests")
@@ -27,113 +35,142 @@ class EmailServiceTest {
     private JavaMailSender mailSender;
 
     @Mock
-    private TemplateService templateService;
+    private PooledSmtpTransport smtpTransport;
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @Mock
     private MimeMessage mimeMessage;
 
-    @InjectMocks
+    private final EmailVariablesCodec emailVariablesCodec = new EmailVariablesCodec(new ObjectMapper(), "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=");
+
     private EmailService emailService;
 
     @BeforeEach
     void setUp() {
+        emailService = new EmailService(mailSender, smtpTransport, emailOutboxRepository, emailVariablesCodec, eventPublisher);
         ReflectionTestUtils.setField(emailService, "fromEmail", "no-reply@casamoreno.com");
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
     }
 
     @Test
-    @DisplayName("Should send registration confirmation email with correct data")
-    void shouldSendRegistrationConfirmationEmail() {
-        String to = "test@example.com";
-        String name = "Matteus";
-        String expectedTemplate = "registration-confirmation.html";
-
-        when(templateService.processTemplate(eq(expectedTemplate), any(Map.class))).thenReturn("<html>...</html>");
-
-        emailService.sendRegistrationConfirmationEmail(to, name);
+    @DisplayName("Should enqueue registration confirmation email with correct data")
+    void shouldSendRegistrationConfirmationEmail() throws Exception {
+        stubOutboxSave();
 
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<Map<String, Object>> variablesCaptor = ArgumentCaptor.forClass(Map.class);
-        verify(templateService).processTemplate(eq(expectedTemplate), variablesCaptor.capture());
+        emailService.sendRegistrationConfirmationEmail("test@example.com", "Matteus");
 
-        assertEquals(name, variablesCaptor.getValue().get("name"));
-        verify(mailSender).send(mimeMessage);
+        EmailOutboxMessage message = captureEnqueuedMessage();
+        assertEquals("registration-confirmation.html", message.getTemplateName());
+        assertEquals("test@example.com", message.getRecipient());
+        assertEquals("Matteus", variablesOf(message).get("name"));
+        verify(smtpTransport, never()).send(any(MimeMessage.class));
     }
 
     @Test
-    @DisplayName("Should send OAuth registration welcome email with correct data")
-    void shouldSendOAuthRegistrationWelcomeEmail() {
-        String to = "oauth.user@example.com";
-        String name = "OAuth User";
-        String temporaryPassword = "temp-password-123";
-        String expectedTemplate = "oauth-registration-welcome.html";
-
-        when(templateService.processTemplate(eq(expectedTemplate), any(Map.class))).thenReturn("<html>...</html>");
-
-        emailService.sendOAuthRegistrationWelcomeEmail(to, name, temporaryPassword);
-
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<Map<String, Object>> variablesCaptor = ArgumentCaptor.forClass(Map.class);
-        verify(templateService).processTemplate(eq(expectedTemplate), variablesCaptor.capture());
-
-        Map<String, Object> capturedVariables = variablesCaptor.getValue();
-        assertEquals(name, capturedVariables.get("name"));
-        assertEquals(temporaryPassword, capturedVariables.get("temporaryPassword"));
-
-        verify(mailSender).send(mimeMessage);
+    @DisplayName("Should enqueue OAuth registration welcome email with correct data")
+    void shouldSendOAuthRegistrationWelcomeEmail() throws Exception {
+        stubOutboxSave();
+
+        emailService.sendOAuthRegistrationWelcomeEmail("oauth.user@example.com", "OAuth User", "temp-password-123");
+
+        EmailOutboxMessage message = captureEnqueuedMessage();
+        Map<String, Object> variables = variablesOf(message);
+        assertEquals("oauth-registration-welcome.html", message.getTemplateName());
+        assertEquals("OAuth User", variables.get("name"));
+        assertEquals("temp-password-123", variables.get("temporaryPassword"));
+        assertFalse(message.getVariables().contains("temp-password-123"), "Temporary password must not be stored in plain text");
     }
 
     @Test
-    @DisplayName("Should send password reset link email with correct reset link")
-    void shouldSendPasswordResetLinkEmail() {
-        String to = "user@example.com";
-        String name = "Jane Doe";
+    @DisplayName("Should enqueue password reset link email with correct reset link")
+    void shouldSendPasswordResetLinkEmail() throws Exception {
         String token = "12345-abcde-67890";
-        String expectedTemplate = "password-reset-link.html";
-        String expectedResetLink = "https://www.casa-moreno.com/auth/reset-password?token=" + token;
-
-        when(templateService.processTemplate(eq(expectedTemplate), any(Map.class))).thenReturn("<html>...</html>");
-
-        emailService.sendPasswordResetLinkEmail(to, name, token);
+        stubOutboxSave();
 
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<Map<String, Object>> variablesCaptor = ArgumentCaptor.forClass(Map.class);
-        verify(templateService).processTemplate(eq(expectedTemplate), variablesCaptor.capture());
+        emailService.sendPasswordResetLinkEmail("user@example.com", "Jane Doe", token);
 
-        assertEquals(expectedResetLink, variablesCaptor.getValue().get("resetLink"));
-        verify(mailSender).send(mimeMessage);
+        EmailOutboxMessage message = captureEnqueuedMessage();
+        assertEquals("password-reset-link.html", message.getTemplateName());
+        assertEquals("https://www.casa-moreno.com/auth/reset-password?token=" + token, variablesOf(message).get("resetLink"));
     }
 
     @Test
-    @DisplayName("Should send password change confirmation email")
+    @DisplayName("Should enqueue password change confirmation email as pending")
     void shouldSendPasswordChangeConfirmationEmail() {
-        String to = "user.changed@example.com";
-        String name = "Changed User";
-        String expectedTemplate = "password-change-confirmation.html";
+        stubOutboxSave();
+
+        emailService.sendPasswordChangeConfirmationEmail("user.changed@example.com", "Changed User");
+
+        EmailOutboxMessage message = captureEnqueuedMessage();
+        assertAll(
+                () -> assertEquals("password-change-confirmation.html", message.getTemplateName()),
+                () -> assertEquals("Confirmação de Alteração de Senha - Casa Moreno", message.getSubject()),
+                () -> assertEquals(EmailOutboxStatus.PENDING, message.getStatus()),
+                () -> assertEquals(0, message.getAttempts()),
+                () -> assertNotNull(message.getNextAttemptAt())
+        );
+        verify(eventPublisher).publishEvent(any(EmailEnqueuedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should send HTML email through the pooled SMTP transport")
+    void shouldSendHtmlEmailThroughPooledTransport() throws Exception {
+        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
+        when(smtpTransport.send(mimeMessage)).thenReturn(CompletableFuture.completedFuture(null));
 
-        when(templateService.processTemplate(eq(expectedTemplate), any(Map.class))).thenReturn("<html>...</html>");
+        CompletableFuture<Void> delivery = emailService.sendHtmlEmail("user@example.com", "Subject", "<html>...</html>");
 
-        emailService.sendPasswordChangeConfirmationEmail(to, name);
+        assertDoesNotThrow(delivery::join);
+        verify(smtpTransport).send(mimeMessage);
+        verify(mailSender, never()).send(any(MimeMessage.class));
+    }
+
+    @Test
+    @DisplayName("Should send promotional email with one-click unsubscribe headers")
+    void shouldSendPromotionalEmailWithUnsubscribeHeaders() throws Exception {
+        String unsubscribeUrl = "https://www.casa-moreno.com/email/unsubscribe?user=1&token=abc";
+        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
+        when(smtpTransport.send(mimeMessage)).thenReturn(CompletableFuture.completedFuture(null));
 
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<Map<String, Object>> variablesCaptor = ArgumentCaptor.forClass(Map.class);
-        verify(templateService).processTemplate(eq(expectedTemplate), variablesCaptor.capture());
+        CompletableFuture<Void> delivery = emailService.sendPromotionalEmail("user@example.com", "Ofertas", "<html>...</html>", unsubscribeUrl);
 
-        assertEquals(name, variablesCaptor.getValue().get("name"));
-        verify(mailSender).send(mimeMessage);
+        assertDoesNotThrow(delivery::join);
+        verify(mimeMessage).setHeader("List-Unsubscribe", "<" + unsubscribeUrl + ">");
+        verify(mimeMessage).setHeader("List-Unsubscribe-Post", "List-Unsubscribe=One-Click");
+        verify(smtpTransport).send(mimeMessage);
     }
 
     @Test
-    @DisplayName("Should handle exceptions during email sending gracefully")
-    void shouldHandleExceptionsDuringEmailSending() {
-        String to = "fail@example.com";
-        String subject = "Test Subject";
-        String body = "Test Body";
+    @DisplayName("Should propagate exceptions during email sending so the outbox can retry")
+    void shouldPropagateExceptionsDuringEmailSending() throws Exception {
+        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
+        when(smtpTransport.send(mimeMessage)).thenReturn(CompletableFuture.failedFuture(new RuntimeException("Failed to connect")));
 
-        doThrow(new RuntimeException("Failed to connect")).when(mailSender).send(any(MimeMessage.class));
+        CompletableFuture<Void> delivery = emailService.sendHtmlEmail("fail@example.com", "Test Subject", "Test Body");
+
+        assertThrows(CompletionException.class, delivery::join);
+        verify(smtpTransport).send(any(MimeMessage.class));
+    }
 
-        assertDoesNotThrow(() -> emailService.sendHtmlEmail(to, subject, body));
+    private void stubOutboxSave() {
+        when(emailOutboxRepository.save(any(EmailOutboxMessage.class))).thenAnswer(invocation -> {
+            EmailOutboxMessage message = invocation.getArgument(0);
+            message.setId(UUID.randomUUID());
+            return message;
+        });
+    }
+
+    private EmailOutboxMessage captureEnqueuedMessage() {
+        ArgumentCaptor<EmailOutboxMessage> messageCaptor = ArgumentCaptor.forClass(EmailOutboxMessage.class);
+        verify(emailOutboxRepository).save(messageCaptor.capture());
+        return messageCaptor.getValue();
+    }
 
-        verify(mailSender).send(any(MimeMessage.class));
+    private Map<String, Object> variablesOf(EmailOutboxMessage message) {
+        return emailVariablesCodec.decode(message.getVariables());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,66 @@
+package br.com.casa_moreno.casa_moreno_backend.email.service;
+
+import br.com.casa_moreno.casa_moreno_backend.exception.InvalidUnsubscribeLinkException;
+import br.com.casa_moreno.casa_moreno_backend.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("EmailUnsubscribeService Tests")
+@ExtendWith(MockitoExtension.class)
+class EmailUnsubscribeServiceTest {
+
+    private static final String UNSUBSCRIBE_URL = "https://www.casa-moreno.com/email/unsubscribe";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private EmailUnsubscribeService emailUnsubscribeService;
+
+    @BeforeEach
+    void setUp() {
+        emailUnsubscribeService = new EmailUnsubscribeService(userRepository, UNSUBSCRIBE_URL, "unsubscribe-secret");
+    }
+
+    @Test
+    @DisplayName("Should opt the user out with the token from their own link")
+    void shouldOptOutWithTokenFromOwnLink() {
+        UUID userId = UUID.randomUUID();
+        String url = emailUnsubscribeService.unsubscribeUrlFor(userId);
+
+        assertTrue(url.startsWith(UNSUBSCRIBE_URL + "?user=" + userId + "&token="));
+        emailUnsubscribeService.unsubscribe(userId, url.substring(url.indexOf("&token=") + "&token=".length()));
+
+        verify(userRepository, times(1)).optOutOfMarketing(userId);
+    }
+
+    @Test
+    @DisplayName("Should reject a token issued for another user")
+    void shouldRejectTokenIssuedForAnotherUser() {
+        String otherUrl = emailUnsubscribeService.unsubscribeUrlFor(UUID.randomUUID());
+        String otherToken = otherUrl.substring(otherUrl.indexOf("&token=") + "&token=".length());
+
+        assertThrows(InvalidUnsubscribeLinkException.class, () -> emailUnsubscribeService.unsubscribe(UUID.randomUUID(), otherToken));
+        verify(userRepository, never()).optOutOfMarketing(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a link signed with a different secret")
+    void shouldRejectLinkSignedWithDifferentSecret() {
+        UUID userId = UUID.randomUUID();
+        String forgedUrl = new EmailUnsubscribeService(userRepository, UNSUBSCRIBE_URL, "other-secret").unsubscribeUrlFor(userId);
+        String forgedToken = forgedUrl.substring(forgedUrl.indexOf("&token=") + "&token=".length());
+
+        assertThrows(InvalidUnsubscribeLinkException.class, () -> emailUnsubscribeService.unsubscribe(userId, forgedToken));
+        verify(userRepository, never()).optOutOfMarketing(any());
+    }
+}
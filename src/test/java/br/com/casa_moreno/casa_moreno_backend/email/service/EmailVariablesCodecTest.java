@@ -0,0 +1,51 @@
+package br.com.casa_moreno.casa_moreno_backend.email.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EmailVariablesCodec Tests")
+class EmailVariablesCodecTest {
+
+    private static final String KEY = "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+    private static final String OTHER_KEY = "ZmVkY2JhOTg3NjU0MzIxMGZlZGNiYTk4NzY1NDMyMTA=";
+
+    private final EmailVariablesCodec codec = new EmailVariablesCodec(new ObjectMapper(), KEY);
+
+    @Test
+    @DisplayName("Should encrypt variables and read them back")
+    void shouldEncryptAndDecryptVariables() {
+        Map<String, Object> variables = Map.of("name", "Matteus", "resetLink", "https://www.casa-moreno.com/auth/reset-password?token=abc");
+
+        String encoded = codec.encode(variables);
+
+        assertFalse(encoded.contains("reset-password"));
+        assertFalse(encoded.contains("Matteus"));
+        assertNotEquals(encoded, codec.encode(variables), "Each message should use its own IV");
+        assertEquals(variables, codec.decode(encoded));
+    }
+
+    @Test
+    @DisplayName("Should reject plain JSON variables that were not encrypted by the codec")
+    void shouldRejectPlainJsonVariables() {
+        assertThrows(IllegalStateException.class, () -> codec.decode("{\"name\":\"Matteus\"}"));
+    }
+
+    @Test
+    @DisplayName("Should reject variables encrypted with a different key")
+    void shouldRejectVariablesEncryptedWithAnotherKey() {
+        String encoded = new EmailVariablesCodec(new ObjectMapper(), OTHER_KEY).encode(Map.of("name", "Matteus"));
+
+        assertThrows(IllegalStateException.class, () -> codec.decode(encoded));
+    }
+
+    @Test
+    @DisplayName("Should reject a key that is not a valid AES key size")
+    void shouldRejectInvalidKeySize() {
+        assertThrows(IllegalArgumentException.class, () -> new EmailVariablesCodec(new ObjectMapper(), "c2hvcnQ="));
+    }
+}
@@ -1,19 +1,28 @@
 package br.com.casa_moreno.casa_moreno_backend.email.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
+import org.thymeleaf.context.IContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @DisplayName("TemplateService Tests")
@@ -23,12 +32,29 @@ class TemplateServiceTest {
     @Mock
     private TemplateEngine templateEngine;
 
-    @InjectMocks
-    private TemplateService templateService;
+    private static TemplateEngine realTemplateEngine() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        return engine;
+    }
+
+    private static Map<String, Object> variablesFor(String templateName) {
+        return switch (templateName) {
+            case "oauth-registration-welcome.html" -> Map.of("name", "João & <Maria>", "subject", "Sua conta", "temporaryPassword", "a1\"b2'c3");
+            case "password-reset-link.html" -> Map.of("name", "Zé", "subject", "Redefinição", "resetLink", "https://www.casa-moreno.com/auth/reset-password?token=abc&x=\"1\"");
+            default -> Map.of("name", "Ana O'Neil", "subject", "Bem-vindo à Casa Moreno!");
+        };
+    }
 
     @Test
     @DisplayName("Should process template with correct data and return the resulting HTML")
     void shouldProcessTemplateWithCorrectDataAndPath() {
+        TemplateService templateService = new TemplateService(templateEngine, new SimpleMeterRegistry(), false);
         String templateName = "welcome-email.html";
         Map<String, Object> variables = Map.of(
                 "userName", "Matteus",
@@ -55,4 +81,83 @@ class TemplateServiceTest {
         assertEquals("Matteus", capturedContext.getVariable("userName"), "The 'userName' variable in the context should be correct.");
         assertEquals("https://example.com/confirm?token=123", capturedContext.getVariable("confirmationLink"), "The confirmation link variable should be correct.");
     }
-}
\ No newline at end of file
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "registration-confirmation.html",
+            "oauth-registration-welcome.html",
+            "password-reset-link.html",
+            "password-change-confirmation.html"
+    })
+    @DisplayName("Should render precompiled templates exactly like Thymeleaf")
+    void shouldRenderPrecompiledTemplatesExactlyLikeThymeleaf(String templateName) {
+        TemplateEngine engine = realTemplateEngine();
+        TemplateService precompiled = new TemplateService(engine, new SimpleMeterRegistry(), true);
+        TemplateService thymeleaf = new TemplateService(engine, new SimpleMeterRegistry(), false);
+        Map<String, Object> variables = variablesFor(templateName);
+
+        String expected = thymeleaf.processTemplate(templateName, variables);
+
+        assertEquals(expected, precompiled.processTemplate(templateName, variables));
+        assertEquals(expected, precompiled.processTemplate(templateName, variables));
+    }
+
+    @Test
+    @DisplayName("Should only call Thymeleaf while compiling the template")
+    void shouldOnlyCallThymeleafWhileCompilingTemplate() {
+        TemplateEngine engine = spy(realTemplateEngine());
+        TemplateService templateService = new TemplateService(engine, new SimpleMeterRegistry(), true);
+
+        for (int i = 0; i < 10; i++) {
+            String html = templateService.processTemplate("registration-confirmation.html", Map.of("name", "Usuário " + i, "subject", "Assunto"));
+            assertTrue(html.contains("Olá, Usuário " + i + "!"));
+        }
+
+        // Uma renderização com marcadores e outra de verificação.
+        verify(engine, times(2)).process(anyString(), any(IContext.class));
+    }
+
+    @Test
+    @DisplayName("Should fall back to Thymeleaf when variables differ from the compiled template")
+    void shouldFallBackToThymeleafWhenVariablesDiffer() {
+        TemplateEngine engine = spy(realTemplateEngine());
+        TemplateService templateService = new TemplateService(engine, new SimpleMeterRegistry(), true);
+
+        templateService.processTemplate("registration-confirmation.html", Map.of("name", "Ana", "subject", "Assunto"));
+        String html = templateService.processTemplate("registration-confirmation.html", Map.of("name", "Ana"));
+
+        assertTrue(html.contains("Olá, Ana!"));
+        verify(engine, times(3)).process(anyString(), any(IContext.class));
+    }
+
+    @Test
+    @DisplayName("Should render templates with list variables with Thymeleaf without trying to compile them")
+    void shouldRenderListVariablesWithThymeleafWithoutCompiling() {
+        TemplateEngine engine = spy(realTemplateEngine());
+        TemplateService templateService = new TemplateService(engine, new SimpleMeterRegistry(), true);
+        Map<String, Object> variables = Map.of("name", "Ana", "subject", "Ofertas", "products", List.of());
+
+        String first = templateService.processTemplate("promotional-campaign.html", variables);
+        String second = templateService.processTemplate("promotional-campaign.html", variables);
+
+        assertTrue(first.contains("Olá, Ana!"));
+        assertEquals(first, second);
+        verify(engine, times(2)).process(anyString(), any(IContext.class));
+    }
+
+    @Test
+    @DisplayName("Should record render time per template and renderer")
+    void shouldRecordRenderTimePerTemplate() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TemplateService templateService = new TemplateService(realTemplateEngine(), meterRegistry, true);
+
+        templateService.processTemplate("registration-confirmation.html", Map.of("name", "Ana", "subject", "Assunto"));
+        templateService.processTemplate("registration-confirmation.html", Map.of("name", "Bia", "subject", "Assunto"));
+        templateService.processTemplate("registration-confirmation.html", Map.of("name", "Ana"));
+
+        assertEquals(2, meterRegistry.get("email.template.render")
+                .tags("template", "registration-confirmation.html", "renderer", "compiled").timer().count());
+        assertEquals(1, meterRegistry.get("email.template.render")
+                .tags("template", "registration-confirmation.html", "renderer", "thymeleaf").timer().count());
+    }
+}
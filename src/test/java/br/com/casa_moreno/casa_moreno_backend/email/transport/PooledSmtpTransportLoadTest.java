@@ -0,0 +1,108 @@
+package br.com.casa_moreno.casa_moreno_backend.email.transport;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Executado apenas com o profile load-test: mvn test -Pload-test
+@Tag("load")
+@DisplayName("PooledSmtpTransport Load Test")
+class PooledSmtpTransportLoadTest {
+
+    private static final int MESSAGES = 500;
+    private static final int POOL_SIZE = 4;
+    private static final Duration HANDSHAKE_DELAY = Duration.ofMillis(30);
+
+    @Test
+    @DisplayName("Should send more messages per second than one connection per message")
+    void shouldOutperformOneConnectionPerMessage() throws Exception {
+        double before = measureOneConnectionPerMessage();
+        double after = measurePooledTransport();
+
+        System.out.printf("SMTP load test (%d messages, %d ms handshake): one connection per message = %.1f msg/s, pooled (%d connections) = %.1f msg/s%n",
+                MESSAGES, HANDSHAKE_DELAY.toMillis(), before, POOL_SIZE, after);
+        assertTrue(after > before, "Pooled transport should have higher throughput");
+    }
+
+    private double measureOneConnectionPerMessage() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(HANDSHAKE_DELAY).start()) {
+            JavaMailSenderImpl mailSender = mailSender(server);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < MESSAGES; i++) {
+                mailSender.send(message(mailSender, i));
+            }
+            long elapsed = System.nanoTime() - start;
+
+            assertEquals(MESSAGES, server.messages());
+            return MESSAGES / (elapsed / 1_000_000_000.0);
+        }
+    }
+
+    private double measurePooledTransport() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(HANDSHAKE_DELAY).start()) {
+            JavaMailSenderImpl mailSender = mailSender(server);
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            Timer.builder("email.transport.send").tag("result", "success")
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            PooledSmtpTransport transport = new PooledSmtpTransport(mailSender, meterRegistry, POOL_SIZE, 100, 100,
+                    Duration.ofSeconds(30), Duration.ofSeconds(30));
+            transport.start();
+
+            try {
+                long start = System.nanoTime();
+                List<CompletableFuture<Void>> deliveries = new ArrayList<>(MESSAGES);
+                for (int i = 0; i < MESSAGES; i++) {
+                    deliveries.add(transport.send(message(mailSender, i)));
+                }
+                CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new)).get(2, TimeUnit.MINUTES);
+                long elapsed = System.nanoTime() - start;
+
+                assertEquals(MESSAGES, server.messages());
+                printLatency(meterRegistry.get("email.transport.send").tag("result", "success").timer());
+                return MESSAGES / (elapsed / 1_000_000_000.0);
+            } finally {
+                transport.stop();
+            }
+        }
+    }
+
+    private static void printLatency(Timer timer) {
+        for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            System.out.printf("  pooled send latency p%.0f = %.2f ms%n", percentile.percentile() * 100, percentile.value(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private static JavaMailSenderImpl mailSender(FakeSmtpServer server) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(server.port());
+        return mailSender;
+    }
+
+    private static MimeMessage message(JavaMailSenderImpl mailSender, int index) throws Exception {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+        helper.setFrom("no-reply@casamoreno.com", "Casa Moreno");
+        helper.setTo("user" + index + "@example.com");
+        helper.setSubject("Mensagem " + index);
+        helper.setText("<p>Olá " + index + "</p>", true);
+        return mimeMessage;
+    }
+}
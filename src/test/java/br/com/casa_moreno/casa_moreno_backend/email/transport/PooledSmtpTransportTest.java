@@ -0,0 +1,149 @@
+package br.com.casa_moreno.casa_moreno_backend.email.transport;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PooledSmtpTransport Tests")
+class PooledSmtpTransportTest {
+
+    private FakeSmtpServer smtpServer;
+    private JavaMailSenderImpl mailSender;
+    private SimpleMeterRegistry meterRegistry;
+    private PooledSmtpTransport transport;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        smtpServer = new FakeSmtpServer(Duration.ZERO).start();
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpServer.port());
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (transport != null) {
+            transport.stop();
+        }
+        smtpServer.close();
+    }
+
+    private PooledSmtpTransport startTransport(int poolSize, int queueCapacity, int maxMessagesPerConnection) {
+        transport = new PooledSmtpTransport(mailSender, meterRegistry, poolSize, queueCapacity, maxMessagesPerConnection,
+                Duration.ofSeconds(5), Duration.ofSeconds(30));
+        transport.start();
+        return transport;
+    }
+
+    private MimeMessage message(int index) throws Exception {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+        helper.setFrom("no-reply@casamoreno.com", "Casa Moreno");
+        helper.setTo("user" + index + "@example.com");
+        helper.setSubject("Mensagem " + index);
+        helper.setText("<p>Olá " + index + "</p>", true);
+        return mimeMessage;
+    }
+
+    @Test
+    @DisplayName("Should deliver many messages over a few reused connections")
+    void shouldDeliverManyMessagesOverReusedConnections() throws Exception {
+        PooledSmtpTransport transport = startTransport(2, 50, 100);
+
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            deliveries.add(transport.send(message(i)));
+        }
+        CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+        assertEquals(30, smtpServer.messages());
+        assertTrue(smtpServer.connections() <= 2, "Expected at most one connection per worker");
+        assertEquals(30, meterRegistry.get("email.transport.send").tag("result", "success").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should open a new connection after the per-connection message limit")
+    void shouldRecycleConnectionAfterMessageLimit() throws Exception {
+        PooledSmtpTransport transport = startTransport(1, 50, 5);
+
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            deliveries.add(transport.send(message(i)));
+        }
+        CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+        assertEquals(12, smtpServer.messages());
+        assertEquals(3, smtpServer.connections());
+    }
+
+    @Test
+    @DisplayName("Should drop a queued message cancelled before a worker picks it up")
+    void shouldDropQueuedMessageCancelledBeforeDelivery() throws Exception {
+        smtpServer.close();
+        smtpServer = new FakeSmtpServer(Duration.ofMillis(300)).start();
+        mailSender.setPort(smtpServer.port());
+        PooledSmtpTransport transport = startTransport(1, 10, 100);
+
+        CompletableFuture<Void> first = transport.send(message(1));
+        CompletableFuture<Void> second = transport.send(message(2));
+
+        assertTrue(second.cancel(false), "The single worker is still connecting, so the second message is queued");
+        first.get(10, TimeUnit.SECONDS);
+        assertFalse(first.cancel(false), "A delivered message can no longer be cancelled");
+        assertEquals(1, smtpServer.messages());
+    }
+
+    @Test
+    @DisplayName("Should fail delivery when the SMTP server is unreachable")
+    void shouldFailDeliveryWhenServerIsUnreachable() throws Exception {
+        smtpServer.close();
+        PooledSmtpTransport transport = startTransport(1, 10, 100);
+
+        CompletableFuture<Void> delivery = transport.send(message(1));
+
+        assertThrows(ExecutionException.class, () -> delivery.get(10, TimeUnit.SECONDS));
+        assertEquals(0, smtpServer.messages());
+        assertEquals(1, meterRegistry.get("email.transport.errors").counters().stream().mapToDouble(Counter::count).sum());
+    }
+
+    @Test
+    @DisplayName("Should fail without resending when the connection drops after the server received the message")
+    void shouldNotResendWhenConnectionDropsMidDelivery() throws Exception {
+        smtpServer.dropConnectionAfterData();
+        PooledSmtpTransport transport = startTransport(1, 10, 100);
+
+        CompletableFuture<Void> delivery = transport.send(message(1));
+
+        assertThrows(ExecutionException.class, () -> delivery.get(10, TimeUnit.SECONDS));
+        assertEquals(1, smtpServer.messages());
+        assertEquals(1, smtpServer.connections());
+    }
+
+    @Test
+    @DisplayName("Should reject messages when the transport is stopped")
+    void shouldRejectMessagesWhenStopped() throws Exception {
+        PooledSmtpTransport transport = startTransport(1, 10, 100);
+        transport.stop();
+
+        CompletableFuture<Void> delivery = transport.send(message(1));
+
+        assertTrue(delivery.isCompletedExceptionally());
+        assertEquals(1, meterRegistry.get("email.transport.errors").tag("type", "RejectedExecutionException").counter().count());
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.casa_moreno.casa_moreno_backend.infra;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LocalSpanExporter Tests")
+class LocalSpanExporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static void runTrace(LocalSpanExporter exporter) {
+        try (SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build()) {
+            Tracer tracer = tracerProvider.get("test");
+            Span parent = tracer.spanBuilder("http post /products/create").startSpan();
+            try (Scope ignored = parent.makeCurrent()) {
+                Span child = tracer.spanBuilder("product-service#create-product").startSpan();
+                child.setAttribute("method", "createProduct");
+                child.setStatus(StatusCode.ERROR);
+                child.end();
+            } finally {
+                parent.end();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep finished spans in memory linked by trace and parent ids")
+    void shouldKeepSpansInMemory() {
+        LocalSpanExporter exporter = new LocalSpanExporter(100, "");
+
+        runTrace(exporter);
+
+        List<LocalSpanExporter.LocalSpan> spans = exporter.spans();
+        assertEquals(2, spans.size());
+        LocalSpanExporter.LocalSpan child = spans.get(0);
+        LocalSpanExporter.LocalSpan parent = spans.get(1);
+        assertEquals("product-service#create-product", child.name());
+        assertEquals(parent.spanId(), child.parentSpanId());
+        assertEquals(parent.traceId(), child.traceId());
+        assertTrue(child.error());
+        assertEquals("createProduct", child.attributes().get("method"));
+        assertEquals(2, exporter.trace(parent.traceId()).size());
+
+        exporter.clear();
+        assertTrue(exporter.spans().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest spans once the capacity is reached")
+    void shouldDropOldestSpans() {
+        LocalSpanExporter exporter = new LocalSpanExporter(3, "");
+
+        runTrace(exporter);
+        runTrace(exporter);
+
+        List<LocalSpanExporter.LocalSpan> spans = exporter.spans();
+        assertEquals(3, spans.size());
+        assertEquals("http post /products/create", spans.get(0).name());
+    }
+
+    @Test
+    @DisplayName("Should append one JSON line per span to the configured file")
+    void shouldAppendSpansToFile() throws IOException {
+        Path file = tempDir.resolve("spans.jsonl");
+        LocalSpanExporter exporter = new LocalSpanExporter(100, file.toString());
+
+        runTrace(exporter);
+        runTrace(exporter);
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(0).contains("\"name\":\"product-service#create-product\""));
+        assertTrue(lines.get(0).contains("\"traceId\":\"" + exporter.spans().get(0).traceId() + "\""));
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.casa_moreno.casa_moreno_backend.infra;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("S3MetricsInterceptor Tests")
+class S3MetricsInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final S3MetricsInterceptor interceptor = new S3MetricsInterceptor(meterRegistry);
+
+    private static ExecutionAttributes attributes(String operation) {
+        ExecutionAttributes attributes = new ExecutionAttributes();
+        attributes.putAttribute(SdkExecutionAttribute.OPERATION_NAME, operation);
+        return attributes;
+    }
+
+    @Test
+    @DisplayName("Should time S3 calls by operation and result")
+    void shouldTimeCallsByOperationAndResult() {
+        ExecutionAttributes upload = attributes("PutObject");
+        interceptor.beforeExecution(null, upload);
+        interceptor.afterExecution(null, upload);
+
+        ExecutionAttributes delete = attributes("DeleteObject");
+        interceptor.beforeExecution(null, delete);
+        interceptor.onExecutionFailure(null, delete);
+
+        assertEquals(1, meterRegistry.get("aws.s3.requests").tag("operation", "PutObject").tag("result", "success").timer().count());
+        assertEquals(1, meterRegistry.get("aws.s3.requests").tag("operation", "DeleteObject").tag("result", "error").timer().count());
+    }
+}
@@ -0,0 +1,475 @@
+package br.com.casa_moreno.casa_moreno_backend.loadtest;
+
+import br.com.casa_moreno.casa_moreno_backend.ai.dto.ChatRequest;
+import br.com.casa_moreno.casa_moreno_backend.email.transport.FakeSmtpServer;
+import br.com.casa_moreno.casa_moreno_backend.login.dto.LoginRequest;
+import br.com.casa_moreno.casa_moreno_backend.product.domain.Product;
+import br.com.casa_moreno.casa_moreno_backend.product.dto.CreateProductRequest;
+import br.com.casa_moreno.casa_moreno_backend.product.repository.ProductRepository;
+import br.com.casa_moreno.casa_moreno_backend.user.constant.Profile;
+import br.com.casa_moreno.casa_moreno_backend.user.domain.User;
+import br.com.casa_moreno.casa_moreno_backend.user.dto.CreateUserRequest;
+import br.com.casa_moreno.casa_moreno_backend.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Executado apenas com o profile load-test: mvn test -Pload-test -Dtest=HttpLoadTest (precisa de Docker para o Postgres).
+// Sobe a aplicação inteira contra um Postgres do Testcontainers (com as migrations do Flyway) e troca as dependências
+// externas por stubs em processo: scraper (HTTP), S3 (StoragePort), SMTP (FakeSmtpServer) e Vertex (SimulatedLlmAdapter).
+// Cada usuário virtual repete o mix de tráfego abaixo sem pausa; com a mesma semente a sequência de requisições é a mesma.
+// Tudo é ajustável por -D: load.duration, load.warmup, load.virtual-users, load.seed, load.scraper-latency, load.s3-latency,
+// load.smtp-handshake, load.llm-latency-median, load.llm-latency-p99, e Tomcat/Hikari pelas propriedades do próprio Spring
+// (ex.: -Dserver.tomcat.threads.max=50 -Dspring.datasource.hikari.maximum-pool-size=20).
+@Tag("load")
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "rate-limit.enabled=false",
+        "ai.quota.enabled=false",
+        "ai.llm.provider=simulated",
+        "email.outbox.enabled=true"
+})
+@DisplayName("HTTP Load Test")
+class HttpLoadTest {
+
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT60S"));
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+    private static final int VIRTUAL_USERS = Integer.getInteger("load.virtual-users", 32);
+    private static final long SEED = Long.getLong("load.seed", 42L);
+    private static final Duration SCRAPER_LATENCY = Duration.parse(System.getProperty("load.scraper-latency", "PT0.4S"));
+    private static final Duration S3_LATENCY = Duration.parse(System.getProperty("load.s3-latency", "PT0.08S"));
+    private static final Duration SMTP_HANDSHAKE = Duration.parse(System.getProperty("load.smtp-handshake", "PT0.2S"));
+    private static final String LLM_LATENCY_MEDIAN = System.getProperty("load.llm-latency-median", "PT0.8S");
+    private static final String LLM_LATENCY_P99 = System.getProperty("load.llm-latency-p99", "PT3S");
+
+    private static final List<String> CATEGORIES = List.of("Celulares", "Notebooks", "Fones", "Smartwatches", "Tablets", "Acessórios");
+    private static final int PRODUCTS_PER_CATEGORY = 100;
+    private static final int SHOPPERS = 200;
+    private static final String SHOPPER_PASSWORD = "shopper-password";
+    private static final String ADMIN_PASSWORD = "admin-password";
+    private static final List<String> CHAT_MESSAGES = List.of(
+            "vocês vendem iphone",
+            "tem notebook samsung em promoção",
+            "qual o melhor smartphone até dois mil reais",
+            "quais as formas de pagamento",
+            "tem fone bluetooth barato",
+            "qual o horário de funcionamento",
+            "o frete é grátis",
+            "tem smartwatch xiaomi");
+    private static final byte[] PROFILE_PICTURE = new byte[24 * 1024];
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static StubScraperServer scraper;
+    private static FakeSmtpServer smtp;
+    private static LatencyStoragePort storage;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BCryptPasswordEncoder bCryptPasswordEncoder;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private Environment environment;
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final AtomicInteger createdProducts = new AtomicInteger();
+    private final AtomicInteger signUps = new AtomicInteger();
+    private List<UUID> productIds;
+    private String adminToken;
+
+    @DynamicPropertySource
+    static void stubs(DynamicPropertyRegistry registry) throws IOException {
+        scraper = new StubScraperServer(SCRAPER_LATENCY).start();
+        smtp = new FakeSmtpServer(SMTP_HANDSHAKE).start();
+        registry.add("scraper.client.url", scraper::url);
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("spring.mail.port", smtp::port);
+        registry.add("ai.llm.simulated.latency-median", () -> LLM_LATENCY_MEDIAN);
+        registry.add("ai.llm.simulated.latency-p99", () -> LLM_LATENCY_P99);
+    }
+
+    @AfterAll
+    static void stopStubs() throws IOException {
+        scraper.close();
+        smtp.close();
+    }
+
+    @TestConfiguration
+    static class StubConfiguration {
+
+        @Bean
+        @Primary
+        LatencyStoragePort latencyStoragePort() {
+            storage = new LatencyStoragePort(S3_LATENCY);
+            return storage;
+        }
+    }
+
+    // Pesos do mix, em % das requisições; a rota de promoções exige login na SecurityConfig, então vai com token de cliente.
+    private enum Scenario {
+        BROWSE_CATEGORY(30, "GET /products/find-by-category"),
+        PRODUCT_DETAILS(20, "GET /products/{id}"),
+        CATEGORIES(8, "GET /products/categories"),
+        PROMOTIONAL(12, "GET /products/promotional"),
+        LOGIN(12, "POST /login"),
+        CHAT(12, "POST /ai/chat"),
+        CREATE_PRODUCT(3, "POST /products/create"),
+        SIGN_UP(3, "POST /users/create");
+
+        private final int weight;
+        private final String endpoint;
+
+        Scenario(int weight, String endpoint) {
+            this.weight = weight;
+            this.endpoint = endpoint;
+        }
+
+        static Scenario pick(Random random) {
+            int roll = random.nextInt(100);
+            for (Scenario scenario : values()) {
+                roll -= scenario.weight;
+                if (roll < 0) {
+                    return scenario;
+                }
+            }
+            return BROWSE_CATEGORY;
+        }
+    }
+
+    @Test
+    @DisplayName("Should replay the traffic mix and report throughput and latency percentiles per endpoint")
+    void shouldReplayTrafficMix() throws Exception {
+        seed();
+        adminToken = login("load-admin", ADMIN_PASSWORD);
+
+        LoadReport report = new LoadReport();
+        long measureFrom = System.nanoTime() + WARMUP.toNanos();
+        long until = measureFrom + DURATION.toNanos();
+
+        try (ExecutorService virtualUsers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = new ArrayList<>(VIRTUAL_USERS);
+            for (int i = 0; i < VIRTUAL_USERS; i++) {
+                int index = i;
+                running.add(virtualUsers.submit(() -> runVirtualUser(index, measureFrom, until, report)));
+            }
+            for (Future<?> virtualUser : running) {
+                virtualUser.get(DURATION.plus(WARMUP).plusMinutes(2).toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        report.print();
+        System.out.printf("Stubs: scraper %d requests, S3 %d uploads, SMTP %d messages%n",
+                scraper.requests(), storage.uploads(), smtp.messages());
+
+        for (Scenario scenario : Scenario.values()) {
+            assertTrue(report.requests(scenario.endpoint) > 0, "No requests measured for " + scenario.endpoint);
+        }
+        assertTrue(report.errorRate() < 0.01, String.format("Error rate %.2f%% is above 1%%", report.errorRate() * 100));
+    }
+
+    private void seed() {
+        List<Product> products = new ArrayList<>();
+        for (String category : CATEGORIES) {
+            for (int i = 0; i < PRODUCTS_PER_CATEGORY; i++) {
+                Product product = Product.builder()
+                        .mercadoLivreId("MLB-SEED-" + category + "-" + i)
+                        .mercadoLivreUrl("https://produto.mercadolivre.com.br/MLB-SEED-" + i)
+                        .productTitle(category + " modelo " + i)
+                        .fullDescription("Produto " + i + " da categoria " + category + " com garantia de fábrica e nota fiscal. ".repeat(6))
+                        .productBrand(i % 2 == 0 ? "Samsung" : "Xiaomi")
+                        .productCondition("Novo")
+                        .currentPrice(BigDecimal.valueOf(199 + i * 10L))
+                        .originalPrice(BigDecimal.valueOf(249 + i * 10L))
+                        .discountPercentage("20% OFF")
+                        .installments(10)
+                        .installmentValue(BigDecimal.valueOf(19.9 + i))
+                        .stockStatus("Disponível")
+                        .affiliateLink("https://mercadolivre.com/sec/seed" + i)
+                        .productCategory(category)
+                        .productSubcategory(category)
+                        .isPromotional(i % 5 == 0)
+                        .build();
+                product.setGalleryImageUrlsFromStrings(IntStream.range(0, 6)
+                        .mapToObj(image -> "https://http2.mlstatic.com/seed/" + category + "/" + image + ".webp")
+                        .toList());
+                products.add(product);
+            }
+        }
+        productIds = productRepository.saveAll(products).stream().map(Product::getProductId).toList();
+
+        // Mesmo hash para todos os clientes: o custo do BCrypt aparece no login, não no setup.
+        String shopperHash = bCryptPasswordEncoder.encode(SHOPPER_PASSWORD);
+        List<User> users = new ArrayList<>();
+        users.add(user("load-admin", bCryptPasswordEncoder.encode(ADMIN_PASSWORD), Profile.ADMIN));
+        for (int i = 0; i < SHOPPERS; i++) {
+            users.add(user("shopper" + i, shopperHash, Profile.USER));
+        }
+        userRepository.saveAll(users);
+    }
+
+    private static User user(String username, String passwordHash, Profile profile) {
+        return User.builder()
+                .name(username)
+                .username(username)
+                .password(passwordHash)
+                .email(username + "@load-test.casamoreno.com")
+                .profile(profile)
+                .active(true)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void runVirtualUser(int index, long measureFrom, long until, LoadReport report) {
+        Random random = new Random(SEED + index);
+        String shopper = "shopper" + (index % SHOPPERS);
+        String shopperToken;
+        try {
+            shopperToken = login(shopper, SHOPPER_PASSWORD);
+        } catch (IOException | InterruptedException e) {
+            throw new IllegalStateException("Virtual user " + index + " could not log in", e);
+        }
+        String sessionId = "load-session-" + index;
+
+        while (System.nanoTime() < until) {
+            Scenario scenario = Scenario.pick(random);
+            HttpRequest request = request(scenario, random, shopper, shopperToken, sessionId);
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (start >= measureFrom) {
+                report.record(scenario.endpoint, System.nanoTime() - start, status);
+            }
+        }
+    }
+
+    private HttpRequest request(Scenario scenario, Random random, String shopper, String shopperToken, String sessionId) {
+        return switch (scenario) {
+            case BROWSE_CATEGORY -> get("/products/find-by-category?category="
+                    + URLEncoder.encode(CATEGORIES.get(random.nextInt(CATEGORIES.size())), StandardCharsets.UTF_8)
+                    + "&page=" + random.nextInt(8) + "&size=12", null);
+            case PRODUCT_DETAILS -> get("/products/" + productIds.get(random.nextInt(productIds.size())), null);
+            case CATEGORIES -> get("/products/categories", null);
+            case PROMOTIONAL -> get("/products/promotional", shopperToken);
+            case LOGIN -> postJson("/login", new LoginRequest(shopper, SHOPPER_PASSWORD), null);
+            case CHAT -> postJson("/ai/chat", new ChatRequest(CHAT_MESSAGES.get(random.nextInt(CHAT_MESSAGES.size())), sessionId), shopperToken);
+            case CREATE_PRODUCT -> postJson("/products/create", newProduct(createdProducts.incrementAndGet()), adminToken);
+            case SIGN_UP -> signUp(signUps.incrementAndGet());
+        };
+    }
+
+    private static CreateProductRequest newProduct(int sequence) {
+        String id = "MLB-LOAD-" + SEED + "-" + sequence;
+        return new CreateProductRequest(id, "https://produto.mercadolivre.com.br/" + id, "Produto de carga " + SEED + "-" + sequence,
+                "Descrição do produto de carga " + sequence, "Samsung", "Novo", BigDecimal.valueOf(999), BigDecimal.valueOf(1199),
+                "16% OFF", 10, BigDecimal.valueOf(99.9), List.of("https://http2.mlstatic.com/load/" + sequence + ".webp"),
+                "Disponível", "https://mercadolivre.com/sec/load" + sequence, "Celulares", "Smartphones");
+    }
+
+    // Cadastro com foto: passa pelo stub do S3 e gera o e-mail de confirmação que o outbox entrega ao SMTP falso.
+    private HttpRequest signUp(int sequence) {
+        String username = "signup-" + SEED + "-" + sequence;
+        String boundary = "load-test-" + sequence;
+        String head = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"user\"\r\nContent-Type: application/json\r\n\r\n"
+                + json(new CreateUserRequest("Cliente " + sequence, username, "signup-password", username + "@load-test.casamoreno.com", "21999999999"))
+                + "\r\n--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"avatar.png\"\r\nContent-Type: image/png\r\n\r\n";
+        String tail = "\r\n--" + boundary + "--\r\n";
+        return HttpRequest.newBuilder(uri("/users/create"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArrays(List.of(
+                        head.getBytes(StandardCharsets.UTF_8), PROFILE_PICTURE, tail.getBytes(StandardCharsets.UTF_8))))
+                .build();
+    }
+
+    private String login(String username, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(postJson("/login", new LoginRequest(username, password), null),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + username + ": HTTP " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private HttpRequest get(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path)).timeout(Duration.ofSeconds(30)).GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest postJson(String path, Object body, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json(body)));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private String json(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private class LoadReport {
+
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+        private final Map<String, Counter> errors = new ConcurrentHashMap<>();
+
+        void record(String endpoint, long elapsedNanos, int status) {
+            timers.computeIfAbsent(endpoint, this::timer).record(elapsedNanos, TimeUnit.NANOSECONDS);
+            Counter endpointErrors = errors.computeIfAbsent(endpoint, this::errorCounter);
+            if (status < 200 || status >= 300) {
+                endpointErrors.increment();
+            }
+        }
+
+        // Um único buffer que não expira durante o teste: os percentis cobrem toda a janela medida.
+        private Timer timer(String endpoint) {
+            return Timer.builder("load.http.requests")
+                    .tag("endpoint", endpoint)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .distributionStatisticExpiry(DURATION.plus(WARMUP).multipliedBy(2))
+                    .distributionStatisticBufferLength(1)
+                    .register(meterRegistry);
+        }
+
+        private Counter errorCounter(String endpoint) {
+            return Counter.builder("load.http.errors").tag("endpoint", endpoint).register(meterRegistry);
+        }
+
+        long requests(String endpoint) {
+            Timer timer = timers.get(endpoint);
+            return timer == null ? 0 : timer.count();
+        }
+
+        double errorRate() {
+            long requests = timers.values().stream().mapToLong(Timer::count).sum();
+            double failed = errors.values().stream().mapToDouble(Counter::count).sum();
+            return requests == 0 ? 1.0 : failed / requests;
+        }
+
+        void print() throws IOException {
+            double seconds = DURATION.toMillis() / 1000.0;
+            StringBuilder csv = new StringBuilder("endpoint,requests,errors,requests_per_second,p50_ms,p95_ms,p99_ms\n");
+
+            System.out.printf("HTTP load test: %d virtual users, %.0f s measured after %d s warm-up, seed %d, Tomcat threads.max=%s, Hikari maximum-pool-size=%s%n",
+                    VIRTUAL_USERS, seconds, WARMUP.toSeconds(), SEED,
+                    environment.getProperty("server.tomcat.threads.max", "200"),
+                    environment.getProperty("spring.datasource.hikari.maximum-pool-size", "10"));
+            System.out.printf("  %-32s %9s %7s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms");
+
+            long totalRequests = 0;
+            for (Scenario scenario : Scenario.values()) {
+                Timer timer = timers.get(scenario.endpoint);
+                if (timer == null) {
+                    continue;
+                }
+                HistogramSnapshot snapshot = timer.takeSnapshot();
+                double[] percentiles = new double[3];
+                ValueAtPercentile[] values = snapshot.percentileValues();
+                for (int i = 0; i < values.length && i < percentiles.length; i++) {
+                    percentiles[i] = values[i].value(TimeUnit.MILLISECONDS);
+                }
+                long endpointErrors = (long) errors.get(scenario.endpoint).count();
+                totalRequests += timer.count();
+
+                System.out.printf("  %-32s %9d %7d %9.1f %9.1f %9.1f %9.1f%n", scenario.endpoint, timer.count(), endpointErrors,
+                        timer.count() / seconds, percentiles[0], percentiles[1], percentiles[2]);
+                csv.append(String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.2f,%.2f,%.2f%n", scenario.endpoint, timer.count(), endpointErrors,
+                        timer.count() / seconds, percentiles[0], percentiles[1], percentiles[2]));
+            }
+            System.out.printf("  %-32s %9d %7s %9.1f%n", "total", totalRequests, "", totalRequests / seconds);
+
+            Path reportFile = Path.of("target", "load-test", "http-load-report.csv");
+            Files.createDirectories(reportFile.getParent());
+            Files.writeString(reportFile, csv);
+            System.out.println("  CSV report: " + reportFile.toAbsolutePath());
+        }
+    }
+}
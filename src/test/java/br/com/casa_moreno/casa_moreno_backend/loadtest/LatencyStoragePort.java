@@ -0,0 +1,41 @@
+package br.com.casa_moreno.casa_moreno_backend.loadtest;
+
+import br.com.casa_moreno.casa_moreno_backend.infra.StoragePort;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Substitui o S3 no teste de carga: não guarda nada, só espera `latency` por upload/remoção e devolve uma URL no formato do bucket.
+class LatencyStoragePort implements StoragePort {
+
+    private final Duration latency;
+    private final AtomicInteger uploads = new AtomicInteger();
+
+    LatencyStoragePort(Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public String uploadFile(byte[] fileData, String fileName, String contentType) {
+        pause();
+        uploads.incrementAndGet();
+        return "https://load-test-bucket.s3.us-east-1.amazonaws.com/" + fileName;
+    }
+
+    @Override
+    public void deleteFile(String fileUrl) {
+        pause();
+    }
+
+    int uploads() {
+        return uploads.get();
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
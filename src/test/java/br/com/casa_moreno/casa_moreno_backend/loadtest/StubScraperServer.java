@@ -0,0 +1,70 @@
+package br.com.casa_moreno.casa_moreno_backend.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Scraper do Mercado Livre em processo: responde GET /mercado-livre/product-info com um produto fixo
+// depois de `latency`, para o Feign client e o circuit breaker passarem pelo caminho real de HTTP.
+class StubScraperServer implements AutoCloseable {
+
+    private static final byte[] PRODUCT_INFO = """
+            {"mercadoLivreId":"MLB3000000000","mercadoLivreUrl":"https://produto.mercadolivre.com.br/MLB-3000000000",
+             "productTitle":"Smartphone Samsung Galaxy A55 5G 256GB","fullDescription":"Smartphone com tela Super AMOLED de 6,6 polegadas.",
+             "productBrand":"Samsung","productCondition":"Novo","currentPrice":1899.90,"originalPrice":2299.00,
+             "discountPercentage":"17% OFF","installments":10,"installmentValue":189.99,
+             "galleryImageUrls":["https://http2.mlstatic.com/D_NQ_NP_1-O.webp","https://http2.mlstatic.com/D_NQ_NP_2-O.webp"],
+             "stockStatus":"Disponível"}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final Duration latency;
+    private final AtomicInteger requests = new AtomicInteger();
+    private HttpServer server;
+
+    StubScraperServer(Duration latency) {
+        this.latency = latency;
+    }
+
+    StubScraperServer start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 200);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/mercado-livre/product-info", this::productInfo);
+        server.start();
+        return this;
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    int requests() {
+        return requests.get();
+    }
+
+    private void productInfo(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try (exchange) {
+            Thread.sleep(latency);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, PRODUCT_INFO.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(PRODUCT_INFO);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
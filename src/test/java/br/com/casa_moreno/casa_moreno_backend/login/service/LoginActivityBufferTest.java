@@ -0,0 +1,97 @@
+package br.com.casa_moreno.casa_moreno_backend.login.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("LoginActivityBuffer Tests")
+@ExtendWith(MockitoExtension.class)
+class LoginActivityBufferTest {
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    private LoginActivityBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new LoginActivityBuffer(jdbcTemplate, 2);
+    }
+
+    @Test
+    @DisplayName("Should coalesce logins of the same user into a single update")
+    @SuppressWarnings("unchecked")
+    void shouldCoalesceLoginsOfSameUserIntoSingleUpdate() {
+        UUID userId = UUID.randomUUID();
+        LocalDateTime first = LocalDateTime.of(2024, 1, 1, 10, 0);
+        LocalDateTime latest = LocalDateTime.of(2024, 1, 1, 11, 0);
+
+        buffer.recordLogin(userId, latest);
+        buffer.recordLogin(userId, first);
+        buffer.recordLogin(userId, first);
+
+        ArgumentCaptor<List<Object[]>> argsCaptor = ArgumentCaptor.forClass(List.class);
+
+        int flushed = buffer.flush();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), argsCaptor.capture());
+        List<Object[]> args = argsCaptor.getValue();
+        assertEquals(1, flushed);
+        assertEquals(1, args.size());
+        assertAll(
+                () -> assertEquals(Timestamp.valueOf(latest), args.getFirst()[0]),
+                () -> assertEquals(3L, args.getFirst()[2]),
+                () -> assertEquals(userId, args.getFirst()[3])
+        );
+        assertEquals(0, buffer.pendingUsers());
+    }
+
+    @Test
+    @DisplayName("Should split flush into batches of the configured size")
+    void shouldSplitFlushIntoBatches() {
+        buffer.recordLogin(UUID.randomUUID());
+        buffer.recordLogin(UUID.randomUUID());
+        buffer.recordLogin(UUID.randomUUID());
+
+        int flushed = buffer.flush();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+        assertEquals(3, flushed);
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when there is nothing to flush")
+    void shouldNotTouchDatabaseWhenNothingToFlush() {
+        assertEquals(0, buffer.flush());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should keep pending logins when the flush fails")
+    void shouldKeepPendingLoginsWhenFlushFails() {
+        UUID userId = UUID.randomUUID();
+        buffer.recordLogin(userId);
+
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertEquals(0, buffer.flush());
+        assertEquals(1, buffer.pendingUsers());
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.casa_moreno.casa_moreno_backend.login.service;
+
+import br.com.casa_moreno.casa_moreno_backend.login.dto.LoginRequest;
+import br.com.casa_moreno.casa_moreno_backend.ratelimit.service.RateLimitService;
+import br.com.casa_moreno.casa_moreno_backend.security.TokenService;
+import br.com.casa_moreno.casa_moreno_backend.support.SqlStatementCountConfiguration;
+import br.com.casa_moreno.casa_moreno_backend.support.SqlStatementCounter;
+import br.com.casa_moreno.casa_moreno_backend.user.constant.Profile;
+import br.com.casa_moreno.casa_moreno_backend.user.domain.User;
+import br.com.casa_moreno.casa_moreno_backend.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Limites de comandos SQL do login: a requisição só lê o usuário, e o registro do acesso
+// chega ao banco no flush do LoginActivityBuffer, um UPDATE por usuário.
+@DataJpaTest
+@Import({LoginService.class, LoginActivityBuffer.class, SqlStatementCountConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("LoginService SQL Statement Count Tests")
+class LoginServiceSqlCountTest {
+
+    @Autowired
+    private LoginService loginService;
+    @Autowired
+    private LoginActivityBuffer loginActivityBuffer;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BCryptPasswordEncoder bCryptPasswordEncoder;
+    @MockitoBean
+    private TokenService tokenService;
+    @MockitoBean
+    private RateLimitService rateLimitService;
+
+    @TestConfiguration
+    static class PasswordEncoderConfiguration {
+
+        @Bean
+        BCryptPasswordEncoder bCryptPasswordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(User.builder()
+                .name("Maria")
+                .username("maria")
+                .password(bCryptPasswordEncoder.encode("secret"))
+                .email("maria@email.com")
+                .profile(Profile.USER)
+                .active(true)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        loginActivityBuffer.flush();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should sign in with a single select and no writes in the request")
+    void loginAndGenerateToken() {
+        SqlStatementCounter.reset();
+        loginService.loginAndGenerateToken(new LoginRequest("maria@email.com", "secret"));
+
+        SqlStatementCounter.assertAtMost(1, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should write repeated logins of one user in a single update on flush")
+    void flushLoginActivity() {
+        IntStream.range(0, 5).forEach(i -> loginService.loginAndGenerateToken(new LoginRequest("maria", "secret")));
+
+        SqlStatementCounter.reset();
+        int flushed = loginActivityBuffer.flush();
+
+        assertEquals(1, flushed);
+        SqlStatementCounter.assertAtMost(0, 0, 1, 0);
+        assertEquals(5L, userRepository.findByUsername("maria").orElseThrow().getLoginCount());
+    }
+}
@@ -1,7 +1,9 @@
 package br.com.casa_moreno.casa_moreno_backend.login.service;
 
+import br.com.casa_moreno.casa_moreno_backend.exception.TooManyRequestsException;
 import br.com.casa_moreno.casa_moreno_backend.login.dto.LoginRequest;
 import br.com.casa_moreno.casa_moreno_backend.login.dto.LoginResponse;
+import br.com.casa_moreno.casa_moreno_backend.ratelimit.service.RateLimitService;
 import br.com.casa_moreno.casa_moreno_backend.security.TokenService;
 import br.com.casa_moreno.casa_moreno_backend.user.constant.Profile;
 import br.com.casa_moreno.casa_moreno_backend.user.domain.User;
@@ -34,6 +36,10 @@ class LoginServiceTest {
     BCryptPasswordEncoder bCryptPasswordEncoder;
     @Mock
     TokenService tokenService;
+    @Mock
+    RateLimitService rateLimitService;
+    @Mock
+    LoginActivityBuffer loginActivityBuffer;
     @InjectMocks
     LoginService loginService;
 
@@ -70,7 +76,8 @@ class LoginServiceTest {
 
         verify(userRepository, times(1)).findByUsernameOrEmail(loginRequest.username());
         verify(tokenService, times(1)).generateToken(user);
-        verify(userRepository, times(1)).save(user);
+        verify(loginActivityBuffer, times(1)).recordLogin(user.getUserId());
+        verify(userRepository, never()).save(any());
 
         assertAll(
                 () -> Assertions.assertNotNull(response),
@@ -93,7 +100,7 @@ class LoginServiceTest {
 
         verify(userRepository, times(1)).findByUsernameOrEmail(incorrectUsername);
         verify(tokenService, never()).generateToken(any());
-        verify(userRepository, never()).save(any());
+        verify(loginActivityBuffer, never()).recordLogin(any());
     }
 
     @Test
@@ -112,6 +119,21 @@ class LoginServiceTest {
         verify(userRepository, times(1)).findByUsernameOrEmail(loginRequest.username());
         verify(bCryptPasswordEncoder, times(1)).matches(loginRequest.password(), user.getPassword());
         verify(tokenService, never()).generateToken(any());
-        verify(userRepository, never()).save(any());
+        verify(loginActivityBuffer, never()).recordLogin(any());
+    }
+
+    @Test
+    @DisplayName("Should reject login before any lookup or hashing when identity is rate limited")
+    void shouldRejectLoginBeforeLookupWhenIdentityIsRateLimited() {
+        LoginRequest loginRequest = new LoginRequest(user.getUsername(), "password123");
+
+        doThrow(new TooManyRequestsException("Too many requests. Please try again later.", 60))
+                .when(rateLimitService).checkIdentity(loginRequest.username());
+
+        Assertions.assertThrows(TooManyRequestsException.class, () -> loginService.loginAndGenerateToken(loginRequest));
+
+        verify(userRepository, never()).findByUsernameOrEmail(any());
+        verify(bCryptPasswordEncoder, never()).matches(any(), any());
+        verify(tokenService, never()).generateToken(any());
     }
 }
\ No newline at end of file
@@ -1,11 +1,13 @@
 package br.com.casa_moreno.casa_moreno_backend.product.controller;
 
+import br.com.casa_moreno.casa_moreno_backend.ai.service.ProductQuestionService;
 import br.com.casa_moreno.casa_moreno_backend.exception.ProductAlreadyExistsException;
 import br.com.casa_moreno.casa_moreno_backend.exception.ProductNotFoundException;
 import br.com.casa_moreno.casa_moreno_backend.product.domain.Product;
 import br.com.casa_moreno.casa_moreno_backend.product.domain.ProductGalleryImageUrl;
 import br.com.casa_moreno.casa_moreno_backend.product.dto.CreateProductRequest;
 import br.com.casa_moreno.casa_moreno_backend.product.dto.ProductDetailsResponse;
+import br.com.casa_moreno.casa_moreno_backend.product.dto.ProductQuestionRequest;
 import br.com.casa_moreno.casa_moreno_backend.product.dto.UpdateProductRequest;
 import br.com.casa_moreno.casa_moreno_backend.product.service.ProductService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -45,6 +47,8 @@ class ProductControllerTest {
     private ObjectMapper objectMapper;
     @MockitoBean
     private ProductService productService;
+    @MockitoBean
+    private ProductQuestionService productQuestionService;
 
     CreateProductRequest createProductRequest = new CreateProductRequest(
                 "ML12345", "https://mercadolivre.com.br/product/12345", "Test Product",
@@ -193,9 +197,9 @@ class ProductControllerTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         List<Product> products = new ArrayList<>();
-        products.add(new Product(UUID.randomUUID(), "ML12345", "https://mercadolivre.com.br/product/12345", "Test Product", "This is a full description of the test product", "Brand", "New", BigDecimal.valueOf(100.00), BigDecimal.valueOf(120.00), "16% OFF", 3, BigDecimal.valueOf(33.33), List.of(new ProductGalleryImageUrl(UUID.randomUUID(), "https://image1.com", null)), "in stock", "https://affiliate-link.com", "Electronics", "Smartphones", false));
-        products.add(new Product(UUID.randomUUID(), "ML67890", "https://mercadolivre.com.br/product/67890", "Another Product", "This is another product description", "Brand", "New", BigDecimal.valueOf(200.00), BigDecimal.valueOf(250.00), "20% OFF", 2, BigDecimal.valueOf(100.00), List.of(new ProductGalleryImageUrl(UUID.randomUUID(), "https://image2.com", null)), "in stock", "https://affiliate-link.com", "Electronics", "Laptops", false));
-        products.add(new Product(UUID.randomUUID(), "ML54321", "https://mercadolivre.com.br/product/54321", "Third Product", "This is the third product description", "Brand", "New", BigDecimal.valueOf(150.00), BigDecimal.valueOf(180.00), "15% OFF", 1, BigDecimal.valueOf(150.00), List.of(new ProductGalleryImageUrl(UUID.randomUUID(), "https://image3.com", null)), "in stock", "https://affiliate-link.com", "Electronics", "Tablets", false));
+        products.add(new Product(UUID.randomUUID(), "ML12345", "https://mercadolivre.com.br/product/12345", "Test Product", "This is a full description of the test product", null, "Brand", "New", BigDecimal.valueOf(100.00), BigDecimal.valueOf(120.00), "16% OFF", 3, BigDecimal.valueOf(33.33), List.of(new ProductGalleryImageUrl(UUID.randomUUID(), "https://image1.com", null)), "in stock", "https://affiliate-link.com", "Electronics", "Smartphones", false));
+        products.add(new Product(UUID.randomUUID(), "ML67890", "https://mercadolivre.com.br/product/67890", "Another Product", "This is another product description", null, "Brand", "New", BigDecimal.valueOf(200.00), BigDecimal.valueOf(250.00), "20% OFF", 2, BigDecimal.valueOf(100.00), List.of(new ProductGalleryImageUrl(UUID.randomUUID(), "https://image2.com", null)), "in stock", "https://affiliate-link.com", "Electronics", "Laptops", false));
+        products.add(new Product(UUID.randomUUID(), "ML54321", "https://mercadolivre.com.br/product/54321", "Third Product", "This is the third product description", null, "Brand", "New", BigDecimal.valueOf(150.00), BigDecimal.valueOf(180.00), "15% OFF", 1, BigDecimal.valueOf(150.00), List.of(new ProductGalleryImageUrl(UUID.randomUUID(), "https://image3.com", null)), "in stock", "https://affiliate-link.com", "Electronics", "Tablets", false));
 
         Page<Product> productPage = new PageImpl<>(products, pageable, products.size());
         Page<ProductDetailsResponse> responsePage = productPage.map(ProductDetailsResponse::new);
@@ -245,8 +249,8 @@ class ProductControllerTest {
     @WithMockUser(roles = "ADMIN")
     void shouldListAllProductsSuccessfully() throws Exception {
         List<Product> products = new ArrayList<>();
-        products.add(new Product(UUID.randomUUID(), "ML12345", "https://mercadolivre.com.br/product/12345", "Test Product", "This is a full description of the test product", "Brand", "New", BigDecimal.valueOf(100.00), BigDecimal.valueOf(120.00), "16% OFF", 3, BigDecimal.valueOf(33.33), List.of(new ProductGalleryImageUrl(UUID.randomUUID(), "https://image1.com", null)), "in stock", "https://affiliate-link.com", "Electronics", "Smartphones", false));
-        products.add(new Product(UUID.randomUUID(), "ML67890", "https://mercadolivre.com.br/product/67890", "Another Product", "This is another product description", "Brand", "New", BigDecimal.valueOf(200.00), BigDecimal.valueOf(250.00), "20% OFF", 2, BigDecimal.valueOf(100.00), List.of(new ProductGalleryImageUrl(UUID.randomUUID(), "https://image2.com", null)), "in stock", "https://affiliate-link.com", "Electronics", "Laptops", false));
+        products.add(new Product(UUID.randomUUID(), "ML12345", "https://mercadolivre.com.br/product/12345", "Test Product", "This is a full description of the test product", null, "Brand", "New", BigDecimal.valueOf(100.00), BigDecimal.valueOf(120.00), "16% OFF", 3, BigDecimal.valueOf(33.33), List.of(new ProductGalleryImageUrl(UUID.randomUUID(), "https://image1.com", null)), "in stock", "https://affiliate-link.com", "Electronics", "Smartphones", false));
+        products.add(new Product(UUID.randomUUID(), "ML67890", "https://mercadolivre.com.br/product/67890", "Another Product", "This is another product description", null, "Brand", "New", BigDecimal.valueOf(200.00), BigDecimal.valueOf(250.00), "20% OFF", 2, BigDecimal.valueOf(100.00), List.of(new ProductGalleryImageUrl(UUID.randomUUID(), "https://image2.com", null)), "in stock", "https://affiliate-link.com", "Electronics", "Laptops", false));
 
         List<ProductDetailsResponse> responseList = products.stream().map(ProductDetailsResponse::new).toList();
 
@@ -305,7 +309,7 @@ class ProductControllerTest {
     @DisplayName("Should find product by ID successfully")
     void shouldFindProductByIdSuccessfully() throws Exception {
         UUID productId = UUID.randomUUID();
-        Product product = new Product(productId, "ML12345", "https://mercadolivre.com.br/product/12345", "Test Product", "This is a full description of the test product", "Brand", "New", BigDecimal.valueOf(100.00), BigDecimal.valueOf(120.00), "16% OFF", 3, BigDecimal.valueOf(33.33), List.of(new ProductGalleryImageUrl(UUID.randomUUID(), "https://image1.com", null)), "in stock", "https://affiliate-link.com", "Electronics", "Smartphones", false);
+        Product product = new Product(productId, "ML12345", "https://mercadolivre.com.br/product/12345", "Test Product", "This is a full description of the test product", null, "Brand", "New", BigDecimal.valueOf(100.00), BigDecimal.valueOf(120.00), "16% OFF", 3, BigDecimal.valueOf(33.33), List.of(new ProductGalleryImageUrl(UUID.randomUUID(), "https://image1.com", null)), "in stock", "https://affiliate-link.com", "Electronics", "Smartphones", false);
 
         when(productService.findProductById(productId)).thenReturn(product);
 
@@ -333,6 +337,62 @@ class ProductControllerTest {
         verify(productService, times(1)).findProductById(productId);
     }
 
+    @Test
+    @DisplayName("Should answer a question about a product")
+    @WithMockUser(roles = "USER")
+    void shouldAnswerQuestionAboutProduct() throws Exception {
+        UUID productId = UUID.randomUUID();
+        when(productQuestionService.ask("user", productId, "Tem garantia?")).thenReturn("Sim, 12 meses de garantia.");
+
+        mockMvc.perform(
+                post("/products/{id}/ask", productId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductQuestionRequest("Tem garantia?"))))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Sim, 12 meses de garantia."));
+
+        verify(productQuestionService, times(1)).ask("user", productId, "Tem garantia?");
+    }
+
+    @Test
+    @DisplayName("Should return 401 Unauthorized when asking about a product without authentication")
+    void shouldReturnUnauthorizedWhenAskingWithoutAuth() throws Exception {
+        mockMvc.perform(
+                post("/products/{id}/ask", UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductQuestionRequest("Tem garantia?"))))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(productQuestionService);
+    }
+
+    @Test
+    @DisplayName("Should return 404 when asking about a non-existing product")
+    @WithMockUser(roles = "USER")
+    void shouldReturnNotFoundWhenAskingAboutNonExistingProduct() throws Exception {
+        UUID productId = UUID.randomUUID();
+        when(productQuestionService.ask("user", productId, "Tem garantia?")).thenThrow(new ProductNotFoundException("Product not found"));
+
+        mockMvc.perform(
+                post("/products/{id}/ask", productId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductQuestionRequest("Tem garantia?"))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return 400 when the question is blank")
+    @WithMockUser(roles = "USER")
+    void shouldReturnBadRequestWhenQuestionIsBlank() throws Exception {
+        mockMvc.perform(
+                post("/products/{id}/ask", UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductQuestionRequest(" "))))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(productQuestionService);
+    }
+
     @Test
     @DisplayName("Should update product successfully")
     @WithMockUser(roles = "ADMIN")
@@ -674,8 +734,8 @@ class ProductControllerTest {
     @DisplayName("Should get promotional products successfully")
     void shouldGetPromotionalProductsSuccessfully() throws Exception {
         List<Product> products = new ArrayList<>();
-        products.add(new Product(UUID.randomUUID(), "ML12345", "https://mercadolivre.com.br/product/12345", "Test Product", "This is a full description of the test product", "Brand", "New", BigDecimal.valueOf(100.00), BigDecimal.valueOf(120.00), "16% OFF", 3, BigDecimal.valueOf(33.33), List.of(new ProductGalleryImageUrl(UUID.randomUUID(), "https://image1.com", null)), "in stock", "https://affiliate-link.com", "Electronics", "Smartphones", true));
-        products.add(new Product(UUID.randomUUID(), "ML67890", "https://mercadolivre.com.br/product/67890", "Another Product", "This is another product description", "Brand", "New", BigDecimal.valueOf(200.00), BigDecimal.valueOf(250.00), "20% OFF", 2, BigDecimal.valueOf(100.00), List.of(new ProductGalleryImageUrl(UUID.randomUUID(), "https://image2.com", null)), "in stock", "https://affiliate-link.com", "Electronics", "Laptops", true));
+        products.add(new Product(UUID.randomUUID(), "ML12345", "https://mercadolivre.com.br/product/12345", "Test Product", "This is a full description of the test product", null, "Brand", "New", BigDecimal.valueOf(100.00), BigDecimal.valueOf(120.00), "16% OFF", 3, BigDecimal.valueOf(33.33), List.of(new ProductGalleryImageUrl(UUID.randomUUID(), "https://image1.com", null)), "in stock", "https://affiliate-link.com", "Electronics", "Smartphones", true));
+        products.add(new Product(UUID.randomUUID(), "ML67890", "https://mercadolivre.com.br/product/67890", "Another Product", "This is another product description", null, "Brand", "New", BigDecimal.valueOf(200.00), BigDecimal.valueOf(250.00), "20% OFF", 2, BigDecimal.valueOf(100.00), List.of(new ProductGalleryImageUrl(UUID.randomUUID(), "https://image2.com", null)), "in stock", "https://affiliate-link.com", "Electronics", "Laptops", true));
 
         List<ProductDetailsResponse> responseList = products.stream().map(ProductDetailsResponse::new).toList();
 
@@ -1,13 +1,16 @@
 package br.com.casa_moreno.casa_moreno_backend.product.repository;
 
 import br.com.casa_moreno.casa_moreno_backend.product.domain.Product;
+import br.com.casa_moreno.casa_moreno_backend.product.dto.ProductDescriptionSummary;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 
 import java.util.List;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -45,4 +48,24 @@ class ProductRepositoryTest {
         assertThat(categories).isNotNull();
         assertThat(categories).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Cenário 3: Deve paginar pelo productId as descrições que ainda não usam a versão atual do prompt")
+    void shouldPageDescriptionsToRewriteByProductId() {
+        entityManager.persist(Product.builder().fullDescription("celular novo 128gb").build());
+        entityManager.persist(Product.builder().fullDescription("fone bluetooth preto").descriptionPromptVersion("v0").build());
+        entityManager.persist(Product.builder().fullDescription("capinha azul").build());
+        entityManager.persist(Product.builder().fullDescription("já formatada").descriptionPromptVersion("v1").build());
+        entityManager.persist(Product.builder().fullDescription("").build());
+
+        List<ProductDescriptionSummary> firstPage = productRepository.findFirstDescriptionsToRewrite("v1", Limit.of(2));
+        UUID cursor = firstPage.getLast().productId();
+        List<ProductDescriptionSummary> nextPage = productRepository.findDescriptionsToRewriteAfter("v1", cursor, Limit.of(2));
+
+        assertThat(firstPage).hasSize(2);
+        assertThat(nextPage).extracting(ProductDescriptionSummary::fullDescription)
+                .singleElement()
+                .isNotIn(firstPage.get(0).fullDescription(), firstPage.get(1).fullDescription());
+        assertThat(productRepository.findDescriptionsToRewriteAfter("v1", nextPage.getFirst().productId(), Limit.of(2))).isEmpty();
+    }
+}
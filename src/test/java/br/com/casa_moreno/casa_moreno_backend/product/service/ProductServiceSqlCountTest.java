@@ -0,0 +1,208 @@
+package br.com.casa_moreno.casa_moreno_backend.product.service;
+
+import br.com.casa_moreno.casa_moreno_backend.client.MercadoLivreScraperClient;
+import br.com.casa_moreno.casa_moreno_backend.client.MercadoLivreScraperResponse;
+import br.com.casa_moreno.casa_moreno_backend.product.domain.Product;
+import br.com.casa_moreno.casa_moreno_backend.product.dto.CreateProductRequest;
+import br.com.casa_moreno.casa_moreno_backend.product.dto.ProductDetailsResponse;
+import br.com.casa_moreno.casa_moreno_backend.product.dto.UpdateProductRequest;
+import br.com.casa_moreno.casa_moreno_backend.product.repository.ProductRepository;
+import br.com.casa_moreno.casa_moreno_backend.support.SqlStatementCountConfiguration;
+import br.com.casa_moreno.casa_moreno_backend.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+// Limites de comandos SQL por operação do ProductService contra o H2. Sem a transação de teste do @DataJpaTest,
+// cada operação faz commit e o flush do Hibernate entra na contagem.
+@DataJpaTest
+@Import({ProductService.class, SqlStatementCountConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("ProductService SQL Statement Count Tests")
+class ProductServiceSqlCountTest {
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @MockitoBean
+    private MercadoLivreScraperClient mercadoLivreScraperClient;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    private Product saveProduct(String title, String category, boolean promotional, int images) {
+        Product product = Product.builder()
+                .mercadoLivreId("ML-" + title)
+                .productTitle(title)
+                .fullDescription("Description of " + title)
+                .currentPrice(BigDecimal.valueOf(100))
+                .productCategory(category)
+                .isPromotional(promotional)
+                .build();
+        product.setGalleryImageUrlsFromStrings(IntStream.range(0, images).mapToObj(i -> "https://img/" + title + "/" + i).toList());
+        return productRepository.save(product);
+    }
+
+    // Nas requisições HTTP a galeria é lida com a sessão aberta pelo open-in-view; aqui uma transação faz esse papel.
+    private <T> T inSession(Supplier<T> operation) {
+        return new TransactionTemplate(transactionManager).execute(status -> operation.get());
+    }
+
+    @Test
+    @DisplayName("Should create a product with its gallery in two lookups and one insert per row")
+    void createProduct() throws IOException {
+        when(mercadoLivreScraperClient.getProductInfo("https://ml/1")).thenReturn(new MercadoLivreScraperResponse(
+                null, null, null, null, null, null, null, null, null, null, null, null, null));
+        CreateProductRequest request = new CreateProductRequest("ML1", "https://ml/1", "Phone", "Description", "Brand", "New",
+                BigDecimal.TEN, BigDecimal.TEN, null, 1, BigDecimal.TEN, List.of("https://img/1", "https://img/2"),
+                "in stock", "https://affiliate/1", "Phones", "Smartphones");
+
+        SqlStatementCounter.reset();
+        productService.createProduct(request);
+
+        // 2 checagens de duplicidade; 1 produto + 2 imagens; a posição das imagens é gravada por UPDATE.
+        SqlStatementCounter.assertAtMost(2, 3, 2, 0);
+    }
+
+    @Test
+    @DisplayName("Should list every product and its gallery without one query per product")
+    void listAllProducts() {
+        IntStream.range(0, 10).forEach(i -> saveProduct("Product " + i, "Phones", false, 3));
+
+        SqlStatementCounter.reset();
+        List<ProductDetailsResponse> products = inSession(() -> productService.listAllProducts());
+
+        assertEquals(10, products.size());
+        SqlStatementCounter.assertAtMost(2, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should page products by category with the count query and one gallery batch")
+    void findProductsByCategory() {
+        IntStream.range(0, 15).forEach(i -> saveProduct("Product " + i, "Phones", false, 2));
+
+        SqlStatementCounter.reset();
+        Page<ProductDetailsResponse> page = inSession(() -> productService.findProductsByCategory(PageRequest.of(0, 10), "phones"));
+
+        assertEquals(10, page.getContent().size());
+        SqlStatementCounter.assertAtMost(3, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should list promotional products and their galleries in two queries")
+    void findAllPromotionalProducts() {
+        IntStream.range(0, 6).forEach(i -> saveProduct("Product " + i, "Phones", i % 2 == 0, 2));
+
+        SqlStatementCounter.reset();
+        List<ProductDetailsResponse> products = inSession(() -> productService.findAllPromotionalProducts());
+
+        assertEquals(3, products.size());
+        SqlStatementCounter.assertAtMost(2, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should read one product and its gallery in two selects")
+    void findProductById() {
+        UUID productId = saveProduct("Phone", "Phones", false, 3).getProductId();
+
+        SqlStatementCounter.reset();
+        ProductDetailsResponse product = inSession(() -> new ProductDetailsResponse(productService.findProductById(productId)));
+
+        assertEquals(3, product.galleryImageUrls().size());
+        SqlStatementCounter.assertAtMost(2, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should list the distinct categories with a single select")
+    void getDistinctCategories() {
+        IntStream.range(0, 6).forEach(i -> saveProduct("Product " + i, i % 2 == 0 ? "Phones" : "Tablets", false, 1));
+
+        SqlStatementCounter.reset();
+        List<String> categories = productService.getDistinctCategories();
+
+        assertEquals(List.of("Phones", "Tablets"), categories);
+        SqlStatementCounter.assertAtMost(1, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should update a product's price with one select and one update")
+    void updateProduct() {
+        UUID productId = saveProduct("Phone", "Phones", false, 3).getProductId();
+        UpdateProductRequest request = new UpdateProductRequest(productId, null, null, null, null, null, null,
+                BigDecimal.ONE, null, null, null, null, null, null, null, null, null);
+
+        SqlStatementCounter.reset();
+        productService.updateProduct(request);
+
+        SqlStatementCounter.assertAtMost(1, 0, 1, 0);
+    }
+
+    @Test
+    @DisplayName("Should change the promotional flag with one select and one update")
+    void updatePromotionalStatus() {
+        UUID productId = saveProduct("Phone", "Phones", false, 3).getProductId();
+
+        SqlStatementCounter.reset();
+        productService.updatePromotionalStatus(productId, true);
+
+        SqlStatementCounter.assertAtMost(1, 0, 1, 0);
+    }
+
+    @Test
+    @DisplayName("Should move the main image by rewriting only the gallery positions")
+    void setMainProductImage() {
+        UUID productId = saveProduct("Phone", "Phones", false, 3).getProductId();
+
+        SqlStatementCounter.reset();
+        productService.setMainProductImage(productId, "https://img/Phone/2");
+
+        SqlStatementCounter.assertAtMost(2, 0, 3, 0);
+    }
+
+    @Test
+    @DisplayName("Should delete one gallery image without touching the product row")
+    void deleteProductImage() {
+        UUID productId = saveProduct("Phone", "Phones", false, 3).getProductId();
+
+        SqlStatementCounter.reset();
+        productService.deleteProductImage(productId, "https://img/Phone/0");
+
+        SqlStatementCounter.assertAtMost(2, 0, 2, 1);
+    }
+
+    @Test
+    @DisplayName("Should delete a product and its gallery rows")
+    void deleteProduct() {
+        UUID productId = saveProduct("Phone", "Phones", false, 3).getProductId();
+
+        SqlStatementCounter.reset();
+        productService.deleteProduct(productId);
+
+        SqlStatementCounter.assertAtMost(2, 0, 0, 4);
+    }
+}
@@ -10,6 +10,7 @@ import br.com.casa_moreno.casa_moreno_backend.product.domain.ProductGalleryImage
 import br.com.casa_moreno.casa_moreno_backend.product.dto.CreateProductRequest;
 import br.com.casa_moreno.casa_moreno_backend.product.dto.ProductDetailsResponse;
 import br.com.casa_moreno.casa_moreno_backend.product.dto.UpdateProductRequest;
+import br.com.casa_moreno.casa_moreno_backend.product.event.ProductChangedEvent;
 import br.com.casa_moreno.casa_moreno_backend.product.repository.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,6 +21,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -43,6 +45,8 @@ class ProductServiceTest {
     private ProductRepository productRepository;
     @Mock
     private MercadoLivreScraperClient mercadoLivreScraperClient;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private ProductService productService;
 
@@ -233,6 +237,7 @@ class ProductServiceTest {
 
         when(productRepository.existsByProductTitle(mercadoLivreScraperResponse.productTitle())).thenReturn(false);
         when(productRepository.existsByMercadoLivreId(mercadoLivreScraperResponse.mercadoLivreId())).thenReturn(false);
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         productService.createProduct(incompleteRequest);
 
@@ -282,6 +287,7 @@ class ProductServiceTest {
                 .thenReturn(scraperResponseWithNullGallery);
         when(productRepository.existsByProductTitle(anyString())).thenReturn(false);
         when(productRepository.existsByMercadoLivreId(anyString())).thenReturn(false);
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         productService.createProduct(requestWithNullGallery);
 
@@ -315,6 +321,7 @@ class ProductServiceTest {
                 .thenReturn(scraperResponseWithEmptyGallery);
         when(productRepository.existsByProductTitle(anyString())).thenReturn(false);
         when(productRepository.existsByMercadoLivreId(anyString())).thenReturn(false);
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         productService.createProduct(requestWithNullGallery);
 
@@ -523,6 +530,7 @@ class ProductServiceTest {
 
         verify(productRepository, times(1)).findById(productId);
         verify(productRepository, times(1)).save(productCaptor.capture());
+        verify(eventPublisher, times(1)).publishEvent(new ProductChangedEvent(productId, false));
 
         Product capturedProduct = productCaptor.getValue();
 
@@ -612,6 +620,7 @@ class ProductServiceTest {
 
         verify(productRepository, times(1)).findById(productId);
         verify(productRepository, times(1)).delete(any(Product.class));
+        verify(eventPublisher, times(1)).publishEvent(new ProductChangedEvent(productId, true));
     }
 
     @Test
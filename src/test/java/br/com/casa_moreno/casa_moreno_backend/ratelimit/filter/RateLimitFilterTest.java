@@ -0,0 +1,128 @@
+package br.com.casa_moreno.casa_moreno_backend.ratelimit.filter;
+
+import br.com.casa_moreno.casa_moreno_backend.exception.TooManyRequestsException;
+import br.com.casa_moreno.casa_moreno_backend.ratelimit.service.RateLimitService;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RateLimitFilter Tests")
+@ExtendWith(MockitoExtension.class)
+class RateLimitFilterTest {
+
+    @Mock
+    private RateLimitService rateLimitService;
+    @Mock
+    private FilterChain filterChain;
+
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitFilter = new RateLimitFilter(rateLimitService, List.of("172.31.0.0/16", "10.10.0.0/16"));
+    }
+
+    @Test
+    @DisplayName("Should reject with 429, Retry-After and a plain text body when the client address is over the limit")
+    void shouldRejectWith429WhenClientAddressIsOverLimit() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        doThrow(new TooManyRequestsException("Too many requests. Please try again later.", 3))
+                .when(rateLimitService).checkClientAddress("10.0.0.1");
+
+        rateLimitFilter.doFilter(request, response, filterChain);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("3", response.getHeader("Retry-After"));
+        assertTrue(response.getContentType().startsWith("text/plain"));
+        assertEquals("Too many requests. Please try again later.", response.getContentAsString());
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should continue the chain when the client address is within the limit")
+    void shouldContinueChainWhenWithinLimit() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/users/forgot-password");
+        request.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        rateLimitFilter.doFilter(request, response, filterChain);
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader("Retry-After"));
+        verify(rateLimitService).checkClientAddress("10.0.0.1");
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    @DisplayName("Should key the limit on the last X-Forwarded-For address added by a trusted load balancer")
+    void shouldUseLastForwardedForAddress() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/users/reset-password");
+        request.setRemoteAddr("172.31.0.10");
+        request.addHeader("X-Forwarded-For", "1.1.1.1, 203.0.113.7");
+
+        rateLimitFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        verify(rateLimitService).checkClientAddress("203.0.113.7");
+    }
+
+    @Test
+    @DisplayName("Should skip trusted proxy hops when walking X-Forwarded-For from the right")
+    void shouldSkipTrustedProxyHops() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setRemoteAddr("172.31.0.10");
+        request.addHeader("X-Forwarded-For", "1.1.1.1, 203.0.113.7, 10.10.4.2");
+
+        rateLimitFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        verify(rateLimitService).checkClientAddress("203.0.113.7");
+    }
+
+    @Test
+    @DisplayName("Should ignore X-Forwarded-For sent by a client that is not a trusted proxy")
+    void shouldIgnoreForwardedForFromUntrustedAddress() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setRemoteAddr("198.51.100.20");
+        request.addHeader("X-Forwarded-For", "203.0.113.7");
+
+        rateLimitFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        verify(rateLimitService).checkClientAddress("198.51.100.20");
+    }
+
+    @Test
+    @DisplayName("Should ignore X-Forwarded-For when no trusted proxy is configured")
+    void shouldIgnoreForwardedForWithoutTrustedProxies() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(rateLimitService, List.of());
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setRemoteAddr("172.31.0.10");
+        request.addHeader("X-Forwarded-For", "203.0.113.7");
+
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        verify(rateLimitService).checkClientAddress("172.31.0.10");
+    }
+
+    @Test
+    @DisplayName("Should not rate limit other paths or methods")
+    void shouldNotRateLimitOtherPathsOrMethods() throws Exception {
+        rateLimitFilter.doFilter(new MockHttpServletRequest("GET", "/login"), new MockHttpServletResponse(), filterChain);
+        rateLimitFilter.doFilter(new MockHttpServletRequest("POST", "/products/create"), new MockHttpServletResponse(), filterChain);
+
+        verifyNoInteractions(rateLimitService);
+        verify(filterChain, times(2)).doFilter(any(), any());
+    }
+}
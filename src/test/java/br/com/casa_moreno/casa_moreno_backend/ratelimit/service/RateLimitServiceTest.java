@@ -0,0 +1,82 @@
+package br.com.casa_moreno.casa_moreno_backend.ratelimit.service;
+
+import br.com.casa_moreno.casa_moreno_backend.exception.TooManyRequestsException;
+import br.com.casa_moreno.casa_moreno_backend.ratelimit.repository.RateLimitBucketRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RateLimitService Tests")
+@ExtendWith(MockitoExtension.class)
+class RateLimitServiceTest {
+
+    @Mock
+    private RateLimitBucketRepository rateLimitBucketRepository;
+
+    private RateLimitService service(boolean enabled, boolean sharedStoreEnabled, Duration window) {
+        return new RateLimitService(rateLimitBucketRepository, enabled, sharedStoreEnabled, 1024, 2, window, 2, window);
+    }
+
+    @Test
+    @DisplayName("Should reject the request after capacity and allow it again once the window rolls over")
+    void shouldAllowAgainAfterWindowRollover() throws InterruptedException {
+        RateLimitService rateLimitService = service(true, false, Duration.ofMillis(400));
+
+        rateLimitService.checkClientAddress("10.0.0.1");
+        rateLimitService.checkClientAddress("10.0.0.1");
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class, () -> rateLimitService.checkClientAddress("10.0.0.1"));
+        assertEquals(1, ex.getRetryAfterSeconds(), "Retry-After is rounded up to at least one second");
+
+        Thread.sleep(450);
+
+        assertDoesNotThrow(() -> rateLimitService.checkClientAddress("10.0.0.1"));
+        assertDoesNotThrow(() -> rateLimitService.checkClientAddress("10.0.0.1"));
+        verifyNoInteractions(rateLimitBucketRepository);
+    }
+
+    @Test
+    @DisplayName("Should count identities case-insensitively and separately from client addresses")
+    void shouldNormalizeIdentities() {
+        RateLimitService rateLimitService = service(true, false, Duration.ofMinutes(15));
+
+        rateLimitService.checkIdentity("Maria@Email.com");
+        rateLimitService.checkIdentity(" maria@email.com ");
+
+        assertThrows(TooManyRequestsException.class, () -> rateLimitService.checkIdentity("MARIA@EMAIL.COM"));
+        assertDoesNotThrow(() -> rateLimitService.checkClientAddress("maria@email.com"));
+    }
+
+    @Test
+    @DisplayName("Should reject when the shared store says the bucket is exhausted")
+    void shouldRejectWhenSharedStoreIsExhausted() {
+        RateLimitService rateLimitService = service(true, true, Duration.ofMinutes(1));
+        when(rateLimitBucketRepository.tryAcquire(eq("client-address:10.0.0.1"), anyLong(), eq(30_000L), eq(30_000L))).thenReturn(0);
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class, () -> rateLimitService.checkClientAddress("10.0.0.1"));
+
+        assertEquals(30, ex.getRetryAfterSeconds());
+    }
+
+    @Test
+    @DisplayName("Should not check anything when rate limiting is disabled")
+    void shouldSkipChecksWhenDisabled() {
+        RateLimitService rateLimitService = service(false, true, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 10; i++) {
+            rateLimitService.checkClientAddress("10.0.0.1");
+            rateLimitService.checkIdentity("maria@email.com");
+        }
+        rateLimitService.sweepExpiredBuckets();
+
+        verifyNoInteractions(rateLimitBucketRepository);
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.casa_moreno.casa_moreno_backend.ratelimit.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StripedRateLimiter Tests")
+class StripedRateLimiterTest {
+
+    @Test
+    @DisplayName("Should allow a full burst up to capacity and reject the next request")
+    void shouldAllowBurstUpToCapacityAndRejectNext() {
+        StripedRateLimiter limiter = new StripedRateLimiter(5, Duration.ofMinutes(1), 1024);
+        long now = TimeUnit.SECONDS.toNanos(10);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("client-address:10.0.0.1", now), "Request " + (i + 1) + " should be allowed");
+        }
+
+        long waitNanos = limiter.tryAcquire("client-address:10.0.0.1", now);
+
+        assertTrue(waitNanos > 0, "Request beyond capacity should be rejected");
+        assertEquals(TimeUnit.SECONDS.toNanos(12), waitNanos, "Next permit should be one emission interval away");
+    }
+
+    @Test
+    @DisplayName("Should refill one permit per emission interval")
+    void shouldRefillOnePermitPerEmissionInterval() {
+        StripedRateLimiter limiter = new StripedRateLimiter(2, Duration.ofSeconds(10), 1024);
+        long now = TimeUnit.SECONDS.toNanos(1);
+
+        assertEquals(0, limiter.tryAcquire("identity:user", now));
+        assertEquals(0, limiter.tryAcquire("identity:user", now));
+        assertTrue(limiter.tryAcquire("identity:user", now) > 0);
+
+        long afterOneInterval = now + TimeUnit.SECONDS.toNanos(5);
+        assertEquals(0, limiter.tryAcquire("identity:user", afterOneInterval));
+        assertTrue(limiter.tryAcquire("identity:user", afterOneInterval) > 0);
+    }
+
+    @Test
+    @DisplayName("Should keep independent limits for keys in different slots")
+    void shouldKeepIndependentLimitsForDifferentKeys() {
+        StripedRateLimiter limiter = new StripedRateLimiter(1, Duration.ofMinutes(1), 65536);
+        long now = TimeUnit.SECONDS.toNanos(1);
+
+        assertEquals(0, limiter.tryAcquire("identity:alice", now));
+        assertTrue(limiter.tryAcquire("identity:alice", now) > 0);
+        assertEquals(0, limiter.tryAcquire("identity:bob", now));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid configuration")
+    void shouldRejectInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedRateLimiter(0, Duration.ofMinutes(1), 16));
+        assertThrows(IllegalArgumentException.class, () -> new StripedRateLimiter(1, Duration.ZERO, 16));
+    }
+}
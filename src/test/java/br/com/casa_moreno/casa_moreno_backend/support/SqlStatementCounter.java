@@ -0,0 +1,82 @@
+package br.com.casa_moreno.casa_moreno_backend.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.StatementType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Conta os comandos SQL executados pela thread atual, separados em select/insert/update/delete.
+// Os testes chamam reset() antes da operação medida e assertAtMost(...) depois; a contagem é por thread,
+// então dados preparados em outra thread ou por listeners assíncronos não entram na conta.
+public final class SqlStatementCounter implements QueryExecutionListener {
+
+    private static final ThreadLocal<Map<QueryType, List<String>>> STATEMENTS =
+            ThreadLocal.withInitial(() -> new EnumMap<>(QueryType.class));
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Map<QueryType, List<String>> statements = STATEMENTS.get();
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<String> sameType = statements.computeIfAbsent(QueryUtils.getQueryType(queryInfo.getQuery()), type -> new ArrayList<>());
+            // Num batch de PreparedStatement cada conjunto de parâmetros é um comando executado no banco.
+            int executions = execInfo.isBatch() && execInfo.getStatementType() == StatementType.PREPARED
+                    ? Math.max(1, queryInfo.getParametersList().size())
+                    : 1;
+            for (int i = 0; i < executions; i++) {
+                sameType.add(queryInfo.getQuery());
+            }
+        }
+    }
+
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    public static SqlStatementCount current() {
+        Map<QueryType, List<String>> statements = STATEMENTS.get();
+        return new SqlStatementCount(
+                count(statements, QueryType.SELECT),
+                count(statements, QueryType.INSERT),
+                count(statements, QueryType.UPDATE),
+                count(statements, QueryType.DELETE),
+                count(statements, QueryType.OTHER));
+    }
+
+    public static void assertAtMost(long selects, long inserts, long updates, long deletes) {
+        SqlStatementCount count = current();
+        if (count.selects() > selects || count.inserts() > inserts || count.updates() > updates || count.deletes() > deletes) {
+            fail(String.format("Expected at most %d selects, %d inserts, %d updates and %d deletes but got %s%n%s",
+                    selects, inserts, updates, deletes, count, executedStatements()));
+        }
+    }
+
+    private static long count(Map<QueryType, List<String>> statements, QueryType type) {
+        return statements.getOrDefault(type, List.of()).size();
+    }
+
+    private static String executedStatements() {
+        StringBuilder executed = new StringBuilder();
+        STATEMENTS.get().forEach((type, queries) -> queries.forEach(query -> executed.append(type).append(": ").append(query).append('\n')));
+        return executed.toString();
+    }
+
+    public record SqlStatementCount(long selects, long inserts, long updates, long deletes, long others) {
+
+        public long total() {
+            return selects + inserts + updates + deletes + others;
+        }
+    }
+}
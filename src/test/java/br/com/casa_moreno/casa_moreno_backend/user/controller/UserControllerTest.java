@@ -3,12 +3,19 @@ package br.com.casa_moreno.casa_moreno_backend.user.controller;
 import br.com.casa_moreno.casa_moreno_backend.exception.PasswordResetTokenExpiredException;
 import br.com.casa_moreno.casa_moreno_backend.exception.UserAlreadyExistsException;
 import br.com.casa_moreno.casa_moreno_backend.exception.UserNotFoundException;
+import br.com.casa_moreno.casa_moreno_backend.exception.InvalidCursorException;
+import br.com.casa_moreno.casa_moreno_backend.exception.TooManyRequestsException;
+import br.com.casa_moreno.casa_moreno_backend.ratelimit.service.RateLimitService;
 import br.com.casa_moreno.casa_moreno_backend.user.constant.Profile;
+import br.com.casa_moreno.casa_moreno_backend.user.constant.UserSortField;
 import br.com.casa_moreno.casa_moreno_backend.user.domain.User;
 import br.com.casa_moreno.casa_moreno_backend.user.dto.CreateUserRequest;
 import br.com.casa_moreno.casa_moreno_backend.user.dto.PasswordResetRequest;
 import br.com.casa_moreno.casa_moreno_backend.user.dto.UpdateUserRequest;
 import br.com.casa_moreno.casa_moreno_backend.user.dto.UserDetailsResponse;
+import br.com.casa_moreno.casa_moreno_backend.user.dto.UserPageResponse;
+import br.com.casa_moreno.casa_moreno_backend.user.dto.UserSearchFilter;
+import br.com.casa_moreno.casa_moreno_backend.user.dto.UserSummaryResponse;
 import br.com.casa_moreno.casa_moreno_backend.user.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -30,6 +37,7 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -46,6 +54,8 @@ class UserControllerTest {
     private ObjectMapper objectMapper;
     @MockitoBean
     private UserService userService;
+    @MockitoBean
+    private RateLimitService rateLimitService;
 
     private final User regularUser = User.builder()
             .userId(UUID.fromString("c0a8011c-c0d1-11ed-8a4a-0242ac120002"))
@@ -173,25 +183,63 @@ class UserControllerTest {
     @DisplayName("Should return all users and return 200 OK")
     @WithMockUser(roles = "ADMIN")
     void shouldReturnAllUsersAndReturn200OK() throws Exception {
-        when(userService.findAllUsers()).thenReturn(List.of(new UserDetailsResponse(regularUser), new UserDetailsResponse(adminUser)));
+        UserPageResponse page = new UserPageResponse(List.of(summaryOf(regularUser), summaryOf(adminUser)), "next-cursor");
+        when(userService.findAllUsers(any(UserSearchFilter.class), eq(UserSortField.CREATED_AT), isNull(), eq(20))).thenReturn(page);
 
         mockMvc.perform(
                 get("/users/find-all-users"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].username").value(regularUser.getUsername()))
-                .andExpect(jsonPath("$[1].username").value(adminUser.getUsername()));
+                .andExpect(jsonPath("$.content[0].username").value(regularUser.getUsername()))
+                .andExpect(jsonPath("$.content[1].username").value(adminUser.getUsername()))
+                .andExpect(jsonPath("$.content[0].password").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"));
+    }
+
+    @Test
+    @DisplayName("Should pass filters, sort and cursor to the user listing")
+    @WithMockUser(roles = "ADMIN")
+    void shouldPassFiltersSortAndCursorToUserListing() throws Exception {
+        UserSearchFilter expectedFilter = new UserSearchFilter(Profile.ADMIN, true, LocalDateTime.of(2024, 1, 1, 0, 0), null);
+        when(userService.findAllUsers(expectedFilter, UserSortField.USERNAME, "abc", 50))
+                .thenReturn(new UserPageResponse(List.of(summaryOf(adminUser)), null));
+
+        mockMvc.perform(
+                get("/users/find-all-users")
+                        .param("profile", "ADMIN")
+                        .param("active", "true")
+                        .param("createdFrom", "2024-01-01T00:00:00")
+                        .param("sort", "USERNAME")
+                        .param("cursor", "abc")
+                        .param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].username").value(adminUser.getUsername()))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
     }
 
     @Test
     @DisplayName("Should return empty list when no users exist")
     @WithMockUser(roles = "ADMIN")
     void shouldReturnEmptyListWhenNoUsersExist() throws Exception {
-        when(userService.findAllUsers()).thenReturn(List.of());
+        when(userService.findAllUsers(any(UserSearchFilter.class), any(UserSortField.class), isNull(), anyInt()))
+                .thenReturn(new UserPageResponse(List.of(), null));
 
         mockMvc.perform(
                 get("/users/find-all-users"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isEmpty());
+                .andExpect(jsonPath("$.content").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return 400 Bad Request when the listing cursor is invalid")
+    @WithMockUser(roles = "ADMIN")
+    void shouldReturn400BadRequestWhenListingCursorIsInvalid() throws Exception {
+        when(userService.findAllUsers(any(UserSearchFilter.class), any(UserSortField.class), eq("broken"), anyInt()))
+                .thenThrow(new InvalidCursorException("Invalid pagination cursor"));
+
+        mockMvc.perform(
+                get("/users/find-all-users").param("cursor", "broken"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid pagination cursor"));
     }
 
     @Test
@@ -353,6 +401,22 @@ class UserControllerTest {
         verify(userService, times(1)).generatePasswordResetToken(email);
     }
 
+    @Test
+    @DisplayName("Should return 429 without opening the reset token transaction when the email is rate limited")
+    void shouldReturn429WhenPasswordResetIdentityIsRateLimited() throws Exception {
+        String email = regularUser.getEmail();
+
+        doThrow(new TooManyRequestsException("Too many requests. Please try again later.", 180))
+                .when(rateLimitService).checkIdentity(email);
+        mockMvc.perform(
+                post("/users/forgot-password")
+                        .param("email", email))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "180"));
+
+        verify(userService, never()).generatePasswordResetToken(any());
+    }
+
     @Test
     @DisplayName("Should return 404 Not Found when generating password reset token for non-existent user")
     void shouldReturn404NotFoundWhenGeneratingPasswordResetTokenForNonExistentUser() throws Exception {
@@ -474,4 +538,10 @@ class UserControllerTest {
                 .andExpect(content().string(expectedResponseContent));
         verify(userService, times(1)).uploadProfilePicture(eq(nonExistentUserId), any(MultipartFile.class));
     }
-}
\ No newline at end of file
+
+    private UserSummaryResponse summaryOf(User user) {
+        return new UserSummaryResponse(user.getUserId(), user.getName(), user.getUsername(), user.getEmail(), user.getPhone(),
+                user.getProfile(), user.getProfilePictureUrl(), user.getCreatedAt(), user.getUpdatedAt(), user.getActive(),
+                user.getLastLoginAt(), user.getLoginCount());
+    }
+}
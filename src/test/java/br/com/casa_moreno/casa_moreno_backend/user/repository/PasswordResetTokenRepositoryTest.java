@@ -0,0 +1,108 @@
+package br.com.casa_moreno.casa_moreno_backend.user.repository;
+
+import br.com.casa_moreno.casa_moreno_backend.user.constant.Profile;
+import br.com.casa_moreno.casa_moreno_backend.user.domain.PasswordResetToken;
+import br.com.casa_moreno.casa_moreno_backend.user.domain.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@DisplayName("PasswordResetTokenRepository Custom Query Tests")
+class PasswordResetTokenRepositoryTest {
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = User.builder()
+                .name("Test User")
+                .username("testuser")
+                .password("password")
+                .email("test@email.com")
+                .profile(Profile.USER)
+                .active(true)
+                .createdAt(LocalDateTime.now())
+                .build();
+        entityManager.persist(testUser);
+        entityManager.flush();
+    }
+
+    private PasswordResetToken persistToken(String rawToken, LocalDateTime expiresAt) {
+        PasswordResetToken token = PasswordResetToken.builder()
+                .user(testUser)
+                .tokenHash(PasswordResetToken.hashToken(rawToken))
+                .expiresAt(expiresAt)
+                .createdAt(LocalDateTime.now())
+                .build();
+        entityManager.persist(token);
+        return token;
+    }
+
+    @Test
+    @DisplayName("Should find token and its user by token hash")
+    void shouldFindTokenAndUserByTokenHash() {
+        persistToken("first-token", LocalDateTime.now().plusHours(1));
+        persistToken("second-token", LocalDateTime.now().plusHours(1));
+        entityManager.flush();
+        entityManager.clear();
+
+        Optional<PasswordResetToken> found = passwordResetTokenRepository.findByTokenHash(PasswordResetToken.hashToken("second-token"));
+
+        assertThat(found).isPresent();
+        assertThat(found.get().getUser().getUsername()).isEqualTo(testUser.getUsername());
+    }
+
+    @Test
+    @DisplayName("Should not find token by its raw value")
+    void shouldNotFindTokenByRawValue() {
+        persistToken("raw-token", LocalDateTime.now().plusHours(1));
+        entityManager.flush();
+
+        assertThat(passwordResetTokenRepository.findByTokenHash("raw-token")).isNotPresent();
+    }
+
+    @Test
+    @DisplayName("Should delete expired tokens in bounded batches and keep valid ones")
+    void shouldDeleteExpiredTokensInBatches() {
+        persistToken("expired-1", LocalDateTime.now().minusHours(3));
+        persistToken("expired-2", LocalDateTime.now().minusHours(2));
+        persistToken("expired-3", LocalDateTime.now().minusHours(1));
+        persistToken("valid", LocalDateTime.now().plusHours(1));
+        entityManager.flush();
+
+        int firstBatch = passwordResetTokenRepository.deleteExpiredBatch(LocalDateTime.now(), 2);
+        int secondBatch = passwordResetTokenRepository.deleteExpiredBatch(LocalDateTime.now(), 2);
+
+        assertThat(firstBatch).isEqualTo(2);
+        assertThat(secondBatch).isEqualTo(1);
+        assertThat(passwordResetTokenRepository.count()).isEqualTo(1);
+        assertThat(passwordResetTokenRepository.findByTokenHash(PasswordResetToken.hashToken("valid"))).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should delete every outstanding token of a user")
+    void shouldDeleteAllTokensOfUser() {
+        persistToken("first-token", LocalDateTime.now().plusHours(1));
+        persistToken("second-token", LocalDateTime.now().plusHours(1));
+        entityManager.flush();
+
+        int deleted = passwordResetTokenRepository.deleteAllByUserId(testUser.getUserId());
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(passwordResetTokenRepository.count()).isZero();
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.casa_moreno.casa_moreno_backend.user.repository;
+
+import br.com.casa_moreno.casa_moreno_backend.user.domain.User;
+import br.com.casa_moreno.casa_moreno_backend.user.service.UserService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// O INSERT ... ON CONFLICT DO NOTHING é SQL do PostgreSQL; o H2 só o aceita em MODE=PostgreSQL.
+// As constraints UNIQUE de username e email vêm da V8, então são recriadas aqui sobre o schema do Hibernate.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:oauthinsertdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE")
+@DisplayName("UserRepository OAuth Insert Tests")
+class UserRepositoryOAuthInsertTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.createNativeQuery("CREATE UNIQUE INDEX IF NOT EXISTS uk_users_username ON users (username)").executeUpdate();
+        entityManager.createNativeQuery("CREATE UNIQUE INDEX IF NOT EXISTS uk_users_email ON users (email)").executeUpdate();
+    }
+
+    @Test
+    @DisplayName("Should insert the OAuth user with a pending password when the e-mail is new")
+    void shouldInsertOAuthUserWhenEmailIsNew() {
+        UUID userId = UUID.randomUUID();
+
+        int inserted = userRepository.insertOAuthUserIfAbsent(userId, "Michael Jackson", "michael_jackson@email.com",
+                UserService.OAUTH_PENDING_PASSWORD, LocalDateTime.now());
+        entityManager.clear();
+
+        User user = userRepository.findByEmail("michael_jackson@email.com").orElseThrow();
+        assertThat(inserted).isEqualTo(1);
+        assertThat(user.getUserId()).isEqualTo(userId);
+        assertThat(user.getUsername()).isEqualTo("michael_jackson@email.com");
+        assertThat(user.getPassword()).isEqualTo(UserService.OAUTH_PENDING_PASSWORD);
+        assertThat(user.getProfile().name()).isEqualTo("USER");
+        assertThat(user.getActive()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should insert nothing when the e-mail already exists")
+    void shouldInsertNothingWhenEmailAlreadyExists() {
+        UUID firstUserId = UUID.randomUUID();
+        userRepository.insertOAuthUserIfAbsent(firstUserId, "Michael Jackson", "michael_jackson@email.com",
+                UserService.OAUTH_PENDING_PASSWORD, LocalDateTime.now());
+
+        int inserted = userRepository.insertOAuthUserIfAbsent(UUID.randomUUID(), "Other Name", "michael_jackson@email.com",
+                UserService.OAUTH_PENDING_PASSWORD, LocalDateTime.now());
+        entityManager.clear();
+
+        User user = userRepository.findByEmail("michael_jackson@email.com").orElseThrow();
+        assertThat(inserted).isZero();
+        assertThat(user.getUserId()).isEqualTo(firstUserId);
+        assertThat(user.getName()).isEqualTo("Michael Jackson");
+    }
+
+    @Test
+    @DisplayName("Should find only OAuth users still pending after the retry delay")
+    void shouldFindPendingOAuthUsersCreatedBeforeCutoff() {
+        UUID oldUserId = UUID.randomUUID();
+        userRepository.insertOAuthUserIfAbsent(oldUserId, "Old User", "old@email.com",
+                UserService.OAUTH_PENDING_PASSWORD, LocalDateTime.now().minusHours(1));
+        userRepository.insertOAuthUserIfAbsent(UUID.randomUUID(), "New User", "new@email.com",
+                UserService.OAUTH_PENDING_PASSWORD, LocalDateTime.now());
+        entityManager.clear();
+
+        List<User> pending = userRepository.findByPasswordAndCreatedAtBefore(UserService.OAUTH_PENDING_PASSWORD,
+                LocalDateTime.now().minusMinutes(10), Limit.of(10));
+
+        assertThat(pending).extracting(User::getUserId).containsExactly(oldUserId);
+    }
+}
@@ -2,14 +2,17 @@ package br.com.casa_moreno.casa_moreno_backend.user.repository;
 
 import br.com.casa_moreno.casa_moreno_backend.user.constant.Profile;
 import br.com.casa_moreno.casa_moreno_backend.user.domain.User;
+import br.com.casa_moreno.casa_moreno_backend.user.dto.UserSummaryResponse;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -65,4 +68,86 @@ class UserRepositoryTest {
 
         assertThat(foundUser).isNotPresent();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should page through users by creation date using the keyset cursor")
+    void shouldPageThroughUsersByCreationDate() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        persistUser("alpha", Profile.USER, true, base.minusDays(1));
+        persistUser("bravo", Profile.ADMIN, true, base.minusDays(2));
+        persistUser("charlie", Profile.USER, false, base.minusDays(3));
+
+        List<UserSummaryResponse> firstPage = userRepository.findSummariesOrderByCreatedAt(null, null, null, base, null, null, Limit.of(2));
+        UserSummaryResponse last = firstPage.getLast();
+        List<UserSummaryResponse> secondPage = userRepository.findSummariesOrderByCreatedAt(null, null, null, base, last.createdAt(), last.userId(), Limit.of(2));
+
+        assertThat(firstPage).extracting(UserSummaryResponse::username).containsExactly("alpha", "bravo");
+        assertThat(secondPage).extracting(UserSummaryResponse::username).containsExactly("charlie");
+    }
+
+    @Test
+    @DisplayName("Should filter users by profile and active flag")
+    void shouldFilterUsersByProfileAndActiveFlag() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        persistUser("alpha", Profile.USER, true, base);
+        persistUser("bravo", Profile.ADMIN, true, base);
+        persistUser("charlie", Profile.USER, false, base);
+
+        List<UserSummaryResponse> activeUsers = userRepository.findSummariesOrderByUsername(Profile.USER, true, null, null, null, Limit.of(10));
+
+        assertThat(activeUsers).extracting(UserSummaryResponse::username).containsExactly("alpha", "testuser");
+    }
+
+    @Test
+    @DisplayName("Should page through users by username using the keyset cursor")
+    void shouldPageThroughUsersByUsername() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        persistUser("alpha", Profile.USER, true, base);
+        persistUser("bravo", Profile.USER, true, base);
+
+        List<UserSummaryResponse> page = userRepository.findSummariesOrderByUsername(null, null, null, null, "alpha", Limit.of(10));
+
+        assertThat(page).extracting(UserSummaryResponse::username).containsExactly("bravo", "testuser");
+    }
+
+    @Test
+    @DisplayName("Should filter users by creation range when no cursor is given")
+    void shouldFilterUsersByCreationRange() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        persistUser("alpha", Profile.USER, true, base.minusDays(1));
+        persistUser("bravo", Profile.USER, true, base.minusDays(5));
+
+        List<UserSummaryResponse> page = userRepository.findSummariesOrderByCreatedAt(null, null, base.minusDays(2), base, null, null, Limit.of(10));
+
+        assertThat(page).extracting(UserSummaryResponse::username).containsExactly("alpha");
+    }
+
+    @Test
+    @DisplayName("Should leave inactive and opted-out users out of marketing recipients")
+    void shouldExcludeInactiveAndOptedOutUsersFromMarketingRecipients() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        persistUser("alpha", Profile.USER, true, base.minusDays(1));
+        persistUser("bravo", Profile.USER, true, base.minusDays(2));
+        persistUser("charlie", Profile.USER, false, base.minusDays(3));
+        UserSummaryResponse bravo = userRepository.findSummariesOrderByUsername(null, null, null, null, "alpha", Limit.of(1)).getFirst();
+        userRepository.optOutOfMarketing(bravo.userId());
+        entityManager.clear();
+
+        List<UserSummaryResponse> recipients = userRepository.findMarketingRecipients(base, null, null, Limit.of(10));
+
+        assertThat(recipients).extracting(UserSummaryResponse::username).containsExactly("alpha");
+    }
+
+    private void persistUser(String username, Profile profile, boolean active, LocalDateTime createdAt) {
+        entityManager.persist(User.builder()
+                .name(username)
+                .username(username)
+                .password("password")
+                .email(username + "@email.com")
+                .profile(profile)
+                .active(active)
+                .createdAt(createdAt)
+                .build());
+        entityManager.flush();
+    }
+}
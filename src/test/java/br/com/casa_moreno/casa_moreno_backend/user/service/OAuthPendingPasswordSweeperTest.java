@@ -0,0 +1,77 @@
+package br.com.casa_moreno.casa_moreno_backend.user.service;
+
+import br.com.casa_moreno.casa_moreno_backend.user.domain.User;
+import br.com.casa_moreno.casa_moreno_backend.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("OAuth Pending Password Sweeper Tests")
+@ExtendWith(MockitoExtension.class)
+class OAuthPendingPasswordSweeperTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private OAuthUserProvisioningWorker provisioningWorker;
+
+    private OAuthPendingPasswordSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new OAuthPendingPasswordSweeper(userRepository, provisioningWorker, Duration.ofMinutes(10), 50);
+    }
+
+    @Test
+    @DisplayName("Should retry every pending OAuth user and keep going after a failure")
+    void shouldRetryPendingUsersAndContinueAfterFailure() {
+        User failing = pendingUser("failing@email.com");
+        User provisioned = pendingUser("provisioned@email.com");
+
+        when(userRepository.findByPasswordAndCreatedAtBefore(eq(UserService.OAUTH_PENDING_PASSWORD), any(LocalDateTime.class), eq(Limit.of(50))))
+                .thenReturn(List.of(failing, provisioned));
+        when(provisioningWorker.provisionTemporaryPassword(failing.getUserId(), failing.getEmail(), failing.getName()))
+                .thenThrow(new IllegalStateException("SMTP unavailable"));
+        when(provisioningWorker.provisionTemporaryPassword(provisioned.getUserId(), provisioned.getEmail(), provisioned.getName()))
+                .thenReturn(true);
+
+        int result = sweeper.retryPendingPasswords();
+
+        assertEquals(1, result);
+        verify(provisioningWorker, times(2)).provisionTemporaryPassword(any(UUID.class), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when no OAuth user is pending")
+    void shouldDoNothingWhenNoUserIsPending() {
+        when(userRepository.findByPasswordAndCreatedAtBefore(eq(UserService.OAUTH_PENDING_PASSWORD), any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(List.of());
+
+        assertEquals(0, sweeper.retryPendingPasswords());
+        verifyNoInteractions(provisioningWorker);
+    }
+
+    private User pendingUser(String email) {
+        return User.builder()
+                .userId(UUID.randomUUID())
+                .name("Pending User")
+                .username(email)
+                .email(email)
+                .password(UserService.OAUTH_PENDING_PASSWORD)
+                .createdAt(LocalDateTime.now().minusHours(1))
+                .build();
+    }
+}
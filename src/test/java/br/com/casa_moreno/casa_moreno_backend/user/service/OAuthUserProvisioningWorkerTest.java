@@ -0,0 +1,87 @@
+package br.com.casa_moreno.casa_moreno_backend.user.service;
+
+import br.com.casa_moreno.casa_moreno_backend.email.service.EmailService;
+import br.com.casa_moreno.casa_moreno_backend.user.event.OAuthUserRegisteredEvent;
+import br.com.casa_moreno.casa_moreno_backend.user.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@DisplayName("OAuth User Provisioning Worker Tests")
+@ExtendWith(MockitoExtension.class)
+class OAuthUserProvisioningWorkerTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private BCryptPasswordEncoder bCryptPasswordEncoder;
+    @Mock
+    private EmailService emailService;
+    @InjectMocks
+    private OAuthUserProvisioningWorker worker;
+
+    @Test
+    @DisplayName("Should set temporary password and send welcome email for a new OAuth user")
+    void shouldSetTemporaryPasswordAndSendWelcomeEmail() {
+        UUID userId = UUID.randomUUID();
+        OAuthUserRegisteredEvent event = new OAuthUserRegisteredEvent(userId, "michael_jackson@email.com", "Michael Jackson");
+
+        when(bCryptPasswordEncoder.encode(anyString())).thenReturn("hashedPassword");
+        when(userRepository.replacePendingPassword(userId, UserService.OAUTH_PENDING_PASSWORD, "hashedPassword")).thenReturn(1);
+
+        ArgumentCaptor<String> passwordCaptor = ArgumentCaptor.forClass(String.class);
+
+        worker.onOAuthUserRegistered(event);
+
+        verify(bCryptPasswordEncoder, times(1)).encode(passwordCaptor.capture());
+        verify(emailService, times(1)).sendOAuthRegistrationWelcomeEmail(
+                "michael_jackson@email.com",
+                "Michael Jackson",
+                passwordCaptor.getValue()
+        );
+        assertEquals(8, passwordCaptor.getValue().length(), "Temporary password should be 8 characters long");
+    }
+
+    @Test
+    @DisplayName("Should not send welcome email when password was already provisioned")
+    void shouldNotSendWelcomeEmailWhenAlreadyProvisioned() {
+        UUID userId = UUID.randomUUID();
+        OAuthUserRegisteredEvent event = new OAuthUserRegisteredEvent(userId, "michael_jackson@email.com", "Michael Jackson");
+
+        when(bCryptPasswordEncoder.encode(anyString())).thenReturn("hashedPassword");
+        when(userRepository.replacePendingPassword(userId, UserService.OAUTH_PENDING_PASSWORD, "hashedPassword")).thenReturn(0);
+
+        worker.onOAuthUserRegistered(event);
+
+        verify(emailService, never()).sendOAuthRegistrationWelcomeEmail(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should report whether the pending password was provisioned")
+    void shouldReportWhetherPendingPasswordWasProvisioned() {
+        UUID provisionedId = UUID.randomUUID();
+        UUID alreadyProvisionedId = UUID.randomUUID();
+
+        when(bCryptPasswordEncoder.encode(anyString())).thenReturn("hashedPassword");
+        when(userRepository.replacePendingPassword(provisionedId, UserService.OAUTH_PENDING_PASSWORD, "hashedPassword")).thenReturn(1);
+        when(userRepository.replacePendingPassword(alreadyProvisionedId, UserService.OAUTH_PENDING_PASSWORD, "hashedPassword")).thenReturn(0);
+
+        assertTrue(worker.provisionTemporaryPassword(provisionedId, "michael_jackson@email.com", "Michael Jackson"));
+        assertFalse(worker.provisionTemporaryPassword(alreadyProvisionedId, "janet_jackson@email.com", "Janet Jackson"));
+
+        verify(emailService, times(1)).sendOAuthRegistrationWelcomeEmail(eq("michael_jackson@email.com"), eq("Michael Jackson"), anyString());
+        verify(emailService, never()).sendOAuthRegistrationWelcomeEmail(eq("janet_jackson@email.com"), anyString(), anyString());
+    }
+}
@@ -0,0 +1,225 @@
+package br.com.casa_moreno.casa_moreno_backend.user.service;
+
+import br.com.casa_moreno.casa_moreno_backend.email.service.EmailService;
+import br.com.casa_moreno.casa_moreno_backend.infra.StoragePort;
+import br.com.casa_moreno.casa_moreno_backend.support.SqlStatementCountConfiguration;
+import br.com.casa_moreno.casa_moreno_backend.support.SqlStatementCounter;
+import br.com.casa_moreno.casa_moreno_backend.user.constant.Profile;
+import br.com.casa_moreno.casa_moreno_backend.user.constant.UserSortField;
+import br.com.casa_moreno.casa_moreno_backend.user.domain.PasswordResetToken;
+import br.com.casa_moreno.casa_moreno_backend.user.domain.User;
+import br.com.casa_moreno.casa_moreno_backend.user.dto.CreateUserRequest;
+import br.com.casa_moreno.casa_moreno_backend.user.dto.UpdateUserRequest;
+import br.com.casa_moreno.casa_moreno_backend.user.dto.UserPageResponse;
+import br.com.casa_moreno.casa_moreno_backend.user.dto.UserSearchFilter;
+import br.com.casa_moreno.casa_moreno_backend.user.repository.PasswordResetTokenRepository;
+import br.com.casa_moreno.casa_moreno_backend.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+// Limites de comandos SQL por operação do UserService contra o H2, com commit real de cada operação.
+// O cadastro via OAuth usa INSERT ... ON CONFLICT DO NOTHING, que o H2 só aceita em MODE=PostgreSQL.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:usersqlcountdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE")
+@Import({UserService.class, SqlStatementCountConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("UserService SQL Statement Count Tests")
+class UserServiceSqlCountTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+    @MockitoBean
+    private EmailService emailService;
+    @MockitoBean
+    private StoragePort storagePort;
+
+    @TestConfiguration
+    static class PasswordEncoderConfiguration {
+
+        @Bean
+        BCryptPasswordEncoder bCryptPasswordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        passwordResetTokenRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private User saveUser(String username, Profile profile) {
+        return userRepository.save(User.builder()
+                .name(username)
+                .username(username)
+                .password("hash")
+                .email(username + "@email.com")
+                .profile(profile)
+                .active(true)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    private void authenticateAs(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+    }
+
+    @Test
+    @DisplayName("Should create a user with one duplicate lookup and one insert")
+    void createUser() throws IOException {
+        SqlStatementCounter.reset();
+        userService.createUser(new CreateUserRequest("Maria", "maria", "secret", "maria@email.com", "21999999999"), null);
+
+        SqlStatementCounter.assertAtMost(1, 1, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should read one user by username with a single select")
+    void getUserByUsername() {
+        saveUser("maria", Profile.USER);
+
+        SqlStatementCounter.reset();
+        userService.getUserByUsername("maria");
+
+        SqlStatementCounter.assertAtMost(1, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should load the user for authentication with a single select")
+    void loadUserByUsername() {
+        saveUser("maria", Profile.USER);
+
+        SqlStatementCounter.reset();
+        userService.loadUserByUsername("maria");
+
+        SqlStatementCounter.assertAtMost(1, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should sign in a returning OAuth user with a single select and no writes")
+    void findOrCreateUserForOAuthWhenUserExists() {
+        saveUser("maria", Profile.USER);
+
+        SqlStatementCounter.reset();
+        userService.findOrCreateUserForOAuth("maria@email.com", "Maria");
+
+        SqlStatementCounter.assertAtMost(1, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should register a new OAuth user with one lookup and one insert")
+    void findOrCreateUserForOAuthWhenUserIsNew() {
+        SqlStatementCounter.reset();
+        userService.findOrCreateUserForOAuth("joao@email.com", "Joao");
+
+        SqlStatementCounter.assertAtMost(1, 1, 0, 0);
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should page the user listing with a single projection query")
+    void findAllUsers() {
+        IntStream.range(0, 25).forEach(i -> saveUser("user" + i, Profile.USER));
+
+        SqlStatementCounter.reset();
+        UserPageResponse page = userService.findAllUsers(new UserSearchFilter(null, true, null, null), UserSortField.USERNAME, null, 10);
+
+        assertEquals(10, page.content().size());
+        SqlStatementCounter.assertAtMost(1, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should update a user with one select and one update")
+    void updateUser() {
+        User maria = saveUser("maria", Profile.USER);
+        authenticateAs(saveUser("admin", Profile.ADMIN));
+
+        SqlStatementCounter.reset();
+        userService.updateUser(new UpdateUserRequest(maria.getUserId(), "Maria Silva", null, null, null, "21988888888"));
+
+        SqlStatementCounter.assertAtMost(1, 0, 1, 0);
+    }
+
+    @Test
+    @DisplayName("Should delete a user with one select and one delete")
+    void deleteUserById() {
+        User maria = saveUser("maria", Profile.USER);
+        authenticateAs(maria);
+
+        SqlStatementCounter.reset();
+        userService.deleteUserById(maria.getUserId());
+
+        SqlStatementCounter.assertAtMost(1, 0, 0, 1);
+    }
+
+    @Test
+    @DisplayName("Should create a password reset token with one lookup and one insert")
+    void generatePasswordResetToken() {
+        saveUser("maria", Profile.USER);
+
+        SqlStatementCounter.reset();
+        userService.generatePasswordResetToken("maria@email.com");
+
+        SqlStatementCounter.assertAtMost(1, 1, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should reset the password with one fetch join, one update and one bulk delete")
+    void resetPassword() {
+        User maria = saveUser("maria", Profile.USER);
+        IntStream.range(0, 3).forEach(i -> passwordResetTokenRepository.save(PasswordResetToken.builder()
+                .user(maria)
+                .tokenHash(PasswordResetToken.hashToken("token-" + i))
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .createdAt(LocalDateTime.now())
+                .build()));
+
+        SqlStatementCounter.reset();
+        userService.resetPassword("token-0", "new-secret");
+
+        SqlStatementCounter.assertAtMost(1, 0, 1, 1);
+    }
+
+    @Test
+    @DisplayName("Should store a new profile picture URL with one select and one update")
+    void uploadProfilePicture() throws IOException {
+        User maria = saveUser("maria", Profile.USER);
+        when(storagePort.uploadFile(any(), anyString(), anyString())).thenReturn("https://bucket/profile-pictures/maria.png");
+
+        SqlStatementCounter.reset();
+        userService.uploadProfilePicture(maria.getUserId(), new MockMultipartFile("file", "maria.png", "image/png", new byte[]{1, 2, 3}));
+
+        SqlStatementCounter.assertAtMost(1, 0, 1, 0);
+    }
+}
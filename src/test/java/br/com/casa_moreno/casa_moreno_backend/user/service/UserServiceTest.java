@@ -1,15 +1,22 @@
 package br.com.casa_moreno.casa_moreno_backend.user.service;
 
 import br.com.casa_moreno.casa_moreno_backend.email.service.EmailService;
+import br.com.casa_moreno.casa_moreno_backend.exception.InvalidCursorException;
 import br.com.casa_moreno.casa_moreno_backend.exception.PasswordResetTokenExpiredException;
 import br.com.casa_moreno.casa_moreno_backend.exception.UserAlreadyExistsException;
 import br.com.casa_moreno.casa_moreno_backend.exception.UserNotFoundException;
 import br.com.casa_moreno.casa_moreno_backend.infra.StoragePort;
 import br.com.casa_moreno.casa_moreno_backend.user.constant.Profile;
+import br.com.casa_moreno.casa_moreno_backend.user.constant.UserSortField;
+import br.com.casa_moreno.casa_moreno_backend.user.domain.PasswordResetToken;
 import br.com.casa_moreno.casa_moreno_backend.user.domain.User;
 import br.com.casa_moreno.casa_moreno_backend.user.dto.CreateUserRequest;
 import br.com.casa_moreno.casa_moreno_backend.user.dto.UpdateUserRequest;
-import br.com.casa_moreno.casa_moreno_backend.user.dto.UserDetailsResponse;
+import br.com.casa_moreno.casa_moreno_backend.user.dto.UserPageResponse;
+import br.com.casa_moreno.casa_moreno_backend.user.dto.UserSearchFilter;
+import br.com.casa_moreno.casa_moreno_backend.user.dto.UserSummaryResponse;
+import br.com.casa_moreno.casa_moreno_backend.user.event.OAuthUserRegisteredEvent;
+import br.com.casa_moreno.casa_moreno_backend.user.repository.PasswordResetTokenRepository;
 import br.com.casa_moreno.casa_moreno_backend.user.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +26,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -45,11 +54,15 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+    @Mock
     private BCryptPasswordEncoder bCryptPasswordEncoder;
     @Mock
     private EmailService emailService;
     @Mock
     private StoragePort storagePort;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private UserService userService;
 
@@ -136,8 +149,6 @@ class UserServiceTest {
                 () -> assertNull(result.getProfilePictureUrl()),
                 () -> assertNotNull(result.getCreatedAt()),
                 () -> assertNull(result.getUpdatedAt()),
-                () -> assertNull(result.getPasswordResetToken()),
-                () -> assertNull(result.getPasswordResetTokenExpiresAt()),
                 () -> assertTrue(result.getActive())
         );
     }
@@ -208,8 +219,6 @@ class UserServiceTest {
                 () -> assertEquals("http://example.com/profile-picture.jpg", result.getProfilePictureUrl()),
                 () -> assertNotNull(result.getCreatedAt()),
                 () -> assertNull(result.getUpdatedAt()),
-                () -> assertNull(result.getPasswordResetToken()),
-                () -> assertNull(result.getPasswordResetTokenExpiresAt()),
                 () -> assertTrue(result.getActive())
         );
     }
@@ -248,8 +257,6 @@ class UserServiceTest {
                 () -> assertNull(result.getProfilePictureUrl(), "Profile picture URL should be null for an empty file."),
                 () -> assertNotNull(result.getCreatedAt()),
                 () -> assertNull(result.getUpdatedAt()),
-                () -> assertNull(result.getPasswordResetToken()),
-                () -> assertNull(result.getPasswordResetTokenExpiresAt()),
                 () -> assertTrue(result.getActive())
         );
     }
@@ -279,85 +286,93 @@ class UserServiceTest {
         String userEmail = "michael_jackson@email.com";
         String userName = "Michael Jackson";
 
-        User createdUser = User.builder()
-                .userId(UUID.randomUUID())
-                .name(userName)
-                .email(userEmail)
-                .username(userEmail)
-                .password("hashedPassword")
-                .profile(Profile.USER)
-                .active(true)
-                .createdAt(LocalDateTime.now())
-                .build();
-
         when(userRepository.findByEmail(userEmail)).thenReturn(Optional.empty());
-        when(bCryptPasswordEncoder.encode(anyString())).thenReturn("hashedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(createdUser);
-        doNothing().when(emailService).sendOAuthRegistrationWelcomeEmail(anyString(), anyString(), anyString());
+        when(userRepository.insertOAuthUserIfAbsent(any(UUID.class), eq(userName), eq(userEmail), eq(UserService.OAUTH_PENDING_PASSWORD), any(LocalDateTime.class)))
+                .thenReturn(1);
 
-        ArgumentCaptor<String> passwordCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<OAuthUserRegisteredEvent> eventCaptor = ArgumentCaptor.forClass(OAuthUserRegisteredEvent.class);
+        ArgumentCaptor<UUID> userIdCaptor = ArgumentCaptor.forClass(UUID.class);
 
         User result = userService.findOrCreateUserForOAuth(userEmail, userName);
 
+        verify(userRepository, times(1)).insertOAuthUserIfAbsent(userIdCaptor.capture(), eq(userName), eq(userEmail), eq(UserService.OAUTH_PENDING_PASSWORD), any(LocalDateTime.class));
         verify(userRepository, times(1)).findByEmail(userEmail);
-        verify(bCryptPasswordEncoder, times(1)).encode(anyString());
-        verify(userRepository, times(1)).save(any(User.class));
-        verify(emailService, times(1)).sendOAuthRegistrationWelcomeEmail(
-                eq(userEmail),
-                eq(userName),
-                passwordCaptor.capture()
-        );
+        verify(userRepository, never()).save(any(User.class));
+        verify(bCryptPasswordEncoder, never()).encode(anyString());
+        verify(emailService, never()).sendOAuthRegistrationWelcomeEmail(anyString(), anyString(), anyString());
+        verify(eventPublisher, times(1)).publishEvent(eventCaptor.capture());
 
-        String capturedPassword = passwordCaptor.getValue();
-        assertNotNull(capturedPassword);
-        assertEquals(8, capturedPassword.length(), "Temporary password should be 8 characters long");
+        UUID userId = userIdCaptor.getValue();
+        OAuthUserRegisteredEvent event = eventCaptor.getValue();
+        assertAll(
+                () -> assertEquals(userId, event.userId()),
+                () -> assertEquals(userEmail, event.email()),
+                () -> assertEquals(userName, event.name())
+        );
 
         assertAll(
-                () -> assertNotNull(result.getUserId()),
+                () -> assertEquals(userId, result.getUserId()),
                 () -> assertEquals(userName, result.getName()),
                 () -> assertEquals(userEmail, result.getUsername()),
-                () -> assertEquals("hashedPassword", result.getPassword()),
                 () -> assertEquals(userEmail, result.getEmail()),
                 () -> assertNull(result.getPhone(), "Phone number should be null for OAuth users"),
                 () -> assertEquals("USER", result.getProfile().name()),
                 () -> assertNull(result.getProfilePictureUrl()),
-                () -> assertNotNull(result.getCreatedAt()),
-                () -> assertNull(result.getUpdatedAt()),
-                () -> assertNull(result.getPasswordResetToken()),
-                () -> assertNull(result.getPasswordResetTokenExpiresAt()),
                 () -> assertTrue(result.getActive())
         );
     }
 
     @Test
-    @DisplayName("Should find user for OAuth and return existing user")
+    @DisplayName("Should find user for OAuth and return existing user without writing")
     void shouldFindUserForOAuthAndReturnExistingUser() {
-        String userEmail = createUserRequest.email();
-        String userName = createUserRequest.name();
+        String userEmail = savedUser.getEmail();
+        String userName = savedUser.getName();
 
         when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(savedUser));
 
         User result = userService.findOrCreateUserForOAuth(userEmail, userName);
-        verify(userRepository, times(1)).findByEmail(userEmail);
-        verify(bCryptPasswordEncoder, never()).encode(anyString());
+
+        verify(userRepository, never()).insertOAuthUserIfAbsent(any(), any(), any(), any(), any());
         verify(userRepository, never()).save(any(User.class));
-        verify(emailService, never()).sendOAuthRegistrationWelcomeEmail(anyString(), anyString(), anyString());
+        verify(eventPublisher, never()).publishEvent(any());
+        assertSame(savedUser, result);
+    }
 
-        assertAll(
-                () -> assertNotNull(result.getUserId()),
-                () -> assertEquals(createUserRequest.name(), result.getName()),
-                () -> assertEquals(createUserRequest.username(), result.getUsername()),
-                () -> assertEquals("encodedPassword", result.getPassword()),
-                () -> assertEquals(createUserRequest.email(), result.getEmail()),
-                () -> assertEquals(createUserRequest.phone(), result.getPhone()),
-                () -> assertEquals("USER", result.getProfile().name()),
-                () -> assertNull(result.getProfilePictureUrl()),
-                () -> assertNotNull(result.getCreatedAt()),
-                () -> assertNull(result.getUpdatedAt()),
-                () -> assertNull(result.getPasswordResetToken()),
-                () -> assertNull(result.getPasswordResetTokenExpiresAt()),
-                () -> assertTrue(result.getActive())
-        );
+    @Test
+    @DisplayName("Should keep the stored active flag of a deactivated user on OAuth login")
+    void shouldKeepStoredActiveFlagOnOAuthLogin() {
+        savedUser.setActive(false);
+        when(userRepository.findByEmail(savedUser.getEmail())).thenReturn(Optional.of(savedUser));
+
+        User result = userService.findOrCreateUserForOAuth(savedUser.getEmail(), savedUser.getName());
+
+        assertFalse(result.getActive());
+    }
+
+    @Test
+    @DisplayName("Should return the user created by a concurrent OAuth login when the insert finds a conflict")
+    void shouldReturnConcurrentlyCreatedUserWhenInsertConflicts() {
+        String userEmail = savedUser.getEmail();
+        String userName = savedUser.getName();
+
+        when(userRepository.findByEmail(userEmail)).thenReturn(Optional.empty(), Optional.of(savedUser));
+        when(userRepository.insertOAuthUserIfAbsent(any(UUID.class), eq(userName), eq(userEmail), eq(UserService.OAUTH_PENDING_PASSWORD), any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        User result = userService.findOrCreateUserForOAuth(userEmail, userName);
+
+        verify(userRepository, times(2)).findByEmail(userEmail);
+        verify(eventPublisher, never()).publishEvent(any());
+        assertSame(savedUser, result);
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException when OAuth email is null")
+    void shouldThrowIllegalArgumentExceptionWhenOAuthEmailIsNull() {
+        assertThrows(IllegalArgumentException.class, () -> userService.findOrCreateUserForOAuth(null, "Name"));
+
+        verify(userRepository, never()).insertOAuthUserIfAbsent(any(), any(), any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -380,8 +395,6 @@ class UserServiceTest {
                 () -> assertNull(result.getProfilePictureUrl()),
                 () -> assertNotNull(result.getCreatedAt()),
                 () -> assertNull(result.getUpdatedAt()),
-                () -> assertNull(result.getPasswordResetToken()),
-                () -> assertNull(result.getPasswordResetTokenExpiresAt()),
                 () -> assertTrue(result.getActive())
         );
     }
@@ -401,75 +414,82 @@ class UserServiceTest {
     }
 
     @Test
-    @DisplayName("Should find all users correctly")
-    void shouldFindAllUsersCorrectly() {
-        User user1 = User.builder()
-                .userId(UUID.randomUUID())
-                .name("User One")
-                .username("userone")
-                .password("encodedPassword1")
-                .email("user1@email.com")
-                .phone("22999999990")
-                .profile(Profile.USER)
-                .profilePictureUrl(null)
-                .active(true)
-                .createdAt(LocalDateTime.now())
-                .build();
+    @DisplayName("Should find first page of users ordered by creation date")
+    void shouldFindFirstPageOfUsersOrderedByCreationDate() {
+        UserSearchFilter filter = new UserSearchFilter(Profile.USER, true, null, null);
+        UserSummaryResponse first = summary("userone", LocalDateTime.of(2024, 5, 2, 10, 0));
+        UserSummaryResponse second = summary("usertwo", LocalDateTime.of(2024, 5, 1, 10, 0));
+        UserSummaryResponse extra = summary("userthree", LocalDateTime.of(2024, 4, 30, 10, 0));
 
-        User user2 = User.builder()
-                .userId(UUID.randomUUID())
-                .name("User Two")
-                .username("usertwo")
-                .password("encodedPassword2")
-                .email("user2@email.com")
-                .phone("22999999991")
-                .profile(Profile.USER)
-                .profilePictureUrl(null)
-                .active(true)
-                .createdAt(LocalDateTime.now())
-                .build();
+        when(userRepository.findSummariesOrderByCreatedAt(Profile.USER, true, null, null, null, null, Limit.of(3)))
+                .thenReturn(List.of(first, second, extra));
 
-        List<User> users = List.of(user1, user2);
+        UserPageResponse result = userService.findAllUsers(filter, UserSortField.CREATED_AT, null, 2);
 
-        when(userRepository.findAll()).thenReturn(users);
+        verify(userRepository, never()).findAll();
+        assertEquals(List.of(first, second), result.content());
+        assertNotNull(result.nextCursor(), "A next cursor is expected when more rows exist");
+    }
 
-        List<UserDetailsResponse> result = userService.findAllUsers();
+    @Test
+    @DisplayName("Should resume listing from the cursor of the previous page")
+    void shouldResumeListingFromCursorOfPreviousPage() {
+        UserSearchFilter filter = new UserSearchFilter(null, null, null, null);
+        UserSummaryResponse first = summary("userone", LocalDateTime.of(2024, 5, 2, 10, 0));
+        UserSummaryResponse second = summary("usertwo", LocalDateTime.of(2024, 5, 1, 10, 0));
+        UserSummaryResponse third = summary("userthree", LocalDateTime.of(2024, 4, 30, 10, 0));
+
+        when(userRepository.findSummariesOrderByCreatedAt(null, null, null, null, null, null, Limit.of(2)))
+                .thenReturn(List.of(first, second));
+        when(userRepository.findSummariesOrderByCreatedAt(null, null, null, null, first.createdAt(), first.userId(), Limit.of(2)))
+                .thenReturn(List.of(second, third));
+
+        UserPageResponse firstPage = userService.findAllUsers(filter, UserSortField.CREATED_AT, null, 1);
+        UserPageResponse secondPage = userService.findAllUsers(filter, UserSortField.CREATED_AT, firstPage.nextCursor(), 1);
+
+        assertEquals(List.of(first), firstPage.content());
+        assertEquals(List.of(second), secondPage.content());
+    }
 
-        verify(userRepository, times(1)).findAll();
+    @Test
+    @DisplayName("Should list users ordered by username and return no cursor on the last page")
+    void shouldListUsersOrderedByUsernameAndReturnNoCursorOnLastPage() {
+        UserSearchFilter filter = new UserSearchFilter(null, null, null, null);
+        UserSummaryResponse user = summary("userone", LocalDateTime.now());
 
-        UserDetailsResponse userDetails1 = result.get(0);
-        UserDetailsResponse userDetails2 = result.get(1);
+        when(userRepository.findSummariesOrderByUsername(null, null, null, null, null, Limit.of(21)))
+                .thenReturn(List.of(user));
 
-        assertEquals(2, result.size());
-        assertAll(
-                () -> assertEquals(user1.getUserId(), userDetails1.userId()),
-                () -> assertEquals(user1.getName(), userDetails1.name()),
-                () -> assertEquals(user1.getUsername(), userDetails1.username()),
-                () -> assertEquals(user1.getEmail(), userDetails1.email()),
-                () -> assertEquals(user1.getPhone(), userDetails1.phone()),
-                () -> assertEquals(user1.getProfile().name(), userDetails1.profile()),
-                () -> assertNull(userDetails1.profilePictureUrl()),
-
-                () -> assertEquals(user2.getUserId(), userDetails2.userId()),
-                () -> assertEquals(user2.getName(), userDetails2.name()),
-                () -> assertEquals(user2.getUsername(), userDetails2.username()),
-                () -> assertEquals(user2.getEmail(), userDetails2.email()),
-                () -> assertEquals(user2.getPhone(), userDetails2.phone()),
-                () -> assertEquals(user2.getProfile().name(), userDetails2.profile()),
-                () -> assertNull(userDetails2.profilePictureUrl())
-        );
+        UserPageResponse result = userService.findAllUsers(filter, UserSortField.USERNAME, null, 20);
+
+        assertEquals(List.of(user), result.content());
+        assertNull(result.nextCursor());
     }
 
     @Test
-    @DisplayName("Should return empty list when no users found")
-    void shouldReturnEmptyListWhenNoUsersFound() {
-        when(userRepository.findAll()).thenReturn(List.of());
+    @DisplayName("Should cap the page size")
+    void shouldCapThePageSize() {
+        UserSearchFilter filter = new UserSearchFilter(null, null, null, null);
+        when(userRepository.findSummariesOrderByUsername(null, null, null, null, null, Limit.of(101))).thenReturn(List.of());
 
-        List<UserDetailsResponse> result = userService.findAllUsers();
+        UserPageResponse result = userService.findAllUsers(filter, UserSortField.USERNAME, null, 10_000);
 
-        verify(userRepository, times(1)).findAll();
+        assertTrue(result.content().isEmpty(), "Expected an empty list when no users are found");
+        assertNull(result.nextCursor());
+    }
 
-        assertTrue(result.isEmpty(), "Expected an empty list when no users are found");
+    @Test
+    @DisplayName("Should throw InvalidCursorException when cursor is malformed or from another sort")
+    void shouldThrowInvalidCursorExceptionWhenCursorIsInvalid() {
+        UserSearchFilter filter = new UserSearchFilter(null, null, null, null);
+        UserSummaryResponse first = summary("userone", LocalDateTime.now());
+        UserSummaryResponse second = summary("usertwo", LocalDateTime.now());
+        when(userRepository.findSummariesOrderByUsername(null, null, null, null, null, Limit.of(2))).thenReturn(List.of(first, second));
+
+        String usernameCursor = userService.findAllUsers(filter, UserSortField.USERNAME, null, 1).nextCursor();
+
+        assertThrows(InvalidCursorException.class, () -> userService.findAllUsers(filter, UserSortField.CREATED_AT, "not base64!", 20));
+        assertThrows(InvalidCursorException.class, () -> userService.findAllUsers(filter, UserSortField.CREATED_AT, usernameCursor, 20));
     }
 
     @Test
@@ -505,8 +525,6 @@ class UserServiceTest {
                 () -> assertNull(result.getProfilePictureUrl()),
                 () -> assertNotNull(result.getCreatedAt()),
                 () -> assertNotNull(result.getUpdatedAt()),
-                () -> assertNull(result.getPasswordResetToken()),
-                () -> assertNull(result.getPasswordResetTokenExpiresAt()),
                 () -> assertTrue(result.getActive())
         );
     }
@@ -693,18 +711,27 @@ class UserServiceTest {
 
         userService.generatePasswordResetToken(userEmail);
 
+        ArgumentCaptor<PasswordResetToken> tokenCaptor = ArgumentCaptor.forClass(PasswordResetToken.class);
+        ArgumentCaptor<String> rawTokenCaptor = ArgumentCaptor.forClass(String.class);
+
         verify(userRepository, times(1)).findByEmail(userEmail);
-        verify(userRepository, times(1)).save(savedUser); // Verifica se o objeto foi salvo
+        verify(passwordResetTokenRepository, times(1)).save(tokenCaptor.capture());
+        verify(userRepository, never()).save(any(User.class));
         verify(emailService, times(1)).sendPasswordResetLinkEmail(
                 eq(userEmail),
                 eq(savedUser.getName()),
-                anyString()
+                rawTokenCaptor.capture()
         );
 
+        PasswordResetToken persistedToken = tokenCaptor.getValue();
+        String rawToken = rawTokenCaptor.getValue();
+
         assertAll(
-                () -> assertNotNull(savedUser.getPasswordResetToken(), "Token should not be null"),
-                () -> assertNotNull(savedUser.getPasswordResetTokenExpiresAt(), "Expiration date should not be null"),
-                () -> assertTrue(savedUser.getPasswordResetTokenExpiresAt().isAfter(LocalDateTime.now()), "Expiration date should be in the future")
+                () -> assertEquals(savedUser, persistedToken.getUser()),
+                () -> assertNotEquals(rawToken, persistedToken.getTokenHash(), "Raw token should never be persisted"),
+                () -> assertEquals(PasswordResetToken.hashToken(rawToken), persistedToken.getTokenHash()),
+                () -> assertNotNull(persistedToken.getExpiresAt(), "Expiration date should not be null"),
+                () -> assertTrue(persistedToken.getExpiresAt().isAfter(LocalDateTime.now()), "Expiration date should be in the future")
         );
     }
 
@@ -729,21 +756,26 @@ class UserServiceTest {
     @Test
     @DisplayName("Should reset password correctly")
     void shouldResetPasswordCorrectly() {
-        String token = UUID.randomUUID().toString();
+        String token = "raw-reset-token";
         String newPassword = "new_password";
 
-        savedUser.setPasswordResetToken(token);
-        savedUser.setPasswordResetTokenExpiresAt(LocalDateTime.now().plusHours(1));
+        PasswordResetToken passwordResetToken = PasswordResetToken.builder()
+                .user(savedUser)
+                .tokenHash(PasswordResetToken.hashToken(token))
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .createdAt(LocalDateTime.now())
+                .build();
 
-        when(userRepository.findByPasswordResetToken(token)).thenReturn(Optional.of(savedUser));
+        when(passwordResetTokenRepository.findByTokenHash(PasswordResetToken.hashToken(token))).thenReturn(Optional.of(passwordResetToken));
         when(bCryptPasswordEncoder.encode(newPassword)).thenReturn("new_encoded_password");
         doNothing().when(emailService).sendPasswordChangeConfirmationEmail(anyString(), anyString());
 
         userService.resetPassword(token, newPassword);
 
-        verify(userRepository, times(1)).findByPasswordResetToken(token);
+        verify(passwordResetTokenRepository, times(1)).findByTokenHash(PasswordResetToken.hashToken(token));
         verify(bCryptPasswordEncoder, times(1)).encode(newPassword);
         verify(userRepository, times(1)).save(savedUser);
+        verify(passwordResetTokenRepository, times(1)).deleteAllByUserId(savedUser.getUserId());
         verify(emailService, times(1)).sendPasswordChangeConfirmationEmail(
                 eq(savedUser.getEmail()),
                 eq(savedUser.getName())
@@ -751,8 +783,6 @@ class UserServiceTest {
 
         assertAll(
                 () -> assertEquals("new_encoded_password", savedUser.getPassword()),
-                () -> assertNull(savedUser.getPasswordResetToken(), "Token should be cleared after reset"),
-                () -> assertNull(savedUser.getPasswordResetTokenExpiresAt(), "Expiration date should be cleared after reset"),
                 () -> assertNotNull(savedUser.getUpdatedAt(), "Updated at should be set")
         );
     }
@@ -762,15 +792,16 @@ class UserServiceTest {
     void shouldThrowUserNotFoundExceptionWhenResettingPasswordWithInvalidToken() {
         String invalidToken = "invalid_token";
 
-        when(userRepository.findByPasswordResetToken(invalidToken)).thenReturn(Optional.empty());
+        when(passwordResetTokenRepository.findByTokenHash(PasswordResetToken.hashToken(invalidToken))).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(UserNotFoundException.class, () -> {
             userService.resetPassword(invalidToken, "new_password");
         });
 
-        verify(userRepository, times(1)).findByPasswordResetToken(invalidToken);
+        verify(passwordResetTokenRepository, times(1)).findByTokenHash(PasswordResetToken.hashToken(invalidToken));
         verify(bCryptPasswordEncoder, never()).encode(anyString());
         verify(userRepository, never()).save(any(User.class));
+        verify(passwordResetTokenRepository, never()).deleteAllByUserId(any());
         verify(emailService, never()).sendPasswordChangeConfirmationEmail(anyString(), anyString());
 
         assertEquals("Invalid password reset token.", exception.getMessage());
@@ -779,19 +810,23 @@ class UserServiceTest {
     @Test
     @DisplayName("Should throw PasswordResetTokenExpiredException when resetting password with expired token")
     void shouldThrowPasswordResetTokenExpiredExceptionWhenResettingPasswordWithExpiredToken() {
-        String expiredToken = UUID.randomUUID().toString();
+        String expiredToken = "expired-reset-token";
         String newPassword = "new_password";
 
-        savedUser.setPasswordResetToken(expiredToken);
-        savedUser.setPasswordResetTokenExpiresAt(LocalDateTime.now().minusHours(1)); // Expired token
+        PasswordResetToken passwordResetToken = PasswordResetToken.builder()
+                .user(savedUser)
+                .tokenHash(PasswordResetToken.hashToken(expiredToken))
+                .expiresAt(LocalDateTime.now().minusHours(1)) // Expired token
+                .createdAt(LocalDateTime.now().minusHours(2))
+                .build();
 
-        when(userRepository.findByPasswordResetToken(expiredToken)).thenReturn(Optional.of(savedUser));
+        when(passwordResetTokenRepository.findByTokenHash(PasswordResetToken.hashToken(expiredToken))).thenReturn(Optional.of(passwordResetToken));
 
         Exception exception = assertThrows(PasswordResetTokenExpiredException.class, () -> {
             userService.resetPassword(expiredToken, newPassword);
         });
 
-        verify(userRepository, times(1)).findByPasswordResetToken(expiredToken);
+        verify(passwordResetTokenRepository, times(1)).findByTokenHash(PasswordResetToken.hashToken(expiredToken));
         verify(bCryptPasswordEncoder, never()).encode(anyString());
         verify(userRepository, never()).save(any(User.class));
         verify(emailService, never()).sendPasswordChangeConfirmationEmail(anyString(), anyString());
@@ -982,4 +1017,9 @@ class UserServiceTest {
 
         verify(userRepository, times(1)).findByUsername(nonExistentUsername);
     }
-}
\ No newline at end of file
+
+    private UserSummaryResponse summary(String username, LocalDateTime createdAt) {
+        return new UserSummaryResponse(UUID.randomUUID(), username, username, username + "@email.com", null,
+                Profile.USER, null, createdAt, null, true, null, 0L);
+    }
+}